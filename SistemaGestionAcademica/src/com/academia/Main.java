@@ -1,9 +1,14 @@
 package com.academia;
 
+import com.academia.controller.AcademyController;
+import com.academia.io.CatalogueExporter;
+import com.academia.io.ExportReport;
 import com.academia.view.MainFrame;
 import com.academia.view.utils.UIStyle;
 
 import javax.swing.*;
+import java.nio.file.Path;
+import java.util.Locale;
 
 /**
  * Application entry point for the Academic Management System.
@@ -12,10 +17,18 @@ import javax.swing.*;
  *  - BUILDER pattern  — step-by-step construction of complex StudyPlan objects.
  *  - PROTOTYPE pattern — deep cloning of existing plans for new academic periods.
  *  - Java Swing       — cross-platform desktop GUI.
+ *
+ * With {@code --exportar <archivo> [--formato csv|json] [--periodo P]
+ * [--programa X]} it exports the catalogue without opening the GUI, e.g.
+ * from a nightly scheduled job.
  */
 public class Main {
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(export(args));
+        }
+
         // Apply Look & Feel before any Swing component is created
         UIStyle.applyLookAndFeel();
 
@@ -31,4 +44,44 @@ public class Main {
             }
         });
     }
-}
\ No newline at end of file
+
+    /** Runs a headless export; returns the process exit code. */
+    private static int export(String[] args) {
+        Path   file   = null;
+        String format = null;
+        CatalogueExporter exporter = new CatalogueExporter(AcademyController.getInstance());
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--exportar" -> file = Path.of(required(args[i], value));
+                    case "--formato"  -> format = required(args[i], value);
+                    case "--periodo"  -> exporter.period(required(args[i], value));
+                    case "--programa" -> exporter.program(required(args[i], value));
+                    default -> throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+                }
+                i++;
+            }
+            if (file == null) throw new IllegalArgumentException("Falta --exportar <archivo>.");
+            if (format == null) {
+                format = file.toString().toLowerCase(Locale.ROOT).endsWith(".csv") ? "csv" : "json";
+            }
+            CatalogueExporter.Format f = CatalogueExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+            ExportReport report = exporter.export(file, f);
+            System.out.println("Exportado a " + file + ": " + report);
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Uso: --exportar <archivo> [--formato csv|json] [--periodo P] [--programa X]");
+            return 2;
+        } catch (Exception e) {
+            System.err.println("No se pudo exportar: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static String required(String option, String value) {
+        if (value == null) throw new IllegalArgumentException("Falta el valor de " + option + ".");
+        return value;
+    }
+}
@@ -0,0 +1,209 @@
+package com.academia.analytics;
+
+import com.academia.event.ChangeBus;
+import com.academia.event.ChangeEvent;
+import com.academia.model.Group;
+import com.academia.model.PlanTotals;
+import com.academia.model.Schedule;
+import com.academia.model.StudyPlan;
+import com.academia.model.Subject;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Grouped reports over the study plans and groups of the catalogue.
+ *
+ * Each report reads a {@link GroupedView}: the first time a report is
+ * requested its view is built by a parallel scan of the listing, and from
+ * then on it follows the change bus, so asking again costs in proportion
+ * to the number of rows shown rather than to the size of the catalogue.
+ * Views nobody has asked for are not built, and do not subscribe to the
+ * bus, so writes pay nothing for them.
+ *
+ * <p>As with {@link PlanTotals}, a plan counts with the totals its groups
+ * had when they joined it; the seat and modality reports read the groups
+ * themselves and follow every seat taken or given up.</p>
+ *
+ * <p>Thread-safe; building a view runs on the calling thread and the
+ * common fork-join pool, so request reports off the Event Dispatch
+ * Thread.</p>
+ */
+public class Analytics {
+
+    /** The reports available. */
+    public enum ReportType {
+        CREDITS_BY_PROGRAM("Créditos por programa y período"),
+        SEATS_BY_SUBJECT  ("Ocupación de cupos por asignatura"),
+        GROUPS_BY_MODALITY("Grupos por modalidad y día");
+
+        private final String label;
+
+        ReportType(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private static final String KEY_SEPARATOR = "\u0000";
+
+    private final ChangeBus                 changes;
+    private final Supplier<List<StudyPlan>> plans;
+    private final Supplier<List<Group>>     groups;
+    private final Function<String, Subject> subjectById;
+
+    private final Map<ReportType, GroupedView<?>> views     = new EnumMap<>(ReportType.class); // guarded by this
+    private final List<Runnable>                  listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param changes     where the views learn about writes.
+     * @param subjectById resolves the subjects named in the seat report.
+     */
+    public Analytics(ChangeBus changes, Supplier<List<StudyPlan>> plans, Supplier<List<Group>> groups,
+                     Function<String, Subject> subjectById) {
+        this.changes     = changes;
+        this.plans       = plans;
+        this.groups      = groups;
+        this.subjectById = subjectById;
+    }
+
+    /**
+     * Calls {@code listener} whenever a built view has taken in a batch of
+     * changes, on the change bus thread.
+     */
+    public void addChangeListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /** Computes a report, building its view first if this is the first request. */
+    public Report report(ReportType type) {
+        return switch (type) {
+            case CREDITS_BY_PROGRAM -> creditsByProgram();
+            case SEATS_BY_SUBJECT   -> seatsBySubject();
+            case GROUPS_BY_MODALITY -> groupsByModality();
+        };
+    }
+
+    // ── Reports ───────────────────────────────────────────────────────────────
+
+    private Report creditsByProgram() {
+        GroupedView<StudyPlan> view = view(ReportType.CREDITS_BY_PROGRAM, StudyPlan.class, plans, () ->
+                new GroupedView<>(4, StudyPlan::getId,
+                        p -> p.getProgram() + KEY_SEPARATOR + p.getPeriod(),
+                        (p, sums) -> {
+                            PlanTotals t = p.getTotals();
+                            sums[0] += t.getGroupCount();
+                            sums[1] += t.getCredits();
+                            sums[2] += t.getSeats();
+                            sums[3] += t.getOccupiedSeats();
+                        }));
+        List<Object[]> rows = new ArrayList<>();
+        view.totals().forEach((key, sums) -> {
+            String[] programAndPeriod = key.split(KEY_SEPARATOR, 2);
+            rows.add(new Object[] { programAndPeriod[0], programAndPeriod[1],
+                                    sums[4], sums[0], sums[1], sums[2], sums[3], percent(sums[3], sums[2]) });
+        });
+        rows.sort(Comparator.comparing((Object[] r) -> (String) r[0]).thenComparing(r -> (String) r[1]));
+        return new Report(ReportType.CREDITS_BY_PROGRAM.toString(),
+                List.of("Programa", "Período", "Planes", "Grupos", "Créditos", "Cupos", "Ocupados", "Ocupación"),
+                rows);
+    }
+
+    private Report seatsBySubject() {
+        GroupedView<Group> view = view(ReportType.SEATS_BY_SUBJECT, Group.class, groups, () ->
+                new GroupedView<>(2, Group::getId,
+                        g -> g.getSubject() != null ? g.getSubject().getId() : null,
+                        (g, sums) -> {
+                            sums[0] += g.getMaxSlots();
+                            sums[1] += g.getOccupiedSlots();
+                        }));
+        List<Object[]> rows = new ArrayList<>();
+        view.totals().forEach((subjectId, sums) -> {
+            Subject subject = subjectById.apply(subjectId);
+            rows.add(new Object[] { subjectId, subject != null ? subject.getName() : "—",
+                                    sums[2], sums[0], sums[1], percent(sums[1], sums[0]) });
+        });
+        // Fullest first
+        rows.sort(Comparator.comparingDouble((Object[] r) -> ratio((long) r[4], (long) r[3])).reversed()
+                            .thenComparing(r -> (String) r[0]));
+        return new Report(ReportType.SEATS_BY_SUBJECT.toString(),
+                List.of("ID", "Asignatura", "Grupos", "Cupos", "Ocupados", "Ocupación"),
+                rows);
+    }
+
+    private Report groupsByModality() {
+        Schedule.WeekDay[] days = Schedule.WeekDay.values();
+        GroupedView<Group> view = view(ReportType.GROUPS_BY_MODALITY, Group.class, groups, () ->
+                new GroupedView<>(days.length, Group::getId,
+                        g -> g.getSubject() != null && g.getSubject().getModality() != null
+                                ? g.getSubject().getModality().name() : null,
+                        (g, sums) -> {
+                            if (g.getSchedule() != null && g.getSchedule().getDay() != null) {
+                                sums[g.getSchedule().getDay().ordinal()]++;
+                            }
+                        }));
+        Map<String, long[]> totals = view.totals();
+        List<Object[]> rows = new ArrayList<>();
+        for (Subject.Modality modality : Subject.Modality.values()) {
+            long[] sums = totals.getOrDefault(modality.name(), new long[days.length + 1]);
+            Object[] row = new Object[days.length + 2];
+            row[0] = modality.toString();
+            for (int d = 0; d < days.length; d++) row[d + 1] = sums[d];
+            row[days.length + 1] = sums[days.length];
+            rows.add(row);
+        }
+        List<String> columns = new ArrayList<>();
+        columns.add("Modalidad");
+        for (Schedule.WeekDay day : days) columns.add(day.toString());
+        columns.add("Total");
+        return new Report(ReportType.GROUPS_BY_MODALITY.toString(), columns, rows);
+    }
+
+    // ── Views ─────────────────────────────────────────────────────────────────
+
+    /**
+     * The view behind a report, built on first use: it subscribes to the
+     * bus before scanning, so no change slips between the scan and the
+     * first batch it applies.
+     */
+    @SuppressWarnings("unchecked")
+    private synchronized <T> GroupedView<T> view(ReportType type, Class<T> entityType,
+                                                  Supplier<List<T>> listing, Supplier<GroupedView<T>> create) {
+        GroupedView<T> view = (GroupedView<T>) views.get(type);
+        if (view != null) return view;
+        GroupedView<T> created = create.get();
+        changes.subscribe(entityType, created, Runnable::run);
+        try {
+            created.rebuild(listing.get());
+        } catch (RuntimeException | Error e) {
+            changes.unsubscribe(created);
+            throw e;
+        }
+        changes.subscribe(entityType, (List<ChangeEvent<T>> events) -> changed(), Runnable::run);
+        views.put(type, created);
+        return created;
+    }
+
+    private void changed() {
+        for (Runnable listener : listeners) listener.run();
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+
+    private static String percent(long part, long whole) {
+        return String.format(Locale.ROOT, "%.1f %%", ratio(part, whole) * 100);
+    }
+}
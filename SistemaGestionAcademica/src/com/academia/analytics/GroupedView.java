@@ -0,0 +1,160 @@
+package com.academia.analytics;
+
+import com.academia.event.ChangeEvent;
+import com.academia.event.ChangeListener;
+import com.academia.event.ChangeType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Materialised grouped aggregation over one entity type: for each key, the
+ * sums of a fixed number of measures over the entities with that key.
+ *
+ * The view is built by one parallel scan of a listing ({@link #rebuild})
+ * and is then kept current by the change events of that entity type (it is
+ * a {@link ChangeListener}): the view remembers what each entity
+ * contributed, so an update subtracts the old contribution and adds the new
+ * one, and reading the totals never rescans the listing.
+ *
+ * <pre>
+ *   // Seats offered and taken, per subject
+ *   GroupedView&lt;Group&gt; seats = new GroupedView&lt;&gt;(2, Group::getId,
+ *           g -&gt; g.getSubject().getId(),
+ *           (g, sums) -&gt; { sums[0] += g.getMaxSlots(); sums[1] += g.getOccupiedSlots(); });
+ * </pre>
+ *
+ * <p>Thread-safe. Changes arriving during a rebuild are held back and
+ * applied once it finishes, so subscribe the view before rebuilding it.</p>
+ *
+ * @param <T> the entity type aggregated.
+ */
+public class GroupedView<T> implements ChangeListener<T> {
+
+    /** What one entity adds to the totals of its key. */
+    private static final class Contribution {
+        final String key;
+        final long[] sums;
+
+        Contribution(String key, long[] sums) {
+            this.key  = key;
+            this.sums = sums;
+        }
+    }
+
+    /** Contributions and totals of part of a listing, merged as a parallel scan joins. */
+    private final class Partial {
+        final Map<String, Contribution> byId   = new HashMap<>();
+        final Map<String, long[]>       totals = new HashMap<>();
+
+        void add(T entity) {
+            Contribution c = contributionOf(entity);
+            if (c == null) return;
+            byId.put(idOf.apply(entity), c);
+            addTo(totals, c, 1);
+        }
+
+        void merge(Partial other) {
+            byId.putAll(other.byId);
+            other.totals.forEach((key, sums) -> {
+                long[] mine = totals.putIfAbsent(key, sums);
+                if (mine != null) for (int i = 0; i <= width; i++) mine[i] += sums[i];
+            });
+        }
+    }
+
+    private final int                   width;
+    private final Function<T, String>   idOf;
+    private final Function<T, String>   keyOf;
+    private final BiConsumer<T, long[]> measure;
+
+    // Guarded by this
+    private Map<String, Contribution> byId   = new HashMap<>();
+    private Map<String, long[]>       totals = new HashMap<>();
+    private List<ChangeEvent<T>>      held;   // non-null while rebuilding
+
+    /**
+     * @param width   number of measures summed per key.
+     * @param keyOf   the key of an entity; {@code null} leaves it out.
+     * @param measure adds the measures of an entity to an array of
+     *                {@code width} sums.
+     */
+    public GroupedView(int width, Function<T, String> idOf, Function<T, String> keyOf,
+                       BiConsumer<T, long[]> measure) {
+        this.width   = width;
+        this.idOf    = idOf;
+        this.keyOf   = keyOf;
+        this.measure = measure;
+    }
+
+    /** Replaces the view with a scan of {@code listing}, split across the common fork-join pool. */
+    public void rebuild(List<T> listing) {
+        synchronized (this) {
+            if (held == null) held = new ArrayList<>();
+        }
+        Partial scanned;
+        try {
+            scanned = listing.parallelStream().collect(Partial::new, Partial::add, Partial::merge);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                held = null;   // the view is stale until it is rebuilt successfully
+            }
+            throw e;
+        }
+        synchronized (this) {
+            byId   = scanned.byId;
+            totals = scanned.totals;
+            List<ChangeEvent<T>> arrived = held;
+            held = null;
+            apply(arrived);
+        }
+    }
+
+    @Override
+    public synchronized void changed(List<ChangeEvent<T>> events) {
+        if (held != null) held.addAll(events);
+        else apply(events);
+    }
+
+    /**
+     * The sums per key, each followed by the number of entities with that
+     * key, as of the last change applied; a copy.
+     */
+    public synchronized Map<String, long[]> totals() {
+        Map<String, long[]> copy = new HashMap<>(totals.size() * 2);
+        totals.forEach((key, sums) -> copy.put(key, sums.clone()));
+        return copy;
+    }
+
+    private void apply(List<ChangeEvent<T>> events) {
+        for (ChangeEvent<T> e : events) {
+            Contribution previous = byId.remove(e.getId());
+            if (previous != null) addTo(totals, previous, -1);
+            if (e.getType() == ChangeType.DELETED) continue;
+            Contribution current = contributionOf(e.getEntity());
+            if (current == null) continue;
+            byId.put(e.getId(), current);
+            addTo(totals, current, 1);
+        }
+    }
+
+    private Contribution contributionOf(T entity) {
+        String key = keyOf.apply(entity);
+        if (key == null) return null;
+        long[] sums = new long[width];
+        measure.accept(entity, sums);
+        return new Contribution(key, sums);
+    }
+
+    /** Adds a contribution to the totals, dropping a key once nothing counts towards it. */
+    private void addTo(Map<String, long[]> totals, Contribution c, int sign) {
+        long[] sums = totals.computeIfAbsent(c.key, k -> new long[width + 1]);
+        for (int i = 0; i < width; i++) sums[i] += sign * c.sums[i];
+        sums[width] += sign;   // entities counted, last
+        if (sums[width] == 0) totals.remove(c.key);
+    }
+}
@@ -0,0 +1,25 @@
+package com.academia.analytics;
+
+import java.util.List;
+
+/**
+ * Immutable result of an analytics report: a title, column names and rows
+ * of cell values, ready to be shown in a table.
+ */
+public final class Report {
+
+    private final String         title;
+    private final List<String>   columns;
+    private final List<Object[]> rows;
+
+    Report(String title, List<String> columns, List<Object[]> rows) {
+        this.title   = title;
+        this.columns = List.copyOf(columns);
+        this.rows    = List.copyOf(rows);
+    }
+
+    public String         getTitle()   { return title; }
+    public List<String>   getColumns() { return columns; }
+    /** One array per row, as many values as columns; must not be modified. */
+    public List<Object[]> getRows()    { return rows; }
+}
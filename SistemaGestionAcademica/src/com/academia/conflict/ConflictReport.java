@@ -0,0 +1,83 @@
+package com.academia.conflict;
+
+import com.academia.model.Group;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every teacher and classroom conflict among a set of groups, e.g. the
+ * groups of one plan or of all plans of a period.
+ */
+public class ConflictReport {
+
+    private final int                    groupCount;
+    private final List<ScheduleConflict> conflicts;
+
+    private ConflictReport(int groupCount, List<ScheduleConflict> conflicts) {
+        this.groupCount = groupCount;
+        this.conflicts  = Collections.unmodifiableList(conflicts);
+    }
+
+    /**
+     * Finds all conflicts in one pass: groups are sorted by start within
+     * each (teacher, day) and (classroom, day) bucket and swept, keeping only
+     * the sessions still running. A group listed more than once (same ID, as
+     * when several plans share it) is checked once.
+     */
+    public static ConflictReport scan(Collection<Group> groups) {
+        Map<String, List<Group>> buckets = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        int count = 0;
+        for (Group g : groups) {
+            if (g.getId() != null && !seen.add(g.getId())) continue;
+            count++;
+            if (g.getSchedule() == null || g.getSchedule().getDay() == null) continue;
+            String teacher = ScheduleIndex.teacherKey(g);
+            String room    = ScheduleIndex.roomKey(g);
+            if (teacher != null) buckets.computeIfAbsent(teacher, k -> new ArrayList<>()).add(g);
+            if (room != null)    buckets.computeIfAbsent(room, k -> new ArrayList<>()).add(g);
+        }
+
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        for (Map.Entry<String, List<Group>> bucket : buckets.entrySet()) {
+            List<Group> sorted = bucket.getValue();
+            if (sorted.size() < 2) continue;
+            ScheduleConflict.Kind kind = bucket.getKey().charAt(0) == 'T'
+                    ? ScheduleConflict.Kind.TEACHER : ScheduleConflict.Kind.CLASSROOM;
+            sorted.sort(Comparator.comparingInt(g -> g.getSchedule().getStartMinute()));
+            List<Group> running = new ArrayList<>();
+            for (Group g : sorted) {
+                int start = g.getSchedule().getStartMinute();
+                for (Iterator<Group> it = running.iterator(); it.hasNext(); ) {
+                    Group other = it.next();
+                    if (other.getSchedule().getEndMinute() <= start) it.remove();
+                    else if (start < g.getSchedule().getEndMinute()) conflicts.add(new ScheduleConflict(kind, other, g));
+                }
+                running.add(g);
+            }
+        }
+        return new ConflictReport(count, conflicts);
+    }
+
+    /** Number of distinct groups checked. */
+    public int getGroupCount() { return groupCount; }
+
+    /** The conflicts found, as an immutable list. */
+    public List<ScheduleConflict> getConflicts() { return conflicts; }
+
+    public boolean isEmpty() { return conflicts.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return conflicts.size() + " conflicto(s) entre " + groupCount + " grupo(s)";
+    }
+}
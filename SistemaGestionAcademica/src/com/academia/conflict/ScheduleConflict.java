@@ -0,0 +1,64 @@
+package com.academia.conflict;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+
+/**
+ * Two groups that need the same teacher or the same classroom at
+ * overlapping times of the same day.
+ */
+public class ScheduleConflict {
+
+    /** The shared resource the groups compete for. */
+    public enum Kind {
+        TEACHER  ("docente"),
+        CLASSROOM("aula");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Kind  kind;
+    private final Group first;
+    private final Group second;
+
+    ScheduleConflict(Kind kind, Group first, Group second) {
+        this.kind   = kind;
+        this.first  = first;
+        this.second = second;
+    }
+
+    public Kind  getKind()   { return kind; }
+    public Group getFirst()  { return first; }
+    public Group getSecond() { return second; }
+
+    /** Human-readable description, e.g. for error dialogs and import reports. */
+    public String getMessage() {
+        Schedule a = first.getSchedule();
+        Schedule b = second.getSchedule();
+        String resource = kind == Kind.TEACHER
+                ? first.getTeacher().getFullName()
+                : a.getClassroom().trim();
+        return "Conflicto de " + kind + " (" + resource + ") el " + a.getDay()
+                + " de " + Schedule.formatMinutes(Math.max(a.getStartMinute(), b.getStartMinute()))
+                + " a " + Schedule.formatMinutes(Math.min(a.getEndMinute(), b.getEndMinute()))
+                + ": " + describe(first) + " y " + describe(second) + ".";
+    }
+
+    private static String describe(Group g) {
+        return g.getId() != null ? g.getName() + " (" + g.getId() + ")" : g.getName();
+    }
+
+    @Override
+    public String toString() {
+        return getMessage();
+    }
+}
@@ -0,0 +1,164 @@
+package com.academia.conflict;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupancy index of teachers and classrooms, used to refuse double
+ * bookings.
+ *
+ * Groups are filed in one bucket per (teacher, day) and one per
+ * (classroom, day), sorted by start minute. Since no session is longer than
+ * the longest one filed in its bucket, the groups overlapping a time range
+ * all start within a bounded window before it, so a conflict check is a
+ * logarithmic range lookup instead of a scan of every group.
+ *
+ * <p>Thread-safe. Adding a group that is already indexed (by ID) replaces
+ * its previous entry, so the index can simply be told about every write.</p>
+ */
+public class ScheduleIndex {
+
+    /** A group as filed, with the schedule it had at the time. */
+    private static final class Entry {
+        final Group  group;
+        final String groupId;
+        final int    start;
+        final int    end;
+        final String teacherKey;
+        final String roomKey;
+
+        Entry(Group group) {
+            this.group      = group;
+            this.groupId    = group.getId();
+            this.start      = group.getSchedule().getStartMinute();
+            this.end        = group.getSchedule().getEndMinute();
+            this.teacherKey = teacherKey(group);
+            this.roomKey    = roomKey(group);
+        }
+
+        /** Search bound: sorts before every entry starting at {@code start}. */
+        Entry(int start) {
+            this.group      = null;
+            this.groupId    = "";
+            this.start      = start;
+            this.end        = start;
+            this.teacherKey = null;
+            this.roomKey    = null;
+        }
+    }
+
+    private static final Comparator<Entry> BY_START =
+            Comparator.comparingInt((Entry e) -> e.start).thenComparing(e -> e.groupId);
+
+    /** Entries of one teacher or classroom on one day. */
+    private static final class Bucket {
+        private final TreeSet<Entry> entries = new TreeSet<>(BY_START);
+        private int                  longest;
+
+        synchronized void add(Entry e) {
+            entries.add(e);
+            longest = Math.max(longest, e.end - e.start);
+        }
+
+        synchronized void remove(Entry e) {
+            entries.remove(e);
+        }
+
+        /** Adds the groups overlapping {@code [start, end)} other than {@code selfId}. */
+        synchronized void collect(int start, int end, String selfId, List<Group> into) {
+            for (Entry e : entries.subSet(new Entry(start - longest), true, new Entry(end), false)) {
+                if (e.end > start && !e.groupId.equals(selfId)) into.add(e.group);
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Entry>  indexed = new ConcurrentHashMap<>(); // by group ID
+
+    /** Files (or re-files) a group under its teacher and classroom. */
+    public void add(Group group) {
+        indexed.compute(group.getId(), (id, previous) -> {
+            if (previous != null) unfile(previous);
+            if (group.getSchedule() == null || group.getSchedule().getDay() == null) return null;
+            Entry entry = new Entry(group);
+            if (entry.teacherKey != null) buckets.computeIfAbsent(entry.teacherKey, k -> new Bucket()).add(entry);
+            if (entry.roomKey != null)    buckets.computeIfAbsent(entry.roomKey, k -> new Bucket()).add(entry);
+            return entry;
+        });
+    }
+
+    /** Removes the group with the given ID, if indexed. */
+    public void remove(String groupId) {
+        indexed.computeIfPresent(groupId, (id, previous) -> {
+            unfile(previous);
+            return null;
+        });
+    }
+
+    private void unfile(Entry e) {
+        if (e.teacherKey != null) buckets.get(e.teacherKey).remove(e);
+        if (e.roomKey != null)    buckets.get(e.roomKey).remove(e);
+    }
+
+    /**
+     * Conflicts the given group would have with the indexed ones. The group
+     * itself (same ID) is ignored, so a group being updated can be checked
+     * against its own previous state.
+     */
+    public List<ScheduleConflict> conflictsOf(Group group) {
+        List<ScheduleConflict> conflicts = new ArrayList<>();
+        Schedule sc = group.getSchedule();
+        if (sc == null || sc.getDay() == null) return conflicts;
+        collect(ScheduleConflict.Kind.TEACHER, teacherKey(group), group, conflicts);
+        collect(ScheduleConflict.Kind.CLASSROOM, roomKey(group), group, conflicts);
+        return conflicts;
+    }
+
+    private void collect(ScheduleConflict.Kind kind, String key, Group group, List<ScheduleConflict> into) {
+        if (key == null) return;
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) return;
+        List<Group> others = new ArrayList<>();
+        bucket.collect(group.getSchedule().getStartMinute(), group.getSchedule().getEndMinute(),
+                       Objects.toString(group.getId(), ""), others);
+        for (Group other : others) into.add(new ScheduleConflict(kind, group, other));
+    }
+
+    /** Number of groups indexed. */
+    public int size() {
+        return indexed.size();
+    }
+
+    // ── Keys ──────────────────────────────────────────────────────────────────
+
+    /** Bucket of the group's teacher on its day, or {@code null} if it has none. */
+    static String teacherKey(Group g) {
+        if (g.getTeacher() == null || g.getTeacher().getId() == null) return null;
+        return "T" + g.getSchedule().getDay().ordinal() + ":" + g.getTeacher().getId();
+    }
+
+    /** Bucket of the group's classroom on its day, or {@code null} if it has none. */
+    static String roomKey(Group g) {
+        String room = normalizedClassroom(g.getSchedule());
+        return room != null ? "R" + g.getSchedule().getDay().ordinal() + ":" + room : null;
+    }
+
+    /** The schedule's classroom as compared for conflicts, or {@code null} if it has none. */
+    public static String normalizedClassroom(Schedule sc) {
+        return sc != null ? normalizedClassroom(sc.getClassroom()) : null;
+    }
+
+    /** Classroom name as compared for conflicts (trimmed, lower case), or {@code null} if blank. */
+    public static String normalizedClassroom(String classroom) {
+        if (classroom == null || classroom.isBlank()) return null;
+        return classroom.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,11 +1,50 @@
 package com.academia.controller;
 
+import com.academia.analytics.Analytics;
+import com.academia.conflict.ConflictReport;
+import com.academia.conflict.ScheduleConflict;
+import com.academia.conflict.ScheduleIndex;
+import com.academia.enrollment.Waitlist;
+import com.academia.enrollment.Waitlists;
+import com.academia.event.ChangeBus;
 import com.academia.model.*;
 import com.academia.model.Subject.Modality;
 import com.academia.patterns.builder.StudyPlanBuilder;
+import com.academia.persistence.CataloguePersistence;
+import com.academia.persistence.CatalogueStore;
+import com.academia.persistence.Journal;
+import com.academia.persistence.MappedSnapshot;
+import com.academia.persistence.PersistenceConfig;
+import com.academia.query.GroupQuery;
+import com.academia.query.Page;
+import com.academia.query.StudyPlanQuery;
+import com.academia.query.SubjectQuery;
+import com.academia.query.TeacherQuery;
+import com.academia.repository.ConcurrentRepository;
+import com.academia.repository.StripedLock;
+import com.academia.search.SearchHit;
+import com.academia.search.SearchIndex;
+import com.academia.workload.TeacherLoad;
+import com.academia.workload.WorkloadIndex;
+import com.academia.timetable.Classroom;
+import com.academia.timetable.TimeSlot;
+import com.academia.timetable.Timetable;
+import com.academia.timetable.TimetableSolver;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Central controller for the Academic Management System.
@@ -15,7 +54,12 @@ import java.util.*;
  * (Prototype pattern) to create study plans.
  *
  * Implemented as a Singleton to ensure a single data source during the
- * application's lifecycle.
+ * application's lifecycle. All operations are safe to call from several
+ * threads at once (importers, background jobs and the Swing UI).
+ *
+ * Every mutation is recorded in an on-disk journal (see
+ * {@link CataloguePersistence}) and replayed on the next start; sample data
+ * is only loaded when there is nothing to recover.
  */
 public class AcademyController {
 
@@ -33,91 +77,775 @@ public class AcademyController {
         return instance;
     }
 
-    // ── In-memory storage ─────────────────────────────────────────────────────
-    private final Map<String, StudyPlan> studyPlans = new LinkedHashMap<>();
-    private final Map<String, Subject>   subjects   = new LinkedHashMap<>();
-    private final Map<String, Teacher>   teachers   = new LinkedHashMap<>();
-    private final Map<String, Group>     groups     = new LinkedHashMap<>();
+    // ── In-memory storage (thread-safe) ───────────────────────────────────────
+    private final ConcurrentRepository<StudyPlan> studyPlans = new ConcurrentRepository<>("P");
+    private final ConcurrentRepository<Subject>   subjects   = new ConcurrentRepository<>("A");
+    private final ConcurrentRepository<Teacher>   teachers   = new ConcurrentRepository<>("D");
+    private final ConcurrentRepository<Group>     groups     = new ConcurrentRepository<>("G");
+
+    // ── Reverse indexes (subject/teacher ID → group IDs) ──────────────────────
+    private final Map<String, Set<String>> groupsBySubject = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> groupsByTeacher = new ConcurrentHashMap<>();
+    private final Map<String, String>      indexedSubject  = new ConcurrentHashMap<>(); // group ID → subject ID
+    private final Map<String, String>      indexedTeacher  = new ConcurrentHashMap<>(); // group ID → teacher ID
+
+    /**
+     * Snapshot the stores were loaded from, if any. Its groups are not in the
+     * maps above: the snapshot carries its own reverse indexes, which stay
+     * valid for every group that has not been changed since.
+     */
+    private volatile MappedSnapshot snapshot;
+
+    /**
+     * Teacher and classroom occupancy of the groups, used to refuse double
+     * bookings. Built on first use, so opening a large snapshot does not
+     * load every group up front.
+     */
+    private volatile ScheduleIndex scheduleIndex;
+
+    /**
+     * Full-text index of plans, groups, subjects and teachers. Built on
+     * first search and then kept up to date by every write (the journal is
+     * replayed before anyone can search); see {@link #indexLock}.
+     */
+    private volatile SearchIndex searchIndex;
+
+    /**
+     * Teaching load of every teacher, ranked per speciality. Built on first
+     * query and then kept up to date by every group, teacher and seat write;
+     * see {@link #indexLock}.
+     */
+    private volatile WorkloadIndex workloadIndex;
+
+    /**
+     * Plans holding each catalogue group (group ID → plan IDs), so their
+     * totals can follow the group when it is changed in place. Built on
+     * first use and then kept up to date by every plan write; see
+     * {@link #indexLock}. Cloned plans hold copies of the groups and are
+     * not filed.
+     */
+    private volatile Map<String, Set<String>> plansByGroup;
+
+    /**
+     * Each filed group's share of the totals of the plans holding it, as
+     * those totals last counted it (group ID → share).
+     */
+    private final Map<String, PlanTotals.Share> countedShares = new ConcurrentHashMap<>();
+
+    /**
+     * Serialises the referential-integrity checks: deleting a subject/teacher
+     * and (re)assigning it to a group lock the same stripe, so a delete can
+     * never slip in between a group's creation and its indexing.
+     */
+    private final StripedLock referenceLocks = new StripedLock(64);
+
+    /**
+     * Held shared by every write while it stores an entity and files it in
+     * the lazily built indexes, and exclusively while one of those indexes
+     * is built. A write therefore either lands before a build's scan (which
+     * then sees it) or after the index is published (and files it itself),
+     * never in between. Writes still run in parallel with each other.
+     */
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+
+    private final CataloguePersistence persistence;
 
-    private final StudyPlanBuilder builder = new StudyPlanBuilder();
+    /**
+     * How plans are cloned: {@code shared} (default) copies the groups but
+     * shares subjects, teachers and schedules through {@link ValuePool#SHARED};
+     * {@code deep} copies everything; {@code overlay} builds copy-on-write
+     * clones that read the source plan's groups with no seats taken (see
+     * {@link StudyPlan#derive()}). Every mode starts the clone's seats at zero.
+     */
+    private static final String CLONE_MODE =
+            System.getProperty("academia.clone.mode", "shared").toLowerCase(Locale.ROOT);
+
+    /** How long a seat offered to a waitlisted student stays held for them. */
+    private static final long WAITLIST_OFFER_SECONDS = Long.getLong("academia.waitlist.offer.seconds", 900);
+
+    private final Waitlists waitlists =
+            new Waitlists(groups::get, TimeUnit.SECONDS.toMillis(WAITLIST_OFFER_SECONDS), this::expireOffers);
+
+    /**
+     * Announces every change made through this controller, batched and
+     * coalesced, so views can update the affected rows only.
+     */
+    private final ChangeBus changes = new ChangeBus(30);
 
-    private int planCounter    = 1;
-    private int subjectCounter = 1;
-    private int teacherCounter = 1;
-    private int groupCounter   = 1;
+    /**
+     * Grouped reports over plans and groups. Each report's view is built on
+     * first request and then kept current from {@link #changes}.
+     */
+    private final Analytics analytics =
+            new Analytics(changes, this::getStudyPlans, this::getGroups, this::getSubjectById);
 
     private AcademyController() {
-        loadSampleData();
+        this(PersistenceConfig.fromSystemProperties());
+    }
+
+    /** A controller of its own over {@code config}, e.g. to restart on the same data in tests. */
+    AcademyController(PersistenceConfig config) {
+        Store store = new Store();
+        persistence = openPersistence(config, store);
+        store.recountReplayedPlans();
+        if (!persistence.isRecovered()) {
+            loadSampleData();
+        }
+    }
+
+    /** Closes the journal; the controller must not be used afterwards. */
+    void close() throws IOException {
+        persistence.close();
+    }
+
+    private CataloguePersistence openPersistence(PersistenceConfig config, Store store) {
+        if (!config.isEnabled()) {
+            return CataloguePersistence.inMemory();
+        }
+        try {
+            return CataloguePersistence.open(config, store);
+        } catch (IOException e) {
+            throw new UncheckedIOException(
+                    "No se pudieron cargar los datos de " + config.getDataDirectory(), e);
+        }
+    }
+
+    /** Where created, updated and deleted entities are announced. */
+    public ChangeBus getChangeBus() {
+        return changes;
+    }
+
+    /** Grouped reports over the catalogue (see {@link Analytics}). */
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
+    /** Directory where the data is persisted, or {@code null} if kept only in memory. */
+    public Path getDataDirectory() {
+        return persistence.getDataDirectory();
     }
 
     // ── Subject operations ────────────────────────────────────────────────────
 
     public Subject createSubject(String name, int credits,
                                  String description, Modality modality) {
-        String id  = "A" + String.format("%03d", subjectCounter++);
+        String id  = subjects.nextId();
         Subject s  = new Subject(id, name, credits, description, modality);
-        subjects.put(id, s);
+        Journal.Commit commit;
+        int[] locked = lockForWrite();
+        try {
+            subjects.put(id, s);
+            indexText(text -> text.add(s));
+            commit = persistence.subjectSaved(s);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.created(Subject.class, id, s);
         return s;
     }
 
     public void updateSubject(Subject subject) {
-        subjects.put(subject.getId(), subject);
+        Journal.Commit commit;
+        List<Group> teaching;
+        int[] locked = lockForWrite(subjectKey(subject.getId()));
+        try {
+            subjects.put(subject.getId(), subject);
+            indexText(text -> text.add(subject));
+            // Each group's share of its teacher's load counts the subject's credits
+            teaching = getGroupsBySubject(subject.getId());
+            for (Group g : teaching) countWorkload(load -> load.add(g));
+            commit = persistence.subjectSaved(subject);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.updated(Subject.class, subject.getId(), subject);
+        recountPlansOf(teaching);
     }
 
     public void deleteSubject(String id) {
-        // Verificar si hay grupos que usan esta materia
-        for (Group g : groups.values()) {
-            if (g.getSubject().getId().equals(id)) {
+        Journal.Commit commit;
+        int[] locked = lockForWrite(subjectKey(id));
+        try {
+            // Verificar si hay grupos que usan esta materia
+            if (!groupIdsOf(groupsBySubject, id, true).isEmpty()) {
                 throw new IllegalStateException("No se puede eliminar la materia: hay grupos asignados a ella.");
             }
+            subjects.remove(id);
+            indexText(text -> text.remove(SearchHit.Kind.SUBJECT, id));
+            commit = persistence.subjectDeleted(id);
+        } finally {
+            unlockWrite(locked);
         }
-        subjects.remove(id);
+        commit.await();
+        changes.deleted(Subject.class, id);
+    }
+
+    public Subject getSubjectById(String id) {
+        return subjects.get(id);
     }
 
     public List<Subject> getSubjects() {
-        return new ArrayList<>(subjects.values());
+        return subjects.values();
+    }
+
+    /** Runs a paginated subject query. */
+    public Page<Subject> findSubjects(SubjectQuery query) {
+        return query.execute(subjects.values());
     }
 
     // ── Teacher operations ────────────────────────────────────────────────────
 
     public Teacher createTeacher(String firstName, String lastName,
                                  String speciality, String email, String phone) {
-        String id  = "D" + String.format("%03d", teacherCounter++);
+        String id  = teachers.nextId();
         Teacher t  = new Teacher(id, firstName, lastName, speciality, email, phone);
-        teachers.put(id, t);
+        Journal.Commit commit;
+        int[] locked = lockForWrite();
+        try {
+            teachers.put(id, t);
+            indexText(text -> text.add(t));
+            countWorkload(load -> load.addTeacher(t));
+            commit = persistence.teacherSaved(t);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.created(Teacher.class, id, t);
         return t;
     }
 
     public void updateTeacher(Teacher teacher) {
-        teachers.put(teacher.getId(), teacher);
+        Journal.Commit commit;
+        int[] locked = lockForWrite(teacherKey(teacher.getId()));
+        try {
+            teachers.put(teacher.getId(), teacher);
+            indexText(text -> text.add(teacher));
+            countWorkload(load -> load.addTeacher(teacher));
+            commit = persistence.teacherSaved(teacher);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.updated(Teacher.class, teacher.getId(), teacher);
     }
 
     public void deleteTeacher(String id) {
-        // Verificar si hay grupos que tienen este docente
-        for (Group g : groups.values()) {
-            if (g.getTeacher().getId().equals(id)) {
+        Journal.Commit commit;
+        int[] locked = lockForWrite(teacherKey(id));
+        try {
+            // Verificar si hay grupos que tienen este docente
+            if (!groupIdsOf(groupsByTeacher, id, false).isEmpty()) {
                 throw new IllegalStateException("No se puede eliminar el docente: hay grupos asignados a él.");
             }
+            teachers.remove(id);
+            indexText(text -> text.remove(SearchHit.Kind.TEACHER, id));
+            countWorkload(load -> load.removeTeacher(id));
+            commit = persistence.teacherDeleted(id);
+        } finally {
+            unlockWrite(locked);
         }
-        teachers.remove(id);
+        commit.await();
+        changes.deleted(Teacher.class, id);
+    }
+
+    public Teacher getTeacherById(String id) {
+        return teachers.get(id);
     }
 
     public List<Teacher> getTeachers() {
-        return new ArrayList<>(teachers.values());
+        return teachers.values();
+    }
+
+    /** Runs a paginated teacher query. */
+    public Page<Teacher> findTeachers(TeacherQuery query) {
+        return query.execute(teachers.values());
     }
 
     // ── Group operations ──────────────────────────────────────────────────────
 
+    /**
+     * @throws IllegalStateException if the teacher or the classroom is already
+     *         taken at that time by another group.
+     */
     public Group createGroup(String name, Subject subject, Teacher teacher,
                              Schedule schedule, int maxSlots) {
-        String id = "G" + String.format("%03d", groupCounter++);
-        Group g   = new Group(id, name, subject, teacher, schedule, maxSlots);
-        groups.put(id, g);
+        Group g = new Group(null, name, subject, teacher, schedule, maxSlots);
+        Journal.Commit commit;
+        int[] locked = lockReferencesOf(g, null, null);
+        try {
+            requireNoConflicts(g); // before allocating, so a refused group burns no ID
+            g.setId(groups.nextId());
+            groups.put(g.getId(), g);
+            indexGroup(g);
+            commit = persistence.groupSaved(g);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.created(Group.class, g.getId(), g);
         return g;
     }
 
+    /**
+     * Stores the new state of an existing group and refreshes the reverse
+     * indexes, since its subject or teacher may have been reassigned.
+     *
+     * @throws IllegalStateException if the new schedule double-books the
+     *         teacher or the classroom.
+     */
+    public void updateGroup(Group group) {
+        String groupId = group.getId();
+        Journal.Commit commit;
+        int[] locked = lockReferencesOf(group, indexedSubject.get(groupId), indexedTeacher.get(groupId));
+        try {
+            requireNoConflicts(group);
+            unindexGroup(groupId);
+            if (groups.get(groupId) != group) unfilePlansOf(groupId);
+            groups.put(groupId, group);
+            indexGroup(group);
+            commit = persistence.groupSaved(group);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.updated(Group.class, groupId, group);
+        recountPlansOf(List.of(group));
+    }
+
     public List<Group> getGroups() {
-        return new ArrayList<>(groups.values());
+        return groups.values();
+    }
+
+    // ── Enrollment ────────────────────────────────────────────────────────────
+    // A seat is taken with compare-and-set on the group (see Group#reserveSeat),
+    // so no lock is held while it is taken and a group is never oversold. The
+    // bookkeeping after it is a write like any other: it holds indexLock
+    // shared (held exclusively only while a lazy index is built) to re-file
+    // the group's workload and queue its journal record, waits for that record
+    // to be committed, and updates the totals of the plans holding the group
+    // under each plan's stripe. Once a group has a waitlist, seats given up go
+    // to its queue before anyone else.
+
+    /**
+     * Takes one seat in a group.
+     *
+     * @return {@code false} if the group is full or students are waiting for it.
+     * @throws IllegalArgumentException if the group does not exist.
+     */
+    public boolean reserveSeat(String groupId) {
+        Group g = requireGroup(groupId);
+        detachDerivedPlans(List.of(g));
+        if (hasWaitingStudents(groupId) || !g.reserveSeat()) return false;
+        seatsMoved(g);
+        return true;
+    }
+
+    /**
+     * Gives back one seat in a group. If students are waiting, the seat is
+     * offered to the first of them instead of being freed.
+     *
+     * @return {@code false} if no seat was taken.
+     * @throws IllegalArgumentException if the group does not exist.
+     */
+    public boolean releaseSeat(String groupId) {
+        Group g = requireGroup(groupId);
+        detachDerivedPlans(List.of(g));
+        Waitlist waitlist = waitlists.get(groupId);
+        if (!(waitlist != null ? waitlist.release() : g.releaseSeat())) return false;
+        seatsMoved(g);
+        return true;
+    }
+
+    /**
+     * Takes one seat in each of several groups (e.g. a student's whole
+     * timetable), or none: if any group is full, the seats already taken
+     * are given back.
+     *
+     * @return whether every seat was taken.
+     * @throws IllegalArgumentException if a group does not exist.
+     */
+    public boolean reserveSeats(Collection<String> groupIds) {
+        List<Group> targets = new ArrayList<>(groupIds.size());
+        for (String id : groupIds) {
+            targets.add(requireGroup(id));
+            if (hasWaitingStudents(id)) return false;
+        }
+        detachDerivedPlans(targets);
+
+        int taken = 0;
+        while (taken < targets.size() && targets.get(taken).reserveSeat()) taken++;
+        if (taken < targets.size()) {
+            for (int i = 0; i < taken; i++) targets.get(i).releaseSeat();
+            return false;
+        }
+        Journal.Commit last = null;
+        for (Group g : targets) last = seatsChanged(g);
+        if (last != null) last.await();
+        for (Group g : targets) changes.updated(Group.class, g.getId(), g);
+        recountPlansOf(targets);
+        return true;
+    }
+
+    /**
+     * Enrolls a student in a group, or puts them on its waitlist if the group
+     * is full or others are already waiting.
+     *
+     * @return {@code null} if the student got a seat, otherwise their
+     *         waitlist entry.
+     * @throws IllegalArgumentException if the group does not exist.
+     */
+    public Waitlist.Entry enroll(String groupId, String studentId) {
+        if (reserveSeat(groupId)) return null;
+        Group g = requireGroup(groupId);
+        detachDerivedPlans(List.of(g));
+        int occupied = g.getOccupiedSlots();
+        Waitlist.Entry entry = waitlists.getOrCreate(groupId).join(studentId);
+        if (g.getOccupiedSlots() != occupied) seatsMoved(g); // a seat freed meanwhile was held for an offer
+        return entry;
+    }
+
+    /**
+     * Claims the seat offered to a waitlisted student.
+     *
+     * @return {@code false} if the student holds no offer or it has expired.
+     * @throws IllegalArgumentException if the group does not exist.
+     */
+    public boolean claimOffer(String groupId, String studentId) {
+        Group g = requireGroup(groupId);
+        detachDerivedPlans(List.of(g));
+        Waitlist waitlist = waitlists.get(groupId);
+        if (waitlist == null || !waitlist.claim(studentId)) return false;
+        seatsMoved(g);
+        return true;
+    }
+
+    /**
+     * Takes a student off a group's waitlist, declining any seat offered.
+     *
+     * @return {@code false} if the student was not on the waitlist.
+     * @throws IllegalArgumentException if the group does not exist.
+     */
+    public boolean leaveWaitlist(String groupId, String studentId) {
+        Group g = requireGroup(groupId);
+        detachDerivedPlans(List.of(g));
+        Waitlist waitlist = waitlists.get(groupId);
+        int occupied = g.getOccupiedSlots();
+        if (waitlist == null || !waitlist.leave(studentId)) return false;
+        if (g.getOccupiedSlots() != occupied) seatsMoved(g); // the seat held for them was freed
+        return true;
+    }
+
+    /**
+     * A student's place on a group's waitlist (1 is next in line), or 0 if
+     * they are not waiting.
+     */
+    public int getWaitlistPosition(String groupId, String studentId) {
+        Waitlist waitlist = waitlists.get(groupId);
+        return waitlist != null ? waitlist.positionOf(studentId) : 0;
+    }
+
+    /** A student's waitlist entry for a group, or {@code null}. */
+    public Waitlist.Entry getWaitlistEntry(String groupId, String studentId) {
+        Waitlist waitlist = waitlists.get(groupId);
+        return waitlist != null ? waitlist.entryOf(studentId) : null;
+    }
+
+    /** Queue-depth figures of every group with students waiting or offered a seat. */
+    public List<Waitlist.Metrics> getWaitlistMetrics() {
+        return waitlists.metrics();
+    }
+
+    /**
+     * Expires a waitlist's overdue offers, for the sweeper and before every
+     * waitlist call. Their held seats pass to the next students in line or
+     * are freed, which is a seat change like any other.
+     */
+    private void expireOffers(Waitlist waitlist) {
+        if (!waitlist.hasOffersDue()) return;
+        Group g = groups.get(waitlist.getGroupId());
+        if (g != null) detachDerivedPlans(List.of(g));
+        if (waitlist.expireOffers() && g != null) seatsMoved(g);
+    }
+
+    /** Journals, re-files and announces a group whose seats were just taken or given back. */
+    private void seatsMoved(Group g) {
+        seatsChanged(g).await();
+        changes.updated(Group.class, g.getId(), g);
+        recountPlansOf(List.of(g));
+    }
+
+    /** Re-files a group whose seats were just taken or given back and journals its seat count. */
+    private Journal.Commit seatsChanged(Group g) {
+        int[] locked = lockForWrite();
+        try {
+            countWorkload(load -> load.add(g));
+            return persistence.seatsChanged(g);
+        } finally {
+            unlockWrite(locked);
+        }
+    }
+
+    private boolean hasWaitingStudents(String groupId) {
+        Waitlist waitlist = waitlists.get(groupId);
+        return waitlist != null && waitlist.getWaitingCount() > 0;
+    }
+
+    private Group requireGroup(String groupId) {
+        Group g = groups.get(groupId);
+        if (g == null) throw new IllegalArgumentException("Grupo no encontrado con ID: " + groupId);
+        return g;
+    }
+
+    /** Returns the groups that teach the given subject, via the reverse index. */
+    public List<Group> getGroupsBySubject(String subjectId) {
+        return resolveGroups(groupIdsOf(groupsBySubject, subjectId, true));
+    }
+
+    /** Returns the groups assigned to the given teacher, via the reverse index. */
+    public List<Group> getGroupsByTeacher(String teacherId) {
+        return resolveGroups(groupIdsOf(groupsByTeacher, teacherId, false));
+    }
+
+    /** IDs of the groups referencing a subject or teacher, from both index layers. */
+    private List<String> groupIdsOf(Map<String, Set<String>> index, String key, boolean bySubject) {
+        List<String> ids = new ArrayList<>();
+        MappedSnapshot base = snapshot;
+        if (base != null) {
+            for (String groupId : bySubject ? base.groupIdsBySubject(key) : base.groupIdsByTeacher(key)) {
+                if (!groups.isOverridden(groupId)) ids.add(groupId);
+            }
+        }
+        Set<String> indexed = index.get(key);
+        if (indexed != null) ids.addAll(indexed);
+        return ids;
+    }
+
+    /**
+     * Runs a paginated group query. Subject and teacher filters are narrowed
+     * through the reverse indexes, ordered by ID (i.e. creation order).
+     */
+    public Page<Group> findGroups(GroupQuery query) {
+        List<Group> source;
+        if (query.getSubjectId() != null) {
+            source = getGroupsBySubject(query.getSubjectId());
+        } else if (query.getTeacherId() != null) {
+            source = getGroupsByTeacher(query.getTeacherId());
+        } else {
+            return query.execute(groups.values());
+        }
+        source.sort(Comparator.comparingInt((Group g) -> g.getId().length()).thenComparing(Group::getId));
+        return query.execute(source);
+    }
+
+    private List<Group> resolveGroups(List<String> groupIds) {
+        List<Group> result = new ArrayList<>(groupIds.size());
+        for (String groupId : groupIds) {
+            Group g = groups.get(groupId);
+            if (g != null) result.add(g);
+        }
+        return result;
+    }
+
+    private void indexGroup(Group g) {
+        ScheduleIndex occupancy = scheduleIndex; // still unbuilt while replaying the journal
+        if (occupancy != null) occupancy.add(g);
+        indexText(text -> text.add(g));
+        countWorkload(load -> load.add(g));
+        if (g.getSubject() != null) {
+            String subjectId = g.getSubject().getId();
+            addToIndex(groupsBySubject, subjectId, g.getId());
+            indexedSubject.put(g.getId(), subjectId);
+        }
+        if (g.getTeacher() != null) {
+            String teacherId = g.getTeacher().getId();
+            addToIndex(groupsByTeacher, teacherId, g.getId());
+            indexedTeacher.put(g.getId(), teacherId);
+        }
+    }
+
+    /** Removes a group from the reverse indexes using the keys it was indexed under. */
+    private void unindexGroup(String groupId) {
+        countWorkload(load -> load.remove(groupId));
+        removeFromIndex(groupsBySubject, indexedSubject.remove(groupId), groupId);
+        removeFromIndex(groupsByTeacher, indexedTeacher.remove(groupId), groupId);
+    }
+
+    private static void addToIndex(Map<String, Set<String>> index, String key, String groupId) {
+        index.compute(key, (k, ids) -> {
+            if (ids == null) ids = ConcurrentHashMap.newKeySet();
+            ids.add(groupId);
+            return ids;
+        });
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String groupId) {
+        if (key == null) return;
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(groupId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Locks the stripes of a group's current and previously indexed
+     * references, and of its classroom, so that two groups can never book
+     * the same teacher or classroom concurrently.
+     */
+    private int[] lockReferencesOf(Group g, String oldSubjectId, String oldTeacherId) {
+        String classroom = ScheduleIndex.normalizedClassroom(g.getSchedule());
+        return lockForWrite(
+                g.getSubject() != null ? subjectKey(g.getSubject().getId()) : null,
+                g.getTeacher() != null ? teacherKey(g.getTeacher().getId()) : null,
+                oldSubjectId != null ? subjectKey(oldSubjectId) : null,
+                oldTeacherId != null ? teacherKey(oldTeacherId) : null,
+                classroom != null ? classroomKey(classroom) : null);
+    }
+
+    private static String subjectKey(String subjectId)   { return "subject:" + subjectId; }
+    private static String teacherKey(String teacherId)   { return "teacher:" + teacherId; }
+    private static String classroomKey(String classroom) { return "classroom:" + classroom; }
+    private static String planKey(String planId)         { return "plan:" + planId; }
+
+    /**
+     * Starts a write: takes {@link #indexLock} shared, then the stripes of
+     * the given keys ({@code null} keys are ignored).
+     */
+    private int[] lockForWrite(Object... keys) {
+        indexLock.readLock().lock();
+        try {
+            return referenceLocks.lock(keys);
+        } catch (RuntimeException e) {
+            indexLock.readLock().unlock();
+            throw e;
+        }
+    }
+
+    private void unlockWrite(int[] locked) {
+        referenceLocks.unlock(locked);
+        indexLock.readLock().unlock();
+    }
+
+    // ── Schedule conflicts ────────────────────────────────────────────────────
+
+    private ScheduleIndex scheduleIndex() {
+        ScheduleIndex index = scheduleIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = scheduleIndex;
+                if (index == null) {
+                    index = new ScheduleIndex();
+                    for (Group g : groups.values()) index.add(g);
+                    scheduleIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Conflicts a group would have with the stored groups: same teacher or
+     * same classroom at an overlapping time of the same day. The group itself
+     * (same ID) is ignored, so existing groups can be checked before an update.
+     */
+    public List<ScheduleConflict> findScheduleConflicts(Group group) {
+        return scheduleIndex().conflictsOf(group);
+    }
+
+    private void requireNoConflicts(Group group) {
+        List<ScheduleConflict> conflicts = findScheduleConflicts(group);
+        if (!conflicts.isEmpty()) throw new IllegalStateException(conflicts.get(0).getMessage());
+    }
+
+    /** All teacher and classroom conflicts among the groups of a plan. */
+    public ConflictReport checkConflicts(StudyPlan plan) {
+        return ConflictReport.scan(plan.getGroups());
+    }
+
+    /** All teacher and classroom conflicts among the groups of every plan of a period. */
+    public ConflictReport checkPeriodConflicts(String period) {
+        StudyPlanQuery filter = new StudyPlanQuery().period(period);
+        List<Group> all = new ArrayList<>();
+        for (StudyPlan p : studyPlans.values()) {
+            if (filter.matches(p)) all.addAll(p.getGroups());
+        }
+        return ConflictReport.scan(all);
+    }
+
+    // ── Timetabling ───────────────────────────────────────────────────────────
+
+    /**
+     * Proposes schedules for the given groups with {@code solver}. Every
+     * other stored group keeps its schedule and blocks its teacher and
+     * classroom. Nothing is changed until {@link #applyTimetable(Timetable)}.
+     */
+    public Timetable planTimetable(List<Group> targets, List<Classroom> rooms,
+                                   List<TimeSlot> slots, TimetableSolver solver) {
+        Set<String> targetIds = new HashSet<>();
+        for (Group g : targets) targetIds.add(g.getId());
+        List<Group> fixed = new ArrayList<>();
+        for (Group g : groups.values()) {
+            if (!targetIds.contains(g.getId())) fixed.add(g);
+        }
+        return solver.solve(targets, rooms, slots, fixed);
+    }
+
+    /**
+     * Gives every placed group of a timetable its proposed schedule; groups
+     * left unplaced keep theirs. The whole timetable is checked against the
+     * stored groups first and applied under the locks of every teacher and
+     * classroom involved, so it is either applied entirely or not at all.
+     *
+     * @throws IllegalStateException if a group changed meanwhile and a
+     *         proposed schedule now double-books a teacher or classroom.
+     */
+    public void applyTimetable(Timetable timetable) {
+        Map<Group, Schedule> proposed = timetable.getAssignments();
+        Set<String> moving = new HashSet<>();
+        List<Object> keys = new ArrayList<>();
+        for (Map.Entry<Group, Schedule> e : proposed.entrySet()) {
+            Group g = e.getKey();
+            moving.add(g.getId());
+            if (g.getTeacher() != null) keys.add(teacherKey(g.getTeacher().getId()));
+            String classroom = ScheduleIndex.normalizedClassroom(e.getValue());
+            if (classroom != null) keys.add(classroomKey(classroom));
+        }
+
+        List<Group> stored = new ArrayList<>(proposed.size());
+        for (Group g : proposed.keySet()) {
+            Group current = groups.get(g.getId());
+            if (current != null) stored.add(current);
+        }
+        detachDerivedPlans(stored);
+
+        Journal.Commit last = null;
+        List<Group> applied = new ArrayList<>(proposed.size());
+        int[] locked = lockForWrite(keys.toArray());
+        try {
+            for (Map.Entry<Group, Schedule> e : proposed.entrySet()) {
+                Group g = e.getKey();
+                Group moved = new Group(g.getId(), g.getName(), g.getSubject(), g.getTeacher(),
+                                        e.getValue(), g.getMaxSlots());
+                for (ScheduleConflict c : findScheduleConflicts(moved)) {
+                    if (!moving.contains(c.getSecond().getId())) throw new IllegalStateException(c.getMessage());
+                }
+            }
+            for (Map.Entry<Group, Schedule> e : proposed.entrySet()) {
+                Group g = groups.get(e.getKey().getId());
+                if (g == null) continue;
+                g.setSchedule(e.getValue());
+                groups.put(g.getId(), g);
+                indexGroup(g);
+                last = persistence.groupSaved(g);
+                applied.add(g);
+            }
+        } finally {
+            unlockWrite(locked);
+        }
+        if (last != null) last.await();
+        for (Group g : applied) changes.updated(Group.class, g.getId(), g);
+        recountPlansOf(applied);
     }
 
     // ── BUILDER pattern — create a StudyPlan from scratch ─────────────────────
@@ -131,9 +859,10 @@ public class AcademyController {
                                      Modality modality, LocalDate startDate,
                                      LocalDate endDate, String description,
                                      List<Group> selectedGroups) {
-        String id = "P" + String.format("%03d", planCounter++);
+        String id = studyPlans.nextId();
 
-        builder.reset();
+        // A fresh builder per call: builders are stateful and calls may be concurrent
+        StudyPlanBuilder builder = new StudyPlanBuilder();
         builder.setId(id)
                .setName(name)
                .setPeriod(period)
@@ -148,7 +877,18 @@ public class AcademyController {
         }
 
         StudyPlan plan = builder.build();
-        studyPlans.put(plan.getId(), plan);
+        Journal.Commit commit;
+        int[] locked = lockForWrite();
+        try {
+            studyPlans.put(plan.getId(), plan);
+            indexText(text -> text.add(plan));
+            filePlan(plan);
+            commit = persistence.planSaved(plan);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.created(StudyPlan.class, plan.getId(), plan);
         return plan;
     }
 
@@ -174,23 +914,259 @@ public class AcademyController {
             throw new IllegalArgumentException("Plan no encontrado con ID: " + sourceId);
         }
 
-        // Prototype: deep clone the whole plan
-        StudyPlan copy = source.clone();
-        copy.setId("P" + String.format("%03d", planCounter++));
+        // Prototype: clone the whole plan
+        StudyPlan copy = prototypeOf(source);
+        copy.setId(studyPlans.nextId());
         copy.setName(newName);
         copy.setPeriod(newPeriod);
         copy.setStartDate(newStart);
         copy.setEndDate(newEnd);
         copy.setDescription("Clonado de: " + source.getName());
 
-        studyPlans.put(copy.getId(), copy);
+        Journal.Commit commit;
+        int[] locked = lockForWrite();
+        try {
+            studyPlans.put(copy.getId(), copy);
+            indexText(text -> text.add(copy));
+            filePlan(copy);
+            commit = persistence.planSaved(copy);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.created(StudyPlan.class, copy.getId(), copy);
         return copy;
     }
 
+    // ── Bulk operations ───────────────────────────────────────────────────────
+    // Used by importers: each entity gets the same treatment as the single
+    // create methods, but the journal is only waited on once per batch.
+
+    /** Creates one subject per draft; the drafts' IDs are ignored. */
+    public List<Subject> createSubjects(List<Subject> drafts) {
+        List<Subject> created = new ArrayList<>(drafts.size());
+        Journal.Commit last = null;
+        int[] locked = lockForWrite();
+        try {
+            for (Subject d : drafts) {
+                String  id = subjects.nextId();
+                Subject s  = new Subject(id, d.getName(), d.getCredits(), d.getDescription(), d.getModality());
+                subjects.put(id, s);
+                indexText(text -> text.add(s));
+                last = persistence.subjectSaved(s);
+                created.add(s);
+            }
+        } finally {
+            unlockWrite(locked);
+        }
+        if (last != null) last.await();
+        for (Subject s : created) changes.created(Subject.class, s.getId(), s);
+        return created;
+    }
+
+    /** Creates one teacher per draft; the drafts' IDs are ignored. */
+    public List<Teacher> createTeachers(List<Teacher> drafts) {
+        List<Teacher> created = new ArrayList<>(drafts.size());
+        Journal.Commit last = null;
+        int[] locked = lockForWrite();
+        try {
+            for (Teacher d : drafts) {
+                String  id = teachers.nextId();
+                Teacher t  = new Teacher(id, d.getFirstName(), d.getLastName(),
+                                         d.getSpeciality(), d.getEmail(), d.getPhone());
+                teachers.put(id, t);
+                indexText(text -> text.add(t));
+                countWorkload(load -> load.addTeacher(t));
+                last = persistence.teacherSaved(t);
+                created.add(t);
+            }
+        } finally {
+            unlockWrite(locked);
+        }
+        if (last != null) last.await();
+        for (Teacher t : created) changes.created(Teacher.class, t.getId(), t);
+        return created;
+    }
+
+    /**
+     * Creates one group per draft; the drafts' IDs are ignored. Their
+     * subjects and teachers must be catalogue instances. Drafts that would
+     * double-book a teacher or classroom (also against earlier drafts) are
+     * skipped and passed to {@code rejected} with their index and the reason.
+     */
+    public List<Group> createGroups(List<Group> drafts, BiConsumer<Integer, String> rejected) {
+        List<Group> created = new ArrayList<>(drafts.size());
+        Journal.Commit last = null;
+        for (int i = 0; i < drafts.size(); i++) {
+            Group d = drafts.get(i);
+            int[] locked = lockReferencesOf(d, null, null);
+            try {
+                List<ScheduleConflict> conflicts = findScheduleConflicts(d);
+                if (!conflicts.isEmpty()) {
+                    rejected.accept(i, conflicts.get(0).getMessage());
+                    continue;
+                }
+                String id = groups.nextId();
+                Group  g  = new Group(id, d.getName(), d.getSubject(), d.getTeacher(),
+                                      d.getSchedule(), d.getMaxSlots());
+                groups.put(id, g);
+                indexGroup(g);
+                last = persistence.groupSaved(g);
+                created.add(g);
+            } finally {
+                unlockWrite(locked);
+            }
+        }
+        if (last != null) last.await();
+        for (Group g : created) changes.created(Group.class, g.getId(), g);
+        return created;
+    }
+
+    /**
+     * Rolls a period over into one or more new periods: every plan of
+     * {@code sourcePeriod} (only those of {@code program}, if given) is
+     * cloned once per target. Clones are built in parallel on the fork-join
+     * pool, get one contiguous block of IDs, and are stored and journaled as
+     * a single record, so a crash leaves either all of them or none. If they
+     * cannot be journaled, the clones already stored are taken back.
+     *
+     * @param program   academic program to restrict to, or {@code null} for all.
+     * @param progress  notified as clones are built (from worker threads).
+     * @return the new plans, target by target, in source order.
+     * @throws IllegalArgumentException if there is nothing to roll over or a
+     *         target is the source period itself.
+     */
+    public List<StudyPlan> rollOverPeriod(String sourcePeriod, String program,
+                                          List<RolloverTarget> targets, ProgressListener progress) {
+        for (RolloverTarget t : targets) {
+            if (t.getPeriod().equalsIgnoreCase(sourcePeriod)) {
+                throw new IllegalArgumentException("El período destino no puede ser el de origen: " + sourcePeriod);
+            }
+        }
+        StudyPlanQuery filter = new StudyPlanQuery().period(sourcePeriod).program(program);
+        List<StudyPlan> sources = new ArrayList<>();
+        for (StudyPlan p : studyPlans.values()) {
+            if (filter.matches(p)) sources.add(p);
+        }
+        if (sources.isEmpty() || targets.isEmpty()) {
+            throw new IllegalArgumentException("No hay planes del período " + sourcePeriod
+                    + (program != null ? " en " + program : "") + " para trasladar.");
+        }
+
+        int total = sources.size() * targets.size();
+        String[] ids = studyPlans.nextIds(total);
+        StudyPlan[] copies = new StudyPlan[total];
+        AtomicInteger done = new AtomicInteger();
+        ForkJoinPool.commonPool().invoke(new ForEachIndex(0, total, i -> {
+            StudyPlan      source = sources.get(i % sources.size());
+            RolloverTarget target = targets.get(i / sources.size());
+            StudyPlan      copy   = prototypeOf(source);
+            copy.setId(ids[i]);
+            copy.setName(rolledOverName(source.getName(), sourcePeriod, target.getPeriod()));
+            copy.setPeriod(target.getPeriod());
+            copy.setStartDate(target.getStartDate());
+            copy.setEndDate(target.getEndDate());
+            copy.setDescription("Clonado de: " + source.getName());
+            copies[i] = copy;
+            progress.progress(done.incrementAndGet(), total);
+        }));
+
+        List<StudyPlan> created   = List.of(copies);
+        List<StudyPlan> published = new ArrayList<>(total);
+        Journal.Commit commit;
+        int[] locked = lockForWrite();
+        try {
+            for (StudyPlan copy : created) {
+                studyPlans.put(copy.getId(), copy);
+                published.add(copy);
+                indexText(text -> text.add(copy));
+                filePlan(copy);
+            }
+            commit = persistence.plansSaved(created);
+        } catch (RuntimeException e) {
+            withdrawPlans(published);
+            throw e;
+        } finally {
+            unlockWrite(locked);
+        }
+        try {
+            commit.await();
+        } catch (RuntimeException e) {
+            locked = lockForWrite();
+            try {
+                withdrawPlans(published);
+            } finally {
+                unlockWrite(locked);
+            }
+            throw e;
+        }
+        for (StudyPlan copy : created) changes.created(StudyPlan.class, copy.getId(), copy);
+        return created;
+    }
+
+    /**
+     * Takes back the plans a rollover stored but could not journal; nothing
+     * was announced for them yet. Called holding {@link #lockForWrite}.
+     */
+    private void withdrawPlans(List<StudyPlan> published) {
+        for (StudyPlan p : published) {
+            studyPlans.remove(p.getId());
+            indexText(text -> text.remove(SearchHit.Kind.PLAN, p.getId()));
+            unfilePlan(p);
+        }
+    }
+
+    /** Clones a plan with the configured clone mode (see {@link #CLONE_MODE}). */
+    private static StudyPlan prototypeOf(StudyPlan source) {
+        return switch (CLONE_MODE) {
+            case "deep"    -> source.clone();
+            case "overlay" -> source.derive();
+            default        -> source.cloneShared(ValuePool.SHARED);
+        };
+    }
+
+    /** Runs an action for every index of a range, splitting it fork-join style. */
+    private static final class ForEachIndex extends RecursiveAction {
+        private static final int THRESHOLD = 8;
+
+        private final int         from;
+        private final int         to;
+        private final IntConsumer action;
+
+        ForEachIndex(int from, int to, IntConsumer action) {
+            this.from   = from;
+            this.to     = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) action.accept(i);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ForEachIndex(from, mid, action), new ForEachIndex(mid, to, action));
+        }
+    }
+
+    /** "Plan 2024-I" rolled into 2025-I becomes "Plan 2025-I"; other names get the period appended. */
+    private static String rolledOverName(String name, String fromPeriod, String toPeriod) {
+        if (name == null) return toPeriod;
+        int at = name.indexOf(fromPeriod);
+        return at >= 0 ? name.substring(0, at) + toPeriod + name.substring(at + fromPeriod.length())
+                       : name + " (" + toPeriod + ")";
+    }
+
     // ── StudyPlan operations ──────────────────────────────────────────────────
 
     public List<StudyPlan> getStudyPlans() {
-        return new ArrayList<>(studyPlans.values());
+        return studyPlans.values();
+    }
+
+    /** Runs a paginated study plan query. */
+    public Page<StudyPlan> findStudyPlans(StudyPlanQuery query) {
+        return query.execute(studyPlans.values());
     }
 
     public StudyPlan getStudyPlanById(String id) {
@@ -198,7 +1174,340 @@ public class AcademyController {
     }
 
     public void deleteStudyPlan(String id) {
-        studyPlans.remove(id);
+        Journal.Commit commit;
+        int[] locked = lockForWrite(planKey(id));
+        try {
+            StudyPlan removed = studyPlans.remove(id);
+            indexText(text -> text.remove(SearchHit.Kind.PLAN, id));
+            if (removed != null) unfilePlan(removed);
+            commit = persistence.planDeleted(id);
+        } finally {
+            unlockWrite(locked);
+        }
+        commit.await();
+        changes.deleted(StudyPlan.class, id);
+    }
+
+    // ── Plan totals ───────────────────────────────────────────────────────────
+    // Plans built from catalogue groups hold those very instances, so taking
+    // a seat or moving a group changes figures that their PlanTotals counted.
+    // Every plan holding a group counted the same share of it (countedShares):
+    // a change moves each of them from that share to the group's share now,
+    // at a cost that does not grow with the plans' size. Reading the share
+    // and swapping it in is atomic per group, so concurrent changes to one
+    // group add up to exactly its latest state, in whatever order they land.
+
+    /**
+     * Brings the totals of the plans holding any of the given (just changed)
+     * groups up to date and announces the plans whose totals moved.
+     */
+    private void recountPlansOf(Collection<Group> changed) {
+        Map<String, Set<String>> index = plansByGroup();
+        Map<String, StudyPlan> moved = new LinkedHashMap<>();
+        for (Group g : changed) {
+            PlanTotals.Share[] counted = new PlanTotals.Share[1];
+            PlanTotals.Share now = countedShares.compute(g.getId(), (id, share) -> {
+                counted[0] = share;
+                return PlanTotals.Share.of(g);
+            });
+            Set<String> filed = index.get(g.getId());
+            if (counted[0] == null || counted[0].equals(now) || filed == null) continue;
+            for (String planId : filed) {
+                int[] locked = lockForWrite(planKey(planId));
+                try {
+                    StudyPlan plan = studyPlans.get(planId);
+                    if (plan == null) continue;
+                    plan.groupChanged(counted[0], now);
+                    moved.put(planId, plan);
+                } finally {
+                    unlockWrite(locked);
+                }
+            }
+        }
+        moved.forEach((planId, plan) -> changes.updated(StudyPlan.class, planId, plan));
+    }
+
+    /**
+     * Copy-on-write for plans derived in overlay mode: before catalogue
+     * groups are changed in place, the derived plans that read them through
+     * their parent get their own copies (see {@link StudyPlan#detach(Group)})
+     * and are journaled again. Plans holding the groups directly keep
+     * following them.
+     */
+    private void detachDerivedPlans(Collection<Group> changing) {
+        Map<String, Set<String>> index = plansByGroup();
+        Journal.Commit last = null;
+        for (Group g : changing) {
+            Set<String> filed = index.get(g.getId());
+            if (filed == null) continue;
+            for (String planId : filed) {
+                StudyPlan candidate = studyPlans.get(planId);
+                if (candidate == null || candidate.getParent() == null) continue;
+                int[] locked = lockForWrite(planKey(planId));
+                try {
+                    StudyPlan plan = studyPlans.get(planId);
+                    if (plan != null && plan.detach(g)) {
+                        removeFromIndex(index, g.getId(), planId);
+                        last = persistence.planSaved(plan);
+                    }
+                } finally {
+                    unlockWrite(locked);
+                }
+            }
+        }
+        if (last != null) last.await();
+    }
+
+    private Map<String, Set<String>> plansByGroup() {
+        Map<String, Set<String>> index = plansByGroup;
+        if (index == null) {
+            indexLock.writeLock().lock();
+            try {
+                index = plansByGroup;
+                if (index == null) {
+                    index = new ConcurrentHashMap<>();
+                    for (StudyPlan p : studyPlans.values()) filePlan(index, p);
+                    plansByGroup = index;
+                }
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+        }
+        return index;
+    }
+
+    /** Files a stored plan under its catalogue groups, if the index has been built. */
+    private void filePlan(StudyPlan plan) {
+        Map<String, Set<String>> index = plansByGroup;
+        if (index != null) filePlan(index, plan);
+    }
+
+    private void filePlan(Map<String, Set<String>> index, StudyPlan plan) {
+        Set<Group> filed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Group g : plan.getGroups()) {
+            if (g.getId() == null || groups.get(g.getId()) != g) continue;
+            countedShares.computeIfAbsent(g.getId(), id -> PlanTotals.Share.of(g));
+            filed.add(g);
+        }
+        if (filed.isEmpty()) return;
+        // Count the groups as the other plans holding them do, so later changes move all alike
+        plan.recount(g -> filed.contains(g) ? countedShares.get(g.getId()) : PlanTotals.Share.of(g));
+        for (Group g : filed) addToIndex(index, g.getId(), plan.getId());
+    }
+
+    /**
+     * Stops the plans holding a catalogue group from following it once
+     * another instance takes its place: they keep the one they hold.
+     */
+    private void unfilePlansOf(String groupId) {
+        Map<String, Set<String>> index = plansByGroup;
+        if (index != null) index.remove(groupId);
+        countedShares.remove(groupId);
+    }
+
+    /** Removes a deleted plan from the index, if it has been built. */
+    private void unfilePlan(StudyPlan plan) {
+        Map<String, Set<String>> index = plansByGroup;
+        if (index == null) return;
+        for (Group g : plan.getGroups()) removeFromIndex(index, g.getId(), plan.getId());
+    }
+
+    // ── Full-text search ──────────────────────────────────────────────────────
+
+    /**
+     * Plans, groups, subjects and teachers matching every word of
+     * {@code text}, best first (see {@link SearchIndex}). The first search
+     * indexes the whole catalogue.
+     */
+    public List<SearchHit> search(String text, int limit) {
+        return searchIndex().search(text, limit);
+    }
+
+    private SearchIndex searchIndex() {
+        SearchIndex index = searchIndex;
+        if (index == null) {
+            indexLock.writeLock().lock();
+            try {
+                index = searchIndex;
+                if (index == null) {
+                    index = new SearchIndex();
+                    for (Subject s : subjects.values())     index.add(s);
+                    for (Teacher t : teachers.values())     index.add(t);
+                    for (Group g : groups.values())         index.add(g);
+                    for (StudyPlan p : studyPlans.values()) index.add(p);
+                    searchIndex = index;
+                }
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Applies a write to the full-text index, if it has been built. Called
+     * with {@link #indexLock} held shared, so the index cannot be in the
+     * middle of being built.
+     */
+    private void indexText(Consumer<SearchIndex> update) {
+        SearchIndex index = searchIndex;
+        if (index != null) update.accept(index);
+    }
+
+    // ── Teacher workload ──────────────────────────────────────────────────────
+
+    /**
+     * The teachers of a speciality with the least contact time on a day,
+     * least loaded first, e.g. to pick one for a new group.
+     *
+     * @param speciality compared ignoring case and surrounding blanks.
+     * @param day        {@code null} to rank by the minutes over the week.
+     * @param limit      how many teachers to return at most.
+     */
+    public List<TeacherLoad> findLeastLoadedTeachers(String speciality, Schedule.WeekDay day, int limit) {
+        return workloadIndex().leastLoaded(speciality, day, limit);
+    }
+
+    /** Groups, weekly minutes, credits and students of a teacher, or {@code null} if not found. */
+    public TeacherLoad getTeacherLoad(String teacherId) {
+        return workloadIndex().loadOf(teacherId);
+    }
+
+    private WorkloadIndex workloadIndex() {
+        WorkloadIndex index = workloadIndex;
+        if (index == null) {
+            indexLock.writeLock().lock();
+            try {
+                index = workloadIndex;
+                if (index == null) {
+                    index = new WorkloadIndex();
+                    for (Teacher t : teachers.values()) index.addTeacher(t);
+                    for (Group g : groups.values())     index.add(g);
+                    workloadIndex = index;
+                }
+            } finally {
+                indexLock.writeLock().unlock();
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Applies a write to the workload index, if it has been built. Called
+     * with {@link #indexLock} held shared, like {@link #indexText}.
+     */
+    private void countWorkload(Consumer<WorkloadIndex> update) {
+        WorkloadIndex index = workloadIndex;
+        if (index != null) update.accept(index);
+    }
+
+    // ── Journal replay ────────────────────────────────────────────────────────
+
+    /**
+     * Gives the persistence layer direct access to the stores. Restored
+     * entities bypass the journal (they are already in it) but still go
+     * through the reverse indexes.
+     *
+     * <p>A record saving an entity that is already stored is applied to the
+     * stored instance rather than replacing it: groups and plans restored
+     * earlier hold that very instance, as they did before the restart.</p>
+     */
+    private class Store implements CatalogueStore {
+        // Plans restored from the journal; records after theirs may have changed their groups
+        private final Set<String> replayedPlans = new HashSet<>();
+
+        @Override public Subject findSubject(String id) { return subjects.get(id); }
+        @Override public Teacher findTeacher(String id) { return teachers.get(id); }
+        @Override public Group   findGroup(String id)   { return groups.get(id); }
+
+        @Override public List<Subject>   subjects()   { return subjects.values(); }
+        @Override public List<Teacher>   teachers()   { return teachers.values(); }
+        @Override public List<Group>     groups()     { return groups.values(); }
+        @Override public List<StudyPlan> studyPlans() { return studyPlans.values(); }
+
+        @Override
+        public int[] nextIdNumbers() {
+            return new int[]{subjects.nextIdNumber(), teachers.nextIdNumber(),
+                             groups.nextIdNumber(), studyPlans.nextIdNumber()};
+        }
+
+        @Override
+        public void attachSnapshot(MappedSnapshot base) {
+            subjects.attachBase(base.subjects());
+            teachers.attachBase(base.teachers());
+            groups.attachBase(base.groups());
+            studyPlans.attachBase(base.studyPlans());
+            snapshot = base;
+        }
+
+        @Override
+        public void restoreStudyPlan(StudyPlan plan) {
+            studyPlans.put(plan.getId(), plan);
+            replayedPlans.add(plan.getId());
+        }
+
+        @Override
+        public void restoreSubject(Subject subject) {
+            Subject stored = subjects.get(subject.getId());
+            if (stored != null) {
+                stored.setName(subject.getName());
+                stored.setCredits(subject.getCredits());
+                stored.setDescription(subject.getDescription());
+                stored.setModality(subject.getModality());
+            }
+            subjects.put(subject.getId(), stored != null ? stored : subject);
+        }
+
+        @Override
+        public void restoreTeacher(Teacher teacher) {
+            Teacher stored = teachers.get(teacher.getId());
+            if (stored != null) {
+                stored.setFirstName(teacher.getFirstName());
+                stored.setLastName(teacher.getLastName());
+                stored.setSpeciality(teacher.getSpeciality());
+                stored.setEmail(teacher.getEmail());
+                stored.setPhone(teacher.getPhone());
+            }
+            teachers.put(teacher.getId(), stored != null ? stored : teacher);
+        }
+
+        @Override
+        public void restoreGroup(Group group) {
+            Group stored = groups.get(group.getId());
+            if (stored != null) {
+                stored.setName(group.getName());
+                stored.setSubject(group.getSubject());
+                stored.setTeacher(group.getTeacher());
+                stored.setSchedule(group.getSchedule());
+                stored.setMaxSlots(group.getMaxSlots());
+                stored.restoreConfirmedSlots(group.getConfirmedSlots());
+            }
+            Group restored = stored != null ? stored : group;
+            unindexGroup(restored.getId());
+            groups.put(restored.getId(), restored);
+            indexGroup(restored);
+        }
+
+        @Override public void removeSubject(String id)   { subjects.remove(id); }
+        @Override public void removeTeacher(String id)   { teachers.remove(id); }
+        @Override
+        public void removeStudyPlan(String id) {
+            studyPlans.remove(id);
+            replayedPlans.remove(id);
+        }
+
+        /**
+         * Brings the totals of the replayed plans up to date once the whole
+         * journal is applied. Plans served by the snapshot are counted when
+         * first read, from groups that are already up to date.
+         */
+        void recountReplayedPlans() {
+            for (String id : replayedPlans) {
+                StudyPlan plan = studyPlans.get(id);
+                if (plan != null) plan.recount();
+            }
+            replayedPlans.clear();
+        }
     }
 
     // ── Sample data ───────────────────────────────────────────────────────────
@@ -0,0 +1,14 @@
+package com.academia.controller;
+
+/**
+ * Receives progress updates from long-running controller operations.
+ * Updates may arrive from worker threads, not just the caller's.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = (done, total) -> { };
+
+    /** {@code done} out of {@code total} units of work have completed. */
+    void progress(int done, int total);
+}
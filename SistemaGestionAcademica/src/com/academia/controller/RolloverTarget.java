@@ -0,0 +1,39 @@
+package com.academia.controller;
+
+import java.time.LocalDate;
+
+/**
+ * A period that plans are rolled over into, with its date range.
+ *
+ * @see AcademyController#rollOverPeriod
+ */
+public class RolloverTarget {
+
+    private final String    period;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public RolloverTarget(String period, LocalDate startDate, LocalDate endDate) {
+        if (period == null || period.isBlank()) {
+            throw new IllegalArgumentException("El período es obligatorio.");
+        }
+        if (startDate == null || endDate == null) {
+            throw new IllegalArgumentException("Las fechas de inicio y fin son obligatorias.");
+        }
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("La fecha de fin no puede ser anterior a la de inicio.");
+        }
+        this.period    = period.trim();
+        this.startDate = startDate;
+        this.endDate   = endDate;
+    }
+
+    public String    getPeriod()    { return period; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate()   { return endDate; }
+
+    @Override
+    public String toString() {
+        return period + " (" + startDate + " – " + endDate + ")";
+    }
+}
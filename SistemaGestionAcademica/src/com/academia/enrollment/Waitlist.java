@@ -0,0 +1,354 @@
+package com.academia.enrollment;
+
+import com.academia.model.Group;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * First-come, first-served waitlist of one full group.
+ *
+ * Students queue in a lock-free linked queue (Michael–Scott). When a seat
+ * is given up, or a free seat shows up while someone is waiting, it is
+ * <em>held</em> on the group (see {@link Group#holdSeat()}) and offered to
+ * the student at the head of the queue, who has a limited time to claim
+ * it; an unclaimed offer expires and the seat passes to the next student.
+ *
+ * <p>Every entry carries a ticket one higher than the entry linked before
+ * it, so a student's position is the distance between their ticket and the
+ * last one taken off the queue, computed in constant time. Students who
+ * leave are skipped lazily when the head reaches them, so until then they
+ * still count towards the positions behind them.</p>
+ */
+public class Waitlist {
+
+    public enum State { WAITING, OFFERED, CLAIMED, WITHDRAWN, EXPIRED }
+
+    /** A student's place in the waitlist; also the queue node. */
+    public static final class Entry {
+        private final String studentId;
+        private final long   joinedAt;     // System.nanoTime()
+        private long         ticket;       // set before the entry is linked
+        private volatile long  offerDeadline;
+        private volatile State state = State.WAITING;
+        private volatile Entry next;
+
+        private Entry(String studentId, long joinedAt) {
+            this.studentId = studentId;
+            this.joinedAt  = joinedAt;
+        }
+
+        public String getStudentId() { return studentId; }
+        public long   getTicket()    { return ticket; }
+        public State  getState()     { return state; }
+
+        /** Milliseconds left to claim the offered seat, or 0 if there is no live offer. */
+        public long getOfferMillisLeft() {
+            if (state != State.OFFERED) return 0;
+            return Math.max(0, TimeUnit.NANOSECONDS.toMillis(offerDeadline - System.nanoTime()));
+        }
+
+        private boolean moveTo(State expected, State updated) {
+            return STATE.compareAndSet(this, expected, updated);
+        }
+    }
+
+    /** Queue-depth figures of one waitlist at a point in time. */
+    public static final class Metrics {
+        private final String groupId;
+        private final int    waiting;
+        private final int    offered;
+        private final long   promoted;
+        private final long   claimed;
+        private final long   expired;
+        private final long   withdrawn;
+        private final long   longestWaitMillis;
+
+        private Metrics(String groupId, int waiting, int offered, long promoted, long claimed,
+                        long expired, long withdrawn, long longestWaitMillis) {
+            this.groupId           = groupId;
+            this.waiting           = waiting;
+            this.offered           = offered;
+            this.promoted          = promoted;
+            this.claimed           = claimed;
+            this.expired           = expired;
+            this.withdrawn         = withdrawn;
+            this.longestWaitMillis = longestWaitMillis;
+        }
+
+        public String getGroupId()           { return groupId; }
+        /** Students still queued. */
+        public int    getWaiting()           { return waiting; }
+        /** Seats currently held for an offer. */
+        public int    getOffered()           { return offered; }
+        public long   getPromoted()          { return promoted; }
+        public long   getClaimed()           { return claimed; }
+        public long   getExpired()           { return expired; }
+        public long   getWithdrawn()         { return withdrawn; }
+        /** How long the student at the head of the queue has been waiting. */
+        public long   getLongestWaitMillis() { return longestWaitMillis; }
+    }
+
+    private static final AtomicReferenceFieldUpdater<Entry, State> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(Entry.class, State.class, "state");
+    private static final AtomicReferenceFieldUpdater<Entry, Entry> NEXT =
+            AtomicReferenceFieldUpdater.newUpdater(Entry.class, Entry.class, "next");
+    private static final AtomicReferenceFieldUpdater<Waitlist, Entry> HEAD =
+            AtomicReferenceFieldUpdater.newUpdater(Waitlist.class, Entry.class, "head");
+    private static final AtomicReferenceFieldUpdater<Waitlist, Entry> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(Waitlist.class, Entry.class, "tail");
+    private static final AtomicIntegerFieldUpdater<Waitlist> WAITING =
+            AtomicIntegerFieldUpdater.newUpdater(Waitlist.class, "waiting");
+    private static final AtomicIntegerFieldUpdater<Waitlist> OFFERED =
+            AtomicIntegerFieldUpdater.newUpdater(Waitlist.class, "offered");
+
+    private final String          groupId;
+    private final Supplier<Group> group;
+    private final long            offerNanos;
+
+    // Head is a sentinel: the last entry taken off the queue
+    private volatile Entry head;
+    private volatile Entry tail;
+    private volatile int   waiting;
+    private volatile int   offered;
+
+    private final ConcurrentHashMap<String, Entry> byStudent = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry>     offers    = new ConcurrentLinkedQueue<>(); // by deadline
+
+    private final LongAdder promoted  = new LongAdder();
+    private final LongAdder claimed   = new LongAdder();
+    private final LongAdder expired   = new LongAdder();
+    private final LongAdder withdrawn = new LongAdder();
+
+    /**
+     * @param group       looks up the current instance of the group, which
+     *                    may be replaced while the waitlist lives.
+     * @param offerMillis how long an offered seat stays held.
+     */
+    public Waitlist(String groupId, Supplier<Group> group, long offerMillis) {
+        if (offerMillis <= 0) throw new IllegalArgumentException("El tiempo de la oferta debe ser mayor que cero.");
+        this.groupId    = groupId;
+        this.group      = group;
+        this.offerNanos = TimeUnit.MILLISECONDS.toNanos(offerMillis);
+        this.head       = this.tail = new Entry(null, System.nanoTime());
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    // ── Students ─────────────────────────────────────────────────────────────
+
+    /**
+     * Queues a student. A student already waiting or holding an offer keeps
+     * their entry; one whose earlier entry ended joins again at the back.
+     */
+    public Entry join(String studentId) {
+        Entry fresh = new Entry(studentId, System.nanoTime());
+        Entry entry = byStudent.compute(studentId, (id, current) ->
+                current != null && (current.state == State.WAITING || current.state == State.OFFERED)
+                        ? current : fresh);
+        if (entry == fresh) {
+            WAITING.incrementAndGet(this);
+            link(fresh);
+            fill(); // a seat freed before we were linked would otherwise sit idle
+        }
+        return entry;
+    }
+
+    /**
+     * Takes a student off the waitlist; a seat held for them goes to the next
+     * student in line.
+     *
+     * @return {@code false} if the student was neither waiting nor offered a seat.
+     */
+    public boolean leave(String studentId) {
+        Entry entry = byStudent.get(studentId);
+        if (entry == null) return false;
+        if (entry.moveTo(State.WAITING, State.WITHDRAWN)) {
+            WAITING.decrementAndGet(this);
+        } else if (entry.moveTo(State.OFFERED, State.WITHDRAWN)) {
+            OFFERED.decrementAndGet(this);
+            offers.remove(entry);
+            passOn();
+        } else {
+            return false;
+        }
+        withdrawn.increment();
+        byStudent.remove(studentId, entry);
+        return true;
+    }
+
+    /**
+     * Claims the seat offered to a student, who then occupies it for good.
+     *
+     * @return {@code false} if the student holds no offer or it has expired.
+     */
+    public boolean claim(String studentId) {
+        expireOffers();
+        Entry entry = byStudent.get(studentId);
+        if (entry == null || !entry.moveTo(State.OFFERED, State.CLAIMED)) return false;
+        OFFERED.decrementAndGet(this);
+        group.get().confirmHeldSeat();
+        claimed.increment();
+        byStudent.remove(studentId, entry);
+        return true;
+    }
+
+    /**
+     * Number of places ahead of a student, counting themselves (1 means
+     * next in line), or 0 if they are not waiting.
+     */
+    public int positionOf(String studentId) {
+        Entry entry = byStudent.get(studentId);
+        if (entry == null || entry.state != State.WAITING) return 0;
+        return (int) Math.max(1, entry.ticket - head.ticket);
+    }
+
+    public Entry entryOf(String studentId) {
+        return byStudent.get(studentId);
+    }
+
+    // ── Seats ────────────────────────────────────────────────────────────────
+
+    /**
+     * Gives up an occupied seat: it is offered to the next student in line,
+     * or freed if nobody is waiting.
+     *
+     * @return {@code false} if the group had no seat to give up.
+     */
+    public boolean release() {
+        Group g = group.get();
+        if (g.getConfirmedSlots() == 0) return false;
+        if (waiting > 0 && g.holdTakenSeat()) {
+            passOn();
+            return true;
+        }
+        if (!g.releaseSeat()) return false;
+        fill(); // someone may have joined after we looked
+        return true;
+    }
+
+    /** Whether an offer is due to expire (see {@link #expireOffers()}). */
+    public boolean hasOffersDue() {
+        Entry entry = offers.peek();
+        return entry != null && (entry.state != State.OFFERED || entry.offerDeadline - System.nanoTime() <= 0);
+    }
+
+    /**
+     * Expires the offers whose time is up, passing their seats on. Cheap
+     * when nothing is due: offers are kept in deadline order.
+     *
+     * @return whether any offer expired, and so the group's seats may have changed.
+     */
+    public boolean expireOffers() {
+        long now = System.nanoTime();
+        boolean any = false;
+        Entry entry;
+        while ((entry = offers.peek()) != null) {
+            if (entry.state == State.OFFERED && entry.offerDeadline - now > 0) break;
+            if (!offers.remove(entry)) continue;
+            if (entry.moveTo(State.OFFERED, State.EXPIRED)) {
+                OFFERED.decrementAndGet(this);
+                expired.increment();
+                byStudent.remove(entry.studentId, entry);
+                passOn();
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    /** Offers free seats to waiting students while there are both. */
+    private void fill() {
+        Group g = group.get();
+        while (waiting > 0 && g.holdSeat()) {
+            if (!offerNext()) {
+                g.releaseHeldSeat();
+                return;
+            }
+        }
+    }
+
+    /** Hands a held seat to the next student in line, or frees it. */
+    private void passOn() {
+        if (offerNext()) return;
+        group.get().releaseHeldSeat();
+        fill();
+    }
+
+    private boolean offerNext() {
+        Entry entry;
+        while ((entry = unlink()) != null) {
+            entry.offerDeadline = System.nanoTime() + offerNanos;
+            if (entry.moveTo(State.WAITING, State.OFFERED)) {
+                WAITING.decrementAndGet(this);
+                OFFERED.incrementAndGet(this);
+                offers.add(entry);
+                promoted.increment();
+                return true;
+            }
+            // Left the waitlist while still queued
+        }
+        return false;
+    }
+
+    // ── Queue ────────────────────────────────────────────────────────────────
+
+    private void link(Entry entry) {
+        while (true) {
+            Entry last = tail;
+            Entry next = last.next;
+            if (last != tail) continue;
+            if (next != null) {
+                TAIL.compareAndSet(this, last, next); // help a lagging tail along
+                continue;
+            }
+            entry.ticket = last.ticket + 1;
+            if (NEXT.compareAndSet(last, null, entry)) {
+                TAIL.compareAndSet(this, last, entry);
+                return;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Takes the first entry off the queue; it becomes the new sentinel. */
+    private Entry unlink() {
+        while (true) {
+            Entry first = head;
+            Entry last  = tail;
+            Entry next  = first.next;
+            if (first != head) continue;
+            if (next == null) return null;
+            if (first == last) {
+                TAIL.compareAndSet(this, last, next);
+                continue;
+            }
+            if (HEAD.compareAndSet(this, first, next)) return next;
+            Thread.onSpinWait();
+        }
+    }
+
+    // ── Metrics ──────────────────────────────────────────────────────────────
+
+    public int getWaitingCount() {
+        return waiting;
+    }
+
+    public int getOfferedCount() {
+        return offered;
+    }
+
+    public Metrics metrics() {
+        Entry first = head.next;
+        long longest = first == null ? 0 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - first.joinedAt);
+        return new Metrics(groupId, waiting, offered, promoted.sum(), claimed.sum(),
+                expired.sum(), withdrawn.sum(), longest);
+    }
+}
@@ -0,0 +1,95 @@
+package com.academia.enrollment;
+
+import com.academia.model.Group;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The waitlists of every group, created the first time a group fills up.
+ *
+ * A background thread, started with the first waitlist, expires unclaimed
+ * offers once a second so their seats move on even when nobody touches the
+ * waitlist; every operation on a waitlist also expires what is due first.
+ * Either way, expiring goes through the action given by the owner, which
+ * also accounts for the seats the expired offers free or pass on.
+ */
+public class Waitlists {
+
+    private final Function<String, Group> groups;
+    private final long                    offerMillis;
+    private final Consumer<Waitlist>      expire;
+
+    private final ConcurrentHashMap<String, Waitlist> byGroup = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService sweeper;
+
+    /**
+     * @param groups      looks up a group by ID.
+     * @param offerMillis how long an offered seat stays held.
+     * @param expire      expires the due offers of a waitlist (at least
+     *                    {@link Waitlist#expireOffers()}).
+     */
+    public Waitlists(Function<String, Group> groups, long offerMillis, Consumer<Waitlist> expire) {
+        this.groups      = groups;
+        this.offerMillis = offerMillis;
+        this.expire      = expire;
+    }
+
+    /** The waitlist of a group, or {@code null} if nobody ever queued for it. */
+    public Waitlist get(String groupId) {
+        Waitlist waitlist = byGroup.get(groupId);
+        if (waitlist != null) expire.accept(waitlist);
+        return waitlist;
+    }
+
+    public Waitlist getOrCreate(String groupId) {
+        Waitlist waitlist = byGroup.computeIfAbsent(groupId,
+                id -> new Waitlist(id, () -> groups.apply(id), offerMillis));
+        startSweeper();
+        expire.accept(waitlist);
+        return waitlist;
+    }
+
+    /** Queue-depth figures of every waitlist with someone waiting or offered a seat. */
+    public List<Waitlist.Metrics> metrics() {
+        List<Waitlist.Metrics> all = new ArrayList<>();
+        for (Waitlist waitlist : byGroup.values()) {
+            if (waitlist.getWaitingCount() > 0 || waitlist.getOfferedCount() > 0) {
+                all.add(waitlist.metrics());
+            }
+        }
+        return all;
+    }
+
+    private void startSweeper() {
+        if (sweeper != null) return;
+        synchronized (this) {
+            if (sweeper != null) return;
+            ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "academia-waitlist-sweeper");
+                t.setDaemon(true);
+                return t;
+            });
+            executor.scheduleWithFixedDelay(this::expireOffers, 1, 1, TimeUnit.SECONDS);
+            sweeper = executor;
+        }
+    }
+
+    private void expireOffers() {
+        for (Waitlist waitlist : byGroup.values()) {
+            try {
+                expire.accept(waitlist);
+            } catch (RuntimeException e) {
+                // A failing group must not stop the sweeps of the others
+                System.err.println("No se pudieron vencer las ofertas del grupo "
+                        + waitlist.getGroupId() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.academia.event;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers entity changes to subscribers in batches.
+ *
+ * Published changes are held for a short window and coalesced per entity
+ * (see {@link ChangeEvent#then(ChangeEvent)}), then every subscriber gets
+ * the batch for its entity type on the executor it subscribed with, e.g.
+ * {@code SwingUtilities::invokeLater}. A bulk import of thousands of rows
+ * thus reaches a table as a handful of batches, and an entity edited twice
+ * in a row is refreshed once.
+ *
+ * <p>Publishing is cheap when nobody listens to the entity type, so hot
+ * paths (seat reservations, imports) pay nothing while no view is open.</p>
+ */
+public class ChangeBus {
+
+    private static final class Subscription<T> {
+        final Class<T>           type;
+        final ChangeListener<T>  listener;
+        final Executor           executor;
+
+        Subscription(Class<T> type, ChangeListener<T> listener, Executor executor) {
+            this.type     = type;
+            this.listener = listener;
+            this.executor = executor;
+        }
+    }
+
+    private final long delayMillis;
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+
+    // Guarded by pendingLock: changes not delivered yet, per type, by entity ID
+    private final Object pendingLock = new Object();
+    private Map<Class<?>, LinkedHashMap<String, ChangeEvent<?>>> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    private final Object flushLock = new Object(); // keeps batches in order
+
+    private volatile ScheduledExecutorService flusher;
+
+    /**
+     * @param delayMillis how long changes are gathered before a batch is
+     *                    delivered.
+     */
+    public ChangeBus(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Delivers the changes to entities of {@code type} to {@code listener},
+     * always through {@code executor}.
+     */
+    public <T> void subscribe(Class<T> type, ChangeListener<T> listener, Executor executor) {
+        subscriptions.add(new Subscription<>(type, listener, executor));
+    }
+
+    public void unsubscribe(ChangeListener<?> listener) {
+        subscriptions.removeIf(s -> s.listener == listener);
+    }
+
+    public <T> void created(Class<T> type, String id, T entity) {
+        publish(type, new ChangeEvent<>(ChangeType.CREATED, id, entity));
+    }
+
+    public <T> void updated(Class<T> type, String id, T entity) {
+        publish(type, new ChangeEvent<>(ChangeType.UPDATED, id, entity));
+    }
+
+    public <T> void deleted(Class<T> type, String id) {
+        publish(type, new ChangeEvent<T>(ChangeType.DELETED, id, null));
+    }
+
+    private <T> void publish(Class<T> type, ChangeEvent<T> event) {
+        if (!hasSubscribers(type)) return;
+        boolean schedule;
+        synchronized (pendingLock) {
+            @SuppressWarnings("unchecked")
+            LinkedHashMap<String, ChangeEvent<T>> byId = (LinkedHashMap<String, ChangeEvent<T>>)
+                    (LinkedHashMap<?, ?>) pending.computeIfAbsent(type, t -> new LinkedHashMap<>());
+            ChangeEvent<T> earlier = byId.get(event.getId());
+            byId.put(event.getId(), earlier == null ? event : earlier.then(event));
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) flusher().schedule(this::flush, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Hands every pending change to the subscribers now. */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Class<?>, LinkedHashMap<String, ChangeEvent<?>>> batch;
+            synchronized (pendingLock) {
+                batch = pending;
+                pending = new HashMap<>();
+                flushScheduled = false;
+            }
+            for (Subscription<?> s : subscriptions) deliver(s, batch);
+        }
+    }
+
+    private static <T> void deliver(Subscription<T> s, Map<Class<?>, LinkedHashMap<String, ChangeEvent<?>>> batch) {
+        LinkedHashMap<String, ChangeEvent<?>> byId = batch.get(s.type);
+        if (byId == null || byId.isEmpty()) return;
+        List<ChangeEvent<T>> events = new ArrayList<>(byId.size());
+        for (ChangeEvent<?> e : byId.values()) {
+            @SuppressWarnings("unchecked")
+            ChangeEvent<T> typed = (ChangeEvent<T>) e;
+            events.add(typed);
+        }
+        List<ChangeEvent<T>> view = List.copyOf(events);
+        s.executor.execute(() -> s.listener.changed(view));
+    }
+
+    private boolean hasSubscribers(Class<?> type) {
+        for (Subscription<?> s : subscriptions) {
+            if (s.type == type) return true;
+        }
+        return false;
+    }
+
+    private ScheduledExecutorService flusher() {
+        ScheduledExecutorService executor = flusher;
+        if (executor != null) return executor;
+        synchronized (this) {
+            if (flusher == null) {
+                flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "academia-change-bus");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            return flusher;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.academia.event;
+
+/**
+ * One change to one entity: its ID, what happened to it and, unless it was
+ * deleted, its state after the change.
+ *
+ * @param <T> the entity type.
+ */
+public final class ChangeEvent<T> {
+
+    private final ChangeType type;
+    private final String     id;
+    private final T          entity;
+
+    public ChangeEvent(ChangeType type, String id, T entity) {
+        this.type   = type;
+        this.id     = id;
+        this.entity = entity;
+    }
+
+    public ChangeType getType()  { return type; }
+    public String     getId()    { return id; }
+
+    /** The entity after the change, or {@code null} if it was deleted. */
+    public T getEntity()         { return entity; }
+
+    /**
+     * Folds a later change to the same entity into this one, so a listener
+     * sees only the net effect: created then updated is still created.
+     * Created then deleted is still a delete: a listener may have read the
+     * entity from a listing taken in between, and deleting an ID it never
+     * saw is harmless.
+     */
+    ChangeEvent<T> then(ChangeEvent<T> later) {
+        return switch (type) {
+            case CREATED -> switch (later.type) {
+                case CREATED, UPDATED -> new ChangeEvent<>(ChangeType.CREATED, id, later.entity);
+                case DELETED          -> later;
+            };
+            case UPDATED -> later.type == ChangeType.CREATED
+                    ? new ChangeEvent<>(ChangeType.UPDATED, id, later.entity) : later;
+            case DELETED -> later.type == ChangeType.DELETED
+                    ? later : new ChangeEvent<>(ChangeType.UPDATED, id, later.entity);
+        };
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + id;
+    }
+}
@@ -0,0 +1,15 @@
+package com.academia.event;
+
+import java.util.List;
+
+/**
+ * Receives batches of changes to one entity type, in the order the
+ * entities were first changed, at most one event per entity.
+ *
+ * @param <T> the entity type.
+ */
+@FunctionalInterface
+public interface ChangeListener<T> {
+
+    void changed(List<ChangeEvent<T>> events);
+}
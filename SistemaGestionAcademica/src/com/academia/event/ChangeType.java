@@ -0,0 +1,10 @@
+package com.academia.event;
+
+/**
+ * What happened to an entity.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,318 @@
+package com.academia.io;
+
+import com.academia.controller.AcademyController;
+import com.academia.model.*;
+import com.academia.query.StudyPlanQuery;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Streams study plans, with their groups and the subjects, teachers and
+ * schedules those refer to, to CSV or JSON.
+ *
+ * Output goes through one fixed-size buffer and each plan is written as
+ * soon as it is reached, so memory use does not grow with the catalogue.
+ * The plans come from a single listing of the controller, which later
+ * changes do not affect.
+ *
+ * <p>CSV has one row per plan and group (plans without groups get one row
+ * with empty group columns); JSON has one object per plan with its groups
+ * nested.</p>
+ */
+public class CatalogueExporter {
+
+    public enum Format { CSV, JSON }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String[] CSV_HEADER = {
+        "plan_id", "plan", "periodo", "programa", "modalidad", "inicio", "fin", "descripcion",
+        "grupo_id", "grupo", "asignatura_id", "asignatura", "creditos", "modalidad_asignatura",
+        "docente_id", "docente", "email", "dia", "hora_inicio", "hora_fin", "aula", "cupos", "ocupados"
+    };
+
+    private final AcademyController controller;
+    private final StudyPlanQuery    filter = new StudyPlanQuery();
+
+    public CatalogueExporter(AcademyController controller) {
+        this.controller = controller;
+    }
+
+    /** Only exports plans of this period. */
+    public CatalogueExporter period(String period) {
+        filter.period(period);
+        return this;
+    }
+
+    /** Only exports plans of this academic program. */
+    public CatalogueExporter program(String program) {
+        filter.program(program);
+        return this;
+    }
+
+    /**
+     * Exports to a file. The data is written to a temporary file first and
+     * moved into place at the end, so a failed export never leaves a
+     * truncated file behind.
+     */
+    public ExportReport export(Path file, Format format) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        ExportReport report;
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            report = export(out, format);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return report;
+    }
+
+    /** Exports to a stream, which is flushed but left open. */
+    public ExportReport export(OutputStream stream, Format format) throws IOException {
+        long started = System.nanoTime();
+        CountingStream counter = new CountingStream(stream);
+        Writer out = new OutputStreamWriter(counter, StandardCharsets.UTF_8);
+        char[] buffer = new char[BUFFER_SIZE];
+        Sink sink = new Sink(out, buffer);
+
+        long plans = 0, groups = 0;
+        List<StudyPlan> listing = controller.getStudyPlans();
+        if (format == Format.CSV) {
+            sink.csvRow(CSV_HEADER);
+        } else {
+            sink.raw("{\"planes\":[");
+        }
+        for (StudyPlan p : listing) {
+            if (!filter.matches(p)) continue;
+            if (format == Format.CSV) {
+                writeCsv(sink, p);
+            } else {
+                if (plans > 0) sink.raw(",");
+                writeJson(sink, p);
+            }
+            plans++;
+            groups += p.getGroups().size();
+        }
+        if (format == Format.JSON) sink.raw("]}\n");
+        sink.flush();
+        out.flush();
+        return new ExportReport(plans, groups, counter.count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // ── CSV ───────────────────────────────────────────────────────────────────
+
+    private static void writeCsv(Sink sink, StudyPlan p) throws IOException {
+        String[] row = new String[CSV_HEADER.length];
+        row[0] = p.getId();
+        row[1] = p.getName();
+        row[2] = p.getPeriod();
+        row[3] = p.getProgram();
+        row[4] = name(p.getModality());
+        row[5] = date(p.getStartDate());
+        row[6] = date(p.getEndDate());
+        row[7] = p.getDescription();
+        if (p.getGroups().isEmpty()) {
+            sink.csvRow(row);
+            return;
+        }
+        for (Group g : p.getGroups()) {
+            Subject  s  = g.getSubject();
+            Teacher  t  = g.getTeacher();
+            Schedule sc = g.getSchedule();
+            row[8]  = g.getId();
+            row[9]  = g.getName();
+            row[10] = s != null ? s.getId() : null;
+            row[11] = s != null ? s.getName() : null;
+            row[12] = s != null ? Integer.toString(s.getCredits()) : null;
+            row[13] = s != null ? name(s.getModality()) : null;
+            row[14] = t != null ? t.getId() : null;
+            row[15] = t != null ? t.getFullName() : null;
+            row[16] = t != null ? t.getEmail() : null;
+            row[17] = sc != null ? name(sc.getDay()) : null;
+            row[18] = sc != null ? sc.getStartTime() : null;
+            row[19] = sc != null ? sc.getEndTime() : null;
+            row[20] = sc != null ? sc.getClassroom() : null;
+            row[21] = Integer.toString(g.getMaxSlots());
+            row[22] = Integer.toString(g.getOccupiedSlots());
+            sink.csvRow(row);
+        }
+    }
+
+    // ── JSON ──────────────────────────────────────────────────────────────────
+
+    private static void writeJson(Sink sink, StudyPlan p) throws IOException {
+        sink.raw("{\"id\":").json(p.getId())
+            .raw(",\"nombre\":").json(p.getName())
+            .raw(",\"periodo\":").json(p.getPeriod())
+            .raw(",\"programa\":").json(p.getProgram())
+            .raw(",\"modalidad\":").json(name(p.getModality()))
+            .raw(",\"inicio\":").json(date(p.getStartDate()))
+            .raw(",\"fin\":").json(date(p.getEndDate()))
+            .raw(",\"descripcion\":").json(p.getDescription())
+            .raw(",\"grupos\":[");
+        boolean first = true;
+        for (Group g : p.getGroups()) {
+            if (!first) sink.raw(",");
+            first = false;
+            sink.raw("{\"id\":").json(g.getId())
+                .raw(",\"nombre\":").json(g.getName())
+                .raw(",\"cupos\":").raw(Integer.toString(g.getMaxSlots()))
+                .raw(",\"ocupados\":").raw(Integer.toString(g.getOccupiedSlots()))
+                .raw(",\"asignatura\":");
+            Subject s = g.getSubject();
+            if (s == null) {
+                sink.raw("null");
+            } else {
+                sink.raw("{\"id\":").json(s.getId())
+                    .raw(",\"nombre\":").json(s.getName())
+                    .raw(",\"creditos\":").raw(Integer.toString(s.getCredits()))
+                    .raw(",\"modalidad\":").json(name(s.getModality()))
+                    .raw(",\"descripcion\":").json(s.getDescription()).raw("}");
+            }
+            sink.raw(",\"docente\":");
+            Teacher t = g.getTeacher();
+            if (t == null) {
+                sink.raw("null");
+            } else {
+                sink.raw("{\"id\":").json(t.getId())
+                    .raw(",\"nombres\":").json(t.getFirstName())
+                    .raw(",\"apellidos\":").json(t.getLastName())
+                    .raw(",\"especialidad\":").json(t.getSpeciality())
+                    .raw(",\"email\":").json(t.getEmail())
+                    .raw(",\"telefono\":").json(t.getPhone()).raw("}");
+            }
+            sink.raw(",\"horario\":");
+            Schedule sc = g.getSchedule();
+            if (sc == null) {
+                sink.raw("null");
+            } else {
+                sink.raw("{\"dia\":").json(name(sc.getDay()))
+                    .raw(",\"inicio\":").json(sc.getStartTime())
+                    .raw(",\"fin\":").json(sc.getEndTime())
+                    .raw(",\"aula\":").json(sc.getClassroom()).raw("}");
+            }
+            sink.raw("}");
+        }
+        sink.raw("]}\n");
+    }
+
+    // ── Output ────────────────────────────────────────────────────────────────
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static String date(LocalDate date) {
+        return date != null ? date.toString() : null;
+    }
+
+    /** Appends text to a fixed char buffer, flushing it to the writer when full. */
+    private static final class Sink {
+        private final Writer out;
+        private final char[] buffer;
+        private int          count;
+
+        Sink(Writer out, char[] buffer) {
+            this.out    = out;
+            this.buffer = buffer;
+        }
+
+        Sink raw(String text) throws IOException {
+            for (int i = 0; i < text.length(); i++) put(text.charAt(i));
+            return this;
+        }
+
+        /** A JSON string literal, or {@code null}. */
+        Sink json(String value) throws IOException {
+            if (value == null) return raw("null");
+            put('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"'  -> { put('\\'); put('"'); }
+                    case '\\' -> { put('\\'); put('\\'); }
+                    case '\n' -> { put('\\'); put('n'); }
+                    case '\r' -> { put('\\'); put('r'); }
+                    case '\t' -> { put('\\'); put('t'); }
+                    default   -> {
+                        if (c < 0x20) {
+                            raw(String.format("\\u%04x", (int) c));
+                        } else {
+                            put(c);
+                        }
+                    }
+                }
+            }
+            put('"');
+            return this;
+        }
+
+        /** One CSV line; fields are quoted only when needed. */
+        void csvRow(String[] fields) throws IOException {
+            for (int f = 0; f < fields.length; f++) {
+                if (f > 0) put(',');
+                String value = fields[f];
+                if (value == null || value.isEmpty()) continue;
+                boolean quote = false;
+                for (int i = 0; i < value.length() && !quote; i++) {
+                    char c = value.charAt(i);
+                    quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+                }
+                if (!quote) {
+                    raw(value);
+                    continue;
+                }
+                put('"');
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    if (c == '"') put('"');
+                    put(c);
+                }
+                put('"');
+            }
+            put('\n');
+        }
+
+        private void put(char c) throws IOException {
+            if (count == buffer.length) flush();
+            buffer[count++] = c;
+        }
+
+        void flush() throws IOException {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    /** Counts the bytes written through it. */
+    private static final class CountingStream extends FilterOutputStream {
+        long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
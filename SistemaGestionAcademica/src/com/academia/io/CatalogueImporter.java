@@ -0,0 +1,364 @@
+package com.academia.io;
+
+import com.academia.controller.AcademyController;
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+import com.academia.model.Subject;
+import com.academia.model.Teacher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming bulk importer for subjects, teachers and groups from CSV files.
+ *
+ * The file is read line by line and cut into batches. Batches are parsed and
+ * validated in parallel, then inserted in file order through the
+ * controller's bulk methods, so only a bounded number of batches is ever in
+ * memory however large the file is. Rows that fail are skipped and listed
+ * in the returned {@link ImportReport}.
+ *
+ * <p>Expected columns (header names are case- and accent-insensitive;
+ * {@code *} marks required ones):</p>
+ * <pre>
+ * subjects  nombre*, creditos*, descripcion, modalidad
+ * teachers  nombres*, apellidos*, especialidad, email, telefono
+ * groups    nombre*, asignatura*, docente, dia*, inicio*, fin*, aula, cupos*
+ * </pre>
+ * Groups refer to their subject by ID or name, and to their teacher by ID,
+ * email or full name. Subjects with an existing name and teachers with an
+ * existing email are rejected, so re-running an import adds nothing twice.
+ */
+public class CatalogueImporter {
+
+    public static final int DEFAULT_BATCH_SIZE = 5000;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+
+    private final AcademyController controller;
+    private int                     batchSize   = DEFAULT_BATCH_SIZE;
+    private int                     parallelism = Runtime.getRuntime().availableProcessors();
+
+    public CatalogueImporter(AcademyController controller) {
+        this.controller = controller;
+    }
+
+    /** Rows per batch (parsed as a unit and inserted with one journal wait). */
+    public CatalogueImporter batchSize(int batchSize) {
+        if (batchSize <= 0) throw new IllegalArgumentException("El tamaño de lote debe ser mayor que cero.");
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /** Number of threads parsing batches. */
+    public CatalogueImporter parallelism(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("El paralelismo debe ser mayor que cero.");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    // ── Entity importers ──────────────────────────────────────────────────────
+
+    public ImportReport importSubjects(Path file) throws IOException {
+        Map<String, Subject.Modality> modalities = enumKeys(Subject.Modality.values());
+        Set<String> names = new HashSet<>();
+        for (Subject s : controller.getSubjects()) names.add(key(s.getName()));
+
+        return run(file, new String[]{"nombre", "creditos"}, columns -> fields -> {
+            String name     = columns.require(fields, "nombre");
+            int    credits  = columns.integer(fields, "creditos", 1, 10);
+            String modality = columns.get(fields, "modalidad");
+            return new Subject(null, name, credits, columns.orEmpty(fields, "descripcion"),
+                    modality == null ? Subject.Modality.IN_PERSON
+                                     : parseEnum(modalities, modality, "Modalidad"));
+        }, (rows, report) -> {
+            List<Subject> accepted = new ArrayList<>(rows.size());
+            for (Row<Subject> row : rows) {
+                if (names.add(key(row.value.getName()))) {
+                    accepted.add(row.value);
+                } else {
+                    report.rejected(new ImportReport.RowError(row.line,
+                            "Ya existe una asignatura llamada '" + row.value.getName() + "'."));
+                }
+            }
+            report.imported(controller.createSubjects(accepted).size());
+        });
+    }
+
+    public ImportReport importTeachers(Path file) throws IOException {
+        Set<String> emails = new HashSet<>();
+        for (Teacher t : controller.getTeachers()) {
+            if (t.getEmail() != null && !t.getEmail().isBlank()) emails.add(key(t.getEmail()));
+        }
+
+        return run(file, new String[]{"nombres", "apellidos"}, columns -> fields -> {
+            String email = columns.orEmpty(fields, "email");
+            if (!email.isEmpty() && !EMAIL_PATTERN.matcher(email).matches()) {
+                throw new IllegalArgumentException("El formato del email no es válido: " + email);
+            }
+            return new Teacher(null, columns.require(fields, "nombres"), columns.require(fields, "apellidos"),
+                    columns.orEmpty(fields, "especialidad"), email, columns.orEmpty(fields, "telefono"));
+        }, (rows, report) -> {
+            List<Teacher> accepted = new ArrayList<>(rows.size());
+            for (Row<Teacher> row : rows) {
+                String email = row.value.getEmail();
+                if (email.isEmpty() || emails.add(key(email))) {
+                    accepted.add(row.value);
+                } else {
+                    report.rejected(new ImportReport.RowError(row.line,
+                            "Ya existe un docente con el email " + email + "."));
+                }
+            }
+            report.imported(controller.createTeachers(accepted).size());
+        });
+    }
+
+    public ImportReport importGroups(Path file) throws IOException {
+        Map<String, Schedule.WeekDay> days = enumKeys(Schedule.WeekDay.values());
+        NaturalKeys<Subject> subjects = new NaturalKeys<>(controller::getSubjectById);
+        for (Subject s : controller.getSubjects()) subjects.add(s.getName(), s);
+        NaturalKeys<Teacher> teachers = new NaturalKeys<>(controller::getTeacherById);
+        for (Teacher t : controller.getTeachers()) {
+            teachers.add(t.getFullName(), t);
+            if (t.getEmail() != null && !t.getEmail().isBlank()) teachers.add(t.getEmail(), t);
+        }
+
+        return run(file, new String[]{"nombre", "asignatura", "dia", "inicio", "fin", "cupos"}, columns -> fields -> {
+            Subject subject    = subjects.resolve(columns.require(fields, "asignatura"), "Asignatura");
+            String  teacherKey = columns.get(fields, "docente");
+            Teacher teacher    = teacherKey == null ? null : teachers.resolve(teacherKey, "Docente");
+            Schedule schedule = new Schedule(
+                    parseEnum(days, columns.require(fields, "dia"), "Día"),
+                    columns.require(fields, "inicio"), columns.require(fields, "fin"),
+                    columns.orEmpty(fields, "aula"));
+            return new Group(null, columns.require(fields, "nombre"), subject, teacher, schedule,
+                    columns.integer(fields, "cupos", 1, Integer.MAX_VALUE));
+        }, (rows, report) -> {
+            List<Group> drafts = new ArrayList<>(rows.size());
+            for (Row<Group> row : rows) drafts.add(row.value);
+            report.imported(controller.createGroups(drafts, (i, message) ->
+                    report.rejected(new ImportReport.RowError(rows.get(i).line, message))).size());
+        });
+    }
+
+    // ── Pipeline ──────────────────────────────────────────────────────────────
+
+    private interface RowParser<D> {
+        /** @throws IllegalArgumentException with a user-facing message if the row is invalid. */
+        D parse(String[] fields);
+    }
+
+    private interface ParserFactory<D> {
+        RowParser<D> create(Columns columns);
+    }
+
+    private interface BatchSink<D> {
+        void insert(List<Row<D>> rows, ImportReport report);
+    }
+
+    private static final class Row<D> {
+        final int line;
+        final D   value;
+
+        Row(int line, D value) {
+            this.line  = line;
+            this.value = value;
+        }
+    }
+
+    private static final class Batch<D> {
+        final List<Row<D>>                rows   = new ArrayList<>();
+        final List<ImportReport.RowError> errors = new ArrayList<>();
+    }
+
+    private <D> ImportReport run(Path file, String[] required, ParserFactory<D> parsers, BatchSink<D> sink)
+            throws IOException {
+        long started = System.nanoTime();
+        ImportReport report = new ImportReport();
+        ExecutorService workers = Executors.newFixedThreadPool(parallelism, workerThreads());
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(in);
+            String[] header = csv.readRecord();
+            if (header == null) throw new IOException("El archivo está vacío.");
+            RowParser<D> parser = parsers.create(new Columns(header, required));
+
+            // At most two batches per worker are read ahead of the inserts
+            Deque<Future<Batch<D>>> pending = new ArrayDeque<>();
+            while (true) {
+                List<String[]> records = new ArrayList<>(batchSize);
+                int[]          lines   = new int[batchSize];
+                for (String[] r; records.size() < batchSize && (r = csv.readRecord()) != null; ) {
+                    lines[records.size()] = csv.getRecordLine();
+                    records.add(r);
+                }
+                if (records.isEmpty()) break;
+                pending.add(workers.submit(() -> parse(records, lines, parser)));
+                if (pending.size() >= parallelism * 2) insert(pending.poll(), sink, report);
+            }
+            while (!pending.isEmpty()) insert(pending.poll(), sink, report);
+        } finally {
+            workers.shutdownNow();
+        }
+        report.finished((System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    private static <D> Batch<D> parse(List<String[]> records, int[] lines, RowParser<D> parser) {
+        Batch<D> batch = new Batch<>();
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                batch.rows.add(new Row<>(lines[i], parser.parse(records.get(i))));
+            } catch (IllegalArgumentException e) {
+                batch.errors.add(new ImportReport.RowError(lines[i], e.getMessage()));
+            }
+        }
+        return batch;
+    }
+
+    private static <D> void insert(Future<Batch<D>> future, BatchSink<D> sink, ImportReport report)
+            throws IOException {
+        Batch<D> batch;
+        try {
+            batch = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Importación interrumpida.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+        batch.errors.forEach(report::rejected);
+        sink.insert(batch.rows, report);
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread t = new Thread(task, "importador-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // ── Columns and values ────────────────────────────────────────────────────
+
+    /** Header-driven access to the fields of a record. */
+    private static final class Columns {
+        private final Map<String, Integer> index = new HashMap<>();
+
+        Columns(String[] header, String[] required) throws IOException {
+            for (int i = 0; i < header.length; i++) index.putIfAbsent(key(header[i]), i);
+            for (String name : required) {
+                if (!index.containsKey(name)) {
+                    throw new IOException("Falta la columna '" + name + "' en el encabezado.");
+                }
+            }
+        }
+
+        /** The trimmed value, or {@code null} if the column is absent or blank. */
+        String get(String[] fields, String name) {
+            Integer i = index.get(name);
+            if (i == null || i >= fields.length || fields[i].isEmpty()) return null;
+            return fields[i];
+        }
+
+        String orEmpty(String[] fields, String name) {
+            String value = get(fields, name);
+            return value != null ? value : "";
+        }
+
+        String require(String[] fields, String name) {
+            String value = get(fields, name);
+            if (value == null) throw new IllegalArgumentException("Falta el valor de '" + name + "'.");
+            return value;
+        }
+
+        int integer(String[] fields, String name, int min, int max) {
+            String value = require(fields, name);
+            int number;
+            try {
+                number = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("'" + name + "' debe ser un número entero: " + value);
+            }
+            if (number < min || number > max) {
+                throw new IllegalArgumentException(max == Integer.MAX_VALUE
+                        ? "'" + name + "' debe ser al menos " + min + "."
+                        : "'" + name + "' debe estar entre " + min + " y " + max + ".");
+            }
+            return number;
+        }
+    }
+
+    /** Resolves references by ID or by a unique natural key. */
+    private static final class NaturalKeys<T> {
+        private static final Object AMBIGUOUS = new Object();
+
+        private final Function<String, T>  byId;
+        private final Map<String, Object>  byKey = new HashMap<>();
+
+        NaturalKeys(Function<String, T> byId) {
+            this.byId = byId;
+        }
+
+        void add(String naturalKey, T entity) {
+            byKey.merge(key(naturalKey), entity, (a, b) -> a == b ? a : AMBIGUOUS);
+        }
+
+        @SuppressWarnings("unchecked")
+        T resolve(String reference, String label) {
+            T entity = byId.apply(reference);
+            if (entity != null) return entity;
+            Object found = byKey.get(key(reference));
+            if (found == AMBIGUOUS) {
+                throw new IllegalArgumentException(label + ": '" + reference
+                        + "' coincide con varios registros; use su ID.");
+            }
+            if (found == null) {
+                throw new IllegalArgumentException(label + " inexistente: '" + reference + "'.");
+            }
+            return (T) found;
+        }
+    }
+
+    /** Accepts an enum constant by name or by its display label. */
+    private static <E extends Enum<E>> Map<String, E> enumKeys(E[] values) {
+        Map<String, E> keys = new HashMap<>();
+        for (E value : values) {
+            keys.put(key(value.name()), value);
+            keys.put(key(value.toString()), value);
+        }
+        return keys;
+    }
+
+    private static <E> E parseEnum(Map<String, E> keys, String text, String label) {
+        E value = keys.get(key(text));
+        if (value == null) throw new IllegalArgumentException(label + " no válido: " + text);
+        return value;
+    }
+
+    /** Lower-case, accent-free form used to compare names and headers. */
+    static String key(String text) {
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) key.append(Character.toLowerCase(c));
+        }
+        return key.toString();
+    }
+}
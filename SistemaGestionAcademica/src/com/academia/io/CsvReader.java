@@ -0,0 +1,85 @@
+package com.academia.io;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: one record at a time, quoted fields (which may
+ * contain the delimiter, doubled quotes and line breaks), and either
+ * {@code ','} or {@code ';'} as delimiter, detected from the header line.
+ */
+class CsvReader {
+
+    private final BufferedReader in;
+    private char                 delimiter;
+    private int                  lineNumber;
+    private int                  recordLine;
+
+    CsvReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    /** Line on which the last record returned started (1-based). */
+    int getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Reads the next non-blank record.
+     *
+     * @return the fields, or {@code null} at the end of the input.
+     */
+    String[] readRecord() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) return null;
+            lineNumber++;
+        } while (line.isBlank());
+        recordLine = lineNumber;
+
+        if (delimiter == 0) {
+            delimiter = line.indexOf(';') >= 0 && line.indexOf(',') < 0 ? ';' : ',';
+            if (!line.isEmpty() && line.charAt(0) == '\uFEFF') line = line.substring(1); // BOM
+        }
+
+        List<String>  fields  = new ArrayList<>();
+        StringBuilder field   = new StringBuilder();
+        boolean       quoted  = false;
+        int           i       = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+                // Quoted field spanning lines
+                line = in.readLine();
+                if (line == null) throw new IOException("Comillas sin cerrar en la línea " + recordLine);
+                lineNumber++;
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields.toArray(new String[0]);
+    }
+}
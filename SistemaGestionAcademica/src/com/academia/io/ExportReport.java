@@ -0,0 +1,41 @@
+package com.academia.io;
+
+/**
+ * Outcome of an export: what was written and how fast.
+ */
+public class ExportReport {
+
+    private final long plans;
+    private final long groups;
+    private final long bytes;
+    private final long elapsedMillis;
+
+    ExportReport(long plans, long groups, long bytes, long elapsedMillis) {
+        this.plans         = plans;
+        this.groups        = groups;
+        this.bytes         = bytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getPlans()         { return plans; }
+    public long getGroups()        { return groups; }
+    public long getBytes()         { return bytes; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /** Plans written per second. */
+    public double getPlansPerSecond() {
+        return plans * 1000.0 / Math.max(1, elapsedMillis);
+    }
+
+    /** Megabytes written per second. */
+    public double getMegabytesPerSecond() {
+        return bytes / 1_048_576.0 * 1000.0 / Math.max(1, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d plan(es), %d grupo(s), %.1f MB en %d ms (%.0f planes/s, %.1f MB/s)",
+                plans, groups, bytes / 1_048_576.0, elapsedMillis,
+                getPlansPerSecond(), getMegabytesPerSecond());
+    }
+}
@@ -0,0 +1,65 @@
+package com.academia.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: how many rows were imported and why the others
+ * were rejected. Only the first {@value #MAX_REPORTED_ERRORS} errors are
+ * kept, so a file full of bad rows cannot exhaust memory.
+ */
+public class ImportReport {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    /** A rejected row. */
+    public static class RowError {
+        private final int    line;
+        private final String message;
+
+        RowError(int line, String message) {
+            this.line    = line;
+            this.message = message;
+        }
+
+        public int    getLine()    { return line; }
+        public String getMessage() { return message; }
+
+        @Override
+        public String toString() {
+            return "Línea " + line + ": " + message;
+        }
+    }
+
+    private final List<RowError> errors = new ArrayList<>();
+    private long                 imported;
+    private long                 rejected;
+    private long                 elapsedMillis;
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    void rejected(RowError error) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) errors.add(error);
+    }
+
+    void finished(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getImported()      { return imported; }
+    public long getRejected()      { return rejected; }
+    public long getElapsedMillis() { return elapsedMillis; }
+
+    /** The first {@value #MAX_REPORTED_ERRORS} rejected rows. */
+    public List<RowError> getErrors() { return Collections.unmodifiableList(errors); }
+
+    @Override
+    public String toString() {
+        return imported + " fila(s) importada(s), " + rejected + " rechazada(s) en "
+                + elapsedMillis + " ms";
+    }
+}
@@ -1,9 +1,19 @@
 package com.academia.model;
 
 import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
  * Represents an academic group: the combination of a subject, a teacher and a schedule.
+ *
+ * Seats are reserved and released with compare-and-set on the occupied
+ * count, so any number of threads can enroll at once without locking and
+ * without ever occupying more than {@code maxSlots} seats.
+ *
+ * <p>Some occupied seats may only be <em>held</em>: kept for a waitlisted
+ * student who has been offered the seat but not claimed it yet. Held seats
+ * count as occupied, so nobody else can take them, but are not persisted
+ * (see {@link #getConfirmedSlots()}).</p>
  */
 public class Group implements Serializable, Cloneable {
 
@@ -12,8 +22,14 @@ public class Group implements Serializable, Cloneable {
     private Subject  subject;
     private Teacher  teacher;
     private Schedule schedule;
-    private int      maxSlots;
-    private int      occupiedSlots;
+    private volatile int maxSlots;
+    private volatile int occupiedSlots;
+    private transient volatile int heldSlots;
+
+    private static final AtomicIntegerFieldUpdater<Group> OCCUPIED =
+            AtomicIntegerFieldUpdater.newUpdater(Group.class, "occupiedSlots");
+    private static final AtomicIntegerFieldUpdater<Group> HELD =
+            AtomicIntegerFieldUpdater.newUpdater(Group.class, "heldSlots");
 
     public Group(String id, String name, Subject subject, Teacher teacher,
                  Schedule schedule, int maxSlots) {
@@ -34,20 +50,160 @@ public class Group implements Serializable, Cloneable {
     public Group clone() {
         try {
             Group copy          = (Group) super.clone();
-            copy.subject        = this.subject.clone();
-            copy.teacher        = this.teacher.clone();
-            copy.schedule       = this.schedule.clone();
+            copy.subject        = this.subject  != null ? this.subject.clone()  : null;
+            copy.teacher        = this.teacher  != null ? this.teacher.clone()  : null;
+            copy.schedule       = this.schedule != null ? this.schedule.clone() : null;
+            copy.occupiedSlots  = 0;
+            copy.heldSlots      = 0;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("Error cloning Group", e);
+        }
+    }
+
+    /**
+     * Clones this group but, instead of copying its subject, teacher and
+     * schedule, refers to the shared instances of the given {@link ValuePool}
+     * (FLYWEIGHT). The cloned group starts with zero occupied slots.
+     */
+    public Group cloneShared(ValuePool pool) {
+        try {
+            Group copy          = (Group) super.clone();
+            copy.subject        = pool.subject(this.subject);
+            copy.teacher        = pool.teacher(this.teacher);
+            copy.schedule       = pool.schedule(this.schedule);
             copy.occupiedSlots  = 0;
+            copy.heldSlots      = 0;
             return copy;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException("Error cloning Group", e);
         }
     }
 
+    /**
+     * Copies this group as it is now, seats included (held ones count as
+     * taken), sharing its subject, teacher and schedule. Gives a derived plan
+     * its own copy of a group it inherited (see {@link StudyPlan#detach(Group)}).
+     */
+    public Group copy() {
+        Group copy = new Group(id, name, subject, teacher, schedule, maxSlots);
+        copy.occupiedSlots = occupiedSlots;
+        return copy;
+    }
+
+    /**
+     * Copies this group with no seats taken, sharing its subject, teacher and
+     * schedule: what a derived plan starts from for a group whose seats are
+     * taken (see {@link StudyPlan#derive()}).
+     */
+    public Group emptyCopy() {
+        return new Group(id, name, subject, teacher, schedule, maxSlots);
+    }
+
     public int getAvailableSlots() {
         return maxSlots - occupiedSlots;
     }
 
+    // ── Seat reservation ─────────────────────────────────────────────────────
+
+    /** Takes one seat if any is free. */
+    public boolean reserveSeat() {
+        return reserveSeats(1);
+    }
+
+    /** Gives back one seat; {@code false} if none was taken. */
+    public boolean releaseSeat() {
+        return releaseSeats(1);
+    }
+
+    /**
+     * Takes {@code count} seats at once, or none if fewer are free.
+     *
+     * @return whether the seats were taken.
+     */
+    public boolean reserveSeats(int count) {
+        if (count <= 0) throw new IllegalArgumentException("La cantidad de cupos debe ser mayor que cero.");
+        while (true) {
+            int occupied = occupiedSlots;
+            if (count > maxSlots - occupied) return false;
+            if (OCCUPIED.compareAndSet(this, occupied, occupied + count)) return true;
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Gives back {@code count} seats, or none if fewer are taken.
+     *
+     * @return whether the seats were released.
+     */
+    public boolean releaseSeats(int count) {
+        if (count <= 0) throw new IllegalArgumentException("La cantidad de cupos debe ser mayor que cero.");
+        while (true) {
+            int occupied = occupiedSlots;
+            if (count > occupied) return false;
+            if (OCCUPIED.compareAndSet(this, occupied, occupied - count)) return true;
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Takes a free seat and holds it for a waitlist offer. */
+    public boolean holdSeat() {
+        if (!reserveSeats(1)) return false;
+        HELD.incrementAndGet(this);
+        return true;
+    }
+
+    /**
+     * Holds a seat that was occupied and is being given up, so it passes to
+     * a waitlisted student instead of becoming free.
+     *
+     * @return {@code false} if every occupied seat is already held.
+     */
+    public boolean holdTakenSeat() {
+        while (true) {
+            int held = heldSlots;
+            if (held >= occupiedSlots) return false;
+            if (HELD.compareAndSet(this, held, held + 1)) return true;
+            Thread.onSpinWait();
+        }
+    }
+
+    /** Turns a held seat into an occupied one: its offer was claimed. */
+    public void confirmHeldSeat() {
+        HELD.decrementAndGet(this);
+    }
+
+    /** Frees a held seat nobody on the waitlist could take. */
+    public void releaseHeldSeat() {
+        HELD.decrementAndGet(this);
+        releaseSeats(1);
+    }
+
+    public int getHeldSlots() {
+        return heldSlots;
+    }
+
+    /** Occupied seats that are not merely held; the count that gets persisted. */
+    public int getConfirmedSlots() {
+        return Math.max(0, occupiedSlots - heldSlots);
+    }
+
+    /**
+     * Restores a saved count of confirmed seats while loading a snapshot or
+     * replaying the journal; seats held for waitlist offers stay held on top
+     * of it. The count is restored as it was saved, without checking the
+     * capacity, so this is not a way to enroll: that goes through
+     * {@link #reserveSeats(int)} and {@link #releaseSeats(int)}.
+     */
+    public void restoreConfirmedSlots(int confirmed) {
+        if (confirmed < 0) throw new IllegalArgumentException("La cantidad de cupos no puede ser negativa.");
+        while (true) {
+            int occupied = occupiedSlots;
+            if (OCCUPIED.compareAndSet(this, occupied, confirmed + heldSlots)) return;
+            Thread.onSpinWait();
+        }
+    }
+
     // ── Getters & Setters ────────────────────────────────────────────────────
     public String getId()               { return id; }
     public void   setId(String id)      { this.id = id; }
@@ -67,8 +223,7 @@ public class Group implements Serializable, Cloneable {
     public int  getMaxSlots()               { return maxSlots; }
     public void setMaxSlots(int maxSlots)   { this.maxSlots = maxSlots; }
 
-    public int  getOccupiedSlots()                  { return occupiedSlots; }
-    public void setOccupiedSlots(int occupiedSlots) { this.occupiedSlots = occupiedSlots; }
+    public int  getOccupiedSlots()          { return occupiedSlots; }
 
     @Override
     public String toString() {
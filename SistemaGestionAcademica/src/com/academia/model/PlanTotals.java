@@ -0,0 +1,150 @@
+package com.academia.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable running totals over the groups of a {@link StudyPlan}: number
+ * of groups, credits, seats offered and occupied, and groups per subject
+ * modality and per weekday.
+ *
+ * A plan keeps its totals up to date as groups are added, removed or
+ * replaced ({@link #plus(Group)}, {@link #minus(Group)}), so reading them
+ * costs nothing however many groups the plan has. Each group counts with
+ * the values it has when it joins or leaves the plan; a member group
+ * changed in place moves the totals from the {@link Share} they counted to
+ * its share now ({@link #moved(Share, Share)}).
+ */
+public final class PlanTotals {
+
+    public static final PlanTotals EMPTY = new PlanTotals(0, 0, 0, 0,
+            new int[Subject.Modality.values().length], new int[Schedule.WeekDay.values().length]);
+
+    private final int   groupCount;
+    private final int   credits;
+    private final int   seats;
+    private final int   occupiedSeats;
+    private final int[] byModality;   // by Subject.Modality ordinal
+    private final int[] byWeekDay;    // by Schedule.WeekDay ordinal
+
+    private PlanTotals(int groupCount, int credits, int seats, int occupiedSeats,
+                       int[] byModality, int[] byWeekDay) {
+        this.groupCount    = groupCount;
+        this.credits       = credits;
+        this.seats         = seats;
+        this.occupiedSeats = occupiedSeats;
+        this.byModality    = byModality;
+        this.byWeekDay     = byWeekDay;
+    }
+
+    /** Computes the totals of a group list from scratch. */
+    public static PlanTotals of(List<Group> groups) {
+        return of(groups, Share::of);
+    }
+
+    /** Computes the totals of a group list from the given share of each group. */
+    public static PlanTotals of(List<Group> groups, Function<Group, Share> shareOf) {
+        int credits = 0, seats = 0, occupied = 0;
+        int[] byModality = new int[Subject.Modality.values().length];
+        int[] byWeekDay  = new int[Schedule.WeekDay.values().length];
+        for (Group g : groups) {
+            Share share = shareOf.apply(g);
+            credits  += share.credits();
+            seats    += share.seats();
+            occupied += share.occupiedSeats();
+            if (share.modality() != null) byModality[share.modality().ordinal()]++;
+            if (share.day() != null)      byWeekDay[share.day().ordinal()]++;
+        }
+        return new PlanTotals(groups.size(), credits, seats, occupied, byModality, byWeekDay);
+    }
+
+    /** Totals with one more group. */
+    public PlanTotals plus(Group group) {
+        return add(Share.of(group), 1);
+    }
+
+    /** Totals with one group fewer. */
+    public PlanTotals minus(Group group) {
+        return add(Share.of(group), -1);
+    }
+
+    /**
+     * Totals after a member group changed in place, from {@code before}
+     * (its share as these totals counted it) to {@code after}.
+     */
+    public PlanTotals moved(Share before, Share after) {
+        return add(before, -1).add(after, 1);
+    }
+
+    private PlanTotals add(Share share, int sign) {
+        int[] modality = byModality;
+        int[] weekDay  = byWeekDay;
+        if (share.modality() != null) {
+            modality = byModality.clone();
+            modality[share.modality().ordinal()] += sign;
+        }
+        if (share.day() != null) {
+            weekDay = byWeekDay.clone();
+            weekDay[share.day().ordinal()] += sign;
+        }
+        return new PlanTotals(groupCount + sign, credits + sign * share.credits(),
+                seats + sign * share.seats(), occupiedSeats + sign * share.occupiedSeats(),
+                modality, weekDay);
+    }
+
+    /** What one group adds to the totals, read at one moment. */
+    public record Share(int credits, Subject.Modality modality, Schedule.WeekDay day,
+                        int seats, int occupiedSeats) {
+
+        public static Share of(Group g) {
+            Subject  subject  = g.getSubject();
+            Schedule schedule = g.getSchedule();
+            return new Share(subject != null ? subject.getCredits() : 0,
+                             subject != null ? subject.getModality() : null,
+                             schedule != null ? schedule.getDay() : null,
+                             g.getMaxSlots(), g.getOccupiedSlots());
+        }
+    }
+
+    public int getGroupCount()    { return groupCount; }
+    public int getCredits()       { return credits; }
+    public int getSeats()         { return seats; }
+    public int getOccupiedSeats() { return occupiedSeats; }
+
+    public int getGroupCount(Subject.Modality modality) {
+        return byModality[modality.ordinal()];
+    }
+
+    public int getGroupCount(Schedule.WeekDay day) {
+        return byWeekDay[day.ordinal()];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PlanTotals other)) return false;
+        return groupCount == other.groupCount
+                && credits == other.credits
+                && seats == other.seats
+                && occupiedSeats == other.occupiedSeats
+                && Arrays.equals(byModality, other.byModality)
+                && Arrays.equals(byWeekDay, other.byWeekDay);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 31 * groupCount + credits;
+        h = 31 * h + seats;
+        h = 31 * h + occupiedSeats;
+        h = 31 * h + Arrays.hashCode(byModality);
+        return 31 * h + Arrays.hashCode(byWeekDay);
+    }
+
+    @Override
+    public String toString() {
+        return groupCount + " grupo(s), " + credits + " créditos, " + occupiedSeats + "/" + seats
+                + " cupos, por modalidad " + Arrays.toString(byModality)
+                + ", por día " + Arrays.toString(byWeekDay);
+    }
+}
@@ -1,9 +1,14 @@
 package com.academia.model;
 
 import java.io.Serializable;
+import java.util.Comparator;
 
 /**
  * Represents the schedule assigned to an academic group.
+ *
+ * Times are kept as minutes since midnight, so comparing or overlapping two
+ * schedules is plain integer arithmetic. The {@code "HH:mm"} accessors are
+ * kept for display, persistence and import/export.
  */
 public class Schedule implements Serializable, Cloneable {
 
@@ -27,24 +32,114 @@ public class Schedule implements Serializable, Cloneable {
         }
     }
 
+    /** Minutes in a day; minute-of-day values range over {@code [0, MINUTES_PER_DAY)}. */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Orders schedules by day, then start time, then end time. */
+    public static final Comparator<Schedule> CHRONOLOGICAL =
+            Comparator.comparingInt(Schedule::getWeekStart).thenComparingInt(Schedule::getEndMinute);
+
+    /** {@code "HH:mm"} text of every minute of the day, so getters never allocate. */
+    private static final String[] TIMES = new String[MINUTES_PER_DAY];
+
+    static {
+        for (int m = 0; m < MINUTES_PER_DAY; m++) {
+            TIMES[m] = String.valueOf(new char[]{
+                    (char) ('0' + m / 600), (char) ('0' + m / 60 % 10), ':',
+                    (char) ('0' + m % 60 / 10), (char) ('0' + m % 10)});
+        }
+    }
+
     private WeekDay day;
-    private String  startTime; // format "HH:mm"
-    private String  endTime;   // format "HH:mm"
+    private short   startMinute; // minutes since midnight
+    private short   endMinute;   // minutes since midnight
     private String  classroom;
 
     public Schedule(WeekDay day, String startTime, String endTime, String classroom) {
-        validateTimeFormat(startTime, "Hora de inicio");
-        validateTimeFormat(endTime, "Hora de fin");
-        this.day       = day;
-        this.startTime = startTime;
-        this.endTime   = endTime;
-        this.classroom = classroom;
+        this.day         = day;
+        this.startMinute = parseTime(startTime, "Hora de inicio");
+        this.endMinute   = parseTime(endTime, "Hora de fin");
+        this.classroom   = classroom;
     }
 
-    private void validateTimeFormat(String time, String fieldName) {
-        if (time == null || !time.matches("^([01]?[0-9]|2[0-3]):[0-5][0-9]$")) {
+    private static short parseTime(String time, String fieldName) {
+        int minutes = toMinutes(time);
+        if (minutes < 0) {
             throw new IllegalArgumentException(fieldName + " debe tener formato HH:mm (ej. 07:00 o 14:30)");
         }
+        return (short) minutes;
+    }
+
+    /**
+     * Parses {@code "H:mm"} or {@code "HH:mm"} (00:00 to 23:59) into minutes
+     * since midnight.
+     *
+     * @return the minute of the day, or {@code -1} if the text is not a valid time.
+     */
+    public static int toMinutes(String time) {
+        if (time == null) return -1;
+        int length = time.length();
+        if (length != 4 && length != 5) return -1;
+        int colon = length - 3;
+        if (time.charAt(colon) != ':') return -1;
+        int hours = 0;
+        for (int i = 0; i < colon; i++) {
+            int digit = time.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            hours = hours * 10 + digit;
+        }
+        int tens  = time.charAt(colon + 1) - '0';
+        int units = time.charAt(colon + 2) - '0';
+        if (hours > 23 || tens < 0 || tens > 5 || units < 0 || units > 9) return -1;
+        return hours * 60 + tens * 10 + units;
+    }
+
+    /** Formats minutes since midnight as {@code "HH:mm"}. */
+    public static String formatMinutes(int minutes) {
+        if (minutes < 0 || minutes >= MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Minuto del día fuera de rango: " + minutes);
+        }
+        return TIMES[minutes];
+    }
+
+    // ── Comparison ───────────────────────────────────────────────────────────
+
+    /**
+     * Whether both schedules fall on the same day and their time ranges
+     * intersect. Ranges are half-open, so a class ending at 09:00 does not
+     * overlap one starting at 09:00.
+     */
+    public boolean overlaps(Schedule other) {
+        return day == other.day
+                && startMinute < other.endMinute
+                && other.startMinute < endMinute;
+    }
+
+    /** Whether both schedules overlap in time and use the same classroom (ignoring case). */
+    public boolean sharesClassroomWith(Schedule other) {
+        return overlaps(other) && classroom != null && classroom.equalsIgnoreCase(other.classroom);
+    }
+
+    /** Length of the session in minutes (zero or less if it ends before it starts). */
+    public int getDurationMinutes() {
+        return endMinute - startMinute;
+    }
+
+    /**
+     * Start as minutes since Monday 00:00, so schedules of different days
+     * can be placed on one weekly time line.
+     */
+    public int getWeekStart() {
+        return weekOffset() + startMinute;
+    }
+
+    /** End as minutes since Monday 00:00 (see {@link #getWeekStart()}). */
+    public int getWeekEnd() {
+        return weekOffset() + endMinute;
+    }
+
+    private int weekOffset() {
+        return day != null ? day.ordinal() * MINUTES_PER_DAY : 0;
     }
 
     @Override
@@ -60,17 +155,20 @@ public class Schedule implements Serializable, Cloneable {
     public WeekDay getDay()               { return day; }
     public void    setDay(WeekDay day)    { this.day = day; }
 
-    public String getStartTime()                  { return startTime; }
-    public void   setStartTime(String startTime)  { this.startTime = startTime; }
+    public String getStartTime()                  { return TIMES[startMinute]; }
+    public void   setStartTime(String startTime)  { this.startMinute = parseTime(startTime, "Hora de inicio"); }
+
+    public String getEndTime()                { return TIMES[endMinute]; }
+    public void   setEndTime(String endTime)  { this.endMinute = parseTime(endTime, "Hora de fin"); }
 
-    public String getEndTime()                { return endTime; }
-    public void   setEndTime(String endTime)  { this.endTime = endTime; }
+    public int getStartMinute()   { return startMinute; }
+    public int getEndMinute()     { return endMinute; }
 
     public String getClassroom()                  { return classroom; }
     public void   setClassroom(String classroom)  { this.classroom = classroom; }
 
     @Override
     public String toString() {
-        return day + " " + startTime + " - " + endTime + " | Aula: " + classroom;
+        return day + " " + getStartTime() + " - " + getEndTime() + " | Aula: " + classroom;
     }
 }
\ No newline at end of file
@@ -1,9 +1,19 @@
 package com.academia.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
 
 /**
  * Represents an academic study plan.
@@ -11,6 +21,24 @@ import java.util.List;
  * Implements the PROTOTYPE pattern via the {@link Cloneable} interface,
  * allowing existing plans to be deep-cloned as the starting point for
  * a new academic period without rebuilding them from scratch.
+ *
+ * The group list is copy-on-write: every change publishes a new immutable
+ * list, so {@link #getGroups()} can hand it out without copying and callers
+ * keep a stable view even if the plan is changed afterwards.
+ *
+ * <p>{@link #derive()} builds a copy-on-write clone without copying the
+ * groups that have no seats taken: the child keeps a reference to its
+ * parent and only records its own group changes in an overlay, reading
+ * everything else through the parent's group list. {@link #flatten()} turns
+ * it back into a standalone plan. The inherited groups are the parent's
+ * very instances, so whoever changes one in place must first
+ * {@link #detach(Group)} it from the derived plans, which then keep a copy
+ * (copy-on-write).</p>
+ *
+ * <p>Credits, seats and group counts are kept in a {@link PlanTotals} that
+ * every group change updates by the group's own share, so they are read in
+ * constant time. Running with {@code -Dacademia.verify.totals=true} checks
+ * them against a full recount on every read.</p>
  */
 public class StudyPlan implements Serializable, Cloneable {
 
@@ -22,7 +50,15 @@ public class StudyPlan implements Serializable, Cloneable {
     private LocalDate   startDate;
     private LocalDate   endDate;
     private String      description;
-    private List<Group> groups;
+    private List<Group> groups;       // immutable, replaced on every change
+    private StudyPlan   parent;       // set while groups is an overlay on it
+    private transient PlanTotals totals; // always matches groups
+
+    /** Whether {@link #getTotals()} cross-checks the running totals against a recount. */
+    private static final boolean VERIFY_TOTALS = Boolean.getBoolean("academia.verify.totals");
+
+    /** Longest parent chain a derived plan may read through before it is flattened. */
+    private static final int MAX_CHAIN_DEPTH = 8;
 
     /**
      * Public constructor — accessible through the Builder or clone().
@@ -38,7 +74,8 @@ public class StudyPlan implements Serializable, Cloneable {
         this.startDate   = startDate;
         this.endDate     = endDate;
         this.description = description;
-        this.groups      = new ArrayList<>(groups);
+        this.groups      = freeze(new ArrayList<>(groups));
+        this.totals      = PlanTotals.of(this.groups);
     }
 
     // ── PROTOTYPE ────────────────────────────────────────────────────────────
@@ -52,13 +89,116 @@ public class StudyPlan implements Serializable, Cloneable {
      */
     @Override
     public StudyPlan clone() {
+        StudyPlan copy = clonePlanOnly();
+        // Deep copy of the groups list
+        List<Group> groups = new ArrayList<>(this.groups.size());
+        for (Group g : this.groups) {
+            groups.add(g.clone());
+        }
+        copy.groups = freeze(groups);
+        copy.totals = PlanTotals.of(copy.groups); // cloned groups start with no seats taken
+        return copy;
+    }
+
+    /**
+     * Like {@link #clone()}, but the cloned groups share their subjects,
+     * teachers and schedules through the given {@link ValuePool} instead of
+     * copying them (FLYWEIGHT), which keeps long plan histories small.
+     */
+    public StudyPlan cloneShared(ValuePool pool) {
+        StudyPlan copy = clonePlanOnly();
+        List<Group> groups = new ArrayList<>(this.groups.size());
+        for (Group g : this.groups) {
+            groups.add(g.cloneShared(pool));
+        }
+        copy.groups = freeze(groups);
+        copy.totals = PlanTotals.of(copy.groups); // cloned groups start with no seats taken
+        return copy;
+    }
+
+    /**
+     * Creates a copy-on-write clone. The clone starts with this plan's fields
+     * and reads its groups through this plan's current group list (and starts
+     * with its totals, adjusted by the groups below instead of recounted);
+     * adding, removing or replacing groups in the clone only touches its own
+     * overlay. Unchanged groups are the same instances as in this plan until
+     * they are {@linkplain #detach(Group) detached}. As with {@link #clone()},
+     * the clone starts with no seats taken: groups with seats taken get an
+     * {@linkplain Group#emptyCopy() empty copy} in the overlay, so only
+     * groups with no seats are shared. The returned copy has a {@code null} ID.
+     */
+    public StudyPlan derive() {
+        StudyPlan copy = clonePlanOnly();
+        copy.parent = this;
+        Map<Integer, Group> emptied = new HashMap<>();
+        for (int i = 0; i < groups.size(); i++) {
+            Group g = groups.get(i);
+            if (g.getOccupiedSlots() == 0) continue;
+            Group empty = g.emptyCopy();
+            emptied.put(i, empty);
+            copy.totals = copy.totals.minus(g).plus(empty);
+        }
+        OverlayGroups overlay = new OverlayGroups(this.groups, emptied);
+        copy.changed(overlay);
+        if (overlay.depth > MAX_CHAIN_DEPTH) copy.flatten();
+        return copy;
+    }
+
+    /**
+     * Detaches a plan built by {@link #derive()} from its parent by copying
+     * the resolved group list into the plan. Does nothing on a standalone plan.
+     */
+    public void flatten() {
+        if (!(groups instanceof OverlayGroups)) return;
+        groups = freeze(new ArrayList<>(groups));
+        parent = null;
+    }
+
+    /**
+     * Copy-on-write of an inherited group: if this plan reads {@code group}
+     * through its parent (see {@link #derive()}), puts a {@link Group#copy()
+     * copy} of it in the overlay, so changes made to the shared instance
+     * from now on no longer show in this plan. Call it before the change.
+     *
+     * @return whether a copy was made.
+     */
+    public boolean detach(Group group) {
+        if (!(groups instanceof OverlayGroups overlay)) return false;
+        OverlayGroups detached = overlay;
+        for (int i = 0; i < overlay.size(); i++) {
+            if (overlay.get(i) == group && overlay.inherits(i)) detached = detached.with(i, group.copy());
+        }
+        if (detached == overlay) return false;
+        changed(detached); // the copies count as the group did: totals stay
+        return true;
+    }
+
+    /**
+     * This plan with a copy of every group it inherits, as a standalone plan
+     * with the same ID, e.g. to persist it: loaded back, it must not share
+     * the parent's groups. Returns this plan itself if it is standalone.
+     */
+    public StudyPlan detached() {
+        if (!(groups instanceof OverlayGroups overlay)) return this;
+        List<Group> own = new ArrayList<>(overlay.size());
+        for (int i = 0; i < overlay.size(); i++) {
+            own.add(overlay.inherits(i) ? overlay.get(i).copy() : overlay.get(i));
+        }
+        StudyPlan standalone = clonePlanOnly();
+        standalone.id     = id;
+        standalone.groups = freeze(own);
+        return standalone;
+    }
+
+    /** The plan this one was derived from, or {@code null} if it is standalone. */
+    public StudyPlan getParent() {
+        return parent;
+    }
+
+    private StudyPlan clonePlanOnly() {
         try {
             StudyPlan copy = (StudyPlan) super.clone();
-            // Deep copy of the groups list
-            copy.groups = new ArrayList<>();
-            for (Group g : this.groups) {
-                copy.groups.add(g.clone());
-            }
+            copy.parent = null;
             copy.id = null; // the clone requires a new ID
             return copy;
         } catch (CloneNotSupportedException e) {
@@ -69,18 +209,106 @@ public class StudyPlan implements Serializable, Cloneable {
     // ── Business methods ─────────────────────────────────────────────────────
 
     public void addGroup(Group group) {
-        groups.add(group);
+        totals = totals.plus(group);
+        if (groups instanceof OverlayGroups overlay) {
+            changed(overlay.withAdded(group));
+            return;
+        }
+        List<Group> changed = new ArrayList<>(groups.size() + 1);
+        changed.addAll(groups);
+        changed.add(group);
+        groups = freeze(changed);
     }
 
     public void removeGroup(Group group) {
-        groups.remove(group);
+        int index = groups.indexOf(group);
+        if (index < 0) return;
+        totals = totals.minus(groups.get(index));
+        if (groups instanceof OverlayGroups overlay) {
+            changed(overlay.without(index));
+            return;
+        }
+        List<Group> changed = new ArrayList<>(groups);
+        changed.remove(index);
+        groups = freeze(changed);
+    }
+
+    /**
+     * Puts {@code updated} in the place of {@code current}, keeping the
+     * group order. Does nothing if {@code current} is not in this plan.
+     */
+    public void replaceGroup(Group current, Group updated) {
+        int index = groups.indexOf(current);
+        if (index < 0) return;
+        totals = totals.minus(groups.get(index)).plus(updated);
+        if (groups instanceof OverlayGroups overlay) {
+            changed(overlay.with(index, updated));
+            return;
+        }
+        List<Group> changed = new ArrayList<>(groups);
+        changed.set(index, updated);
+        groups = freeze(changed);
+    }
+
+    /** Publishes a changed overlay, flattening once it outweighs the inherited groups. */
+    private void changed(OverlayGroups overlay) {
+        groups = overlay;
+        if (overlay.overlaySize() * 2 > overlay.size()) flatten();
     }
 
     /** Returns the sum of credits of all groups in this plan. */
     public int getTotalCredits() {
-        return groups.stream()
-                .mapToInt(g -> g.getSubject().getCredits())
-                .sum();
+        return getTotals().getCredits();
+    }
+
+    /**
+     * Returns the plan's running totals. Groups count with the values they
+     * had when they joined the plan; after changing a member group in place
+     * (or taking seats in it), call {@link #groupChanged} or {@link #recount()}.
+     * The controller does the former for every plan holding a group it changes.
+     *
+     * @throws IllegalStateException in verification mode, if the totals
+     *         disagree with a recount.
+     */
+    public PlanTotals getTotals() {
+        PlanTotals current = totals;
+        if (VERIFY_TOTALS) {
+            PlanTotals expected = PlanTotals.of(groups);
+            if (!expected.equals(current)) {
+                throw new IllegalStateException("Totales desactualizados en el plan " + id
+                        + ": " + current + " en lugar de " + expected);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Moves the totals by a change made in place to one member group, from
+     * {@code before} (its share as the totals counted it) to {@code after};
+     * unlike {@link #recount()}, the cost does not grow with the plan.
+     */
+    public void groupChanged(PlanTotals.Share before, PlanTotals.Share after) {
+        totals = totals.moved(before, after);
+    }
+
+    /**
+     * Recomputes the totals from the groups, picking up in-place changes.
+     *
+     * @return whether the totals changed.
+     */
+    public boolean recount() {
+        PlanTotals previous = totals;
+        totals = PlanTotals.of(groups);
+        return !totals.equals(previous);
+    }
+
+    /**
+     * Recomputes the totals counting each group with the given share rather
+     * than its values now, e.g. with the shares that later calls to
+     * {@link #groupChanged} will move them from.
+     */
+    public void recount(Function<Group, PlanTotals.Share> shareOf) {
+        totals = PlanTotals.of(groups, shareOf);
     }
 
     // ── Getters & Setters ────────────────────────────────────────────────────
@@ -108,8 +336,137 @@ public class StudyPlan implements Serializable, Cloneable {
     public String getDescription()                      { return description; }
     public void   setDescription(String description)    { this.description = description; }
 
-    public List<Group> getGroups()              { return new ArrayList<>(groups); }
-    public void        setGroups(List<Group> g) { this.groups = new ArrayList<>(g); }
+    /** Returns the plan's groups as an immutable list (no copy is made). */
+    public List<Group> getGroups()              { return groups; }
+    public void setGroups(List<Group> g) {
+        this.groups = freeze(new ArrayList<>(g));
+        this.parent = null;
+        this.totals = PlanTotals.of(this.groups);
+    }
+
+    private static List<Group> freeze(List<Group> groups) {
+        return Collections.unmodifiableList(groups);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        totals = PlanTotals.of(groups);
+    }
+
+    /** Serializes derived plans as standalone ones. */
+    private Object writeReplace() throws ObjectStreamException {
+        if (!(groups instanceof OverlayGroups)) return this;
+        StudyPlan standalone = clonePlanOnly();
+        standalone.id = id;
+        standalone.flatten();
+        return standalone;
+    }
+
+    // ── Copy-on-write overlay ────────────────────────────────────────────────
+
+    /**
+     * Immutable group list of a derived plan: the inherited list minus the
+     * {@code removed} positions, with {@code replaced} positions swapped out,
+     * followed by {@code added}. Every change returns a new overlay; the
+     * inherited list, itself immutable, is never copied.
+     */
+    private static final class OverlayGroups extends AbstractList<Group> implements RandomAccess {
+        final int                         depth;     // overlays read through, this one included
+        private final List<Group>         inherited;
+        private final int[]               removed;   // inherited positions, ascending
+        private final Map<Integer, Group> replaced;  // by inherited position
+        private final Group[]             added;
+
+        /** An overlay over {@code inherited} that only replaces the given positions. */
+        OverlayGroups(List<Group> inherited, Map<Integer, Group> replaced) {
+            this(inherited instanceof OverlayGroups o ? o.depth + 1 : 1,
+                 inherited, new int[0], replaced.isEmpty() ? Map.of() : replaced, new Group[0]);
+        }
+
+        private OverlayGroups(int depth, List<Group> inherited, int[] removed,
+                              Map<Integer, Group> replaced, Group[] added) {
+            this.depth     = depth;
+            this.inherited = inherited;
+            this.removed   = removed;
+            this.replaced  = replaced;
+            this.added     = added;
+        }
+
+        @Override
+        public Group get(int index) {
+            int visible = inherited.size() - removed.length;
+            if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+            if (index >= visible) return added[index - visible];
+            int position = inheritedPosition(index);
+            Group own = replaced.get(position);
+            return own != null ? own : inherited.get(position);
+        }
+
+        @Override
+        public int size() {
+            return inherited.size() - removed.length + added.length;
+        }
+
+        /** Whether the group at {@code index} is read through the inherited list. */
+        boolean inherits(int index) {
+            return index < inherited.size() - removed.length
+                && !replaced.containsKey(inheritedPosition(index));
+        }
+
+        /** Number of entries recorded in the overlay. */
+        int overlaySize() {
+            return removed.length + replaced.size() + added.length;
+        }
+
+        OverlayGroups withAdded(Group group) {
+            Group[] more = Arrays.copyOf(added, added.length + 1);
+            more[added.length] = group;
+            return new OverlayGroups(depth, inherited, removed, replaced, more);
+        }
+
+        OverlayGroups without(int index) {
+            int visible = inherited.size() - removed.length;
+            if (index >= visible) {
+                Group[] fewer = new Group[added.length - 1];
+                int at = index - visible;
+                System.arraycopy(added, 0, fewer, 0, at);
+                System.arraycopy(added, at + 1, fewer, at, fewer.length - at);
+                return new OverlayGroups(depth, inherited, removed, replaced, fewer);
+            }
+            int position = inheritedPosition(index);
+            int[] more = Arrays.copyOf(removed, removed.length + 1);
+            more[removed.length] = position;
+            Arrays.sort(more);
+            Map<Integer, Group> kept = replaced;
+            if (replaced.containsKey(position)) {
+                kept = new HashMap<>(replaced);
+                kept.remove(position);
+            }
+            return new OverlayGroups(depth, inherited, more, kept, added);
+        }
+
+        OverlayGroups with(int index, Group group) {
+            int visible = inherited.size() - removed.length;
+            if (index >= visible) {
+                Group[] changed = added.clone();
+                changed[index - visible] = group;
+                return new OverlayGroups(depth, inherited, removed, replaced, changed);
+            }
+            Map<Integer, Group> changed = new HashMap<>(replaced);
+            changed.put(inheritedPosition(index), group);
+            return new OverlayGroups(depth, inherited, removed, changed, added);
+        }
+
+        /** Maps a visible index to its position in the inherited list. */
+        private int inheritedPosition(int index) {
+            int position = index;
+            for (int r : removed) {
+                if (r > position) break;
+                position++;
+            }
+            return position;
+        }
+    }
 
     @Override
     public String toString() {
@@ -0,0 +1,110 @@
+package com.academia.model;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * FLYWEIGHT factory for the value objects a {@link Group} refers to.
+ *
+ * Returns one shared instance per distinct {@link Subject}, {@link Teacher}
+ * or {@link Schedule} value, so that ten periods of cloned plans hold one
+ * copy of each teacher instead of ten. Shared instances must be treated as
+ * immutable: to change one, clone it, change the clone and assign it to the
+ * group, which leaves every other plan untouched. A value is pooled as a
+ * copy of the first instance seen, never that instance itself, so the
+ * catalogue's own (editable) subjects, teachers and schedules are not
+ * shared with the clones.
+ *
+ * <p>Thread-safe. Values are keyed by all their fields, so every edit of a
+ * catalogue entity pools a new value; the pool holds them weakly, and a
+ * value is dropped once no group refers to it any more. The pool is thus
+ * bounded by the distinct values the live groups hold, not by the edits
+ * made over the life of the application.</p>
+ */
+public class ValuePool {
+
+    /** Pool shared by the whole application. */
+    public static final ValuePool SHARED = new ValuePool();
+
+    private final Interner<Subject>  subjects  = new Interner<>();
+    private final Interner<Teacher>  teachers  = new Interner<>();
+    private final Interner<Schedule> schedules = new Interner<>();
+
+    /** Returns the shared subject equal to {@code s} (field by field), adding a copy of {@code s} if new. */
+    public Subject subject(Subject s) {
+        if (s == null) return null;
+        return subjects.intern(key(s.getId(), s.getName(), s.getCredits(),
+                s.getDescription(), s.getModality()), s::clone);
+    }
+
+    /** Returns the shared teacher equal to {@code t} (field by field), adding a copy of {@code t} if new. */
+    public Teacher teacher(Teacher t) {
+        if (t == null) return null;
+        return teachers.intern(key(t.getId(), t.getFirstName(), t.getLastName(),
+                t.getSpeciality(), t.getEmail(), t.getPhone()), t::clone);
+    }
+
+    /** Returns the shared schedule equal to {@code sc} (field by field), adding a copy of {@code sc} if new. */
+    public Schedule schedule(Schedule sc) {
+        if (sc == null) return null;
+        return schedules.intern(key(sc.getDay(), sc.getStartTime(),
+                sc.getEndTime(), sc.getClassroom()), sc::clone);
+    }
+
+    /** Number of distinct values pooled and not yet found unreferenced. */
+    public int size() {
+        return subjects.size() + teachers.size() + schedules.size();
+    }
+
+    private static List<Object> key(Object... fields) {
+        return Arrays.asList(fields); // value-based equals/hashCode, allows nulls
+    }
+
+    /** Map from field values to a weakly held shared instance. */
+    private static final class Interner<T> {
+        private final ConcurrentHashMap<List<Object>, Entry<T>> values = new ConcurrentHashMap<>();
+        private final ReferenceQueue<T> collected = new ReferenceQueue<>();
+
+        T intern(List<Object> key, Supplier<T> copy) {
+            purge();
+            while (true) {
+                Entry<T> entry = values.get(key);
+                T value = entry != null ? entry.get() : null;
+                if (value != null) return value;
+                T fresh = copy.get();
+                Entry<T> created = new Entry<>(key, fresh, collected);
+                boolean stored = entry == null
+                        ? values.putIfAbsent(key, created) == null
+                        : values.replace(key, entry, created);
+                if (stored) return fresh;
+            }
+        }
+
+        int size() {
+            purge();
+            return values.size();
+        }
+
+        /** Drops the entries whose values have been collected. */
+        private void purge() {
+            Object ref;
+            while ((ref = collected.poll()) != null) {
+                Entry<?> entry = (Entry<?>) ref;
+                values.remove(entry.key, entry);
+            }
+        }
+    }
+
+    private static final class Entry<T> extends WeakReference<T> {
+        final List<Object> key;
+
+        Entry(List<Object> key, T value, ReferenceQueue<T> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
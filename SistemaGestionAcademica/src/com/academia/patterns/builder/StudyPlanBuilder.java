@@ -1,5 +1,7 @@
 package com.academia.patterns.builder;
 
+import com.academia.conflict.ConflictReport;
+import com.academia.conflict.ScheduleConflict;
 import com.academia.model.Group;
 import com.academia.model.Subject;
 import com.academia.model.StudyPlan;
@@ -146,6 +148,11 @@ public class StudyPlanBuilder implements IStudyPlanBuilder {
             errors.add("La fecha de fin no puede ser anterior a la de inicio.");
         }
 
+        // A plan cannot double-book a teacher or a classroom
+        for (ScheduleConflict conflict : ConflictReport.scan(groups).getConflicts()) {
+            errors.add(conflict.getMessage());
+        }
+
         if (!errors.isEmpty()) {
             throw new IllegalStateException("No se puede construir el plan:\n"
                     + String.join("\n", errors));
@@ -0,0 +1,102 @@
+package com.academia.persistence;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reader for the format produced by {@link BinaryEncoder}.
+ */
+class BinaryDecoder {
+
+    private final InputStream  in;
+    private final byte[]       buffer = new byte[8192];
+    private int                position;
+    private int                limit;
+    private final List<String> dictionary = new ArrayList<>();
+
+    BinaryDecoder(InputStream in) {
+        this.in = in;
+    }
+
+    int readByte() throws IOException {
+        if (position == limit) {
+            limit    = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new EOFException();
+            }
+        }
+        return buffer[position++];
+    }
+
+    boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Entero variable mal formado.");
+    }
+
+    int readInt() throws IOException {
+        long zigzag = readVarLong();
+        return (int) (zigzag >>> 1) ^ -(int) (zigzag & 1);
+    }
+
+    String readString() throws IOException {
+        long tag = readVarLong();
+        if (tag == 0) return null;
+        if (tag != 1) {
+            if (tag < 0 || tag - 2 >= dictionary.size()) throw new IOException("Referencia de diccionario no válida.");
+            return dictionary.get((int) (tag - 2));
+        }
+        long length = readVarLong();
+        if (length < 0 || length > Integer.MAX_VALUE - 8) throw new IOException("Longitud de texto no válida.");
+        byte[] bytes = new byte[(int) length];
+        for (int i = 0; i < length; i++) bytes[i] = (byte) readByte();
+        String value = new String(bytes, StandardCharsets.UTF_8);
+        if (dictionary.size() < BinaryEncoder.MAX_DICTIONARY) dictionary.add(value);
+        return value;
+    }
+
+    String readId() throws IOException {
+        long tag = readVarLong();
+        if (tag == 0) return readString();
+        long packed = tag - 1;
+        char prefix = (char) (packed & 0x7F);
+        return prefix + String.format("%03d", packed >>> 7);
+    }
+
+    <E extends Enum<E>> E readEnum(E[] values) throws IOException {
+        long tag = readVarLong();
+        if (tag == 0) return null;
+        if (tag < 0 || tag > values.length) throw new IOException("Valor de enumeración no válido: " + (tag - 1));
+        return values[(int) (tag - 1)];
+    }
+
+    LocalDate readDate() throws IOException {
+        long tag = readVarLong();
+        if (tag == 0) return null;
+        long zigzag = tag - 1;
+        return LocalDate.ofEpochDay((zigzag >>> 1) ^ -(zigzag & 1));
+    }
+
+    /** Whether the underlying stream is exhausted. */
+    boolean atEnd() throws IOException {
+        if (position < limit) return false;
+        limit    = Math.max(0, in.read(buffer, 0, buffer.length));
+        position = 0;
+        return limit == 0;
+    }
+}
@@ -0,0 +1,149 @@
+package com.academia.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Low-level writer for the compact binary format shared by journal records
+ * and plan streams.
+ *
+ * <ul>
+ *   <li>integers are LEB128 varints (zig-zag for signed values);</li>
+ *   <li>strings go through a dictionary: the first occurrence is written
+ *       literally, later ones as a small index;</li>
+ *   <li>IDs such as {@code "G042"} are packed as prefix letter + number;</li>
+ *   <li>enums are written as ordinals and dates as epoch days.</li>
+ * </ul>
+ *
+ * {@link BinaryDecoder} mirrors every method and must read values in the
+ * same order.
+ */
+class BinaryEncoder implements Closeable {
+
+    /** Dictionary size limit, so long streams keep bounded memory on both sides. */
+    static final int MAX_DICTIONARY = 1 << 16;
+
+    private final OutputStream         out;
+    private final byte[]               buffer;
+    private int                        count;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    BinaryEncoder(OutputStream out) {
+        this(out, 8192);
+    }
+
+    BinaryEncoder(OutputStream out, int bufferSize) {
+        this.out    = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    void writeByte(int value) throws IOException {
+        if (count == buffer.length) flushBuffer();
+        buffer[count++] = (byte) value;
+    }
+
+    void writeBoolean(boolean value) throws IOException {
+        writeByte(value ? 1 : 0);
+    }
+
+    /** Unsigned varint; small non-negative values take a single byte. */
+    void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    /** Signed varint (zig-zag), for values that may be negative. */
+    void writeInt(int value) throws IOException {
+        writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    /** {@code null}, a new dictionary entry, or a back-reference into the dictionary. */
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        Integer index = dictionary.get(value);
+        if (index != null) {
+            writeVarLong(index + 2L);
+            return;
+        }
+        if (dictionary.size() < MAX_DICTIONARY) {
+            dictionary.put(value, dictionary.size());
+        }
+        writeVarLong(1);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length);
+        for (byte b : bytes) writeByte(b);
+    }
+
+    /**
+     * Writes an ID. Canonical IDs (one ASCII letter and a zero-padded number,
+     * as generated by the repositories) take two or three bytes; anything
+     * else falls back to {@link #writeString(String)}.
+     */
+    void writeId(String id) throws IOException {
+        long packed = packId(id);
+        if (packed < 0) {
+            writeVarLong(0);
+            writeString(id);
+        } else {
+            writeVarLong(packed + 1);
+        }
+    }
+
+    void writeEnum(Enum<?> value) throws IOException {
+        writeVarLong(value != null ? value.ordinal() + 1 : 0);
+    }
+
+    void writeDate(LocalDate date) throws IOException {
+        if (date == null) {
+            writeVarLong(0);
+        } else {
+            long day = date.toEpochDay();
+            writeVarLong(((day << 1) ^ (day >> 63)) + 1);
+        }
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        out.close();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    /** {@code number << 7 | letter}, or -1 if the ID is not canonical. */
+    static long packId(String id) {
+        if (id == null || id.length() < 4 || id.length() > 11) return -1;
+        char prefix = id.charAt(0);
+        if (prefix >= 0x80 || Character.isDigit(prefix)) return -1;
+        long number = 0;
+        for (int i = 1; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            number = number * 10 + (c - '0');
+        }
+        // Reject forms that would not round-trip through "%03d"
+        if (id.length() > 4 && id.charAt(1) == '0') return -1;
+        return number << 7 | prefix;
+    }
+}
@@ -0,0 +1,338 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Durable storage for the controller's catalogue.
+ *
+ * Every mutation is appended to a {@link Journal} as a full-state record
+ * ("subject saved", "plan deleted", …). Because records carry the whole
+ * entity, replaying one that is already reflected in the state is harmless,
+ * which lets compaction run without stopping writers:
+ *
+ * <ol>
+ *   <li>the journal is rotated to generation <i>N+1</i>;</li>
+ *   <li>the live catalogue is written to {@code snapshot-N+1.bin} in the
+ *       memory-mappable {@link MappedSnapshot} format;</li>
+ *   <li>journals and snapshots older than <i>N+1</i> are deleted.</li>
+ * </ol>
+ *
+ * On startup the newest complete snapshot is mapped (its entities are only
+ * decoded when first used) and every journal from its generation onwards is
+ * replayed on top of it.
+ */
+public class CataloguePersistence implements Closeable {
+
+    // ── Record types ──────────────────────────────────────────────────────────
+    static final byte SUBJECT_SAVED   = 1;
+    static final byte SUBJECT_DELETED = 2;
+    static final byte TEACHER_SAVED   = 3;
+    static final byte TEACHER_DELETED = 4;
+    static final byte GROUP_SAVED     = 5;
+    static final byte PLAN_SAVED      = 6;
+    static final byte PLAN_DELETED    = 7;
+    static final byte PLANS_SAVED     = 8; // several plans, applied all-or-nothing
+    static final byte SEATS_CHANGED   = 9; // a group's occupied seat count
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final PersistenceConfig config;
+    private final CatalogueStore    store;
+    private final Journal           journal;
+    private final boolean           recovered;
+    private final ScheduledExecutorService compactor;
+
+    private CataloguePersistence(PersistenceConfig config, CatalogueStore store,
+                                 Journal journal, boolean recovered) {
+        this.config    = config;
+        this.store     = store;
+        this.journal   = journal;
+        this.recovered = recovered;
+
+        if (journal != null && config.getCompactionCheckSeconds() > 0) {
+            compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "academia-journal-compactor");
+                t.setDaemon(true);
+                return t;
+            });
+            long period = config.getCompactionCheckSeconds();
+            compactor.scheduleWithFixedDelay(this::compactIfNeeded, period, period, TimeUnit.SECONDS);
+        } else {
+            compactor = null;
+        }
+    }
+
+    /**
+     * Returns an instance that records nothing, for purely in-memory sessions.
+     */
+    public static CataloguePersistence inMemory() {
+        return new CataloguePersistence(null, null, null, false);
+    }
+
+    /**
+     * Recovers the catalogue from the data directory into {@code store} and
+     * opens the journal for new mutations.
+     */
+    public static CataloguePersistence open(PersistenceConfig config, CatalogueStore store)
+            throws IOException {
+        Path dir = config.getDataDirectory();
+        Files.createDirectories(dir);
+
+        boolean recovered  = false;
+        long    generation = 1;
+
+        // 1. Newest complete snapshot, mapped rather than read
+        List<Long> snapshots = listGenerations(dir, CataloguePersistence::snapshotGenerationOf);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            try {
+                MappedSnapshot snapshot = MappedSnapshot.open(snapshotFile(dir, snapshots.get(i)));
+                store.attachSnapshot(snapshot);
+                generation = snapshots.get(i);
+                recovered  = true;
+                break;
+            } catch (IOException e) {
+                System.err.println("Se ignora una instantánea dañada: " + e.getMessage());
+            }
+        }
+
+        // 2. Journals written since that snapshot
+        long snapshotGeneration = generation;
+        List<Long> journals = listGenerations(dir, Journal::generationOf);
+        for (long g : journals) {
+            if (g < snapshotGeneration) continue;
+            Path file = Journal.fileFor(dir, g);
+            long intact = Journal.readRecords(file, 0, payload -> apply(payload, store));
+            Journal.truncate(file, intact);
+            recovered |= intact > 0;
+            generation = Math.max(generation, g);
+        }
+
+        Journal journal = new Journal(dir, generation,
+                config.getFsyncPolicy(), config.getFsyncIntervalMillis());
+        CataloguePersistence persistence = new CataloguePersistence(config, store, journal, recovered);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                persistence.close();
+            } catch (IOException e) {
+                System.err.println("No se pudo cerrar el diario de cambios: " + e.getMessage());
+            }
+        }, "academia-journal-shutdown"));
+        return persistence;
+    }
+
+    /** Whether any state was loaded from disk on startup. */
+    public boolean isRecovered() {
+        return recovered;
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /** The data directory, or {@code null} when running in memory. */
+    public Path getDataDirectory() {
+        return config != null ? config.getDataDirectory() : null;
+    }
+
+    // ── Logging mutations ─────────────────────────────────────────────────────
+
+    public Journal.Commit subjectSaved(Subject s)   { return log(SUBJECT_SAVED, w -> w.writeSubject(s)); }
+    public Journal.Commit subjectDeleted(String id) { return log(SUBJECT_DELETED, w -> w.writeId(id)); }
+    public Journal.Commit teacherSaved(Teacher t)   { return log(TEACHER_SAVED, w -> w.writeTeacher(t)); }
+    public Journal.Commit teacherDeleted(String id) { return log(TEACHER_DELETED, w -> w.writeId(id)); }
+    public Journal.Commit groupSaved(Group g)       { return log(GROUP_SAVED, w -> w.writeGroup(g)); }
+    public Journal.Commit planSaved(StudyPlan p)    { return log(PLAN_SAVED, w -> w.writeStudyPlan(p.detached())); }
+    public Journal.Commit planDeleted(String id)    { return log(PLAN_DELETED, w -> w.writeId(id)); }
+
+    /** Logs several plans as one record, so recovery sees all of them or none. */
+    public Journal.Commit plansSaved(List<StudyPlan> plans) {
+        return log(PLANS_SAVED, w -> {
+            w.writeCount(plans.size());
+            for (StudyPlan p : plans) w.writeStudyPlan(p.detached());
+        });
+    }
+
+    /**
+     * Logs a group's occupied seat count. Seats change without locks, so the
+     * count is read when the record is queued: whatever order concurrent
+     * reservations log in, the group's last record holds its latest count.
+     */
+    public Journal.Commit seatsChanged(Group g) {
+        if (journal == null) return Journal.Commit.DONE;
+        return journal.append(() -> encode(SEATS_CHANGED, w -> {
+            w.writeId(g.getId());
+            w.writeCount(g.getConfirmedSlots());
+        }));
+    }
+
+    private interface Body {
+        void write(ModelWriter writer) throws IOException;
+    }
+
+    private Journal.Commit log(byte type, Body body) {
+        if (journal == null) return Journal.Commit.DONE;
+        return journal.append(encode(type, body));
+    }
+
+    private byte[] encode(byte type, Body body) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            BinaryEncoder out = new BinaryEncoder(bytes, 256);
+            out.writeByte(type);
+            body.write(new ModelWriter(out, catalogueReferences));
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // in-memory stream: cannot happen
+        }
+    }
+
+    /** In journal records, catalogue instances are referred to by ID. */
+    private final ModelWriter.References catalogueReferences = new ModelWriter.References() {
+        @Override
+        public boolean isKnown(Object entity) {
+            if (entity instanceof Subject s) return store.findSubject(s.getId()) == s;
+            if (entity instanceof Teacher t) return store.findTeacher(t.getId()) == t;
+            if (entity instanceof Group g)   return store.findGroup(g.getId()) == g;
+            return false;
+        }
+
+        @Override
+        public void writeReference(Object entity, BinaryEncoder out) throws IOException {
+            if (entity instanceof Subject s)      out.writeId(s.getId());
+            else if (entity instanceof Teacher t) out.writeId(t.getId());
+            else if (entity instanceof Group g)   out.writeId(g.getId());
+        }
+    };
+
+    // ── Replay ────────────────────────────────────────────────────────────────
+
+    private static void apply(byte[] payload, CatalogueStore store) {
+        try {
+            BinaryDecoder in = new BinaryDecoder(new ByteArrayInputStream(payload));
+            ModelReader reader = new ModelReader(in, new ModelReader.References() {
+                @Override
+                public <T> T readReference(Class<T> type, BinaryDecoder decoder) throws IOException {
+                    String id = decoder.readId();
+                    Object entity = type == Subject.class ? store.findSubject(id)
+                                  : type == Teacher.class ? store.findTeacher(id)
+                                  : store.findGroup(id);
+                    if (entity == null) {
+                        throw new IOException("Referencia inexistente en el diario: " + id);
+                    }
+                    return type.cast(entity);
+                }
+            });
+            switch (in.readByte()) {
+                case SUBJECT_SAVED   -> store.restoreSubject(reader.readSubject());
+                case SUBJECT_DELETED -> store.removeSubject(reader.readId());
+                case TEACHER_SAVED   -> store.restoreTeacher(reader.readTeacher());
+                case TEACHER_DELETED -> store.removeTeacher(reader.readId());
+                case GROUP_SAVED     -> store.restoreGroup(reader.readGroup());
+                case PLAN_SAVED      -> store.restoreStudyPlan(reader.readStudyPlan());
+                case PLAN_DELETED    -> store.removeStudyPlan(reader.readId());
+                case PLANS_SAVED     -> {
+                    List<StudyPlan> plans = new ArrayList<>();
+                    for (int n = reader.readCount(); n > 0; n--) plans.add(reader.readStudyPlan());
+                    plans.forEach(store::restoreStudyPlan);
+                }
+                case SEATS_CHANGED   -> {
+                    String id = reader.readId();
+                    Group group = store.findGroup(id);
+                    if (group == null) throw new IOException("Referencia inexistente en el diario: " + id);
+                    group.restoreConfirmedSlots(reader.readCount());
+                }
+                default -> throw new IOException("Tipo de registro desconocido en el diario.");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ── Compaction ────────────────────────────────────────────────────────────
+
+    private void compactIfNeeded() {
+        if (journal.getRecordsInGeneration() < config.getCompactionThreshold()) return;
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error al compactar el diario de cambios: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Folds the journal into a fresh snapshot. Writers keep running: their
+     * records go to the new journal generation and are replayed on top of
+     * the snapshot.
+     */
+    public synchronized void compact() throws IOException {
+        if (journal == null) return;
+        Path dir        = config.getDataDirectory();
+        long generation = journal.rotate();
+
+        Path target = snapshotFile(dir, generation);
+        Path tmp    = target.resolveSibling(target.getFileName() + ".tmp");
+        // Derived plans are stored with copies of the groups they inherit (see StudyPlan#detached)
+        List<StudyPlan> plans = store.studyPlans().stream().map(StudyPlan::detached).toList();
+        SnapshotWriter.write(tmp, store.subjects(), store.teachers(), store.groups(),
+                plans, store.nextIdNumbers());
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+
+        // Older files may still be mapped (on Windows they cannot be deleted
+        // yet); whatever is left over is removed by a later compaction.
+        for (long g : listGenerations(dir, Journal::generationOf)) {
+            if (g < generation) deleteQuietly(Journal.fileFor(dir, g));
+        }
+        for (long g : listGenerations(dir, CataloguePersistence::snapshotGenerationOf)) {
+            if (g < generation) deleteQuietly(snapshotFile(dir, g));
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // still in use; retried on the next compaction
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (compactor != null) compactor.shutdownNow();
+        if (journal != null)   journal.close();
+    }
+
+    // ── File naming ───────────────────────────────────────────────────────────
+
+    private static Path snapshotFile(Path dir, long generation) {
+        return dir.resolve(String.format("%s%08d%s", SNAPSHOT_PREFIX, generation, SNAPSHOT_SUFFIX));
+    }
+
+    private static long snapshotGenerationOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SNAPSHOT_PREFIX) || !name.endsWith(SNAPSHOT_SUFFIX)) return -1;
+        try {
+            return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(),
+                    name.length() - SNAPSHOT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static List<Long> listGenerations(Path dir, ToLongFunction<Path> parser)
+            throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.mapToLong(parser).filter(g -> g >= 0).sorted().boxed().toList();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.academia.persistence;
+
+import com.academia.model.Group;
+import com.academia.model.StudyPlan;
+import com.academia.model.Subject;
+import com.academia.model.Teacher;
+
+import java.util.List;
+
+/**
+ * The controller's in-memory state as seen by the persistence layer.
+ *
+ * Lookups let the encoder tell shared catalogue entities (written as a
+ * reference) from private copies (written inline). On startup the newest
+ * snapshot is handed over with {@link #attachSnapshot(MappedSnapshot)}; the
+ * {@code restore*} and {@code remove*} methods then apply replayed journal
+ * records directly to the stores, bypassing the journal.
+ */
+public interface CatalogueStore {
+
+    Subject findSubject(String id);
+
+    Teacher findTeacher(String id);
+
+    Group findGroup(String id);
+
+    List<Subject>   subjects();
+
+    List<Teacher>   teachers();
+
+    List<Group>     groups();
+
+    List<StudyPlan> studyPlans();
+
+    /** Next ID numbers of subjects, teachers, groups and plans, in that order. */
+    int[] nextIdNumbers();
+
+    /** Serves the snapshot's entities as the base layer of the (empty) stores. */
+    void attachSnapshot(MappedSnapshot snapshot);
+
+    void restoreSubject(Subject subject);
+
+    void restoreTeacher(Teacher teacher);
+
+    void restoreGroup(Group group);
+
+    void restoreStudyPlan(StudyPlan plan);
+
+    void removeSubject(String id);
+
+    void removeTeacher(String id);
+
+    void removeStudyPlan(String id);
+}
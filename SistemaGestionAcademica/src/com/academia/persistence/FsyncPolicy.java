@@ -0,0 +1,22 @@
+package com.academia.persistence;
+
+/**
+ * Controls when journal writes are forced to stable storage.
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Every batch is fsynced before the callers that wrote it return.
+     * Concurrent writers share a single fsync (group commit).
+     */
+    ALWAYS,
+
+    /**
+     * Callers return as soon as their record is queued; the writer thread
+     * fsyncs at most once per configured interval.
+     */
+    INTERVAL,
+
+    /** Records are written but fsync is left to the operating system. */
+    NEVER
+}
@@ -0,0 +1,372 @@
+package com.academia.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead log with group commit.
+ *
+ * Callers hand in already-encoded records; a single writer thread drains
+ * everything queued since its last pass and writes it with one gathering
+ * write (and at most one fsync, depending on the {@link FsyncPolicy}).
+ *
+ * <p>On disk each record is framed as {@code [int length][payload][int crc32]},
+ * so a torn tail left by a crash is detected and ignored on replay.
+ * The log is split into numbered generations ({@code journal-00000001.log},
+ * …) so that compaction can start a new file while the old one is folded
+ * into a snapshot.</p>
+ */
+public class Journal implements Closeable {
+
+    /** Handle returned by {@link #append(byte[])}; wait on it for durability. */
+    public static final class Commit {
+
+        static final Commit DONE = new Commit(CompletableFuture.completedFuture(null));
+
+        private final CompletableFuture<Void> future;
+
+        Commit(CompletableFuture<Void> future) {
+            this.future = future;
+        }
+
+        /**
+         * Blocks until the record has been written (and fsynced, with
+         * {@link FsyncPolicy#ALWAYS}).
+         *
+         * @throws UncheckedIOException if the journal could not write it.
+         */
+        public void await() {
+            try {
+                future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw new UncheckedIOException((IOException) e.getCause());
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static final String FILE_PREFIX = "journal-";
+    private static final String FILE_SUFFIX = ".log";
+
+    private final Path        directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long        fsyncIntervalMillis;
+
+    // Queue state, guarded by queueLock
+    private final Object                  queueLock     = new Object();
+    private List<ByteBuffer>              pending       = new ArrayList<>();
+    private CompletableFuture<Void>       pendingCommit = new CompletableFuture<>();
+    private boolean                       closed;
+    private IOException                   failure;
+
+    // File state, guarded by ioLock (always taken before queueLock)
+    private final ReentrantLock ioLock = new ReentrantLock();
+    private FileChannel         channel;
+    private long                generation;
+    private volatile boolean    dirty;
+    private volatile long       lastForce = System.currentTimeMillis();
+
+    private final AtomicLong recordsInGeneration = new AtomicLong();
+    private final Thread     writer;
+
+    /**
+     * Opens (or creates) the given journal generation for appending.
+     */
+    public Journal(Path directory, long generation, FsyncPolicy fsyncPolicy,
+                   long fsyncIntervalMillis) throws IOException {
+        this.directory           = directory;
+        this.fsyncPolicy         = fsyncPolicy;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.generation          = generation;
+        this.channel             = openForAppend(fileFor(directory, generation));
+
+        this.writer = new Thread(this::writeLoop, "academia-journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // ── Appending ─────────────────────────────────────────────────────────────
+
+    /**
+     * Queues one record. With {@link FsyncPolicy#ALWAYS} the returned commit
+     * completes after the batch containing it is durable; otherwise it is
+     * already complete.
+     */
+    public Commit append(byte[] payload) {
+        ByteBuffer frame = frame(payload);
+        return enqueue(() -> frame);
+    }
+
+    /**
+     * Queues one record whose payload is built while the queue is held, so
+     * records built from a value that other threads keep changing are queued
+     * in the order the value was read and the last one holds the latest value.
+     */
+    public Commit append(Supplier<byte[]> payload) {
+        return enqueue(() -> frame(payload.get()));
+    }
+
+    private Commit enqueue(Supplier<ByteBuffer> frame) {
+        CompletableFuture<Void> commit;
+        synchronized (queueLock) {
+            if (failure != null) throw new UncheckedIOException("El diario de cambios falló", failure);
+            if (closed)          throw new IllegalStateException("El diario de cambios está cerrado.");
+            pending.add(frame.get());
+            commit = pendingCommit;
+            queueLock.notifyAll();
+        }
+        recordsInGeneration.incrementAndGet();
+        return fsyncPolicy == FsyncPolicy.ALWAYS ? new Commit(commit) : Commit.DONE;
+    }
+
+    /** Number of records appended to the current generation. */
+    public long getRecordsInGeneration() {
+        return recordsInGeneration.get();
+    }
+
+    public long getGeneration() {
+        ioLock.lock();
+        try {
+            return generation;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /**
+     * Seals the current generation and starts the next one. Every record
+     * appended before this call ends up in the old file, every record
+     * appended afterwards in the new one.
+     *
+     * @return the number of the new generation.
+     */
+    public long rotate() throws IOException {
+        ioLock.lock();
+        try {
+            List<ByteBuffer>        batch;
+            CompletableFuture<Void> commit;
+            synchronized (queueLock) {
+                batch  = takePending();
+                commit = pendingCommit;
+                pendingCommit = new CompletableFuture<>();
+                recordsInGeneration.set(0);
+            }
+            try {
+                writeBatch(batch);
+                channel.force(false);
+                channel.close();
+                generation++;
+                channel = openForAppend(fileFor(directory, generation));
+                dirty = false;
+                commit.complete(null);
+            } catch (IOException e) {
+                commit.completeExceptionally(e);
+                fail(e);
+                throw e;
+            }
+            return generation;
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    /** Flushes everything queued, fsyncs and stops the writer thread. */
+    @Override
+    public void close() throws IOException {
+        synchronized (queueLock) {
+            if (closed) return;
+            closed = true;
+            queueLock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ioLock.lock();
+        try {
+            if (channel.isOpen()) {
+                channel.force(false);
+                channel.close();
+            }
+        } finally {
+            ioLock.unlock();
+        }
+    }
+
+    // ── Writer thread ─────────────────────────────────────────────────────────
+
+    private void writeLoop() {
+        while (true) {
+            synchronized (queueLock) {
+                while (pending.isEmpty() && !closed && !forceDue()) {
+                    try {
+                        queueLock.wait(fsyncPolicy == FsyncPolicy.INTERVAL ? fsyncIntervalMillis : 0);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.isEmpty() && closed) return;
+            }
+
+            ioLock.lock();
+            try {
+                List<ByteBuffer>        batch;
+                CompletableFuture<Void> commit;
+                synchronized (queueLock) {
+                    batch  = takePending();
+                    commit = pendingCommit;
+                    pendingCommit = new CompletableFuture<>();
+                }
+                try {
+                    writeBatch(batch);
+                    if (fsyncPolicy == FsyncPolicy.ALWAYS || forceDue()) {
+                        channel.force(false);
+                        dirty     = false;
+                        lastForce = System.currentTimeMillis();
+                    }
+                    commit.complete(null);
+                } catch (IOException e) {
+                    commit.completeExceptionally(e);
+                    fail(e);
+                    return;
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        }
+    }
+
+    /** Whether an {@link FsyncPolicy#INTERVAL} fsync is owed. */
+    private boolean forceDue() {
+        return fsyncPolicy == FsyncPolicy.INTERVAL && dirty
+                && System.currentTimeMillis() - lastForce >= fsyncIntervalMillis;
+    }
+
+    private List<ByteBuffer> takePending() {
+        List<ByteBuffer> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void writeBatch(List<ByteBuffer> batch) throws IOException {
+        if (batch.isEmpty()) return;
+        ByteBuffer[] buffers = batch.toArray(new ByteBuffer[0]);
+        long remaining = 0;
+        for (ByteBuffer b : buffers) remaining += b.remaining();
+        while (remaining > 0) {
+            remaining -= channel.write(buffers);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Marks the journal as failed. Records already queued for the next batch
+     * are failed with it, and every later {@link #append} throws, so no
+     * caller is left waiting on a batch the writer will never write.
+     */
+    private void fail(IOException e) {
+        synchronized (queueLock) {
+            if (failure == null) failure = e;
+            pending.clear();
+            pendingCommit.completeExceptionally(failure);
+            queueLock.notifyAll();
+        }
+    }
+
+    // ── File format ───────────────────────────────────────────────────────────
+
+    static ByteBuffer frame(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(payload.length + 8);
+        frame.putInt(payload.length).put(payload).putInt((int) crc.getValue());
+        frame.flip();
+        return frame;
+    }
+
+    /**
+     * Reads all intact records of a journal or snapshot file, starting at the
+     * given offset. Reading stops at the first truncated or corrupt frame.
+     *
+     * @return the offset just past the last intact record.
+     */
+    static long readRecords(Path file, long offset, Consumer<byte[]> handler) throws IOException {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size     = in.size();
+            long position = offset;
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (position + 8 <= size) {
+                header.clear();
+                readFully(in, header, position);
+                int length = header.flip().getInt();
+                if (length < 0 || position + 8 + length > size) break;
+
+                ByteBuffer body = ByteBuffer.allocate(length + 4);
+                readFully(in, body, position + 4);
+                body.flip();
+                byte[] payload = new byte[length];
+                body.get(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if (body.getInt() != (int) crc.getValue()) break;
+
+                handler.accept(payload);
+                position += 8 + length;
+            }
+            return position;
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer, position + buffer.position()) < 0) break;
+        }
+    }
+
+    static Path fileFor(Path directory, long generation) {
+        return directory.resolve(String.format("%s%08d%s", FILE_PREFIX, generation, FILE_SUFFIX));
+    }
+
+    /** Returns the generation number encoded in a journal file name, or -1. */
+    static long generationOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) return -1;
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Cuts a file back to its last intact record (after a crash mid-write). */
+    static void truncate(Path file, long length) throws IOException {
+        if (!Files.exists(file) || Files.size(file) <= length) return;
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            out.truncate(length);
+            out.force(true);
+        }
+    }
+
+    private static FileChannel openForAppend(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,290 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+import com.academia.repository.BaseTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Read-only view of a snapshot file, memory-mapped so that opening it costs
+ * only a header read regardless of catalogue size.
+ *
+ * <p>The file holds a string table and fixed-width records that refer to
+ * strings and to each other by index (see {@link SnapshotWriter} for the
+ * layout). Entities are decoded the first time they are accessed and cached,
+ * so a group and its plan see the same {@link Subject} instance, exactly as
+ * they did when the snapshot was written. ID lookups go through hash indexes
+ * stored in the file, and the subject/teacher → group reverse indexes are
+ * stored too, so nothing has to be scanned on startup.</p>
+ */
+public class MappedSnapshot {
+
+    private final ByteBuffer buffer;
+    private final long[]     sectionOffset = new long[SnapshotWriter.SECTION_COUNT];
+    private final int[]      sectionCount  = new int[SnapshotWriter.SECTION_COUNT];
+    private final int[]      catalogueSize = new int[4];
+    private final int[]      nextIdNumber  = new int[4];
+
+    private final AtomicReferenceArray<Subject>   subjectCache;
+    private final AtomicReferenceArray<Teacher>   teacherCache;
+    private final AtomicReferenceArray<Group>     groupCache;
+    private final AtomicReferenceArray<StudyPlan> planCache;
+
+    private final Table<Subject>   subjects;
+    private final Table<Teacher>   teachers;
+    private final Table<Group>     groups;
+    private final Table<StudyPlan> plans;
+
+    private MappedSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != SnapshotWriter.MAGIC || buffer.getInt(4) != SnapshotWriter.VERSION
+                || buffer.getLong(8) != buffer.capacity()) {
+            throw new IOException("Instantánea incompleta o de una versión desconocida.");
+        }
+        int pos = 16;
+        for (int t = 0; t < 4; t++) {
+            catalogueSize[t] = buffer.getInt(pos);
+            nextIdNumber[t]  = buffer.getInt(pos + 4);
+            pos += 8;
+        }
+        for (int s = 0; s < SnapshotWriter.SECTION_COUNT; s++) {
+            sectionOffset[s] = buffer.getLong(pos);
+            sectionCount[s]  = buffer.getInt(pos + 8);
+            pos += 12;
+        }
+
+        subjectCache = new AtomicReferenceArray<>(sectionCount[SnapshotWriter.SUBJECTS]);
+        teacherCache = new AtomicReferenceArray<>(sectionCount[SnapshotWriter.TEACHERS]);
+        groupCache   = new AtomicReferenceArray<>(sectionCount[SnapshotWriter.GROUPS]);
+        planCache    = new AtomicReferenceArray<>(sectionCount[SnapshotWriter.PLANS]);
+
+        subjects = new Table<>(SnapshotWriter.T_SUBJECT, SnapshotWriter.SUBJECTS,
+                SnapshotWriter.SUBJECT_SIZE, SnapshotWriter.HASH_SUBJECTS, this::subjectAt);
+        teachers = new Table<>(SnapshotWriter.T_TEACHER, SnapshotWriter.TEACHERS,
+                SnapshotWriter.TEACHER_SIZE, SnapshotWriter.HASH_TEACHERS, this::teacherAt);
+        groups   = new Table<>(SnapshotWriter.T_GROUP, SnapshotWriter.GROUPS,
+                SnapshotWriter.GROUP_SIZE, SnapshotWriter.HASH_GROUPS, this::groupAt);
+        plans    = new Table<>(SnapshotWriter.T_PLAN, SnapshotWriter.PLANS,
+                SnapshotWriter.PLAN_SIZE, SnapshotWriter.HASH_PLANS, this::planAt);
+    }
+
+    /**
+     * Maps and validates a snapshot file.
+     *
+     * @throws IOException if the file is truncated, of another version or
+     *                     too large to map (over 2 GB).
+     */
+    public static MappedSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 16 || size > Integer.MAX_VALUE) {
+                throw new IOException("Tamaño de instantánea no válido: " + size);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedSnapshot(mapped);
+        }
+    }
+
+    public BaseTable<Subject>   subjects()   { return subjects; }
+    public BaseTable<Teacher>   teachers()   { return teachers; }
+    public BaseTable<Group>     groups()     { return groups; }
+    public BaseTable<StudyPlan> studyPlans() { return plans; }
+
+    /** IDs of the catalogue groups that referenced the subject when the snapshot was taken. */
+    public List<String> groupIdsBySubject(String subjectId) {
+        return groupIdsOf(subjects.positionOf(subjectId),
+                SnapshotWriter.SUBJECT_GROUP_START, SnapshotWriter.SUBJECT_GROUPS);
+    }
+
+    /** IDs of the catalogue groups that referenced the teacher when the snapshot was taken. */
+    public List<String> groupIdsByTeacher(String teacherId) {
+        return groupIdsOf(teachers.positionOf(teacherId),
+                SnapshotWriter.TEACHER_GROUP_START, SnapshotWriter.TEACHER_GROUPS);
+    }
+
+    private List<String> groupIdsOf(int position, int startSection, int listSection) {
+        List<String> ids = new ArrayList<>();
+        if (position < 0) return ids;
+        int from = intAt(startSection, position);
+        int to   = intAt(startSection, position + 1);
+        for (int i = from; i < to; i++) {
+            ids.add(groups.idAt(intAt(listSection, i)));
+        }
+        return ids;
+    }
+
+    // ── Catalogue tables ──────────────────────────────────────────────────────
+
+    /**
+     * Catalogue entities of one type: records {@code [0, size)} of the
+     * section, in listing order, looked up by an open-addressing hash index.
+     */
+    private final class Table<T> implements BaseTable<T> {
+        private final int            type;
+        private final int            section;
+        private final int            recordSize;
+        private final int            hashSection;
+        private final IntFunction<T> loader;
+
+        Table(int type, int section, int recordSize, int hashSection, IntFunction<T> loader) {
+            this.type        = type;
+            this.section     = section;
+            this.recordSize  = recordSize;
+            this.hashSection = hashSection;
+            this.loader      = loader;
+        }
+
+        @Override public int size()         { return catalogueSize[type]; }
+        @Override public int nextIdNumber() { return nextIdNumber[type]; }
+        @Override public T   load(int position) { return loader.apply(position); }
+
+        @Override
+        public String idAt(int position) {
+            return stringAt(buffer.getInt(record(section, recordSize, position)));
+        }
+
+        @Override
+        public int positionOf(String id) {
+            int capacity = sectionCount[hashSection];
+            if (id == null || capacity == 0) return -1;
+            byte[] key  = id.getBytes(StandardCharsets.UTF_8);
+            int    mask = capacity - 1;
+            for (int slot = SnapshotWriter.hash(id) & mask; ; slot = (slot + 1) & mask) {
+                int entry = intAt(hashSection, slot);
+                if (entry == 0) return -1;
+                int position = entry - 1;
+                if (stringEquals(buffer.getInt(record(section, recordSize, position)), key)) {
+                    return position;
+                }
+            }
+        }
+    }
+
+    // ── Lazy materialisation ──────────────────────────────────────────────────
+
+    Subject subjectAt(int index) {
+        Subject cached = subjectCache.get(index);
+        if (cached != null) return cached;
+        int r = record(SnapshotWriter.SUBJECTS, SnapshotWriter.SUBJECT_SIZE, index);
+        Subject s = new Subject(
+                stringAt(buffer.getInt(r)),
+                stringAt(buffer.getInt(r + 4)),
+                buffer.getInt(r + 8),
+                stringAt(buffer.getInt(r + 12)),
+                enumAt(Subject.Modality.values(), buffer.get(r + 16)));
+        return subjectCache.compareAndSet(index, null, s) ? s : subjectCache.get(index);
+    }
+
+    Teacher teacherAt(int index) {
+        Teacher cached = teacherCache.get(index);
+        if (cached != null) return cached;
+        int r = record(SnapshotWriter.TEACHERS, SnapshotWriter.TEACHER_SIZE, index);
+        Teacher t = new Teacher(
+                stringAt(buffer.getInt(r)),
+                stringAt(buffer.getInt(r + 4)),
+                stringAt(buffer.getInt(r + 8)),
+                stringAt(buffer.getInt(r + 12)),
+                stringAt(buffer.getInt(r + 16)),
+                stringAt(buffer.getInt(r + 20)));
+        return teacherCache.compareAndSet(index, null, t) ? t : teacherCache.get(index);
+    }
+
+    Group groupAt(int index) {
+        Group cached = groupCache.get(index);
+        if (cached != null) return cached;
+        int r = record(SnapshotWriter.GROUPS, SnapshotWriter.GROUP_SIZE, index);
+        int subjectIndex = buffer.getInt(r + 8);
+        int teacherIndex = buffer.getInt(r + 12);
+        int startTime    = buffer.getInt(r + 24); // -1 only when there is no schedule; the day may be unset
+        Schedule schedule = startTime < 0 ? null : new Schedule(
+                enumAt(Schedule.WeekDay.values(), buffer.get(r + 36)),
+                stringAt(startTime),
+                stringAt(buffer.getInt(r + 28)),
+                stringAt(buffer.getInt(r + 32)));
+        if (schedule != null && index >= catalogueSize[SnapshotWriter.T_GROUP]) {
+            schedule = ValuePool.SHARED.schedule(schedule); // plan copies share schedules
+        }
+        Group g = new Group(
+                stringAt(buffer.getInt(r)),
+                stringAt(buffer.getInt(r + 4)),
+                subjectIndex >= 0 ? subjectAt(subjectIndex) : null,
+                teacherIndex >= 0 ? teacherAt(teacherIndex) : null,
+                schedule,
+                buffer.getInt(r + 16));
+        g.restoreConfirmedSlots(buffer.getInt(r + 20));
+        return groupCache.compareAndSet(index, null, g) ? g : groupCache.get(index);
+    }
+
+    StudyPlan planAt(int index) {
+        StudyPlan cached = planCache.get(index);
+        if (cached != null) return cached;
+        int r = record(SnapshotWriter.PLANS, SnapshotWriter.PLAN_SIZE, index);
+        int groupsFrom  = buffer.getInt(r + 28);
+        int groupCount  = buffer.getInt(r + 32);
+        List<Group> planGroups = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            planGroups.add(groupAt(intAt(SnapshotWriter.PLAN_GROUPS, groupsFrom + i)));
+        }
+        StudyPlan p = new StudyPlan(
+                stringAt(buffer.getInt(r)),
+                stringAt(buffer.getInt(r + 4)),
+                stringAt(buffer.getInt(r + 8)),
+                stringAt(buffer.getInt(r + 12)),
+                enumAt(Subject.Modality.values(), buffer.get(r + 36)),
+                dateAt(buffer.getInt(r + 20)),
+                dateAt(buffer.getInt(r + 24)),
+                stringAt(buffer.getInt(r + 16)),
+                planGroups);
+        return planCache.compareAndSet(index, null, p) ? p : planCache.get(index);
+    }
+
+    // ── Low-level access ──────────────────────────────────────────────────────
+
+    private int record(int section, int recordSize, int index) {
+        return (int) sectionOffset[section] + index * recordSize;
+    }
+
+    private int intAt(int section, int index) {
+        return buffer.getInt((int) sectionOffset[section] + index * 4);
+    }
+
+    private String stringAt(int index) {
+        if (index < 0) return null;
+        int from = intAt(SnapshotWriter.STRING_OFFSETS, index);
+        int to   = intAt(SnapshotWriter.STRING_OFFSETS, index + 1);
+        byte[] bytes = new byte[to - from];
+        buffer.get((int) sectionOffset[SnapshotWriter.STRING_DATA] + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private boolean stringEquals(int index, byte[] key) {
+        if (index < 0) return false;
+        int from = intAt(SnapshotWriter.STRING_OFFSETS, index);
+        int to   = intAt(SnapshotWriter.STRING_OFFSETS, index + 1);
+        if (to - from != key.length) return false;
+        int base = (int) sectionOffset[SnapshotWriter.STRING_DATA] + from;
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(base + i) != key[i]) return false;
+        }
+        return true;
+    }
+
+    private static <E extends Enum<E>> E enumAt(E[] values, byte ordinal) {
+        return ordinal >= 0 ? values[ordinal] : null;
+    }
+
+    private static LocalDate dateAt(int epochDay) {
+        return epochDay != Integer.MIN_VALUE ? LocalDate.ofEpochDay(epochDay) : null;
+    }
+}
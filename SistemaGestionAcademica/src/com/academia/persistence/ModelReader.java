@@ -0,0 +1,117 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads model objects written by {@link ModelWriter}, resolving references
+ * through the matching {@link References} policy. The subjects, teachers and
+ * schedules nested in groups come from {@link ValuePool#SHARED}, so equal
+ * values read from different records share one instance.
+ */
+class ModelReader {
+
+    /** Resolves reference tokens written by {@link ModelWriter.References}. */
+    interface References {
+
+        <T> T readReference(Class<T> type, BinaryDecoder in) throws IOException;
+
+        /** Called after an entity has been read inline. */
+        default void read(Object entity) { }
+    }
+
+    private final BinaryDecoder in;
+    private final References    references;
+
+    ModelReader(BinaryDecoder in, References references) {
+        this.in         = in;
+        this.references = references;
+    }
+
+    Subject readSubject() throws IOException {
+        String id          = in.readId();
+        String name        = in.readString();
+        int    credits     = in.readInt();
+        String description = in.readString();
+        Subject.Modality modality = in.readEnum(Subject.Modality.values());
+        return new Subject(id, name, credits, description, modality);
+    }
+
+    Teacher readTeacher() throws IOException {
+        return new Teacher(in.readId(), in.readString(), in.readString(),
+                in.readString(), in.readString(), in.readString());
+    }
+
+    Schedule readSchedule() throws IOException {
+        Schedule.WeekDay day = in.readEnum(Schedule.WeekDay.values());
+        return new Schedule(day, in.readString(), in.readString(), in.readString());
+    }
+
+    Group readGroup() throws IOException {
+        String id   = in.readId();
+        String name = in.readString();
+
+        Subject subject = null;
+        switch (in.readByte()) {
+            case ModelWriter.REF    -> subject = references.readReference(Subject.class, in);
+            case ModelWriter.INLINE -> {
+                subject = ValuePool.SHARED.subject(readSubject());
+                references.read(subject);
+            }
+            default                 -> { }
+        }
+
+        Teacher teacher = null;
+        switch (in.readByte()) {
+            case ModelWriter.REF    -> teacher = references.readReference(Teacher.class, in);
+            case ModelWriter.INLINE -> {
+                teacher = ValuePool.SHARED.teacher(readTeacher());
+                references.read(teacher);
+            }
+            default                 -> { }
+        }
+
+        Schedule schedule = in.readBoolean() ? ValuePool.SHARED.schedule(readSchedule()) : null;
+        Group g = new Group(id, name, subject, teacher, schedule, in.readInt());
+        g.restoreConfirmedSlots(in.readInt());
+        return g;
+    }
+
+    StudyPlan readStudyPlan() throws IOException {
+        String    id          = in.readId();
+        String    name        = in.readString();
+        String    period      = in.readString();
+        String    program     = in.readString();
+        Subject.Modality modality = in.readEnum(Subject.Modality.values());
+        LocalDate start       = in.readDate();
+        LocalDate end         = in.readDate();
+        String    description = in.readString();
+
+        int count = (int) in.readVarLong();
+        List<Group> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.readByte() == ModelWriter.REF) {
+                groups.add(references.readReference(Group.class, in));
+            } else {
+                Group g = readGroup();
+                references.read(g);
+                groups.add(g);
+            }
+        }
+        return new StudyPlan(id, name, period, program, modality, start, end, description, groups);
+    }
+
+    String readId() throws IOException {
+        return in.readId();
+    }
+
+    int readCount() throws IOException {
+        long count = in.readVarLong();
+        if (count < 0 || count > Integer.MAX_VALUE) throw new IOException("Número de registros inválido.");
+        return (int) count;
+    }
+}
@@ -0,0 +1,131 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+
+import java.io.IOException;
+
+/**
+ * Writes model objects with a {@link BinaryEncoder}.
+ *
+ * Nested subjects, teachers and groups are either written inline or, when
+ * the {@link References} policy says the reader already knows them, as a
+ * reference. In journal records a reference is the ID of a catalogue
+ * instance; in plan streams it is the position of an entity written earlier
+ * in the same stream. Either way, object sharing survives the round trip.
+ */
+class ModelWriter {
+
+    static final int NULL   = 0;
+    static final int REF    = 1;
+    static final int INLINE = 2;
+
+    /** Decides which nested entities are written as references. */
+    interface References {
+
+        /** Whether the reader will already know this entity. */
+        boolean isKnown(Object entity);
+
+        /** Writes the token that identifies a known entity. */
+        void writeReference(Object entity, BinaryEncoder out) throws IOException;
+
+        /** Called after an entity has been written inline. */
+        default void written(Object entity) { }
+    }
+
+    private final BinaryEncoder out;
+    private final References    references;
+
+    ModelWriter(BinaryEncoder out, References references) {
+        this.out        = out;
+        this.references = references;
+    }
+
+    void writeSubject(Subject s) throws IOException {
+        out.writeId(s.getId());
+        out.writeString(s.getName());
+        out.writeInt(s.getCredits());
+        out.writeString(s.getDescription());
+        out.writeEnum(s.getModality());
+    }
+
+    void writeTeacher(Teacher t) throws IOException {
+        out.writeId(t.getId());
+        out.writeString(t.getFirstName());
+        out.writeString(t.getLastName());
+        out.writeString(t.getSpeciality());
+        out.writeString(t.getEmail());
+        out.writeString(t.getPhone());
+    }
+
+    void writeSchedule(Schedule sc) throws IOException {
+        out.writeEnum(sc.getDay());
+        out.writeString(sc.getStartTime());
+        out.writeString(sc.getEndTime());
+        out.writeString(sc.getClassroom());
+    }
+
+    void writeGroup(Group g) throws IOException {
+        out.writeId(g.getId());
+        out.writeString(g.getName());
+
+        if (tag(g.getSubject())) {
+            writeSubject(g.getSubject());
+            references.written(g.getSubject());
+        }
+        if (tag(g.getTeacher())) {
+            writeTeacher(g.getTeacher());
+            references.written(g.getTeacher());
+        }
+
+        out.writeBoolean(g.getSchedule() != null);
+        if (g.getSchedule() != null) writeSchedule(g.getSchedule());
+        out.writeInt(g.getMaxSlots());
+        out.writeInt(g.getConfirmedSlots());
+    }
+
+    void writeStudyPlan(StudyPlan p) throws IOException {
+        out.writeId(p.getId());
+        out.writeString(p.getName());
+        out.writeString(p.getPeriod());
+        out.writeString(p.getProgram());
+        out.writeEnum(p.getModality());
+        out.writeDate(p.getStartDate());
+        out.writeDate(p.getEndDate());
+        out.writeString(p.getDescription());
+
+        out.writeVarLong(p.getGroups().size());
+        for (Group g : p.getGroups()) {
+            if (tag(g)) {
+                writeGroup(g);
+                references.written(g);
+            }
+        }
+    }
+
+    void writeId(String id) throws IOException {
+        out.writeId(id);
+    }
+
+    void writeCount(int count) throws IOException {
+        out.writeVarLong(count);
+    }
+
+    /**
+     * Writes the NULL/REF/INLINE tag (and the reference token).
+     *
+     * @return whether the entity still has to be written inline.
+     */
+    private boolean tag(Object entity) throws IOException {
+        if (entity == null) {
+            out.writeByte(NULL);
+            return false;
+        }
+        if (references.isKnown(entity)) {
+            out.writeByte(REF);
+            references.writeReference(entity, out);
+            return false;
+        }
+        out.writeByte(INLINE);
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package com.academia.persistence;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Settings for the on-disk journal, read from system properties:
+ *
+ * <ul>
+ *   <li>{@code academia.persistence} — {@code false} keeps everything in memory.</li>
+ *   <li>{@code academia.data.dir} — data directory (default {@code ~/.sistema-academico}).</li>
+ *   <li>{@code academia.fsync} — {@link FsyncPolicy} name (default {@code INTERVAL}).</li>
+ *   <li>{@code academia.fsync.interval.ms} — fsync interval for {@code INTERVAL} (default 200).</li>
+ *   <li>{@code academia.compaction.threshold} — journal records before compaction (default 50000).</li>
+ *   <li>{@code academia.compaction.check.seconds} — how often the threshold is checked (default 60).</li>
+ * </ul>
+ */
+public class PersistenceConfig {
+
+    private final boolean     enabled;
+    private final Path        dataDirectory;
+    private final FsyncPolicy fsyncPolicy;
+    private final long        fsyncIntervalMillis;
+    private final long        compactionThreshold;
+    private final long        compactionCheckSeconds;
+
+    public PersistenceConfig(boolean enabled, Path dataDirectory, FsyncPolicy fsyncPolicy,
+                             long fsyncIntervalMillis, long compactionThreshold,
+                             long compactionCheckSeconds) {
+        this.enabled                = enabled;
+        this.dataDirectory          = dataDirectory;
+        this.fsyncPolicy            = fsyncPolicy;
+        this.fsyncIntervalMillis    = fsyncIntervalMillis;
+        this.compactionThreshold    = compactionThreshold;
+        this.compactionCheckSeconds = compactionCheckSeconds;
+    }
+
+    public static PersistenceConfig fromSystemProperties() {
+        return new PersistenceConfig(
+                Boolean.parseBoolean(System.getProperty("academia.persistence", "true")),
+                Paths.get(System.getProperty("academia.data.dir",
+                        Paths.get(System.getProperty("user.home"), ".sistema-academico").toString())),
+                FsyncPolicy.valueOf(System.getProperty("academia.fsync", FsyncPolicy.INTERVAL.name())),
+                Long.getLong("academia.fsync.interval.ms", 200),
+                Long.getLong("academia.compaction.threshold", 50_000),
+                Long.getLong("academia.compaction.check.seconds", 60));
+    }
+
+    public boolean     isEnabled()                 { return enabled; }
+    public Path        getDataDirectory()          { return dataDirectory; }
+    public FsyncPolicy getFsyncPolicy()            { return fsyncPolicy; }
+    public long        getFsyncIntervalMillis()    { return fsyncIntervalMillis; }
+    public long        getCompactionThreshold()    { return compactionThreshold; }
+    public long        getCompactionCheckSeconds() { return compactionCheckSeconds; }
+}
@@ -0,0 +1,290 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Writes the catalogue in the memory-mappable format read by
+ * {@link MappedSnapshot}.
+ *
+ * <pre>
+ * header   magic, version, file length,
+ *          per table (subjects, teachers, groups, plans): catalogue size, next ID number,
+ *          per section: offset, count
+ * sections string offsets + UTF-8 data,
+ *          fixed-width records (subject 20 B, teacher 24 B, group 40 B, plan 40 B),
+ *          plan → group index lists,
+ *          open-addressing ID hash index per table,
+ *          subject → groups and teacher → groups reverse indexes
+ * </pre>
+ *
+ * Records {@code [0, catalogue size)} of each table are the catalogue in
+ * listing order; records after them are private copies reachable only from
+ * a plan or a group (e.g. the groups of a cloned plan). Strings are
+ * deduplicated and referenced by index ({@code -1} for {@code null}).
+ */
+class SnapshotWriter {
+
+    static final int MAGIC   = 0x41435332; // "ACS2"
+    static final int VERSION = 1;
+
+    // Tables
+    static final int T_SUBJECT = 0;
+    static final int T_TEACHER = 1;
+    static final int T_GROUP   = 2;
+    static final int T_PLAN    = 3;
+
+    // Sections
+    static final int STRING_OFFSETS      = 0;
+    static final int STRING_DATA         = 1;
+    static final int SUBJECTS            = 2;
+    static final int TEACHERS            = 3;
+    static final int GROUPS              = 4;
+    static final int PLANS               = 5;
+    static final int PLAN_GROUPS         = 6;
+    static final int HASH_SUBJECTS       = 7;
+    static final int HASH_TEACHERS       = 8;
+    static final int HASH_GROUPS         = 9;
+    static final int HASH_PLANS          = 10;
+    static final int SUBJECT_GROUP_START = 11;
+    static final int SUBJECT_GROUPS      = 12;
+    static final int TEACHER_GROUP_START = 13;
+    static final int TEACHER_GROUPS      = 14;
+    static final int SECTION_COUNT       = 15;
+
+    // Record sizes in bytes
+    static final int SUBJECT_SIZE = 20;
+    static final int TEACHER_SIZE = 24;
+    static final int GROUP_SIZE   = 40;
+    static final int PLAN_SIZE    = 40;
+
+    private static final int HEADER_SIZE = 16 + 4 * 8 + SECTION_COUNT * 12;
+
+    private final Map<String, Integer> stringIndex = new HashMap<>();
+    private final List<byte[]>         strings     = new ArrayList<>();
+    private int                        stringBytes;
+
+    private final Map<Subject, Integer> subjectIndex = new IdentityHashMap<>();
+    private final Map<Teacher, Integer> teacherIndex = new IdentityHashMap<>();
+    private final Map<Group, Integer>   groupIndex   = new IdentityHashMap<>();
+    private final List<Subject> subjectRecords = new ArrayList<>();
+    private final List<Teacher> teacherRecords = new ArrayList<>();
+    private final List<Group>   groupRecords   = new ArrayList<>();
+
+    /**
+     * Writes a snapshot of the given catalogue lists to {@code file}.
+     *
+     * @param nextIdNumbers next ID number of subjects, teachers, groups and plans.
+     */
+    static void write(Path file, List<Subject> subjects, List<Teacher> teachers,
+                      List<Group> groups, List<StudyPlan> plans, int[] nextIdNumbers)
+            throws IOException {
+        new SnapshotWriter().writeTo(file, subjects, teachers, groups, plans, nextIdNumbers);
+    }
+
+    private void writeTo(Path file, List<Subject> subjects, List<Teacher> teachers,
+                         List<Group> groups, List<StudyPlan> plans, int[] nextIdNumbers)
+            throws IOException {
+        // Catalogue entities take the first record indexes, in listing order
+        subjects.forEach(this::subjectRef);
+        teachers.forEach(this::teacherRef);
+        groups.forEach(this::groupRef);
+
+        ByteBuffer planRecords = ByteBuffer.allocate(plans.size() * PLAN_SIZE);
+        List<Integer> planGroups = new ArrayList<>();
+        for (StudyPlan p : plans) {
+            List<Group> members = p.getGroups();
+            planRecords.putInt(str(p.getId())).putInt(str(p.getName()))
+                       .putInt(str(p.getPeriod())).putInt(str(p.getProgram()))
+                       .putInt(str(p.getDescription()))
+                       .putInt(day(p.getStartDate())).putInt(day(p.getEndDate()))
+                       .putInt(planGroups.size()).putInt(members.size())
+                       .put(ordinal(p.getModality())).put(new byte[3]);
+            for (Group g : members) planGroups.add(groupRef(g));
+        }
+
+        // Group records may add private subjects/teachers, so encode them first
+        ByteBuffer groupBuf = ByteBuffer.allocate(groupRecords.size() * GROUP_SIZE);
+        for (int i = 0; i < groupRecords.size(); i++) {
+            Group    g  = groupRecords.get(i);
+            Schedule sc = g.getSchedule();
+            groupBuf.putInt(str(g.getId())).putInt(str(g.getName()))
+                    .putInt(g.getSubject() != null ? subjectRef(g.getSubject()) : -1)
+                    .putInt(g.getTeacher() != null ? teacherRef(g.getTeacher()) : -1)
+                    .putInt(g.getMaxSlots()).putInt(g.getConfirmedSlots())
+                    .putInt(sc != null ? str(sc.getStartTime()) : -1)
+                    .putInt(sc != null ? str(sc.getEndTime()) : -1)
+                    .putInt(sc != null ? str(sc.getClassroom()) : -1)
+                    .put(sc != null ? ordinal(sc.getDay()) : -1).put(new byte[3]);
+        }
+
+        ByteBuffer subjectBuf = ByteBuffer.allocate(subjectRecords.size() * SUBJECT_SIZE);
+        for (Subject s : subjectRecords) {
+            subjectBuf.putInt(str(s.getId())).putInt(str(s.getName())).putInt(s.getCredits())
+                      .putInt(str(s.getDescription())).put(ordinal(s.getModality())).put(new byte[3]);
+        }
+
+        ByteBuffer teacherBuf = ByteBuffer.allocate(teacherRecords.size() * TEACHER_SIZE);
+        for (Teacher t : teacherRecords) {
+            teacherBuf.putInt(str(t.getId())).putInt(str(t.getFirstName())).putInt(str(t.getLastName()))
+                      .putInt(str(t.getSpeciality())).putInt(str(t.getEmail())).putInt(str(t.getPhone()));
+        }
+
+        // Reverse indexes over catalogue groups
+        int[][] bySubject = reverseIndex(groups, subjects.size(), true);
+        int[][] byTeacher = reverseIndex(groups, teachers.size(), false);
+
+        ByteBuffer[] sections = new ByteBuffer[SECTION_COUNT];
+        int[]        counts   = new int[SECTION_COUNT];
+
+        ByteBuffer offsets = ByteBuffer.allocate((strings.size() + 1) * 4);
+        ByteBuffer data    = ByteBuffer.allocate(stringBytes);
+        int offset = 0;
+        for (byte[] s : strings) {
+            offsets.putInt(offset);
+            data.put(s);
+            offset += s.length;
+        }
+        offsets.putInt(offset);
+
+        sections[STRING_OFFSETS] = offsets;    counts[STRING_OFFSETS] = strings.size() + 1;
+        sections[STRING_DATA]    = data;       counts[STRING_DATA]    = stringBytes;
+        sections[SUBJECTS]       = subjectBuf; counts[SUBJECTS]       = subjectRecords.size();
+        sections[TEACHERS]       = teacherBuf; counts[TEACHERS]       = teacherRecords.size();
+        sections[GROUPS]         = groupBuf;   counts[GROUPS]         = groupRecords.size();
+        sections[PLANS]          = planRecords; counts[PLANS]         = plans.size();
+        sections[PLAN_GROUPS]    = ints(planGroups.stream().mapToInt(Integer::intValue).toArray());
+        counts[PLAN_GROUPS]      = planGroups.size();
+
+        int[] hashSubjects = hashIndex(subjects.stream().map(Subject::getId).toList());
+        int[] hashTeachers = hashIndex(teachers.stream().map(Teacher::getId).toList());
+        int[] hashGroups   = hashIndex(groups.stream().map(Group::getId).toList());
+        int[] hashPlans    = hashIndex(plans.stream().map(StudyPlan::getId).toList());
+        sections[HASH_SUBJECTS] = ints(hashSubjects); counts[HASH_SUBJECTS] = hashSubjects.length;
+        sections[HASH_TEACHERS] = ints(hashTeachers); counts[HASH_TEACHERS] = hashTeachers.length;
+        sections[HASH_GROUPS]   = ints(hashGroups);   counts[HASH_GROUPS]   = hashGroups.length;
+        sections[HASH_PLANS]    = ints(hashPlans);    counts[HASH_PLANS]    = hashPlans.length;
+
+        sections[SUBJECT_GROUP_START] = ints(bySubject[0]); counts[SUBJECT_GROUP_START] = bySubject[0].length;
+        sections[SUBJECT_GROUPS]      = ints(bySubject[1]); counts[SUBJECT_GROUPS]      = bySubject[1].length;
+        sections[TEACHER_GROUP_START] = ints(byTeacher[0]); counts[TEACHER_GROUP_START] = byTeacher[0].length;
+        sections[TEACHER_GROUPS]      = ints(byTeacher[1]); counts[TEACHER_GROUPS]      = byTeacher[1].length;
+
+        // Header
+        long length = HEADER_SIZE;
+        for (ByteBuffer s : sections) length += s.capacity();
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("El catálogo es demasiado grande para una instantánea (máx. 2 GB).");
+        }
+        int[] catalogue = {subjects.size(), teachers.size(), groups.size(), plans.size()};
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(length);
+        for (int t = 0; t < 4; t++) header.putInt(catalogue[t]).putInt(nextIdNumbers[t]);
+        long position = HEADER_SIZE;
+        for (int s = 0; s < SECTION_COUNT; s++) {
+            header.putLong(position).putInt(counts[s]);
+            position += sections[s].capacity();
+        }
+
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer[] all = new ByteBuffer[SECTION_COUNT + 1];
+            all[0] = header.flip();
+            for (int s = 0; s < SECTION_COUNT; s++) all[s + 1] = sections[s].flip();
+            long remaining = length;
+            while (remaining > 0) remaining -= out.write(all);
+            out.force(true);
+        }
+    }
+
+    // ── Record index allocation ───────────────────────────────────────────────
+
+    private int subjectRef(Subject s) {
+        return subjectIndex.computeIfAbsent(s, k -> { subjectRecords.add(k); return subjectRecords.size() - 1; });
+    }
+
+    private int teacherRef(Teacher t) {
+        return teacherIndex.computeIfAbsent(t, k -> { teacherRecords.add(k); return teacherRecords.size() - 1; });
+    }
+
+    private int groupRef(Group g) {
+        return groupIndex.computeIfAbsent(g, k -> { groupRecords.add(k); return groupRecords.size() - 1; });
+    }
+
+    private int str(String value) {
+        if (value == null) return -1;
+        return stringIndex.computeIfAbsent(value, k -> {
+            byte[] bytes = k.getBytes(StandardCharsets.UTF_8);
+            strings.add(bytes);
+            stringBytes += bytes.length;
+            return strings.size() - 1;
+        });
+    }
+
+    // ── Indexes ───────────────────────────────────────────────────────────────
+
+    /**
+     * Groups the catalogue groups by their (catalogued) subject or teacher,
+     * as a CSR-style pair: start offsets per key, then group positions.
+     */
+    private int[][] reverseIndex(List<Group> groups, int keyCount, boolean bySubject) {
+        int[] keyOf = new int[groups.size()];
+        int[] start = new int[keyCount + 1];
+        for (int i = 0; i < groups.size(); i++) {
+            Group g = groups.get(i);
+            Integer key = bySubject
+                    ? (g.getSubject() != null ? subjectIndex.get(g.getSubject()) : null)
+                    : (g.getTeacher() != null ? teacherIndex.get(g.getTeacher()) : null);
+            keyOf[i] = key != null && key < keyCount ? key : -1;
+            if (keyOf[i] >= 0) start[keyOf[i] + 1]++;
+        }
+        for (int k = 0; k < keyCount; k++) start[k + 1] += start[k];
+        int[] members = new int[start[keyCount]];
+        int[] fill    = Arrays.copyOf(start, keyCount);
+        for (int i = 0; i < groups.size(); i++) {
+            if (keyOf[i] >= 0) members[fill[keyOf[i]]++] = i;
+        }
+        return new int[][]{start, members};
+    }
+
+    /** Builds an open-addressing table of {@code position + 1} (0 = empty). */
+    private static int[] hashIndex(List<String> ids) {
+        int capacity = Integer.highestOneBit(Math.max(2, ids.size() * 2 - 1)) << 1;
+        int[] table = new int[capacity];
+        int   mask  = capacity - 1;
+        for (int position = 0; position < ids.size(); position++) {
+            int slot = hash(ids.get(position)) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = position + 1;
+        }
+        return table;
+    }
+
+    static int hash(String id) {
+        int h = id.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static ByteBuffer ints(int[] values) {
+        ByteBuffer buffer = ByteBuffer.allocate(values.length * 4);
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.capacity());
+        return buffer;
+    }
+
+    private static byte ordinal(Enum<?> value) {
+        return (byte) (value != null ? value.ordinal() : -1);
+    }
+
+    private static int day(LocalDate date) {
+        return date != null ? (int) date.toEpochDay() : Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,84 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads plans written by {@link StudyPlanStreamWriter}, one at a time.
+ */
+public class StudyPlanStreamReader implements AutoCloseable {
+
+    private final InputStream   stream;
+    private final BinaryDecoder in;
+    private final ModelReader   reader;
+
+    private final List<Subject> subjects = new ArrayList<>();
+    private final List<Teacher> teachers = new ArrayList<>();
+    private final List<Group>   groups   = new ArrayList<>();
+    private boolean             finished;
+
+    public StudyPlanStreamReader(InputStream stream) throws IOException {
+        this.stream = stream;
+        this.in     = new BinaryDecoder(stream);
+        this.reader = new ModelReader(in, new ModelReader.References() {
+            @Override
+            public <T> T readReference(Class<T> type, BinaryDecoder decoder) throws IOException {
+                List<?> seen = type == Subject.class ? subjects
+                             : type == Teacher.class ? teachers
+                             : groups;
+                long position = decoder.readVarLong();
+                if (position < 0 || position >= seen.size()) {
+                    throw new IOException("Referencia inválida en el flujo de planes.");
+                }
+                return type.cast(seen.get((int) position));
+            }
+
+            @Override
+            public void read(Object entity) {
+                if (entity instanceof Subject s)      subjects.add(s);
+                else if (entity instanceof Teacher t) teachers.add(t);
+                else if (entity instanceof Group g)   groups.add(g);
+            }
+        });
+        if (in.readVarLong() != StudyPlanStreamWriter.MAGIC) {
+            throw new IOException("El flujo no contiene planes de estudio.");
+        }
+        int version = in.readByte();
+        if (version != StudyPlanStreamWriter.VERSION) {
+            throw new IOException("Versión de flujo de planes no soportada: " + version);
+        }
+    }
+
+    /**
+     * Reads the next plan.
+     *
+     * @return the plan, or {@code null} once the end marker has been read.
+     */
+    public StudyPlan read() throws IOException {
+        if (finished) return null;
+        switch (in.readByte()) {
+            case StudyPlanStreamWriter.PLAN -> { return reader.readStudyPlan(); }
+            case StudyPlanStreamWriter.END  -> {
+                finished = true;
+                return null;
+            }
+            default -> throw new IOException("Flujo de planes corrupto.");
+        }
+    }
+
+    /** Reads every remaining plan. */
+    public List<StudyPlan> readAll() throws IOException {
+        List<StudyPlan> plans = new ArrayList<>();
+        for (StudyPlan p = read(); p != null; p = read()) plans.add(p);
+        return plans;
+    }
+
+    @Override
+    public void close() throws IOException {
+        stream.close();
+    }
+}
@@ -0,0 +1,80 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Streams whole study plans in the compact binary format, e.g. for exports
+ * or replication.
+ *
+ * <pre>
+ * stream  magic, version, (PLAN plan)*, END
+ * </pre>
+ *
+ * Strings share one dictionary for the whole stream, and a subject, teacher
+ * or group written once is afterwards referred to by its position in the
+ * stream, so plans that share groups stay shared when read back by
+ * {@link StudyPlanStreamReader}.
+ */
+public class StudyPlanStreamWriter implements AutoCloseable {
+
+    static final int MAGIC   = 0x41435031; // "ACP1"
+    static final int VERSION = 1;
+
+    static final int PLAN = 1;
+    static final int END  = 0;
+
+    private final BinaryEncoder out;
+    private final ModelWriter   writer;
+
+    private final Map<Object, Integer> written = new IdentityHashMap<>();
+    private int subjectCount, teacherCount, groupCount;
+
+    public StudyPlanStreamWriter(OutputStream stream) throws IOException {
+        this.out    = new BinaryEncoder(stream);
+        this.writer = new ModelWriter(out, new ModelWriter.References() {
+            @Override
+            public boolean isKnown(Object entity) {
+                return written.containsKey(entity);
+            }
+
+            @Override
+            public void writeReference(Object entity, BinaryEncoder encoder) throws IOException {
+                encoder.writeVarLong(written.get(entity));
+            }
+
+            @Override
+            public void written(Object entity) {
+                int position = entity instanceof Subject ? subjectCount++
+                             : entity instanceof Teacher ? teacherCount++
+                             : groupCount++;
+                written.put(entity, position);
+            }
+        });
+        out.writeVarLong(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /** Appends one plan to the stream. */
+    public void write(StudyPlan plan) throws IOException {
+        out.writeByte(PLAN);
+        writer.writeStudyPlan(plan);
+    }
+
+    /** Writes the end marker and flushes, leaving the underlying stream open. */
+    public void finish() throws IOException {
+        out.writeByte(END);
+        out.flush();
+    }
+
+    /** Finishes the stream and closes the underlying stream. */
+    @Override
+    public void close() throws IOException {
+        finish();
+        out.close();
+    }
+}
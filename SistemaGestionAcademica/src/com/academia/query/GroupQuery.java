@@ -0,0 +1,55 @@
+package com.academia.query;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+
+import java.util.Comparator;
+
+/**
+ * Filters and sorts groups. Subject and teacher filters are answered by the
+ * controller through its reverse indexes before the remaining filters run.
+ */
+public class GroupQuery extends Query<Group, GroupQuery> {
+
+    public enum SortKey { LISTING, NAME, SUBJECT, TEACHER, AVAILABLE_SLOTS }
+
+    private String           subjectId;
+    private String           teacherId;
+    private Schedule.WeekDay day;
+    private boolean          withAvailableSlots;
+    private String           text;
+    private SortKey          sortKey = SortKey.LISTING;
+
+    public GroupQuery subject(String subjectId)     { this.subjectId = subjectId; return this; }
+    public GroupQuery teacher(String teacherId)     { this.teacherId = teacherId; return this; }
+    public GroupQuery day(Schedule.WeekDay day)     { this.day = day; return this; }
+    public GroupQuery withAvailableSlots()          { this.withAvailableSlots = true; return this; }
+    /** Groups whose ID, name, subject or teacher contains the text, ignoring case. */
+    public GroupQuery text(String text)             { this.text = text; return this; }
+    public GroupQuery sortBy(SortKey key)           { this.sortKey = key; return this; }
+
+    public String getSubjectId() { return subjectId; }
+    public String getTeacherId() { return teacherId; }
+
+    @Override
+    public boolean matches(Group g) {
+        if (subjectId != null && (g.getSubject() == null || !subjectId.equals(g.getSubject().getId()))) return false;
+        if (teacherId != null && (g.getTeacher() == null || !teacherId.equals(g.getTeacher().getId()))) return false;
+        if (day != null && (g.getSchedule() == null || g.getSchedule().getDay() != day)) return false;
+        if (withAvailableSlots && g.getAvailableSlots() <= 0) return false;
+        return text == null || containsText(text, g.getId(), g.getName(),
+                g.getSubject() != null ? g.getSubject().getName() : null,
+                g.getTeacher() != null ? g.getTeacher().getFullName() : null);
+    }
+
+    @Override
+    protected Comparator<Group> order() {
+        return switch (sortKey) {
+            case LISTING         -> null;
+            case NAME            -> by(Group::getName);
+            case SUBJECT         -> by(g -> g.getSubject() != null ? g.getSubject().getName() : null);
+            case TEACHER         -> by(g -> g.getTeacher() != null ? g.getTeacher().getFullName() : null);
+            case AVAILABLE_SLOTS -> Comparator.comparingInt(Group::getAvailableSlots);
+        };
+    }
+}
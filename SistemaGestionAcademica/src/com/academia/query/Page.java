@@ -0,0 +1,45 @@
+package com.academia.query;
+
+import java.util.List;
+
+/**
+ * One page of query results.
+ *
+ * @param <T> the entity type listed.
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final int     offset;
+    private final int     total;
+    private final int     nextCursor;
+
+    Page(List<T> items, int offset, int total, int nextCursor) {
+        this.items      = items;
+        this.offset     = offset;
+        this.total      = total;
+        this.nextCursor = nextCursor;
+    }
+
+    /** The entities on this page, as an immutable list. */
+    public List<T> getItems()  { return items; }
+
+    /** Index of the first item among all matches, or {@code -1} if unknown. */
+    public int     getOffset() { return offset; }
+
+    /**
+     * Number of matches in total, or {@code -1} when the query stopped
+     * scanning as soon as the page was full.
+     */
+    public int     getTotal()  { return total; }
+
+    /** Whether there are further matches after this page. */
+    public boolean hasMore()   { return nextCursor >= 0; }
+
+    /**
+     * Opaque position to pass to {@link Query#after(int)} to fetch the next
+     * page (in listing order, without re-scanning the ones before it), or
+     * {@code -1} if this is the last page.
+     */
+    public int     getNextCursor() { return nextCursor; }
+}
@@ -0,0 +1,169 @@
+package com.academia.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Base class for the filtered, paginated queries answered by the controller.
+ *
+ * A query walks a listing once and keeps only what the requested page
+ * needs: in listing order it stops as soon as the page is full, and when
+ * sorted it keeps the best {@code offset + limit} matches in a bounded heap,
+ * so the full result list is never materialised.
+ *
+ * @param <T> the entity type queried.
+ * @param <Q> the concrete query type, returned by the fluent setters.
+ */
+public abstract class Query<T, Q extends Query<T, Q>> {
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    private int     offset;
+    private int     limit  = DEFAULT_LIMIT;
+    private int     cursor = -1;
+    private boolean descending;
+
+    /** Skips the first {@code offset} matches. */
+    public Q offset(int offset) {
+        if (offset < 0) throw new IllegalArgumentException("El desplazamiento no puede ser negativo.");
+        this.offset = offset;
+        return self();
+    }
+
+    /** Returns at most {@code limit} matches. */
+    public Q limit(int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("El límite debe ser mayor que cero.");
+        this.limit = limit;
+        return self();
+    }
+
+    /**
+     * Continues from {@link Page#getNextCursor()} of a previous page run with
+     * the same filters and order; takes precedence over {@link #offset(int)}.
+     */
+    public Q after(int cursor) {
+        this.cursor = cursor;
+        return self();
+    }
+
+    /** Reverses the sort order. */
+    public Q descending() {
+        this.descending = true;
+        return self();
+    }
+
+    public int getOffset() { return offset; }
+    public int getLimit()  { return limit; }
+
+    /** Whether the entity passes every filter set on this query. */
+    public abstract boolean matches(T item);
+
+    /** Sort order, or {@code null} to keep the listing order. */
+    protected abstract Comparator<T> order();
+
+    @SuppressWarnings("unchecked")
+    private Q self() {
+        return (Q) this;
+    }
+
+    // ── Execution ─────────────────────────────────────────────────────────────
+
+    /** Runs the query over a listing. */
+    public Page<T> execute(List<? extends T> source) {
+        Comparator<T> order = order();
+        return order == null ? scan(source) : topK(source, descending ? order.reversed() : order);
+    }
+
+    /** Listing order: stops at the first match past the page. */
+    private Page<T> scan(List<? extends T> source) {
+        List<T> items   = new ArrayList<>(Math.min(limit, 256));
+        int     skip    = cursor >= 0 ? 0 : offset;
+        int     matched = 0;
+        for (int position = Math.max(cursor, 0); position < source.size(); position++) {
+            T item = source.get(position);
+            if (!matches(item)) continue;
+            if (matched++ < skip) continue;
+            if (items.size() == limit) {
+                return new Page<>(Collections.unmodifiableList(items), cursor >= 0 ? -1 : offset, -1, position);
+            }
+            items.add(item);
+        }
+        int total = cursor >= 0 ? -1 : matched;
+        return new Page<>(Collections.unmodifiableList(items), cursor >= 0 ? -1 : offset, total, -1);
+    }
+
+    /**
+     * Sorted: keeps the best {@code offset + limit} matches in a bounded heap.
+     * There is no listing position to resume from, so a cursor is the offset
+     * of the next page in sorted order.
+     */
+    private Page<T> topK(List<? extends T> source, Comparator<T> order) {
+        int start = cursor >= 0 ? cursor : offset;
+        int keep  = (int) Math.min((long) start + limit, Integer.MAX_VALUE);
+        // Ties keep listing order, so pages stay stable between calls
+        Comparator<Ranked<T>> ranking = Comparator.<Ranked<T>, T>comparing(r -> r.item, order)
+                                                  .thenComparingInt(r -> r.position);
+        PriorityQueue<Ranked<T>> best = new PriorityQueue<>(Math.min(keep, 1024) + 1, ranking.reversed());
+        int matched = 0;
+        for (int position = 0; position < source.size(); position++) {
+            T item = source.get(position);
+            if (!matches(item)) continue;
+            matched++;
+            Ranked<T> ranked = new Ranked<>(item, position);
+            if (best.size() < keep) {
+                best.add(ranked);
+            } else if (ranking.compare(ranked, best.peek()) < 0) {
+                best.poll();
+                best.add(ranked);
+            }
+        }
+        List<Ranked<T>> sorted = new ArrayList<>(best);
+        sorted.sort(ranking);
+        List<T> items = new ArrayList<>(Math.max(0, sorted.size() - start));
+        for (int i = start; i < sorted.size(); i++) items.add(sorted.get(i).item);
+        int next = matched > keep ? keep : -1;
+        return new Page<>(Collections.unmodifiableList(items), start, matched, next);
+    }
+
+    private static final class Ranked<T> {
+        final T   item;
+        final int position;
+
+        Ranked(T item, int position) {
+            this.item     = item;
+            this.position = position;
+        }
+    }
+
+    // ── Filter helpers ────────────────────────────────────────────────────────
+
+    /** Case-insensitive equality; a {@code null} filter matches everything. */
+    static boolean sameText(String filter, String value) {
+        return filter == null || (value != null && value.equalsIgnoreCase(filter));
+    }
+
+    /** Case-insensitive substring match; a {@code null} filter matches everything. */
+    static boolean containsText(String filter, String... values) {
+        if (filter == null) return true;
+        for (String value : values) {
+            if (value != null && indexOfIgnoreCase(value, filter) >= 0) return true;
+        }
+        return false;
+    }
+
+    private static int indexOfIgnoreCase(String value, String part) {
+        for (int i = 0; i + part.length() <= value.length(); i++) {
+            if (value.regionMatches(true, i, part, 0, part.length())) return i;
+        }
+        return -1;
+    }
+
+    /** Compares by a possibly-null key, nulls last. */
+    static <T, K extends Comparable<? super K>> Comparator<T> by(Function<T, K> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+}
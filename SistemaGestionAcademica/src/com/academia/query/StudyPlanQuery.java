@@ -0,0 +1,73 @@
+package com.academia.query;
+
+import com.academia.model.Group;
+import com.academia.model.StudyPlan;
+import com.academia.model.Subject;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+/**
+ * Filters and sorts study plans, e.g.
+ * <pre>
+ * new StudyPlanQuery().program("Ingeniería de Sistemas").period("2025-I")
+ *                     .sortBy(StudyPlanQuery.SortKey.NAME).limit(50)
+ * </pre>
+ */
+public class StudyPlanQuery extends Query<StudyPlan, StudyPlanQuery> {
+
+    public enum SortKey { LISTING, NAME, PERIOD, PROGRAM, START_DATE }
+
+    private String           program;
+    private String           period;
+    private Subject.Modality modality;
+    private String           subjectId;
+    private String           teacherId;
+    private LocalDate        from;
+    private LocalDate        to;
+    private String           text;
+    private SortKey          sortKey = SortKey.LISTING;
+
+    public StudyPlanQuery program(String program)           { this.program = program; return this; }
+    public StudyPlanQuery period(String period)             { this.period = period; return this; }
+    public StudyPlanQuery modality(Subject.Modality m)      { this.modality = m; return this; }
+    /** Plans with at least one group of this subject. */
+    public StudyPlanQuery subject(String subjectId)         { this.subjectId = subjectId; return this; }
+    /** Plans with at least one group taught by this teacher. */
+    public StudyPlanQuery teacher(String teacherId)         { this.teacherId = teacherId; return this; }
+    /** Plans whose dates overlap {@code [from, to]}; either bound may be {@code null}. */
+    public StudyPlanQuery between(LocalDate from, LocalDate to) { this.from = from; this.to = to; return this; }
+    /** Plans whose ID or name contains the text, ignoring case. */
+    public StudyPlanQuery text(String text)                 { this.text = text; return this; }
+    public StudyPlanQuery sortBy(SortKey key)               { this.sortKey = key; return this; }
+
+    @Override
+    public boolean matches(StudyPlan p) {
+        if (!sameText(program, p.getProgram()) || !sameText(period, p.getPeriod())) return false;
+        if (modality != null && p.getModality() != modality) return false;
+        if (from != null && p.getEndDate() != null && p.getEndDate().isBefore(from)) return false;
+        if (to != null && p.getStartDate() != null && p.getStartDate().isAfter(to)) return false;
+        if (!containsText(text, p.getId(), p.getName())) return false;
+        if (subjectId == null && teacherId == null) return true;
+
+        boolean subjectFound = subjectId == null;
+        boolean teacherFound = teacherId == null;
+        for (Group g : p.getGroups()) {
+            if (!subjectFound && g.getSubject() != null && subjectId.equals(g.getSubject().getId())) subjectFound = true;
+            if (!teacherFound && g.getTeacher() != null && teacherId.equals(g.getTeacher().getId())) teacherFound = true;
+            if (subjectFound && teacherFound) return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected Comparator<StudyPlan> order() {
+        return switch (sortKey) {
+            case LISTING    -> null;
+            case NAME       -> by(StudyPlan::getName);
+            case PERIOD     -> by(StudyPlan::getPeriod);
+            case PROGRAM    -> by(StudyPlan::getProgram);
+            case START_DATE -> by(StudyPlan::getStartDate);
+        };
+    }
+}
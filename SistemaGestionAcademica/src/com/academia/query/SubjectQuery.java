@@ -0,0 +1,35 @@
+package com.academia.query;
+
+import com.academia.model.Subject;
+
+import java.util.Comparator;
+
+/** Filters and sorts subjects. */
+public class SubjectQuery extends Query<Subject, SubjectQuery> {
+
+    public enum SortKey { LISTING, NAME, CREDITS }
+
+    private Subject.Modality modality;
+    private String           text;
+    private SortKey          sortKey = SortKey.LISTING;
+
+    public SubjectQuery modality(Subject.Modality m) { this.modality = m; return this; }
+    /** Subjects whose ID or name contains the text, ignoring case. */
+    public SubjectQuery text(String text)            { this.text = text; return this; }
+    public SubjectQuery sortBy(SortKey key)          { this.sortKey = key; return this; }
+
+    @Override
+    public boolean matches(Subject s) {
+        if (modality != null && s.getModality() != modality) return false;
+        return containsText(text, s.getId(), s.getName());
+    }
+
+    @Override
+    protected Comparator<Subject> order() {
+        return switch (sortKey) {
+            case LISTING -> null;
+            case NAME    -> by(Subject::getName);
+            case CREDITS -> Comparator.comparingInt(Subject::getCredits);
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.academia.query;
+
+import com.academia.model.Teacher;
+
+import java.util.Comparator;
+
+/** Filters and sorts teachers. */
+public class TeacherQuery extends Query<Teacher, TeacherQuery> {
+
+    public enum SortKey { LISTING, LAST_NAME, SPECIALITY }
+
+    private String  speciality;
+    private String  text;
+    private SortKey sortKey = SortKey.LISTING;
+
+    public TeacherQuery speciality(String speciality) { this.speciality = speciality; return this; }
+    /** Teachers whose ID, name or email contains the text, ignoring case. */
+    public TeacherQuery text(String text)             { this.text = text; return this; }
+    public TeacherQuery sortBy(SortKey key)           { this.sortKey = key; return this; }
+
+    @Override
+    public boolean matches(Teacher t) {
+        if (!sameText(speciality, t.getSpeciality())) return false;
+        return containsText(text, t.getId(), t.getFirstName(), t.getLastName(), t.getEmail());
+    }
+
+    @Override
+    protected Comparator<Teacher> order() {
+        return switch (sortKey) {
+            case LISTING    -> null;
+            case LAST_NAME  -> by(Teacher::getLastName);
+            case SPECIALITY -> by(Teacher::getSpeciality);
+        };
+    }
+}
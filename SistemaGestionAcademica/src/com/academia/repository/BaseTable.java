@@ -0,0 +1,29 @@
+package com.academia.repository;
+
+/**
+ * Read-only, positionally indexed source of entities that a
+ * {@link ConcurrentRepository} can be layered on top of — typically a
+ * memory-mapped snapshot whose entities are only materialised on demand.
+ *
+ * @param <T> the entity type provided.
+ */
+public interface BaseTable<T> {
+
+    /** Number of entities in the table. */
+    int size();
+
+    /** ID of the entity at the given position, without materialising it. */
+    String idAt(int position);
+
+    /** Position of the entity with the given ID, or {@code -1} if absent. */
+    int positionOf(String id);
+
+    /**
+     * Materialises the entity at the given position. Repeated calls return
+     * the same instance.
+     */
+    T load(int position);
+
+    /** Number to continue generating IDs from, e.g. 42 for {@code "P042"}. */
+    int nextIdNumber();
+}
@@ -0,0 +1,366 @@
+package com.academia.repository;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe, insertion-ordered store for one kind of entity.
+ *
+ * Lookups by ID are lock-free reads on a {@link ConcurrentHashMap}; writes
+ * only lock the hash bin of the affected ID, so threads working on different
+ * entities never block each other. A parallel skip list keyed by insertion
+ * sequence keeps listings in creation order, as the original
+ * {@code LinkedHashMap} stores did.
+ *
+ * <p>The repository can be layered over a read-only {@link BaseTable}
+ * (see {@link #attachBase(BaseTable)}). Base entities are served straight
+ * from the table and only copied into the hash map once they are replaced
+ * or removed, so attaching a table of millions of entities costs nothing
+ * up front.</p>
+ *
+ * <p>{@link #values()} hands out immutable listings that are cached until
+ * the next write, so repeated reads of an unchanged repository allocate
+ * nothing and a listing never changes under its reader. Listings read base
+ * entities from the table by position on demand, also once some have been
+ * replaced or removed, so a view can page through millions of entities
+ * while only the rows it shows are ever loaded.</p>
+ *
+ * @param <T> the entity type stored.
+ */
+public class ConcurrentRepository<T> {
+
+    /**
+     * Associates a stored value with its position in the listing order.
+     * A slot with {@code removed} set hides a base entity.
+     */
+    private static final class Slot<T> {
+        final String  id;
+        final long    sequence;
+        final T       value;
+        final boolean removed;
+
+        Slot(String id, long sequence, T value, boolean removed) {
+            this.id       = id;
+            this.sequence = sequence;
+            this.value    = value;
+            this.removed  = removed;
+        }
+    }
+
+    private final String        idPrefix;
+    private final AtomicInteger idCounter = new AtomicInteger(1);
+    private final AtomicLong    sequence  = new AtomicLong();
+
+    private final ConcurrentHashMap<String, Slot<T>> byId    = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Slot<T>> ordered = new ConcurrentSkipListMap<>();
+
+    private static final int[]    NO_POSITIONS = new int[0];
+    private static final Object[] NO_VALUES    = new Object[0];
+
+    /**
+     * Immutable listing: the base table minus the {@code removed} positions,
+     * with the {@code replaced} positions swapped for their new values,
+     * followed by {@code tail}. Stamped with the write version it was built at.
+     */
+    private static final class Listing<T> extends AbstractList<T> implements RandomAccess {
+        final long                 version;
+        private final BaseTable<T> table;
+        private final int          baseCount;          // visible base entities
+        private final int[]        removed;            // base positions, ascending
+        private final int[]        replacedPositions;  // base positions, ascending
+        private final Object[]     replacedValues;
+        private final Object[]     tail;
+
+        Listing(long version, BaseTable<T> table, int baseCount, Object[] tail) {
+            this(version, table, baseCount, NO_POSITIONS, NO_POSITIONS, NO_VALUES, tail);
+        }
+
+        Listing(long version, BaseTable<T> table, int baseCount, int[] removed,
+                int[] replacedPositions, Object[] replacedValues, Object[] tail) {
+            this.version           = version;
+            this.table             = table;
+            this.baseCount         = baseCount;
+            this.removed           = removed;
+            this.replacedPositions = replacedPositions;
+            this.replacedValues    = replacedValues;
+            this.tail              = tail;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            if (index < 0 || index >= size()) throw new IndexOutOfBoundsException(index);
+            if (index >= baseCount) return (T) tail[index - baseCount];
+            int position = basePosition(index);
+            int replaced = Arrays.binarySearch(replacedPositions, position);
+            return replaced >= 0 ? (T) replacedValues[replaced] : table.load(position);
+        }
+
+        /**
+         * Maps a visible index to its base position: the smallest position
+         * with exactly {@code index} visible positions before it.
+         */
+        private int basePosition(int index) {
+            int position = index;
+            while (true) {
+                int shifted = index + removedUpTo(position);
+                if (shifted == position) return position;
+                position = shifted;
+            }
+        }
+
+        /** Number of removed positions {@code <= position}. */
+        private int removedUpTo(int position) {
+            int at = Arrays.binarySearch(removed, position);
+            return at >= 0 ? at + 1 : -at - 1;
+        }
+
+        @Override
+        public int size() {
+            return baseCount + tail.length;
+        }
+    }
+
+    private final AtomicLong    version      = new AtomicLong();
+    private final AtomicInteger orderedCount = new AtomicInteger();
+    private volatile Listing<T> listing;
+
+    private volatile BaseTable<T> base;
+    private volatile long         baseSize;
+    private final AtomicInteger   baseRemoved = new AtomicInteger();
+    private final AtomicInteger   baseShadowed = new AtomicInteger(); // base IDs with a slot
+
+    /**
+     * @param idPrefix letter prepended to generated IDs (e.g. {@code "P"} for plans).
+     */
+    public ConcurrentRepository(String idPrefix) {
+        this.idPrefix = idPrefix;
+    }
+
+    /**
+     * Layers this (still empty) repository over a read-only table. Base
+     * entities keep the table's order and come before anything added later.
+     */
+    public void attachBase(BaseTable<T> table) {
+        if (!byId.isEmpty() || base != null) {
+            throw new IllegalStateException("La tabla base solo puede asociarse a un repositorio vacío.");
+        }
+        base     = table;
+        baseSize = table.size();
+        version.incrementAndGet();
+        idCounter.accumulateAndGet(table.nextIdNumber(), Math::max);
+    }
+
+    /** Atomically allocates the next ID, e.g. {@code "P001"}, {@code "P002"}… */
+    public String nextId() {
+        return idPrefix + String.format("%03d", idCounter.getAndIncrement());
+    }
+
+    /**
+     * Atomically allocates {@code count} consecutive IDs, so a batch gets a
+     * contiguous, predictable range even while other threads allocate.
+     */
+    public String[] nextIds(int count) {
+        int first = idCounter.getAndAdd(count);
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) ids[i] = idPrefix + String.format("%03d", first + i);
+        return ids;
+    }
+
+    /** Number the next generated ID will carry. */
+    public int nextIdNumber() {
+        return idCounter.get();
+    }
+
+    /**
+     * Stores a value. Replacing an existing ID keeps its original position in
+     * the listing order; a new ID is appended at the end. IDs restored from
+     * storage move the counter past them, so {@link #nextId()} never reuses one.
+     */
+    public void put(String id, T value) {
+        reserveId(id);
+        byId.compute(id, (key, slot) -> {
+            long seq;
+            if (slot != null) {
+                seq = slot.sequence;
+                if (slot.removed) baseRemoved.decrementAndGet();
+            } else {
+                int position = basePositionOf(id);
+                if (position >= 0) baseShadowed.incrementAndGet();
+                seq = position >= 0 ? position : baseSize + sequence.getAndIncrement();
+            }
+            Slot<T> stored = new Slot<>(id, seq, value, false);
+            if (seq >= baseSize && ordered.put(seq, stored) == null) orderedCount.incrementAndGet();
+            return stored;
+        });
+        version.incrementAndGet();
+    }
+
+    private void reserveId(String id) {
+        if (id == null || !id.startsWith(idPrefix)) return;
+        int number = 0;
+        for (int i = idPrefix.length(); i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9' || number > (Integer.MAX_VALUE - 9) / 10) return;
+            number = number * 10 + (c - '0');
+        }
+        int next = number + 1;
+        idCounter.accumulateAndGet(next, Math::max);
+    }
+
+    public T get(String id) {
+        Slot<T> slot = byId.get(id);
+        if (slot != null) return slot.removed ? null : slot.value;
+        int position = basePositionOf(id);
+        return position >= 0 ? base.load(position) : null;
+    }
+
+    public boolean contains(String id) {
+        Slot<T> slot = byId.get(id);
+        if (slot != null) return !slot.removed;
+        return basePositionOf(id) >= 0;
+    }
+
+    /**
+     * Whether the entity with this ID has been replaced or removed since the
+     * base table was attached (always {@code true} for entities added later).
+     */
+    public boolean isOverridden(String id) {
+        return byId.containsKey(id);
+    }
+
+    /**
+     * Removes the value stored under the given ID.
+     *
+     * @return the removed value, or {@code null} if the ID was not present.
+     */
+    public T remove(String id) {
+        Object[] removed = new Object[1];
+        byId.compute(id, (key, slot) -> {
+            if (slot == null) {
+                int position = basePositionOf(id);
+                if (position < 0) return null;
+                removed[0] = base.load(position);
+                baseRemoved.incrementAndGet();
+                baseShadowed.incrementAndGet();
+                return new Slot<>(id, position, null, true);
+            }
+            if (slot.removed) return slot;
+            removed[0] = slot.value;
+            if (slot.sequence < baseSize) {
+                baseRemoved.incrementAndGet();
+                return new Slot<>(id, slot.sequence, null, true);
+            }
+            ordered.remove(slot.sequence);
+            orderedCount.decrementAndGet();
+            return null;
+        });
+        if (removed[0] != null) version.incrementAndGet();
+        @SuppressWarnings("unchecked")
+        T value = (T) removed[0];
+        return value;
+    }
+
+    /**
+     * Returns all values in insertion order as an immutable list. The same
+     * instance is returned until the repository is next written to.
+     */
+    public List<T> values() {
+        Listing<T> current = listing;
+        long stamp = version.get();
+        if (current != null && current.version == stamp) return current;
+
+        Listing<T> built = buildListing(stamp);
+        // A write that finished meanwhile bumped the version; the next call rebuilds
+        if (version.get() == stamp) listing = built;
+        return built;
+    }
+
+    private Listing<T> buildListing(long stamp) {
+        BaseTable<T> table = base;
+        if (table == null || baseShadowed.get() == 0) {
+            // Untouched base entities are served straight from the table
+            return new Listing<>(stamp, table, (int) baseSize, tail(stamp));
+        }
+        // Only the base entities with a slot differ from the table; the others stay unloaded
+        int[]    removed   = new int[16];
+        int[]    positions = new int[16];
+        Object[] values    = new Object[16];
+        int removedCount = 0, replacedCount = 0;
+        for (Slot<T> slot : byId.values()) {
+            if (slot.sequence >= baseSize) continue;
+            if (slot.removed) {
+                if (removedCount == removed.length) removed = Arrays.copyOf(removed, removedCount * 2);
+                removed[removedCount++] = (int) slot.sequence;
+            } else {
+                if (replacedCount == positions.length) {
+                    positions = Arrays.copyOf(positions, replacedCount * 2);
+                    values    = Arrays.copyOf(values, replacedCount * 2);
+                }
+                positions[replacedCount] = (int) slot.sequence;
+                values[replacedCount++]  = slot.value;
+            }
+        }
+        removed = Arrays.copyOf(removed, removedCount);
+        Arrays.sort(removed);
+        Integer[] order = new Integer[replacedCount];
+        for (int i = 0; i < replacedCount; i++) order[i] = i;
+        int[] byPosition = positions;
+        Arrays.sort(order, (a, b) -> Integer.compare(byPosition[a], byPosition[b]));
+        int[]    sortedPositions = new int[replacedCount];
+        Object[] sortedValues    = new Object[replacedCount];
+        for (int i = 0; i < replacedCount; i++) {
+            sortedPositions[i] = positions[order[i]];
+            sortedValues[i]    = values[order[i]];
+        }
+        return new Listing<>(stamp, table, (int) baseSize - removedCount, removed,
+                sortedPositions, sortedValues, tail(stamp));
+    }
+
+    /**
+     * Values of the entities added after the base table, in order. Walking
+     * the skip list is only weakly consistent: an entity removed and added
+     * again meanwhile (which moves it to the end) may be met at both its old
+     * and its new position. So if anything was written since {@code stamp},
+     * only the last position of each ID is kept.
+     */
+    private Object[] tail(long stamp) {
+        Object[] slots = ordered.values().toArray();
+        int count = slots.length;
+        if (version.get() != stamp) {
+            Set<String> seen = new HashSet<>();
+            int kept = count;
+            for (int i = count - 1; i >= 0; i--) {
+                @SuppressWarnings("unchecked")
+                Slot<T> slot = (Slot<T>) slots[i];
+                if (seen.add(slot.id)) slots[--kept] = slot;
+            }
+            slots = Arrays.copyOfRange(slots, kept, count);
+            count = slots.length;
+        }
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            @SuppressWarnings("unchecked")
+            Slot<T> slot = (Slot<T>) slots[i];
+            values[i] = slot.value;
+        }
+        return values;
+    }
+
+    public int size() {
+        return (int) (baseSize - baseRemoved.get()) + orderedCount.get();
+    }
+
+    private int basePositionOf(String id) {
+        BaseTable<T> table = base;
+        return table != null ? table.positionOf(id) : -1;
+    }
+}
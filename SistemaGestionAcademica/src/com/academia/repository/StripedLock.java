@@ -0,0 +1,59 @@
+package com.academia.repository;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key hash (lock striping).
+ *
+ * Used for operations that must check and update several stores atomically,
+ * such as refusing to delete a teacher while a group is being assigned to
+ * them. Unrelated keys usually map to different stripes and proceed in
+ * parallel. Multiple stripes are always acquired in ascending index order,
+ * so concurrent callers can never deadlock.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripeCount number of locks; rounded up to a power of two.
+     */
+    public StripedLock(int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the stripes for all given keys ({@code null} keys are ignored).
+     *
+     * @return the acquired stripe indexes, to be passed to {@link #unlock(int[])}.
+     */
+    public int[] lock(Object... keys) {
+        int[] indexes = Arrays.stream(keys)
+                .filter(k -> k != null)
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int index : indexes) {
+            stripes[index].lock();
+        }
+        return indexes;
+    }
+
+    public void unlock(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    private int stripeOf(Object key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return h & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,50 @@
+package com.academia.search;
+
+/**
+ * One entity matching a full-text search, with its relevance score.
+ */
+public class SearchHit {
+
+    /** The kind of entity found. */
+    public enum Kind {
+        PLAN   ("Plan"),
+        GROUP  ("Grupo"),
+        SUBJECT("Asignatura"),
+        TEACHER("Docente");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Kind   kind;
+    private final String id;
+    private final String title;
+    private final double score;
+
+    SearchHit(Kind kind, String id, String title, double score) {
+        this.kind  = kind;
+        this.id    = id;
+        this.title = title;
+        this.score = score;
+    }
+
+    public Kind   getKind()  { return kind; }
+    public String getId()    { return id; }
+    /** Display name of the entity at the time it was indexed. */
+    public String getTitle() { return title; }
+    /** Higher is more relevant; only comparable between hits of the same search. */
+    public double getScore() { return score; }
+
+    @Override
+    public String toString() {
+        return kind + " · " + title;
+    }
+}
@@ -0,0 +1,445 @@
+package com.academia.search;
+
+import com.academia.model.Group;
+import com.academia.model.StudyPlan;
+import com.academia.model.Subject;
+import com.academia.model.Teacher;
+import com.academia.search.SearchHit.Kind;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index for full-text search over study plans, groups,
+ * subjects and teachers.
+ *
+ * Text is folded the same way when it is indexed and when it is searched:
+ * lower case, without accents ("Ingeniería" matches "ingenieria"), without
+ * a trailing plural "s" ("Bases" matches "base") and without common Spanish
+ * stop words. Every term maps to its postings: the documents containing it,
+ * each with a weight that depends on the field it appeared in, so a match
+ * in a name counts more than one in a description.
+ *
+ * <p>A search returns the documents that match every query term, where a
+ * term also matches the indexed terms it is a prefix of, ranked by the sum
+ * of their weights times the rarity (inverse document frequency) of each
+ * term. Candidates are taken from the rarest term only and checked against
+ * the others with hash lookups, so a search costs in proportion to the
+ * smallest posting list rather than to the number of documents.</p>
+ *
+ * <p>A plan is indexed together with the subjects, teachers and classrooms
+ * of its groups, so "bases de datos torres" finds the plans with a Bases de
+ * Datos group taught by Torres. As with {@link com.academia.model.PlanTotals},
+ * a plan is indexed with the values its groups have when the plan is
+ * written.</p>
+ *
+ * <p>Thread-safe. Adding an entity that is already indexed replaces its
+ * previous entry, so the index can simply be told about every write.</p>
+ */
+public class SearchIndex {
+
+    // Field weights
+    private static final int TITLE  = 4;   // names
+    private static final int KEY    = 2;   // program, speciality, a group's subject and teacher
+    private static final int TEXT   = 1;   // descriptions, periods, classrooms
+    private static final int MAX_WEIGHT = 16;
+
+    /** Indexed terms a query term may expand to as a prefix. */
+    private static final int    MAX_EXPANSIONS = 64;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo", "los",
+            "o", "para", "por", "que", "se", "su", "sus", "u", "un", "una", "y");
+
+    /** An indexed entity, with the terms it was filed under. */
+    private static final class Document {
+        final int      number;
+        final Kind     kind;
+        final String   id;
+        final String   title;
+        final String[] terms;
+
+        Document(int number, Kind kind, String id, String title, String[] terms) {
+            this.number = number;
+            this.kind   = kind;
+            this.id     = id;
+            this.title  = title;
+            this.terms  = terms;
+        }
+    }
+
+    /**
+     * Documents containing one term, by number, with their weights: an
+     * open-addressing hash map of ints, so a lookup allocates nothing.
+     */
+    private static final class Postings {
+        private int[] documents = new int[4];   // 0 marks a free slot
+        private int[] weights   = new int[4];
+        private int   size;
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized int weightOf(int document) {
+            int mask = documents.length - 1;
+            for (int i = slotOf(document, mask); documents[i] != 0; i = (i + 1) & mask) {
+                if (documents[i] == document) return weights[i];
+            }
+            return 0;
+        }
+
+        synchronized void put(int document, int weight) {
+            if ((size + 1) * 4 > documents.length * 3) grow();
+            int mask = documents.length - 1;
+            int i = slotOf(document, mask);
+            while (documents[i] != 0 && documents[i] != document) i = (i + 1) & mask;
+            if (documents[i] == 0) size++;
+            documents[i] = document;
+            weights[i]   = weight;
+        }
+
+        /** @return whether no document is left. */
+        synchronized boolean remove(int document) {
+            int mask = documents.length - 1;
+            int i = slotOf(document, mask);
+            while (documents[i] != document) {
+                if (documents[i] == 0) return size == 0;
+                i = (i + 1) & mask;
+            }
+            documents[i] = 0;
+            size--;
+            // Shift back the entries that probed past the freed slot
+            for (int j = (i + 1) & mask; documents[j] != 0; j = (j + 1) & mask) {
+                int home = slotOf(documents[j], mask);
+                boolean reachable = i <= j ? (home > i && home <= j) : (home > i || home <= j);
+                if (reachable) continue;
+                documents[i] = documents[j];
+                weights[i]   = weights[j];
+                documents[j] = 0;
+                i = j;
+            }
+            return size == 0;
+        }
+
+        /** Every document with its weight times {@code factor}, packed as {@code document << 32 | weight}. */
+        synchronized long[] entries(int factor) {
+            long[] all = new long[size];
+            int n = 0;
+            for (int i = 0; i < documents.length; i++) {
+                if (documents[i] != 0) all[n++] = (long) documents[i] << 32 | weights[i] * factor;
+            }
+            return all;
+        }
+
+        private void grow() {
+            int[] oldDocuments = documents;
+            int[] oldWeights   = weights;
+            documents = new int[oldDocuments.length * 2];
+            weights   = new int[oldDocuments.length * 2];
+            size      = 0;
+            for (int i = 0; i < oldDocuments.length; i++) {
+                if (oldDocuments[i] != 0) put(oldDocuments[i], oldWeights[i]);
+            }
+        }
+
+        private static int slotOf(int document, int mask) {
+            int h = document * 0x9E3779B9;
+            return (h ^ h >>> 16) & mask;
+        }
+    }
+
+    /**
+     * The postings one query term matches: its own and those of the terms
+     * it prefixes. A prefix match counts half as much as an exact one, so
+     * weights are doubled for exact matches and halved when read.
+     */
+    private static final class Clause {
+        final Postings       exact;      // null if the term itself is not indexed
+        final List<Postings> prefixed = new ArrayList<>();
+        int                  size;       // postings in total; a document may count more than once
+        double               idf;
+        long[]               merged;     // every match once, packed as in Postings#entries, by document
+
+        Clause(Postings exact) {
+            this.exact = exact;
+            if (exact != null) size = exact.size();
+        }
+
+        /**
+         * Merges the postings into one sorted array, so that looking a
+         * document up costs one binary search instead of a probe per term.
+         */
+        void merge() {
+            if (merged != null) return;
+            List<long[]> parts = new ArrayList<>(prefixed.size() + 1);
+            if (exact != null) parts.add(exact.entries(2));
+            for (Postings p : prefixed) parts.add(p.entries(1));
+            long[] all = new long[parts.stream().mapToInt(part -> part.length).sum()];
+            int n = 0;
+            for (long[] part : parts) {
+                System.arraycopy(part, 0, all, n, part.length);
+                n += part.length;
+            }
+            Arrays.sort(all);
+            // Entries of one document are adjacent, the largest weight last
+            int distinct = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (i + 1 == all.length || all[i] >>> 32 != all[i + 1] >>> 32) all[distinct++] = all[i];
+            }
+            merged = Arrays.copyOf(all, distinct);
+        }
+
+        /** The matches, packed as in {@link Postings#entries(int)}, each document once. */
+        long[] entries() {
+            if (prefixed.isEmpty()) return exact.entries(2);
+            merge();
+            return merged;
+        }
+
+        double weightOf(int document) {
+            if (merged != null) {
+                int at = -Arrays.binarySearch(merged, (long) document << 32 | 0xFFFFFFFFL) - 2;
+                return at >= 0 && merged[at] >>> 32 == document ? (int) merged[at] / 2.0 : 0;
+            }
+            double weight = exact != null ? exact.weightOf(document) : 0;
+            for (Postings p : prefixed) weight = Math.max(weight, p.weightOf(document) / 2.0);
+            return weight;
+        }
+    }
+
+    private static final class Scored {
+        final int    document;
+        final double score;
+
+        Scored(int document, double score) {
+            this.document = document;
+            this.score    = score;
+        }
+    }
+
+    // Worst first: lower score, then the later-indexed document
+    private static final Comparator<Scored> WORST_FIRST =
+            Comparator.comparingDouble((Scored s) -> s.score)
+                      .thenComparing(s -> s.document, Comparator.reverseOrder());
+
+    private final ConcurrentHashMap<String, Document>  byKey      = new ConcurrentHashMap<>(); // by kind and ID
+    private final ConcurrentHashMap<Integer, Document> byNumber   = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Postings>  postings   = new ConcurrentHashMap<>(); // by term
+    private final ConcurrentSkipListSet<String>        vocabulary = new ConcurrentSkipListSet<>();
+    private final AtomicInteger                        numbers    = new AtomicInteger();
+
+    // ── Indexing ─────────────────────────────────────────────────────────────
+
+    public void add(Subject subject) {
+        Map<String, Integer> weights = new HashMap<>();
+        weigh(weights, subject.getName(), TITLE);
+        weigh(weights, subject.getDescription(), TEXT);
+        put(Kind.SUBJECT, subject.getId(), subject.getName(), weights);
+    }
+
+    public void add(Teacher teacher) {
+        Map<String, Integer> weights = new HashMap<>();
+        weigh(weights, teacher.getFullName(), TITLE);
+        weigh(weights, teacher.getSpeciality(), KEY);
+        put(Kind.TEACHER, teacher.getId(), teacher.getFullName(), weights);
+    }
+
+    public void add(Group group) {
+        Map<String, Integer> weights = new HashMap<>();
+        weigh(weights, group.getName(), TITLE);
+        weighGroup(weights, group);
+        put(Kind.GROUP, group.getId(), group.getName(), weights);
+    }
+
+    public void add(StudyPlan plan) {
+        Map<String, Integer> weights = new HashMap<>();
+        weigh(weights, plan.getName(), TITLE);
+        weigh(weights, plan.getProgram(), KEY);
+        weigh(weights, plan.getPeriod(), TEXT);
+        weigh(weights, plan.getDescription(), TEXT);
+        for (Group g : plan.getGroups()) {
+            if (g != null) weighGroup(weights, g);
+        }
+        put(Kind.PLAN, plan.getId(), plan.getName() + " (" + plan.getPeriod() + ")", weights);
+    }
+
+    /** Removes an entity, if indexed. */
+    public void remove(Kind kind, String id) {
+        byKey.computeIfPresent(keyOf(kind, id), (k, previous) -> {
+            unfile(previous);
+            return null;
+        });
+    }
+
+    /** Number of entities indexed. */
+    public int size() {
+        return byKey.size();
+    }
+
+    private static void weighGroup(Map<String, Integer> weights, Group g) {
+        if (g.getSubject() != null) weigh(weights, g.getSubject().getName(), KEY);
+        if (g.getTeacher() != null) weigh(weights, g.getTeacher().getFullName(), KEY);
+        if (g.getSchedule() != null) weigh(weights, g.getSchedule().getClassroom(), TEXT);
+    }
+
+    private static void weigh(Map<String, Integer> weights, String text, int weight) {
+        for (String term : terms(text)) {
+            weights.merge(term, weight, (a, b) -> Math.min(MAX_WEIGHT, a + b));
+        }
+    }
+
+    private void put(Kind kind, String id, String title, Map<String, Integer> weights) {
+        byKey.compute(keyOf(kind, id), (k, previous) -> {
+            if (previous != null) unfile(previous);
+            Document document = new Document(numbers.incrementAndGet(), kind, id, title,
+                                             weights.keySet().toArray(new String[0]));
+            for (Map.Entry<String, Integer> e : weights.entrySet()) {
+                postings.compute(e.getKey(), (term, p) -> {
+                    if (p == null) {
+                        p = new Postings();
+                        vocabulary.add(term);
+                    }
+                    p.put(document.number, e.getValue());
+                    return p;
+                });
+            }
+            byNumber.put(document.number, document);
+            return document;
+        });
+    }
+
+    private void unfile(Document document) {
+        byNumber.remove(document.number);
+        for (String term : document.terms) {
+            postings.computeIfPresent(term, (t, p) -> {
+                if (!p.remove(document.number)) return p;
+                vocabulary.remove(t);
+                return null;
+            });
+        }
+    }
+
+    private static String keyOf(Kind kind, String id) {
+        return kind.ordinal() + ":" + id;
+    }
+
+    // ── Searching ────────────────────────────────────────────────────────────
+
+    /**
+     * The entities matching every term of {@code text}, best first.
+     *
+     * @param limit how many hits to return at most.
+     */
+    public List<SearchHit> search(String text, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(terms(text)));
+        if (queryTerms.isEmpty() || limit <= 0) return List.of();
+
+        int total = Math.max(1, byKey.size());
+        List<Clause> clauses = new ArrayList<>(queryTerms.size());
+        for (String term : queryTerms) {
+            Clause clause = clauseOf(term);
+            if (clause.size == 0) return List.of(); // a term nothing contains
+            clause.idf = Math.log(1 + (double) total / clause.size);
+            clauses.add(clause);
+        }
+        clauses.sort(Comparator.comparingInt(c -> c.size));
+        Clause rarest = clauses.get(0);
+        long[] candidates = rarest.entries();
+        for (Clause clause : clauses.subList(1, clauses.size())) {
+            // Merging sorts the postings; probing costs a lookup per term and candidate
+            if ((long) candidates.length * clause.prefixed.size() > clause.size) clause.merge();
+        }
+
+        PriorityQueue<Scored> best = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        for (long candidate : candidates) {
+            int document = (int) (candidate >>> 32);
+            double score = (int) candidate / 2.0 * rarest.idf;
+            for (Clause clause : clauses.subList(1, clauses.size())) {
+                double weight = clause.weightOf(document);
+                if (weight == 0) {
+                    score = -1;
+                    break;
+                }
+                score += weight * clause.idf;
+            }
+            if (score < 0) continue;
+            Scored scored = new Scored(document, score);
+            if (best.size() < limit) {
+                best.add(scored);
+            } else if (WORST_FIRST.compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(best);
+        ranked.sort(WORST_FIRST.reversed());
+        List<SearchHit> hits = new ArrayList<>(ranked.size());
+        for (Scored s : ranked) {
+            Document document = byNumber.get(s.document);
+            if (document != null) hits.add(new SearchHit(document.kind, document.id, document.title, s.score));
+        }
+        return hits;
+    }
+
+    private Clause clauseOf(String term) {
+        Clause clause = new Clause(postings.get(term));
+        int expanded = 0;
+        for (String longer : vocabulary.tailSet(term, false)) {
+            if (!longer.startsWith(term) || expanded++ == MAX_EXPANSIONS) break;
+            Postings p = postings.get(longer);
+            if (p == null) continue;
+            clause.prefixed.add(p);
+            clause.size += p.size();
+        }
+        return clause;
+    }
+
+    // ── Text folding ─────────────────────────────────────────────────────────
+
+    /** The searchable terms of a text, folded as described in the class comment. */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) return terms;
+        String folded = fold(text);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inWord = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                String word = folded.substring(start, i);
+                if (!STOP_WORDS.contains(word)) terms.add(singular(word));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /** Lower case and without accents: "Ingeniería" becomes "ingenieria". */
+    public static String fold(String text) {
+        return ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                      .replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /** Drops a trailing plural "s", the same way for indexed and searched words. */
+    private static String singular(String word) {
+        return word.length() > 3 && word.endsWith("s") ? word.substring(0, word.length() - 1) : word;
+    }
+}
@@ -0,0 +1,203 @@
+package com.academia.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable index for filtering a fixed list of items as the user types.
+ *
+ * Each item is filed under the folded text of its names (see
+ * {@link SearchIndex#fold(String)}): every three-letter sequence inside a
+ * word (trigram) and the first one and two letters of every word. A filter
+ * keeps the items whose text contains every word of the query; a query word
+ * shorter than three letters has to start a word of the text.
+ *
+ * <p>A filter intersects the posting lists of the trigrams and prefixes of
+ * its words, starting from the shortest, so it costs in proportion to the
+ * rarest part of the query rather than to the number of items. Only words
+ * longer than a trigram, whose trigrams may appear apart, are then checked
+ * against the text.</p>
+ *
+ * <pre>
+ *   TypeAheadIndex&lt;Group&gt; index = TypeAheadIndex.of(groups,
+ *           g -&gt; g.getName() + " " + g.getSubject().getName());
+ *   int[] matches = index.filter("bases dat");   // positions in groups
+ * </pre>
+ *
+ * @param <T> the type of item filtered.
+ */
+public class TypeAheadIndex<T> {
+
+    private static final int[] NONE = new int[0];
+
+    private final List<T>          items;
+    private final String[]         texts;      // folded, by position
+    private final Map<Long, int[]> postings;   // by packed trigram or prefix, positions ascending
+    private final int[]            all;
+
+    private TypeAheadIndex(List<T> items, String[] texts, Map<Long, int[]> postings) {
+        this.items    = items;
+        this.texts    = texts;
+        this.postings = postings;
+        this.all      = new int[items.size()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+    }
+
+    /**
+     * Indexes {@code items}, read once in order.
+     *
+     * @param text the searchable text of an item, e.g. its names.
+     */
+    public static <T> TypeAheadIndex<T> of(List<T> items, Function<T, String> text) {
+        List<T>                  copy     = List.copyOf(items);
+        String[]                 texts    = new String[copy.size()];
+        Map<Long, PostingBuffer> building = new HashMap<>();
+        for (int i = 0; i < texts.length; i++) {
+            String folded = SearchIndex.fold(String.valueOf(text.apply(copy.get(i))));
+            texts[i] = " " + folded;   // a leading space so that " " + word finds word starts
+            for (String word : words(folded)) {
+                for (long key : keysOf(word)) {
+                    building.computeIfAbsent(key, k -> new PostingBuffer()).add(i);
+                }
+                // Short prefixes, for query words shorter than a trigram
+                for (int length = 1; length <= Math.min(2, word.length()); length++) {
+                    building.computeIfAbsent(pack(word, 0, length), k -> new PostingBuffer()).add(i);
+                }
+            }
+        }
+        Map<Long, int[]> postings = new HashMap<>(building.size() * 2);
+        building.forEach((key, buffer) -> postings.put(key, buffer.toArray()));
+        return new TypeAheadIndex<>(copy, texts, postings);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public T get(int position) {
+        return items.get(position);
+    }
+
+    /**
+     * The positions of the items matching {@code query}, ascending; every
+     * position if the query has no words. The array must not be modified.
+     */
+    public int[] filter(String query) {
+        List<String> words = words(SearchIndex.fold(query == null ? "" : query));
+        if (words.isEmpty()) return all;
+
+        List<int[]> lists = new ArrayList<>();
+        for (String word : words) {
+            for (long key : keysOf(word)) lists.add(postings.getOrDefault(key, NONE));
+        }
+        lists.sort(Comparator.comparingInt(p -> p.length));
+        int[] matches = lists.get(0);
+        for (int[] p : lists.subList(1, lists.size())) {
+            if (matches.length == 0) break;
+            matches = intersect(matches, p);
+        }
+
+        List<String> inexact = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() > 3) inexact.add(word);
+        }
+        if (inexact.isEmpty() || matches.length == 0) return matches;
+        int[] checked = new int[matches.length];
+        int   n       = 0;
+        for (int position : matches) {
+            if (containsAll(texts[position], inexact)) checked[n++] = position;
+        }
+        return Arrays.copyOf(checked, n);
+    }
+
+    /**
+     * The positions in both ascending arrays; {@code few} is the shorter
+     * one. Its positions are looked up in {@code many} by binary search,
+     * unless the arrays are of similar size and walking both is cheaper.
+     */
+    private static int[] intersect(int[] few, int[] many) {
+        int[] both = new int[few.length];
+        int   n    = 0;
+        if ((long) few.length * (32 - Integer.numberOfLeadingZeros(many.length)) > many.length) {
+            for (int i = 0, j = 0; i < few.length && j < many.length; ) {
+                if (few[i] < many[j]) i++;
+                else if (few[i] > many[j]) j++;
+                else {
+                    both[n++] = few[i++];
+                    j++;
+                }
+            }
+            return n == both.length ? both : Arrays.copyOf(both, n);
+        }
+        int from = 0;
+        for (int position : few) {
+            int at = Arrays.binarySearch(many, from, many.length, position);
+            if (at >= 0) {
+                both[n++] = position;
+                from = at + 1;
+            } else {
+                from = -at - 1;
+                if (from == many.length) break;
+            }
+        }
+        return n == both.length ? both : Arrays.copyOf(both, n);
+    }
+
+    private static boolean containsAll(String text, List<String> words) {
+        for (String word : words) {
+            if (!text.contains(word)) return false;
+        }
+        return true;
+    }
+
+    /** Keys of a word: its trigrams, or the word itself if it is shorter than that. */
+    private static long[] keysOf(String word) {
+        if (word.length() < 3) return new long[] { pack(word, 0, word.length()) };
+        long[] keys = new long[word.length() - 2];
+        for (int i = 0; i < keys.length; i++) keys[i] = pack(word, i, 3);
+        return keys;
+    }
+
+    private static List<String> words(String folded) {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean inWord = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (inWord && start < 0) {
+                start = i;
+            } else if (!inWord && start >= 0) {
+                words.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /** Up to three chars, plus their count so that "a" and "a\0" differ. */
+    private static long pack(String word, int from, int length) {
+        long key = length;
+        for (int i = from; i < from + length; i++) key = key << 16 | word.charAt(i);
+        return key;
+    }
+
+    /** Growable list of positions, added in ascending order without repeats. */
+    private static final class PostingBuffer {
+        private int[] positions = new int[4];
+        private int   size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) return;
+            if (size == positions.length) positions = Arrays.copyOf(positions, size * 2);
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
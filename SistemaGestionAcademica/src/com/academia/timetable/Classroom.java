@@ -0,0 +1,23 @@
+package com.academia.timetable;
+
+/** A classroom available to the timetable solver, with its seating capacity. */
+public class Classroom {
+
+    private final String name;
+    private final int    capacity;
+
+    public Classroom(String name, int capacity) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("El nombre del aula es obligatorio.");
+        if (capacity <= 0) throw new IllegalArgumentException("La capacidad del aula debe ser mayor que cero.");
+        this.name     = name.trim();
+        this.capacity = capacity;
+    }
+
+    public String getName()     { return name; }
+    public int    getCapacity() { return capacity; }
+
+    @Override
+    public String toString() {
+        return name + " (" + capacity + ")";
+    }
+}
@@ -0,0 +1,72 @@
+package com.academia.timetable;
+
+import com.academia.model.Schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A weekly time slot a group can be scheduled in, e.g. Monday 07:00–09:00. */
+public class TimeSlot {
+
+    private final Schedule.WeekDay day;
+    private final int              startMinute;
+    private final int              endMinute;
+
+    public TimeSlot(Schedule.WeekDay day, int startMinute, int endMinute) {
+        if (day == null) throw new IllegalArgumentException("El día de la franja es obligatorio.");
+        if (startMinute < 0 || endMinute >= Schedule.MINUTES_PER_DAY || startMinute >= endMinute) {
+            throw new IllegalArgumentException("Franja horaria no válida: " + startMinute + "–" + endMinute);
+        }
+        this.day         = day;
+        this.startMinute = startMinute;
+        this.endMinute   = endMinute;
+    }
+
+    /** Slot from {@code "HH:mm"} times. */
+    public static TimeSlot of(Schedule.WeekDay day, String start, String end) {
+        int from = Schedule.toMinutes(start);
+        int to   = Schedule.toMinutes(end);
+        if (from < 0 || to < 0) {
+            throw new IllegalArgumentException("Las horas deben tener formato HH:mm (ej. 07:00 o 14:30)");
+        }
+        return new TimeSlot(day, from, to);
+    }
+
+    /**
+     * Consecutive slots of {@code minutes} each, from {@code first} until
+     * {@code last}, on every given day; e.g. 07:00–19:00 in two-hour blocks.
+     */
+    public static List<TimeSlot> weeklyGrid(List<Schedule.WeekDay> days, String first, String last, int minutes) {
+        int from = Schedule.toMinutes(first);
+        int to   = Schedule.toMinutes(last);
+        if (from < 0 || to < 0 || minutes <= 0) {
+            throw new IllegalArgumentException("Rejilla horaria no válida: " + first + "–" + last + " cada " + minutes + " min");
+        }
+        List<TimeSlot> slots = new ArrayList<>();
+        for (Schedule.WeekDay day : days) {
+            for (int start = from; start + minutes <= to; start += minutes) {
+                slots.add(new TimeSlot(day, start, start + minutes));
+            }
+        }
+        return slots;
+    }
+
+    /** Whether both slots fall on the same day and their times intersect. */
+    public boolean overlaps(TimeSlot other) {
+        return day == other.day && startMinute < other.endMinute && other.startMinute < endMinute;
+    }
+
+    /** The schedule of a group placed in this slot and classroom. */
+    public Schedule toSchedule(String classroom) {
+        return new Schedule(day, Schedule.formatMinutes(startMinute), Schedule.formatMinutes(endMinute), classroom);
+    }
+
+    public Schedule.WeekDay getDay()         { return day; }
+    public int              getStartMinute() { return startMinute; }
+    public int              getEndMinute()   { return endMinute; }
+
+    @Override
+    public String toString() {
+        return day + " " + Schedule.formatMinutes(startMinute) + "–" + Schedule.formatMinutes(endMinute);
+    }
+}
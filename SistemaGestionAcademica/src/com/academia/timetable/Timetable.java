@@ -0,0 +1,49 @@
+package com.academia.timetable;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link TimetableSolver} run: the schedule proposed for each
+ * group and the groups that could not be placed. Groups are not changed;
+ * see {@code AcademyController.applyTimetable}.
+ */
+public class Timetable {
+
+    private final Map<Group, Schedule> assignments;
+    private final List<Group>          unassigned;
+    private final long                 elapsedMillis;
+
+    Timetable(List<Group> groups, Schedule[] schedules, long elapsedMillis) {
+        Map<Group, Schedule> assigned = new LinkedHashMap<>();
+        List<Group>          missing  = new ArrayList<>();
+        for (int i = 0; i < groups.size(); i++) {
+            if (schedules[i] != null) assigned.put(groups.get(i), schedules[i]);
+            else missing.add(groups.get(i));
+        }
+        this.assignments   = Collections.unmodifiableMap(assigned);
+        this.unassigned    = Collections.unmodifiableList(missing);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /** Proposed schedule of every placed group, in input order. */
+    public Map<Group, Schedule> getAssignments() { return assignments; }
+
+    /** Groups for which no clash-free slot and classroom was found. */
+    public List<Group> getUnassigned()           { return unassigned; }
+
+    public boolean isComplete()                  { return unassigned.isEmpty(); }
+    public long    getElapsedMillis()            { return elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return assignments.size() + " grupo(s) asignado(s), " + unassigned.size()
+                + " sin asignar en " + elapsedMillis + " ms";
+    }
+}
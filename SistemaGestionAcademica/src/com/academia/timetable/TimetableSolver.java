@@ -0,0 +1,447 @@
+package com.academia.timetable;
+
+import com.academia.conflict.ScheduleIndex;
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Assigns a time slot and a classroom to each group so that no teacher and
+ * no classroom is booked twice at overlapping times, and every group fits
+ * in its classroom ({@link Group#getMaxSlots()} seats).
+ *
+ * Each attempt first places the groups greedily, hardest first (fewest
+ * classrooms big enough, busiest teacher), each in the tightest free
+ * classroom of the least used slot. Groups left over are then repaired by
+ * local search: a group takes the slot and classroom that displace the
+ * fewest others, and the displaced groups go back in the queue; recently
+ * moved groups are not displaced again for a while (tabu), which stops the
+ * search from cycling. Several attempts with different random tie-breaks
+ * run in parallel, and the first optimal timetable stops the others; if
+ * none is found within the time limit, the one with the fewest unplaced
+ * groups wins. A timetable is optimal once it leaves unplaced no more
+ * groups than can be proven unplaceable: those beyond the free slots of
+ * their teacher, or beyond the free slots of the classrooms big enough
+ * for them.
+ *
+ * <p>Groups that are not being scheduled can be passed as fixed: their
+ * teachers and classrooms are treated as busy at their current times.</p>
+ */
+public class TimetableSolver {
+
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 5000;
+
+    private int  parallelism     = Runtime.getRuntime().availableProcessors();
+    private long timeLimitMillis = DEFAULT_TIME_LIMIT_MILLIS;
+    private long seed            = 1;
+
+    /** Number of attempts run at once. */
+    public TimetableSolver parallelism(int parallelism) {
+        if (parallelism <= 0) throw new IllegalArgumentException("El paralelismo debe ser mayor que cero.");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /** Longest time spent repairing before the best timetable so far is returned. */
+    public TimetableSolver timeLimit(long millis) {
+        if (millis <= 0) throw new IllegalArgumentException("El tiempo límite debe ser mayor que cero.");
+        this.timeLimitMillis = millis;
+        return this;
+    }
+
+    /** Seed of the random tie-breaks, for reproducible runs. */
+    public TimetableSolver seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public Timetable solve(List<Group> groups, List<Classroom> rooms, List<TimeSlot> slots) {
+        return solve(groups, rooms, slots, List.of());
+    }
+
+    /**
+     * @param groups the groups to schedule; their current schedules are ignored.
+     * @param fixed  groups that keep their schedules and block their teacher
+     *               and classroom (if it is one of {@code rooms}).
+     */
+    public Timetable solve(List<Group> groups, List<Classroom> rooms, List<TimeSlot> slots,
+                           Collection<Group> fixed) {
+        long started = System.nanoTime();
+        long deadline = started + timeLimitMillis * 1_000_000;
+        Problem problem = new Problem(groups, rooms, slots, fixed);
+
+        AtomicBoolean solved = new AtomicBoolean();
+        List<Callable<int[][]>> attempts = new ArrayList<>(parallelism);
+        for (int a = 0; a < parallelism; a++) {
+            long attemptSeed = seed + a;
+            attempts.add(() -> new Attempt(problem, new Random(attemptSeed), deadline, solved).run());
+        }
+
+        int[][] best = null;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            for (Future<int[][]> f : pool.invokeAll(attempts)) {
+                int[][] result = f.get();
+                if (best == null || unplaced(result) < unplaced(best)) best = result;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cálculo de horarios interrumpido.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Schedule[] schedules = new Schedule[groups.size()];
+        for (int g = 0; g < schedules.length; g++) {
+            int slot = best[0][g];
+            if (slot >= 0) schedules[g] = problem.slots.get(slot).toSchedule(problem.rooms[best[1][g]].getName());
+        }
+        return new Timetable(groups, schedules, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static int unplaced(int[][] result) {
+        int count = 0;
+        for (int slot : result[0]) if (slot < 0) count++;
+        return count;
+    }
+
+    // ── Problem ───────────────────────────────────────────────────────────────
+
+    /** The instance, translated to indexes once and shared read-only by the attempts. */
+    private static final class Problem {
+        final List<TimeSlot> slots;
+        final Classroom[]    rooms;          // by ascending capacity
+        final int            groupCount;
+        final int[]          teacherOf;      // -1 if the group has no teacher
+        final int[]          firstRoom;      // smallest room the group fits in; rooms.length if none
+        final int[][]        overlapping;    // per slot, the slots overlapping it (itself included)
+        final boolean[][]    teacherBlocked; // [teacher][slot], by fixed groups
+        final boolean[][]    roomBlocked;    // [room][slot], by fixed groups
+        final int[]          teacherLoad;
+        final int            unavoidable;    // lower bound on the groups left unplaced
+
+        Problem(List<Group> groups, List<Classroom> roomList, List<TimeSlot> slots, Collection<Group> fixed) {
+            this.slots      = List.copyOf(slots);
+            this.rooms      = roomList.stream()
+                    .sorted(Comparator.comparingInt(Classroom::getCapacity)).toArray(Classroom[]::new);
+            this.groupCount = groups.size();
+
+            int slotCount = slots.size();
+            overlapping = new int[slotCount][];
+            for (int s = 0; s < slotCount; s++) {
+                int[] list = new int[slotCount];
+                int n = 0;
+                for (int o = 0; o < slotCount; o++) {
+                    if (slots.get(s).overlaps(slots.get(o))) list[n++] = o;
+                }
+                overlapping[s] = Arrays.copyOf(list, n);
+            }
+
+            Map<String, Integer> teachers = new HashMap<>();
+            teacherOf = new int[groupCount];
+            firstRoom = new int[groupCount];
+            for (int g = 0; g < groupCount; g++) {
+                Group group = groups.get(g);
+                teacherOf[g] = group.getTeacher() != null
+                        ? teachers.computeIfAbsent(group.getTeacher().getId(), k -> teachers.size())
+                        : -1;
+                int room = 0;
+                while (room < rooms.length && rooms[room].getCapacity() < group.getMaxSlots()) room++;
+                firstRoom[g] = room;
+            }
+            teacherLoad = new int[teachers.size()];
+            for (int t : teacherOf) if (t >= 0) teacherLoad[t]++;
+
+            Map<String, Integer> roomIndex = new HashMap<>();
+            for (int r = 0; r < rooms.length; r++) {
+                roomIndex.put(ScheduleIndex.normalizedClassroom(rooms[r].getName()), r);
+            }
+            teacherBlocked = new boolean[teachers.size()][slotCount];
+            roomBlocked    = new boolean[rooms.length][slotCount];
+            for (Group f : fixed) {
+                Schedule sc = f.getSchedule();
+                if (sc == null || sc.getDay() == null) continue;
+                Integer teacher = f.getTeacher() != null ? teachers.get(f.getTeacher().getId()) : null;
+                Integer room    = roomIndex.get(ScheduleIndex.normalizedClassroom(sc));
+                if (teacher == null && room == null) continue;
+                for (int s = 0; s < slotCount; s++) {
+                    TimeSlot slot = slots.get(s);
+                    if (slot.getDay() != sc.getDay() || slot.getStartMinute() >= sc.getEndMinute()
+                            || sc.getStartMinute() >= slot.getEndMinute()) continue;
+                    if (teacher != null) teacherBlocked[teacher][s] = true;
+                    if (room != null)    roomBlocked[room][s] = true;
+                }
+            }
+            unavoidable = Math.max(teacherExcess(), roomExcess());
+        }
+
+        /** Groups beyond the free slots of their teacher, which can never all be placed. */
+        private int teacherExcess() {
+            int excess = 0;
+            for (int t = 0; t < teacherLoad.length; t++) {
+                int free = 0;
+                for (boolean blocked : teacherBlocked[t]) if (!blocked) free++;
+                excess += Math.max(0, teacherLoad[t] - free);
+            }
+            return excess;
+        }
+
+        /** Largest shortfall of free room slots for the groups that need a room at least that big. */
+        private int roomExcess() {
+            int[] needing = new int[rooms.length + 1];
+            for (int room : firstRoom) needing[room]++;
+            int excess = needing[rooms.length], groups = needing[rooms.length], free = 0;
+            for (int r = rooms.length - 1; r >= 0; r--) {
+                groups += needing[r];
+                for (boolean blocked : roomBlocked[r]) if (!blocked) free++;
+                excess = Math.max(excess, groups - free);
+            }
+            return excess;
+        }
+    }
+
+    // ── Attempt ───────────────────────────────────────────────────────────────
+
+    /** One randomized greedy construction followed by tabu repair. */
+    private static final class Attempt {
+        private static final int CHECK_CLOCK_EVERY = 64;
+        private static final int BLOCKED           = -2;
+
+        private final Problem       p;
+        private final Random        random;
+        private final long          deadline;
+        private final AtomicBoolean solved;
+
+        private final int[]   slotOf;
+        private final int[]   roomOf;
+        private final int[][] teacherAt;  // [teacher][slot] → group, or -1
+        private final int[][] roomAt;     // [room][slot] → group, or -1
+        private final int[]   slotLoad;
+        private final long[]  movedAt;    // repair step a group was last placed at
+
+        private final List<Integer> displaced = new ArrayList<>(2);
+        private int  dropped;             // groups found impossible to place
+        private int  candidateSlot;
+        private int  candidateRoom;
+        private long step;
+
+        Attempt(Problem p, Random random, long deadline, AtomicBoolean solved) {
+            this.p        = p;
+            this.random   = random;
+            this.deadline = deadline;
+            this.solved   = solved;
+            int slots = p.slots.size();
+            slotOf    = new int[p.groupCount];
+            roomOf    = new int[p.groupCount];
+            teacherAt = new int[p.teacherLoad.length][slots];
+            roomAt    = new int[p.rooms.length][slots];
+            slotLoad  = new int[slots];
+            movedAt   = new long[p.groupCount];
+            Arrays.fill(slotOf, -1);
+            Arrays.fill(roomOf, -1);
+            for (int[] row : teacherAt) Arrays.fill(row, -1);
+            for (int[] row : roomAt)    Arrays.fill(row, -1);
+            Arrays.fill(movedAt, Long.MIN_VALUE / 2);
+        }
+
+        /** @return {slot per group, room per group}, -1 where unplaced. */
+        int[][] run() {
+            Deque<Integer> pending = new ArrayDeque<>();
+            for (int g : constructionOrder()) {
+                if (!placeGreedily(g)) pending.add(g);
+            }
+            repair(pending);
+            if (pending.size() <= p.unavoidable) solved.set(true);
+            return new int[][]{slotOf, roomOf};
+        }
+
+        /** Hardest groups first: fewest fitting rooms, then busiest teacher; ties broken at random. */
+        private List<Integer> constructionOrder() {
+            List<Integer> order = new ArrayList<>(p.groupCount);
+            for (int g = 0; g < p.groupCount; g++) order.add(g);
+            Collections.shuffle(order, random);
+            order.sort(Comparator
+                    .comparingInt((Integer g) -> p.rooms.length - p.firstRoom[g])
+                    .thenComparingInt(g -> p.teacherOf[g] >= 0 ? -p.teacherLoad[p.teacherOf[g]] : 0));
+            return order;
+        }
+
+        /** Puts a group in the tightest free room of the least used slot its teacher is free in. */
+        private boolean placeGreedily(int g) {
+            int bestSlot = -1, bestRoom = -1, bestLoad = Integer.MAX_VALUE, ties = 0;
+            for (int s = 0; s < p.slots.size(); s++) {
+                if (slotLoad[s] > bestLoad || !teacherFree(g, s)) continue;
+                int room = freeRoom(g, s);
+                if (room < 0) continue;
+                if (slotLoad[s] < bestLoad) {
+                    bestLoad = slotLoad[s];
+                    ties = 0;
+                }
+                if (random.nextInt(++ties) == 0) {
+                    bestSlot = s;
+                    bestRoom = room;
+                }
+            }
+            if (bestSlot < 0) return false;
+            place(g, bestSlot, bestRoom);
+            return true;
+        }
+
+        private boolean teacherFree(int g, int s) {
+            int t = p.teacherOf[g];
+            if (t < 0) return true;
+            for (int o : p.overlapping[s]) {
+                if (p.teacherBlocked[t][o] || teacherAt[t][o] >= 0) return false;
+            }
+            return true;
+        }
+
+        private int freeRoom(int g, int s) {
+            rooms:
+            for (int r = p.firstRoom[g]; r < p.rooms.length; r++) {
+                for (int o : p.overlapping[s]) {
+                    if (p.roomBlocked[r][o] || roomAt[r][o] >= 0) continue rooms;
+                }
+                return r;
+            }
+            return -1;
+        }
+
+        /**
+         * Tabu repair: each pending group takes the slot and room that
+         * displace the fewest placed groups, skipping groups moved within
+         * the last few steps.
+         */
+        private void repair(Deque<Integer> pending) {
+            int bestPending = pending.size();
+            int[] bestSlots = slotOf.clone();
+            int[] bestRooms = roomOf.clone();
+            int tenure = 7 + p.groupCount / 100;
+
+            while (pending.size() + dropped > p.unavoidable) {
+                if (++step % CHECK_CLOCK_EVERY == 0 && (solved.get() || System.nanoTime() > deadline)) break;
+                int g = pending.poll();
+                if (!chooseMove(g, tenure)) {
+                    if (chooseMove(g, 0)) pending.add(g); // only blocked by tabu groups: retry later
+                    else dropped++;                       // cannot be placed at all: give up on it
+                    continue;
+                }
+                for (int victim : displaced) {
+                    unplace(victim);
+                    pending.add(victim);
+                }
+                place(g, candidateSlot, candidateRoom);
+                movedAt[g] = step;
+                if (pending.size() < bestPending) {
+                    bestPending = pending.size();
+                    bestSlots   = slotOf.clone();
+                    bestRooms   = roomOf.clone();
+                }
+            }
+            if (!pending.isEmpty()) restore(bestSlots, bestRooms);
+            pending.clear();
+            for (int g = 0; g < p.groupCount; g++) if (slotOf[g] < 0) pending.add(g);
+        }
+
+        /**
+         * Picks the move for {@code g} that displaces the fewest groups and
+         * leaves the victims in {@link #displaced}.
+         *
+         * @return whether any move was possible without displacing a tabu group.
+         */
+        private boolean chooseMove(int g, int tenure) {
+            int t = p.teacherOf[g];
+            int bestCost = Integer.MAX_VALUE, ties = 0;
+            for (int s = 0; s < p.slots.size(); s++) {
+                int teacherVictim = teacherVictim(t, s, tenure);
+                if (teacherVictim == BLOCKED) continue;
+                int teacherCost = teacherVictim >= 0 ? 1 : 0;
+                if (teacherCost > bestCost) continue;
+                for (int r = p.firstRoom[g]; r < p.rooms.length; r++) {
+                    int roomVictim = roomVictim(r, s, tenure);
+                    if (roomVictim == BLOCKED) continue;
+                    int cost = teacherCost + (roomVictim >= 0 && roomVictim != teacherVictim ? 1 : 0);
+                    if (cost > bestCost) continue;
+                    if (cost < bestCost) {
+                        bestCost = cost;
+                        ties = 0;
+                    }
+                    if (random.nextInt(++ties) == 0) {
+                        candidateSlot = s;
+                        candidateRoom = r;
+                    }
+                }
+            }
+            displaced.clear();
+            if (bestCost == Integer.MAX_VALUE) return false;
+            int teacherVictim = teacherVictim(t, candidateSlot, 0);
+            int roomVictim    = roomVictim(candidateRoom, candidateSlot, 0);
+            if (teacherVictim >= 0) displaced.add(teacherVictim);
+            if (roomVictim >= 0 && roomVictim != teacherVictim) displaced.add(roomVictim);
+            return true;
+        }
+
+        /**
+         * The group holding teacher {@code t} at a slot overlapping {@code s},
+         * -1 if none, or {@link #BLOCKED} if the teacher is unavailable there.
+         * A move displaces at most one group per teacher and per room; slots
+         * that would need more (with overlapping slot grids) are skipped.
+         */
+        private int teacherVictim(int t, int s, int tenure) {
+            if (t < 0) return -1;
+            int victim = -1;
+            for (int o : p.overlapping[s]) {
+                if (p.teacherBlocked[t][o]) return BLOCKED;
+                int other = teacherAt[t][o];
+                if (other < 0 || other == victim) continue;
+                if (victim >= 0 || step - movedAt[other] < tenure) return BLOCKED;
+                victim = other;
+            }
+            return victim;
+        }
+
+        /** Like {@link #teacherVictim} for room {@code r}. */
+        private int roomVictim(int r, int s, int tenure) {
+            int victim = -1;
+            for (int o : p.overlapping[s]) {
+                if (p.roomBlocked[r][o]) return BLOCKED;
+                int other = roomAt[r][o];
+                if (other < 0 || other == victim) continue;
+                if (victim >= 0 || step - movedAt[other] < tenure) return BLOCKED;
+                victim = other;
+            }
+            return victim;
+        }
+
+        private void place(int g, int s, int r) {
+            slotOf[g] = s;
+            roomOf[g] = r;
+            if (p.teacherOf[g] >= 0) teacherAt[p.teacherOf[g]][s] = g;
+            roomAt[r][s] = g;
+            slotLoad[s]++;
+        }
+
+        private void unplace(int g) {
+            int s = slotOf[g];
+            if (p.teacherOf[g] >= 0) teacherAt[p.teacherOf[g]][s] = -1;
+            roomAt[roomOf[g]][s] = -1;
+            slotLoad[s]--;
+            slotOf[g] = -1;
+            roomOf[g] = -1;
+        }
+
+        private void restore(int[] slots, int[] rooms) {
+            for (int g = 0; g < p.groupCount; g++) if (slotOf[g] >= 0) unplace(g);
+            for (int g = 0; g < p.groupCount; g++) if (slots[g] >= 0) place(g, slots[g], rooms[g]);
+        }
+    }
+}
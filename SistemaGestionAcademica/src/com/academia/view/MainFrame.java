@@ -1,27 +1,54 @@
 package com.academia.view;
 
+import com.academia.controller.AcademyController;
+import com.academia.search.SearchHit;
+import com.academia.view.panels.ReportsPanel;
 import com.academia.view.panels.StudyPlansPanel;
 import com.academia.view.panels.SubjectsPanel;
 import com.academia.view.panels.TeachersPanel;
+import com.academia.view.utils.BackgroundTasks;
 import com.academia.view.utils.UIStyle;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.nio.file.Path;
 
 /**
  * Main application window for the Academic Management System.
  *
- * Organises navigation through three tabs:
+ * Organises navigation through four tabs:
  *  - Study Plans  (Builder + Prototype patterns)
  *  - Subjects
  *  - Teachers
+ *  - Reports
+ *
+ * The header holds a search box over the whole catalogue (see
+ * {@link AcademyController#search(String, int)}); choosing a result opens
+ * the tab that lists it.
  */
 public class MainFrame extends JFrame {
 
+    private static final int SEARCH_DELAY_MILLIS = 150;
+    private static final int SEARCH_HITS         = 30;
+
     private StudyPlansPanel studyPlansPanel;
     private SubjectsPanel   subjectsPanel;
     private TeachersPanel   teachersPanel;
+    private JTabbedPane     tabs;
+
+    // Search box
+    private JTextField                   tfSearch;
+    private JPopupMenu                   searchPopup;
+    private DefaultListModel<SearchHit>  hitsModel;
+    private JList<SearchHit>             hitList;
+    private final BackgroundTasks.Latest searchTask = new BackgroundTasks.Latest();
 
     public MainFrame() {
         super("Sistema de Gestión Académica");
@@ -61,9 +88,10 @@ public class MainFrame extends JFrame {
         titleArea.add(lblSubtitle);
         header.add(titleArea, BorderLayout.WEST);
 
-        // Pattern indicator chips
+        // Search box and pattern indicator chips
         JPanel chips = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
         chips.setOpaque(false);
+        chips.add(buildSearchBox());
         chips.add(buildChip("🔨 Builder",   new Color(37, 99, 235)));
         chips.add(buildChip("🧬 Prototype", new Color(22, 163, 74)));
         header.add(chips, BorderLayout.EAST);
@@ -71,7 +99,7 @@ public class MainFrame extends JFrame {
         getContentPane().add(header, BorderLayout.NORTH);
 
         // ── Tab panel ─────────────────────────────────────────────────────────
-        JTabbedPane tabs = new JTabbedPane(JTabbedPane.TOP);
+        tabs = new JTabbedPane(JTabbedPane.TOP);
         tabs.setFont(new Font("Segoe UI", Font.BOLD, 13));
 
         studyPlansPanel = new StudyPlansPanel();
@@ -81,15 +109,9 @@ public class MainFrame extends JFrame {
         tabs.addTab("  📋 Planes de Estudio  ", studyPlansPanel);
         tabs.addTab("  📚 Asignaturas  ",        subjectsPanel);
         tabs.addTab("  👨‍🏫 Docentes  ",           teachersPanel);
+        tabs.addTab("  📊 Reportes  ",            new ReportsPanel());
 
-        // Refresh the active panel's data on every tab switch
-        tabs.addChangeListener(e -> {
-            switch (tabs.getSelectedIndex()) {
-                case 0 -> studyPlansPanel.loadData();
-                case 1 -> subjectsPanel.loadData();
-                case 2 -> teachersPanel.loadData();
-            }
-        });
+        // No reload on tab switch: every panel follows the controller's change bus
 
         getContentPane().add(tabs, BorderLayout.CENTER);
 
@@ -100,19 +122,141 @@ public class MainFrame extends JFrame {
                 BorderFactory.createMatteBorder(1, 0, 0, 0, UIStyle.BORDER_COLOR),
                 new EmptyBorder(6, 16, 6, 16)
         ));
-        JLabel lblStatus = new JLabel("Listo  ·  Los datos se almacenan en memoria durante la sesión.");
+        Path dataDir = AcademyController.getInstance().getDataDirectory();
+        JLabel lblStatus = new JLabel(dataDir != null
+                ? "Listo  ·  Los datos se guardan en " + dataDir
+                : "Listo  ·  Los datos se almacenan en memoria durante la sesión.");
         lblStatus.setFont(UIStyle.SMALL);
         lblStatus.setForeground(UIStyle.TEXT_MUTED);
         footer.add(lblStatus, BorderLayout.WEST);
 
+        // Busy indicator: shown while background tasks are running
+        JLabel lblBusy = new JLabel();
+        lblBusy.setFont(UIStyle.SMALL);
+        lblBusy.setForeground(UIStyle.TEXT_MUTED);
+        JProgressBar busyBar = new JProgressBar();
+        busyBar.setIndeterminate(true);
+        busyBar.setPreferredSize(new Dimension(110, 12));
+        BackgroundTasks.addBusyListener(running -> {
+            busyBar.setVisible(running > 0);
+            lblBusy.setText(running == 0 ? "" : running == 1 ? "Procesando…" : "Procesando " + running + " tareas…");
+        });
+
         JLabel lblVersion = new JLabel("v1.0  |  Java Swing");
         lblVersion.setFont(UIStyle.SMALL);
         lblVersion.setForeground(UIStyle.TEXT_MUTED);
-        footer.add(lblVersion, BorderLayout.EAST);
+
+        JPanel footerRight = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        footerRight.setOpaque(false);
+        footerRight.add(lblBusy);
+        footerRight.add(busyBar);
+        footerRight.add(lblVersion);
+        footer.add(footerRight, BorderLayout.EAST);
 
         getContentPane().add(footer, BorderLayout.SOUTH);
     }
 
+    // ── Search ────────────────────────────────────────────────────────────────
+
+    /**
+     * Builds the search field. Results are fetched in the background a
+     * moment after the user stops typing and listed in a popup below it.
+     */
+    private JComponent buildSearchBox() {
+        tfSearch = UIStyle.createTextField(22);
+        tfSearch.setToolTipText("Buscar planes, grupos, asignaturas y docentes");
+
+        hitsModel = new DefaultListModel<>();
+        hitList   = new JList<>(hitsModel);
+        hitList.setFont(UIStyle.TABLE);
+        hitList.setFocusable(false);
+        hitList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        hitList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                openHit(hitList.getSelectedValue());
+            }
+        });
+        JScrollPane scroll = new JScrollPane(hitList);
+        scroll.setBorder(null);
+        searchPopup = new JPopupMenu();
+        searchPopup.setFocusable(false);
+        searchPopup.setLayout(new BorderLayout());
+        searchPopup.add(scroll, BorderLayout.CENTER);
+
+        Timer delay = new Timer(SEARCH_DELAY_MILLIS, e -> search(tfSearch.getText()));
+        delay.setRepeats(false);
+        tfSearch.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e)  { delay.restart(); }
+            @Override public void removeUpdate(DocumentEvent e)  { delay.restart(); }
+            @Override public void changedUpdate(DocumentEvent e) { delay.restart(); }
+        });
+        tfSearch.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN   -> moveHitSelection(1);
+                    case KeyEvent.VK_UP     -> moveHitSelection(-1);
+                    case KeyEvent.VK_ENTER  -> openHit(hitList.getSelectedValue());
+                    case KeyEvent.VK_ESCAPE -> searchPopup.setVisible(false);
+                    default -> { }
+                }
+            }
+        });
+
+        JPanel box = new JPanel(new BorderLayout(6, 0));
+        box.setOpaque(false);
+        JLabel icon = new JLabel("🔍");
+        icon.setForeground(Color.WHITE);
+        box.add(icon, BorderLayout.WEST);
+        box.add(tfSearch, BorderLayout.CENTER);
+        return box;
+    }
+
+    private void search(String text) {
+        if (text.isBlank()) {
+            searchTask.cancel();
+            searchPopup.setVisible(false);
+            return;
+        }
+        searchTask.submit(() -> AcademyController.getInstance().search(text, SEARCH_HITS), this::showHits);
+    }
+
+    private void showHits(java.util.List<SearchHit> hits) {
+        hitsModel.clear();
+        if (hits.isEmpty()) {
+            searchPopup.setVisible(false);
+            return;
+        }
+        hitsModel.addAll(hits);
+        hitList.setSelectedIndex(0);
+        hitList.setVisibleRowCount(Math.min(hits.size(), 12));
+        searchPopup.setPreferredSize(null);
+        searchPopup.pack();
+        searchPopup.setPreferredSize(new Dimension(
+                Math.max(tfSearch.getWidth(), searchPopup.getPreferredSize().width),
+                searchPopup.getPreferredSize().height));
+        if (tfSearch.isShowing()) searchPopup.show(tfSearch, 0, tfSearch.getHeight());
+    }
+
+    private void moveHitSelection(int step) {
+        if (!searchPopup.isVisible() || hitsModel.isEmpty()) return;
+        int index = Math.max(0, Math.min(hitsModel.size() - 1, hitList.getSelectedIndex() + step));
+        hitList.setSelectedIndex(index);
+        hitList.ensureIndexIsVisible(index);
+    }
+
+    /** Opens the tab listing the entity of a search result. */
+    private void openHit(SearchHit hit) {
+        if (hit == null) return;
+        searchPopup.setVisible(false);
+        tabs.setSelectedComponent(switch (hit.getKind()) {
+            case PLAN, GROUP -> studyPlansPanel;
+            case SUBJECT     -> subjectsPanel;
+            case TEACHER     -> teachersPanel;
+        });
+    }
+
     /** Builds a small coloured label used as a pattern indicator chip. */
     private JLabel buildChip(String text, Color background) {
         JLabel chip = new JLabel(text);
@@ -1,7 +1,9 @@
 package com.academia.view.dialogs;
 
 import com.academia.controller.AcademyController;
+import com.academia.model.PlanTotals;
 import com.academia.model.StudyPlan;
+import com.academia.view.utils.BackgroundTasks;
 import com.academia.view.utils.UIStyle;
 
 import javax.swing.*;
@@ -10,14 +12,14 @@ import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.List;
 
 /**
  * Dialog for cloning an existing Study Plan using the PROTOTYPE pattern.
  *
  * The user selects a source plan, sets a new name and period, and the system
  * performs a deep copy of the entire plan (groups, teachers, schedules) via
- * {@link StudyPlan#clone()}.
+ * {@link StudyPlan#clone()}. The plans and the clone itself are handled in
+ * the background.
  */
 public class CloneStudyPlanDialog extends JDialog {
 
@@ -32,6 +34,8 @@ public class CloneStudyPlanDialog extends JDialog {
     private JTextField           tfStartDate;
     private JTextField           tfEndDate;
     private JTextArea            taSummary;
+    private JButton              btnClone;
+    private boolean              plansLoaded;
 
     public CloneStudyPlanDialog(Frame owner) {
         super(owner, "Clonar Plan de Estudio — Patrón Prototype", true);
@@ -39,6 +43,7 @@ public class CloneStudyPlanDialog extends JDialog {
         setLocationRelativeTo(owner);
         buildUI();
         refreshSummary();
+        loadPlans();
     }
 
     private void buildUI() {
@@ -55,7 +60,7 @@ public class CloneStudyPlanDialog extends JDialog {
         ));
         JLabel lblBanner = new JLabel(
             "<html><b>🧬 Patrón Prototype</b> — Clona un plan existente como base para un nuevo período.<br>" +
-            "<small>Se realiza una copia profunda (deep copy): grupos, horarios y docentes se duplican completamente.</small></html>"
+            "<small>Se copian el plan y sus grupos; asignaturas, docentes y horarios idénticos se comparten en lugar de duplicarse.</small></html>"
         );
         lblBanner.setFont(UIStyle.SMALL);
         lblBanner.setForeground(new Color(21, 128, 61));
@@ -70,9 +75,8 @@ public class CloneStudyPlanDialog extends JDialog {
         gbc.fill   = GridBagConstraints.HORIZONTAL;
         gbc.anchor = GridBagConstraints.WEST;
 
-        // Source plan selector
-        List<StudyPlan> plans = controller.getStudyPlans();
-        cmbSourcePlan = new JComboBox<>(plans.toArray(new StudyPlan[0]));
+        // Source plan selector, filled once the plans are loaded
+        cmbSourcePlan = new JComboBox<>();
         cmbSourcePlan.setFont(UIStyle.BODY);
         cmbSourcePlan.addActionListener(e -> refreshSummary());
 
@@ -132,7 +136,7 @@ public class CloneStudyPlanDialog extends JDialog {
         JPanel buttonRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
         buttonRow.setBackground(UIStyle.BACKGROUND);
         JButton btnCancel = UIStyle.createDangerButton("Cancelar");
-        JButton btnClone  = UIStyle.createButton("🧬 Clonar Plan", UIStyle.SUCCESS);
+        btnClone          = UIStyle.createButton("🧬 Clonar Plan", UIStyle.SUCCESS);
         btnCancel.addActionListener(e -> dispose());
         btnClone.addActionListener(e  -> clonePlan());
         buttonRow.add(btnCancel);
@@ -142,11 +146,19 @@ public class CloneStudyPlanDialog extends JDialog {
         setContentPane(container);
     }
 
+    private void loadPlans() {
+        BackgroundTasks.submit(() -> controller.getStudyPlans().toArray(new StudyPlan[0]), plans -> {
+            cmbSourcePlan.setModel(new DefaultComboBoxModel<>(plans));
+            plansLoaded = true;
+            refreshSummary();
+        });
+    }
+
     /** Updates the summary text area when a different source plan is selected. */
     private void refreshSummary() {
         StudyPlan plan = (StudyPlan) cmbSourcePlan.getSelectedItem();
         if (plan == null) {
-            taSummary.setText("No hay planes disponibles.");
+            taSummary.setText(plansLoaded ? "No hay planes disponibles." : "Cargando planes…");
             return;
         }
         StringBuilder sb = new StringBuilder();
@@ -154,9 +166,11 @@ public class CloneStudyPlanDialog extends JDialog {
         sb.append("📅 Período:   ").append(plan.getPeriod()).append("\n");
         sb.append("🎓 Programa:  ").append(plan.getProgram()).append("\n");
         sb.append("🏫 Modalidad: ").append(plan.getModality()).append("\n");
-        sb.append("📌 Créditos:  ").append(plan.getTotalCredits()).append(" en total\n");
-        sb.append("📦 Grupos:    ").append(plan.getGroups().size()).append(" grupo(s)\n");
-        if (!plan.getGroups().isEmpty()) {
+        PlanTotals totals = plan.getTotals();
+        sb.append("📌 Créditos:  ").append(totals.getCredits()).append(" en total\n");
+        sb.append("📦 Grupos:    ").append(totals.getGroupCount()).append(" grupo(s), ")
+          .append(totals.getSeats()).append(" cupo(s)\n");
+        if (totals.getGroupCount() > 0) {
             sb.append("──────────────────────────────────────────\n");
             plan.getGroups().forEach(g ->
                 sb.append("  • ").append(g.getName())
@@ -201,26 +215,28 @@ public class CloneStudyPlanDialog extends JDialog {
             LocalDate start = LocalDate.parse(startDateText, DATE_FORMAT);
             LocalDate end   = LocalDate.parse(endDateText, DATE_FORMAT);
 
-            controller.cloneStudyPlan(
+            btnClone.setEnabled(false);
+            BackgroundTasks.submit(() -> controller.cloneStudyPlan(
                     source.getId(),
                     newName,
                     newPeriod,
                     start, end
-            );
-
-            planCloned = true;
-            JOptionPane.showMessageDialog(this,
-                    "✅ Plan clonado exitosamente con el patrón Prototype.\n" +
-                    "Se realizó una copia profunda con " + source.getGroups().size() + " grupo(s).",
-                    "Plan Clonado", JOptionPane.INFORMATION_MESSAGE);
-            dispose();
+            ), clone -> {
+                planCloned = true;
+                JOptionPane.showMessageDialog(this,
+                        "✅ Plan clonado exitosamente con el patrón Prototype.\n" +
+                        "Se realizó una copia profunda con " + source.getGroups().size() + " grupo(s).",
+                        "Plan Clonado", JOptionPane.INFORMATION_MESSAGE);
+                dispose();
+            }, e -> {
+                btnClone.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                        "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            });
 
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this,
                     "Formato de fecha incorrecto. Use dd/MM/yyyy.", "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
     }
 
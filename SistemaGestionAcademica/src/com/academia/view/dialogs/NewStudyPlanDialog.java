@@ -3,11 +3,18 @@ package com.academia.view.dialogs;
 import com.academia.controller.AcademyController;
 import com.academia.model.Group;
 import com.academia.model.Subject;
+import com.academia.query.GroupQuery;
+import com.academia.query.Page;
+import com.academia.search.TypeAheadIndex;
+import com.academia.view.utils.BackgroundTasks;
+import com.academia.view.utils.FilteredListModel;
 import com.academia.view.utils.UIStyle;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
@@ -26,6 +33,9 @@ public class NewStudyPlanDialog extends JDialog {
 
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
 
+    /** Groups fetched at first, and added by each "Cargar más". */
+    private static final int GROUP_PAGE = 500;
+
     private final AcademyController controller = AcademyController.getInstance();
     private boolean planCreated = false;
 
@@ -37,8 +47,15 @@ public class NewStudyPlanDialog extends JDialog {
     private JTextField              tfStartDate;
     private JTextField              tfEndDate;
     private JTextArea               taDescription;
-    private JList<Group>            groupList;
-    private DefaultListModel<Group> groupListModel;
+    private JList<Group>              groupList;
+    private FilteredListModel<Group>  groupListModel;
+    private JTextField                tfGroupFilter;
+    private JLabel                    lblGroupCount;
+    private JButton                   btnMoreGroups;
+    private JButton                   btnBuild;
+
+    private List<Group> loadedGroups    = List.of();
+    private int         nextGroupCursor = 0;   // listing position of the next page, -1 once all are loaded
 
     public NewStudyPlanDialog(Frame owner) {
         super(owner, "Nuevo Plan de Estudio — Patrón Builder", true);
@@ -111,13 +128,44 @@ public class NewStudyPlanDialog extends JDialog {
         gbc.gridx = 1; gbc.weightx = 1; gbc.anchor = GridBagConstraints.WEST;
         form.add(new JScrollPane(taDescription), gbc);
 
-        // Group multi-selection list
-        groupListModel = new DefaultListModel<>();
-        for (Group g : controller.getGroups()) groupListModel.addElement(g);
-        groupList = new JList<>(groupListModel);
+        // Group multi-selection list, filtered as the user types
+        tfGroupFilter = UIStyle.createTextField(20);
+        tfGroupFilter.setToolTipText("Filtrar por grupo, asignatura o docente");
+        tfGroupFilter.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e)  { filterGroups(); }
+            @Override public void removeUpdate(DocumentEvent e)  { filterGroups(); }
+            @Override public void changedUpdate(DocumentEvent e) { filterGroups(); }
+        });
+        lblGroupCount = new JLabel("Cargando grupos…");
+        lblGroupCount.setFont(UIStyle.SMALL);
+        lblGroupCount.setForeground(UIStyle.TEXT_MUTED);
+        JPanel filterRow = new JPanel(new BorderLayout(8, 0));
+        filterRow.setOpaque(false);
+        filterRow.add(UIStyle.createLabel("🔍 Filtrar grupos:"), BorderLayout.WEST);
+        filterRow.add(tfGroupFilter, BorderLayout.CENTER);
+        btnMoreGroups = UIStyle.createButton("Cargar más", UIStyle.ACCENT);
+        btnMoreGroups.setEnabled(false);
+        btnMoreGroups.addActionListener(e -> loadGroups());
+        JPanel countArea = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+        countArea.setOpaque(false);
+        countArea.add(lblGroupCount);
+        countArea.add(btnMoreGroups);
+        filterRow.add(countArea, BorderLayout.EAST);
+        gbc.gridx = 0; gbc.gridy = 6; gbc.gridwidth = 2; gbc.weightx = 1;
+        form.add(filterRow, gbc);
+
+        groupListModel = new FilteredListModel<>();
+        groupList = new JList<>();
+        groupListModel.attach(groupList);
         groupList.setFont(UIStyle.TABLE);
         groupList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         groupList.setVisibleRowCount(4);
+        // Fixed cell sizes, so the list does not measure every group it holds
+        groupList.setFixedCellHeight(groupList.getFontMetrics(UIStyle.TABLE).getHeight() + 4);
+        groupList.setFixedCellWidth(520);
+        groupList.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) updateGroupCount();
+        });
         JScrollPane scrollGroups = new JScrollPane(groupList);
         scrollGroups.setPreferredSize(new Dimension(400, 100));
         TitledBorder groupBorder = BorderFactory.createTitledBorder(
@@ -126,8 +174,9 @@ public class NewStudyPlanDialog extends JDialog {
         groupBorder.setTitleFont(UIStyle.LABEL);
         scrollGroups.setBorder(groupBorder);
 
-        gbc.gridx = 0; gbc.gridy = 6; gbc.gridwidth = 2; gbc.weightx = 1;
+        gbc.gridy = 7;
         form.add(scrollGroups, gbc);
+        loadGroups();
 
         JPanel center = new JPanel(new BorderLayout());
         center.setBackground(Color.WHITE);
@@ -138,7 +187,7 @@ public class NewStudyPlanDialog extends JDialog {
         JPanel buttonRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
         buttonRow.setBackground(UIStyle.BACKGROUND);
         JButton btnCancel = UIStyle.createDangerButton("Cancelar");
-        JButton btnBuild  = UIStyle.createPrimaryButton("🔨 Construir Plan");
+        btnBuild          = UIStyle.createPrimaryButton("🔨 Construir Plan");
         btnCancel.addActionListener(e -> dispose());
         btnBuild.addActionListener(e  -> buildPlan());
         buttonRow.add(btnCancel);
@@ -148,6 +197,52 @@ public class NewStudyPlanDialog extends JDialog {
         setContentPane(container);
     }
 
+    /**
+     * Fetches the next page of groups (see {@link AcademyController#findGroups})
+     * and indexes the groups loaded so far by their name, subject and teacher
+     * in the background; the list is filtered on each keystroke, and groups
+     * already chosen stay chosen.
+     */
+    private void loadGroups() {
+        int         cursor   = nextGroupCursor;
+        List<Group> previous = loadedGroups;
+        btnMoreGroups.setEnabled(false);
+        BackgroundTasks.submit(() -> {
+            Page<Group> page   = controller.findGroups(new GroupQuery().after(cursor).limit(GROUP_PAGE));
+            List<Group> loaded = new ArrayList<>(previous.size() + page.getItems().size());
+            loaded.addAll(previous);
+            loaded.addAll(page.getItems());
+            return new GroupPage(loaded, TypeAheadIndex.of(loaded, NewStudyPlanDialog::groupText),
+                                 page.getNextCursor());
+        }, loaded -> {
+            loadedGroups    = loaded.groups();
+            nextGroupCursor = loaded.nextCursor();
+            groupListModel.extendIndex(loaded.index());
+            btnMoreGroups.setEnabled(nextGroupCursor >= 0);
+            updateGroupCount();
+        });
+    }
+
+    /** The groups loaded so far and their index, built off the EDT. */
+    private record GroupPage(List<Group> groups, TypeAheadIndex<Group> index, int nextCursor) { }
+
+    private static String groupText(Group g) {
+        return g.getName()
+                + " " + (g.getSubject() != null ? g.getSubject().getName() : "")
+                + " " + (g.getTeacher() != null ? g.getTeacher().getFullName() : "");
+    }
+
+    private void filterGroups() {
+        groupListModel.filter(tfGroupFilter.getText());
+        updateGroupCount();
+    }
+
+    private void updateGroupCount() {
+        lblGroupCount.setText(groupListModel.getSize() + " de " + groupListModel.getTotalSize()
+                + (nextGroupCursor >= 0 ? " cargados" : "")
+                + " · " + groupListModel.getChosenCount() + " seleccionados");
+    }
+
     /** Utility: adds a label + component pair to the GridBag form. */
     private void addRow(JPanel form, GridBagConstraints gbc,
                         int row, String labelText, JComponent field) {
@@ -194,33 +289,38 @@ public class NewStudyPlanDialog extends JDialog {
             LocalDate start = LocalDate.parse(startDateText, DATE_FORMAT);
             LocalDate end   = LocalDate.parse(endDateText, DATE_FORMAT);
 
-            List<Group> selectedGroups = new ArrayList<>(groupList.getSelectedValuesList());
+            List<Group>      selectedGroups = groupListModel.getChosen();   // including those filtered out
+            Subject.Modality modality       = (Subject.Modality) cmbModality.getSelectedItem();
+            String           description    = taDescription.getText().trim();
 
             // Delegate to the controller which uses the StudyPlanBuilder internally
-            controller.createStudyPlan(
+            btnBuild.setEnabled(false);
+            BackgroundTasks.submit(() -> controller.createStudyPlan(
                     name,
                     period,
                     program,
-                    (Subject.Modality) cmbModality.getSelectedItem(),
+                    modality,
                     start, end,
-                    taDescription.getText().trim(),
+                    description,
                     selectedGroups
-            );
-
-            planCreated = true;
-            JOptionPane.showMessageDialog(this,
-                    "✅ Plan creado exitosamente con el patrón Builder.",
-                    "Plan Creado", JOptionPane.INFORMATION_MESSAGE);
-            dispose();
+            ), plan -> {
+                planCreated = true;
+                JOptionPane.showMessageDialog(this,
+                        "✅ Plan creado exitosamente con el patrón Builder.",
+                        "Plan Creado", JOptionPane.INFORMATION_MESSAGE);
+                dispose();
+            }, e -> {
+                btnBuild.setEnabled(true);
+                JOptionPane.showMessageDialog(this,
+                        e instanceof IllegalStateException ? "Error de validación:\n" + e.getMessage()
+                                                           : "Error: " + e.getMessage(),
+                        "Error del Builder", JOptionPane.ERROR_MESSAGE);
+            });
 
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this,
                     "Formato de fecha incorrecto. Use dd/MM/yyyy.",
                     "Error", JOptionPane.ERROR_MESSAGE);
-        } catch (IllegalStateException e) {
-            JOptionPane.showMessageDialog(this,
-                    "Error de validación:\n" + e.getMessage(),
-                    "Error del Builder", JOptionPane.ERROR_MESSAGE);
         }
     }
 
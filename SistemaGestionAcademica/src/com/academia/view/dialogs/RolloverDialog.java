@@ -0,0 +1,206 @@
+package com.academia.view.dialogs;
+
+import com.academia.controller.AcademyController;
+import com.academia.controller.RolloverTarget;
+import com.academia.model.StudyPlan;
+import com.academia.view.utils.UIStyle;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Dialog for rolling a whole period over into one or more new periods.
+ *
+ * Every plan of the source period (optionally of one program only) is
+ * cloned with the PROTOTYPE pattern into each target period, in the
+ * background, with a progress bar.
+ */
+public class RolloverDialog extends JDialog {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final AcademyController controller = AcademyController.getInstance();
+    private boolean plansCreated = false;
+
+    private JComboBox<String> cmbSourcePeriod;
+    private JTextField        tfProgram;
+    private JTextArea         taTargets;
+    private JProgressBar      progressBar;
+    private JButton           btnRollover;
+
+    public RolloverDialog(Frame owner) {
+        super(owner, "Traslado de Período — Patrón Prototype", true);
+        setSize(580, 480);
+        setLocationRelativeTo(owner);
+        buildUI();
+    }
+
+    private void buildUI() {
+        JPanel container = new JPanel(new BorderLayout(12, 12));
+        container.setBackground(Color.WHITE);
+        container.setBorder(new EmptyBorder(20, 20, 20, 20));
+
+        // Informational banner
+        JPanel banner = new JPanel(new BorderLayout());
+        banner.setBackground(new Color(240, 253, 244));
+        banner.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(187, 247, 208), 1, true),
+                new EmptyBorder(10, 14, 10, 14)
+        ));
+        JLabel lblBanner = new JLabel(
+            "<html><b>🔁 Traslado de período</b> — Clona todos los planes de un período en uno o varios períodos nuevos.<br>" +
+            "<small>Cada plan se copia en profundidad una vez por período destino.</small></html>"
+        );
+        lblBanner.setFont(UIStyle.SMALL);
+        lblBanner.setForeground(new Color(21, 128, 61));
+        banner.add(lblBanner, BorderLayout.CENTER);
+        container.add(banner, BorderLayout.NORTH);
+
+        // Form
+        JPanel form = new JPanel(new GridBagLayout());
+        form.setBackground(Color.WHITE);
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(8, 6, 8, 6);
+        gbc.fill   = GridBagConstraints.HORIZONTAL;
+        gbc.anchor = GridBagConstraints.WEST;
+
+        TreeSet<String> periods = new TreeSet<>();
+        for (StudyPlan p : controller.getStudyPlans()) {
+            if (p.getPeriod() != null) periods.add(p.getPeriod());
+        }
+        cmbSourcePeriod = new JComboBox<>(periods.toArray(new String[0]));
+        cmbSourcePeriod.setFont(UIStyle.BODY);
+        if (!periods.isEmpty()) cmbSourcePeriod.setSelectedItem(periods.last());
+        gbc.gridx = 0; gbc.gridy = 0; gbc.weightx = 0;
+        form.add(UIStyle.createLabel("Período origen: *"), gbc);
+        gbc.gridx = 1; gbc.weightx = 1;
+        form.add(cmbSourcePeriod, gbc);
+
+        tfProgram = UIStyle.createTextField(20);
+        gbc.gridx = 0; gbc.gridy = 1; gbc.weightx = 0;
+        form.add(UIStyle.createLabel("Programa:"), gbc);
+        gbc.gridx = 1; gbc.weightx = 1;
+        form.add(tfProgram, gbc);
+
+        taTargets = UIStyle.createTextArea(5, 30);
+        taTargets.setText("2025-II; 01/08/2025; 15/12/2025\n");
+        JScrollPane scrollTargets = new JScrollPane(taTargets);
+        scrollTargets.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(UIStyle.BORDER_COLOR),
+                "Períodos destino (uno por línea: período; inicio; fin — dd/MM/yyyy)"));
+        gbc.gridx = 0; gbc.gridy = 2; gbc.gridwidth = 2; gbc.weightx = 1;
+        gbc.fill = GridBagConstraints.BOTH; gbc.weighty = 1;
+        form.add(scrollTargets, gbc);
+
+        progressBar = new JProgressBar();
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        gbc.gridy = 3; gbc.weighty = 0; gbc.fill = GridBagConstraints.HORIZONTAL;
+        form.add(progressBar, gbc);
+
+        container.add(form, BorderLayout.CENTER);
+
+        // Bottom buttons
+        JPanel buttonRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        buttonRow.setBackground(UIStyle.BACKGROUND);
+        JButton btnCancel = UIStyle.createDangerButton("Cancelar");
+        btnRollover = UIStyle.createButton("🔁 Trasladar", UIStyle.SUCCESS);
+        btnCancel.addActionListener(e   -> dispose());
+        btnRollover.addActionListener(e -> rollOver());
+        buttonRow.add(btnCancel);
+        buttonRow.add(btnRollover);
+        container.add(buttonRow, BorderLayout.SOUTH);
+
+        setContentPane(container);
+    }
+
+    private void rollOver() {
+        String sourcePeriod = (String) cmbSourcePeriod.getSelectedItem();
+        if (sourcePeriod == null) {
+            JOptionPane.showMessageDialog(this,
+                    "No hay planes para trasladar.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String program = tfProgram.getText().isBlank() ? null : tfProgram.getText().trim();
+
+        List<RolloverTarget> targets = new ArrayList<>();
+        String[] lines = taTargets.getText().split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].isBlank()) continue;
+            String[] parts = lines[i].split(";");
+            try {
+                if (parts.length != 3) throw new IllegalArgumentException("Use: período; inicio; fin");
+                targets.add(new RolloverTarget(parts[0].trim(),
+                        LocalDate.parse(parts[1].trim(), DATE_FORMAT),
+                        LocalDate.parse(parts[2].trim(), DATE_FORMAT)));
+            } catch (DateTimeParseException e) {
+                showLineError(i, "Formato de fecha incorrecto. Use dd/MM/yyyy.");
+                return;
+            } catch (IllegalArgumentException e) {
+                showLineError(i, e.getMessage());
+                return;
+            }
+        }
+        if (targets.isEmpty()) {
+            JOptionPane.showMessageDialog(this,
+                    "Indique al menos un período destino.", "Validación", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        btnRollover.setEnabled(false);
+        progressBar.setValue(0);
+        new SwingWorker<List<StudyPlan>, int[]>() {
+            @Override
+            protected List<StudyPlan> doInBackground() {
+                return controller.rollOverPeriod(sourcePeriod, program, targets,
+                        (done, total) -> publish(new int[]{done, total}));
+            }
+
+            @Override
+            protected void process(List<int[]> updates) {
+                int[] last = updates.get(updates.size() - 1);
+                progressBar.setMaximum(last[1]);
+                progressBar.setValue(last[0]);
+                progressBar.setString(last[0] + " / " + last[1] + " planes");
+            }
+
+            @Override
+            protected void done() {
+                btnRollover.setEnabled(true);
+                try {
+                    List<StudyPlan> created = get();
+                    plansCreated = true;
+                    JOptionPane.showMessageDialog(RolloverDialog.this,
+                            "✅ Se crearon " + created.size() + " plan(es) en "
+                            + targets.size() + " período(s).",
+                            "Traslado completado", JOptionPane.INFORMATION_MESSAGE);
+                    dispose();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    progressBar.setString("");
+                    JOptionPane.showMessageDialog(RolloverDialog.this,
+                            "Error: " + e.getCause().getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private void showLineError(int line, String message) {
+        JOptionPane.showMessageDialog(this,
+                "Línea " + (line + 1) + " de los períodos destino: " + message,
+                "Validación", JOptionPane.WARNING_MESSAGE);
+    }
+
+    public boolean isPlansCreated() {
+        return plansCreated;
+    }
+}
@@ -0,0 +1,119 @@
+package com.academia.view.panels;
+
+import com.academia.analytics.Analytics;
+import com.academia.analytics.Analytics.ReportType;
+import com.academia.analytics.Report;
+import com.academia.controller.AcademyController;
+import com.academia.view.utils.BackgroundTasks;
+import com.academia.view.utils.UIStyle;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+
+/**
+ * Panel showing the analytics reports: credits per program and period,
+ * seat utilisation per subject and groups per modality and weekday.
+ *
+ * Reports are computed in the background and refreshed when the
+ * catalogue changes, while the panel is showing.
+ */
+public class ReportsPanel extends JPanel {
+
+    private final Analytics analytics = AcademyController.getInstance().getAnalytics();
+
+    private JComboBox<ReportType>  cmbReport;
+    private JTable                 table;
+    private JLabel                 lblStatus;
+    private final BackgroundTasks.Latest reportTask = new BackgroundTasks.Latest();
+    private boolean                stale = true;   // the catalogue changed since the report shown
+
+    public ReportsPanel() {
+        setLayout(new BorderLayout(12, 12));
+        setBackground(UIStyle.BACKGROUND);
+        setBorder(new EmptyBorder(20, 20, 20, 20));
+        buildUI();
+        analytics.addChangeListener(() -> SwingUtilities.invokeLater(() -> {
+            stale = true;
+            if (isShowing()) loadReport();
+        }));
+        // The first report is computed when the tab is first opened
+        addHierarchyListener(e -> {
+            if (stale && isShowing()) loadReport();
+        });
+    }
+
+    private void buildUI() {
+        // Header
+        JPanel header = new JPanel(new BorderLayout());
+        header.setOpaque(false);
+        JLabel title    = UIStyle.createTitleLabel("📊  Reportes");
+        JLabel subtitle = new JLabel("Indicadores agregados de planes, grupos y cupos.");
+        subtitle.setFont(UIStyle.LABEL);
+        subtitle.setForeground(UIStyle.TEXT_MUTED);
+        JPanel titleArea = new JPanel(new GridLayout(2, 1, 0, 2));
+        titleArea.setOpaque(false);
+        titleArea.add(title);
+        titleArea.add(subtitle);
+        header.add(titleArea, BorderLayout.WEST);
+
+        cmbReport = new JComboBox<>(ReportType.values());
+        cmbReport.setFont(UIStyle.BODY);
+        cmbReport.addActionListener(e -> loadReport());
+        JPanel selector = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        selector.setOpaque(false);
+        selector.add(UIStyle.createLabel("Reporte:"));
+        selector.add(cmbReport);
+        header.add(selector, BorderLayout.EAST);
+        add(header, BorderLayout.NORTH);
+
+        // Table
+        table = new JTable();
+        table.setRowHeight(32);
+        table.setFont(UIStyle.TABLE);
+        table.getTableHeader().setFont(UIStyle.TABLE_HEADER);
+        table.getTableHeader().setBackground(UIStyle.PRIMARY);
+        table.getTableHeader().setForeground(Color.WHITE);
+        table.setSelectionBackground(UIStyle.SELECTION);
+        table.setGridColor(UIStyle.BORDER_COLOR);
+        table.setShowGrid(true);
+        table.setAutoCreateRowSorter(true);
+
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(BorderFactory.createLineBorder(UIStyle.BORDER_COLOR));
+        add(scroll, BorderLayout.CENTER);
+
+        lblStatus = new JLabel(" ");
+        lblStatus.setFont(UIStyle.SMALL);
+        lblStatus.setForeground(UIStyle.TEXT_MUTED);
+        add(lblStatus, BorderLayout.SOUTH);
+    }
+
+    /** Computes the selected report in the background and shows it. */
+    private void loadReport() {
+        ReportType type = (ReportType) cmbReport.getSelectedItem();
+        stale = false;
+        lblStatus.setText("Calculando…");
+        long started = System.nanoTime();
+        reportTask.submit(() -> analytics.report(type), report -> {
+            showReport(report);
+            lblStatus.setText(report.getRows().size() + " filas · calculado en "
+                    + (System.nanoTime() - started) / 1_000_000 + " ms");
+        });
+    }
+
+    private void showReport(Report report) {
+        DefaultTableModel model = new DefaultTableModel(report.getColumns().toArray(), 0) {
+            @Override public boolean isCellEditable(int r, int c) { return false; }
+
+            @Override
+            public Class<?> getColumnClass(int c) {
+                // Counts sort as numbers
+                return getRowCount() > 0 && getValueAt(0, c) instanceof Long ? Long.class : Object.class;
+            }
+        };
+        for (Object[] row : report.getRows()) model.addRow(row);
+        table.setModel(model);
+    }
+}
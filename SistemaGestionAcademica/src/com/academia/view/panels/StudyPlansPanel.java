@@ -1,16 +1,26 @@
 package com.academia.view.panels;
 
 import com.academia.controller.AcademyController;
+import com.academia.event.ChangeEvent;
+import com.academia.event.ChangeType;
+import com.academia.io.CatalogueImporter;
 import com.academia.model.Group;
 import com.academia.model.StudyPlan;
+import com.academia.query.Page;
+import com.academia.query.StudyPlanQuery;
 import com.academia.view.dialogs.CloneStudyPlanDialog;
 import com.academia.view.dialogs.NewStudyPlanDialog;
+import com.academia.view.dialogs.RolloverDialog;
+import com.academia.view.utils.BackgroundTasks;
+import com.academia.view.utils.CsvImportAction;
+import com.academia.view.utils.EntityTableModel;
 import com.academia.view.utils.UIStyle;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -21,22 +31,50 @@ import java.util.List;
  *  - Cloning an existing plan via the PROTOTYPE pattern.
  *  - Viewing and deleting plans.
  *  - Inspecting the groups within a selected plan.
+ *
+ * The plans table shows one page of a plan query (see
+ * {@link AcademyController#findStudyPlans}), filtered by period, program and
+ * text and optionally sorted; "Cargar más" extends the page. Its rows are
+ * read lazily, so only those on screen are ever loaded. Without filters or
+ * sorting it follows the controller's change bus to repaint just the rows
+ * that change; otherwise a change may move rows around and the page is
+ * fetched again. The groups of the selected plan are fetched in the
+ * background; selecting another plan cancels the fetch for the previous one.
  */
 public class StudyPlansPanel extends JPanel {
 
     private final AcademyController controller = AcademyController.getInstance();
 
-    private JTable            plansTable;
-    private DefaultTableModel plansModel;
-    private JTable            groupsTable;
-    private DefaultTableModel groupsModel;
-    private JLabel            lblDetail;
+    /** Plans fetched at first, and added by each "Cargar más". */
+    private static final int PAGE_SIZE = 200;
+
+    private static final String[] SORT_NAMES = {"Orden de creación", "Nombre", "Período", "Programa", "Fecha de inicio"};
+
+    private JTable                      plansTable;
+    private EntityTableModel<StudyPlan> plansModel;
+    private JTextField                  tfPeriod;
+    private JTextField                  tfProgram;
+    private JTextField                  tfText;
+    private JComboBox<String>           cmbSort;
+    private JButton                     btnMore;
+    private JTable                      groupsTable;
+    private DefaultTableModel           groupsModel;
+    private JLabel                      lblDetail;
+    private JLabel                      lblCount;
+
+    private final BackgroundTasks.Latest detailTask = new BackgroundTasks.Latest();
+
+    // Read by the model's source off the EDT
+    private volatile PlanFilter filter = new PlanFilter(null, null, null, StudyPlanQuery.SortKey.LISTING, PAGE_SIZE);
+    private volatile boolean    morePlans;
 
     public StudyPlansPanel() {
         setLayout(new BorderLayout(12, 12));
         setBackground(UIStyle.BACKGROUND);
         setBorder(new EmptyBorder(20, 20, 20, 20));
         buildUI();
+        controller.getChangeBus().subscribe(StudyPlan.class, this::pageChanged, Runnable::run);
+        controller.getChangeBus().subscribe(StudyPlan.class, this::plansChanged, SwingUtilities::invokeLater);
         loadData();
     }
 
@@ -54,6 +92,31 @@ public class StudyPlansPanel extends JPanel {
         titleArea.add(title);
         titleArea.add(subtitle);
         header.add(titleArea, BorderLayout.WEST);
+
+        // Filters of the plan query
+        tfPeriod  = UIStyle.createTextField(7);
+        tfProgram = UIStyle.createTextField(14);
+        tfText    = UIStyle.createTextField(12);
+        tfText.setToolTipText("ID o nombre del plan");
+        cmbSort   = new JComboBox<>(SORT_NAMES);
+        cmbSort.setFont(UIStyle.BODY);
+        JButton btnFilter = UIStyle.createButton("Filtrar", UIStyle.ACCENT);
+        tfPeriod.addActionListener(e  -> applyFilter());
+        tfProgram.addActionListener(e -> applyFilter());
+        tfText.addActionListener(e    -> applyFilter());
+        cmbSort.addActionListener(e   -> applyFilter());
+        btnFilter.addActionListener(e -> applyFilter());
+        JPanel filterRow = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+        filterRow.setOpaque(false);
+        filterRow.add(UIStyle.createLabel("Período:"));
+        filterRow.add(tfPeriod);
+        filterRow.add(UIStyle.createLabel("Programa:"));
+        filterRow.add(tfProgram);
+        filterRow.add(UIStyle.createLabel("Texto:"));
+        filterRow.add(tfText);
+        filterRow.add(cmbSort);
+        filterRow.add(btnFilter);
+        header.add(filterRow, BorderLayout.SOUTH);
         add(header, BorderLayout.NORTH);
 
         // ── Split pane: plans table (top) + group detail (bottom) ─────────────
@@ -63,10 +126,15 @@ public class StudyPlansPanel extends JPanel {
         splitPane.setBorder(null);
 
         // Plans table
-        String[] planColumns = {"ID", "Nombre", "Período", "Programa", "Modalidad", "Grupos", "Créditos"};
-        plansModel = new DefaultTableModel(planColumns, 0) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        plansModel = new EntityTableModel<>(StudyPlan::getId, this::fetchPlans)
+                .column("ID",        StudyPlan::getId)
+                .column("Nombre",    StudyPlan::getName)
+                .column("Período",   StudyPlan::getPeriod)
+                .column("Programa",  StudyPlan::getProgram)
+                .column("Modalidad", StudyPlan::getModality)
+                .column("Grupos",    p -> p.getTotals().getGroupCount())
+                .column("Créditos",  p -> p.getTotals().getCredits());
+        plansModel.addTableModelListener(e -> updateCount());
         plansTable = new JTable(plansModel);
         configureTable(plansTable, UIStyle.PRIMARY);
         plansTable.getColumnModel().getColumn(0).setMaxWidth(60);
@@ -84,18 +152,39 @@ public class StudyPlansPanel extends JPanel {
         buttonPanel.setOpaque(false);
         JButton btnNew    = UIStyle.createPrimaryButton("🔨 Nuevo Plan (Builder)");
         JButton btnClone  = UIStyle.createButton("🧬 Clonar Plan (Prototype)", UIStyle.SUCCESS);
+        JButton btnRoll   = UIStyle.createButton("🔁 Trasladar Período", UIStyle.SUCCESS);
+        JButton btnImport = UIStyle.createButton("📥 Importar Grupos", UIStyle.ACCENT);
         JButton btnDelete = UIStyle.createDangerButton("✕ Eliminar");
         btnNew.addActionListener(e    -> openNewPlanDialog());
         btnClone.addActionListener(e  -> openClonePlanDialog());
+        btnRoll.addActionListener(e   -> openRolloverDialog());
+        btnImport.addActionListener(e -> CsvImportAction.run(this, "grupos",
+                new CatalogueImporter(controller)::importGroups, () -> { }));
         btnDelete.addActionListener(e -> deleteSelected());
         buttonPanel.add(btnNew);
         buttonPanel.add(btnClone);
+        buttonPanel.add(btnRoll);
+        buttonPanel.add(btnImport);
         buttonPanel.add(btnDelete);
 
+        JPanel countPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 6));
+        countPanel.setOpaque(false);
+        lblCount = UIStyle.createLabel("");
+        btnMore  = UIStyle.createButton("Cargar más", UIStyle.ACCENT);
+        btnMore.setEnabled(false);
+        btnMore.addActionListener(e -> showMore());
+        countPanel.add(lblCount);
+        countPanel.add(btnMore);
+
+        JPanel bottomRow = new JPanel(new BorderLayout());
+        bottomRow.setOpaque(false);
+        bottomRow.add(buttonPanel, BorderLayout.WEST);
+        bottomRow.add(countPanel, BorderLayout.EAST);
+
         JPanel topPanel = new JPanel(new BorderLayout(0, 8));
         topPanel.setOpaque(false);
         topPanel.add(scrollPlans, BorderLayout.CENTER);
-        topPanel.add(buttonPanel, BorderLayout.SOUTH);
+        topPanel.add(bottomRow, BorderLayout.SOUTH);
         splitPane.setTopComponent(topPanel);
 
         // ── Group detail panel ────────────────────────────────────────────────
@@ -139,12 +228,10 @@ public class StudyPlansPanel extends JPanel {
         NewStudyPlanDialog dialog = new NewStudyPlanDialog(
                 (Frame) SwingUtilities.getWindowAncestor(this));
         dialog.setVisible(true);
-        if (dialog.isPlanCreated()) loadData();
     }
 
     private void openClonePlanDialog() {
-        List<StudyPlan> plans = controller.getStudyPlans();
-        if (plans.isEmpty()) {
+        if (controller.getStudyPlans().isEmpty()) {
             JOptionPane.showMessageDialog(this,
                     "No hay planes existentes para clonar. Cree primero uno con el Builder.",
                     "Sin planes", JOptionPane.INFORMATION_MESSAGE);
@@ -153,7 +240,12 @@ public class StudyPlansPanel extends JPanel {
         CloneStudyPlanDialog dialog = new CloneStudyPlanDialog(
                 (Frame) SwingUtilities.getWindowAncestor(this));
         dialog.setVisible(true);
-        if (dialog.isPlanCloned()) loadData();
+    }
+
+    private void openRolloverDialog() {
+        RolloverDialog dialog = new RolloverDialog(
+                (Frame) SwingUtilities.getWindowAncestor(this));
+        dialog.setVisible(true);
     }
 
     private void deleteSelected() {
@@ -163,54 +255,136 @@ public class StudyPlansPanel extends JPanel {
                     "Seleccione un plan para eliminar.", "Aviso", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-        String id = (String) plansModel.getValueAt(row, 0);
+        String id = plansModel.getRow(row).getId();
         int confirm = JOptionPane.showConfirmDialog(this,
                 "¿Eliminar el plan seleccionado?", "Confirmar",
                 JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
-            controller.deleteStudyPlan(id);
-            groupsModel.setRowCount(0);
-            lblDetail.setText("Grupos del Plan");
-            loadData();
+            BackgroundTasks.execute(() -> controller.deleteStudyPlan(id), () -> { });
         }
     }
 
-    /** Populates the bottom groups table based on the currently selected plan. */
+    /**
+     * Populates the bottom groups table based on the currently selected plan.
+     * The plan and its rows are fetched in the background.
+     */
     private void showGroupDetail() {
-        groupsModel.setRowCount(0);
         int row = plansTable.getSelectedRow();
-        if (row < 0) return;
-
-        String id = (String) plansModel.getValueAt(row, 0);
-        if (id == null) return;
-        
-        StudyPlan plan = controller.getStudyPlanById(id);
-        if (plan == null) return;
+        if (row < 0) {
+            detailTask.cancel();
+            clearGroupDetail();
+            return;
+        }
+        String id = plansModel.getRow(row).getId();
+        detailTask.submit(() -> {
+            StudyPlan plan = controller.getStudyPlanById(id);
+            if (plan == null) return null;
+            List<Object[]> rows = new ArrayList<>(plan.getGroups().size());
+            for (Group g : plan.getGroups()) {
+                if (g == null) continue;
+                rows.add(new Object[]{
+                    g.getName(),
+                    g.getSubject() != null ? g.getSubject().getName() : "N/A",
+                    g.getSubject() != null ? g.getSubject().getCredits() + " cr." : "N/A",
+                    g.getTeacher() != null ? g.getTeacher().getFullName() : "N/A",
+                    g.getSchedule() != null ? g.getSchedule().toString() : "N/A",
+                    g.getMaxSlots() + " cupos"
+                });
+            }
+            return new GroupDetail(plan, rows);
+        }, this::showGroupDetail);
+    }
 
-        lblDetail.setText("Grupos del plan: " + plan.getName() + "  (" + plan.getPeriod() + ")");
+    private void showGroupDetail(GroupDetail detail) {
+        if (detail == null) {
+            clearGroupDetail();
+            return;
+        }
+        lblDetail.setText("Grupos del plan: " + detail.plan.getName() + "  (" + detail.plan.getPeriod() + ")");
         lblDetail.setForeground(UIStyle.TEXT);
+        groupsModel.setRowCount(0);
+        for (Object[] r : detail.rows) groupsModel.addRow(r);
+    }
 
-        for (Group g : plan.getGroups()) {
-            if (g == null) continue;
-            groupsModel.addRow(new Object[]{
-                g.getName(),
-                g.getSubject() != null ? g.getSubject().getName() : "N/A",
-                g.getSubject() != null ? g.getSubject().getCredits() + " cr." : "N/A",
-                g.getTeacher() != null ? g.getTeacher().getFullName() : "N/A",
-                g.getSchedule() != null ? g.getSchedule().toString() : "N/A",
-                g.getMaxSlots() + " cupos"
-            });
-        }
+    private void clearGroupDetail() {
+        groupsModel.setRowCount(0);
+        lblDetail.setText("Grupos del Plan");
+        lblDetail.setForeground(UIStyle.TEXT_MUTED);
     }
 
+    /** The rows of the groups table for one plan, built off the EDT. */
+    private record GroupDetail(StudyPlan plan, List<Object[]> rows) { }
+
+    /** Reloads every row; later changes arrive through the change bus. */
     public void loadData() {
-        plansModel.setRowCount(0);
-        for (StudyPlan p : controller.getStudyPlans()) {
-            plansModel.addRow(new Object[]{
-                p.getId(), p.getName(), p.getPeriod(),
-                p.getProgram(), p.getModality(),
-                p.getGroups().size(), p.getTotalCredits()
-            });
+        plansModel.reload();
+    }
+
+    /** Runs the query of the filters on screen from its first page. */
+    private void applyFilter() {
+        filter = new PlanFilter(blankToNull(tfPeriod.getText()), blankToNull(tfProgram.getText()),
+                blankToNull(tfText.getText()), StudyPlanQuery.SortKey.values()[cmbSort.getSelectedIndex()], PAGE_SIZE);
+        loadData();
+    }
+
+    private void showMore() {
+        PlanFilter f = filter;
+        filter = new PlanFilter(f.period(), f.program(), f.text(), f.sortKey(), f.limit() + PAGE_SIZE);
+        loadData();
+    }
+
+    /** The model's source: the current page of the plan query (called off the EDT). */
+    private List<StudyPlan> fetchPlans() {
+        Page<StudyPlan> page = controller.findStudyPlans(filter.query());
+        morePlans = page.hasMore();
+        return page.getItems();
+    }
+
+    /**
+     * Row-level updates only hold while the page is a prefix of the plan
+     * listing, where new plans can only come after the page's rows;
+     * otherwise the page is fetched again.
+     */
+    private void pageChanged(List<ChangeEvent<StudyPlan>> events) {
+        if (filter.isListing()) {
+            plansModel.changed(events);
+            SwingUtilities.invokeLater(this::updateCount);
+        } else {
+            SwingUtilities.invokeLater(this::loadData);
+        }
+    }
+
+    private void updateCount() {
+        int count = plansModel.getRowCount();
+        String shown = count == 0 ? "Sin planes" : count == 1 ? "1 plan" : count + " planes";
+        lblCount.setText(morePlans ? shown + " (hay más)" : shown);
+        btnMore.setEnabled(morePlans);
+    }
+
+    private static String blankToNull(String text) {
+        return text == null || text.isBlank() ? null : text.trim();
+    }
+
+    /** Filters, order and size of the page shown. */
+    private record PlanFilter(String period, String program, String text,
+                              StudyPlanQuery.SortKey sortKey, int limit) {
+
+        StudyPlanQuery query() {
+            return new StudyPlanQuery().period(period).program(program).text(text).sortBy(sortKey).limit(limit);
+        }
+
+        boolean isListing() {
+            return period == null && program == null && text == null && sortKey == StudyPlanQuery.SortKey.LISTING;
+        }
+    }
+
+    /** Refreshes the group detail when the selected plan changes (on the EDT). */
+    private void plansChanged(List<ChangeEvent<StudyPlan>> events) {
+        int selectedRow = plansTable.getSelectedRow();
+        if (selectedRow < 0) return;
+        String selected = plansModel.getRow(selectedRow).getId();
+        for (ChangeEvent<StudyPlan> e : events) {
+            if (e.getId().equals(selected) && e.getType() == ChangeType.UPDATED) showGroupDetail();
         }
     }
 }
\ No newline at end of file
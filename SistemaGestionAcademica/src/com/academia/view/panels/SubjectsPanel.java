@@ -1,30 +1,36 @@
 package com.academia.view.panels;
 
 import com.academia.controller.AcademyController;
+import com.academia.io.CatalogueImporter;
 import com.academia.model.Subject;
+import com.academia.view.utils.BackgroundTasks;
+import com.academia.view.utils.CsvImportAction;
+import com.academia.view.utils.EntityTableModel;
 import com.academia.view.utils.UIStyle;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel for managing academic subjects.
+ *
+ * The table follows the controller's change bus, so created, edited and
+ * deleted subjects show up row by row without reloading the catalogue.
  */
 public class SubjectsPanel extends JPanel {
 
     private final AcademyController controller = AcademyController.getInstance();
 
-    private JTable            table;
-    private DefaultTableModel tableModel;
+    private JTable                    table;
+    private EntityTableModel<Subject> tableModel;
 
     public SubjectsPanel() {
         setLayout(new BorderLayout(12, 12));
         setBackground(UIStyle.BACKGROUND);
         setBorder(new EmptyBorder(20, 20, 20, 20));
         buildUI();
+        controller.getChangeBus().subscribe(Subject.class, tableModel, Runnable::run);
         loadData();
     }
 
@@ -44,10 +50,12 @@ public class SubjectsPanel extends JPanel {
         add(header, BorderLayout.NORTH);
 
         // Table
-        String[] columns = {"ID", "Nombre", "Créditos", "Modalidad", "Descripción"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        tableModel = new EntityTableModel<>(Subject::getId, controller::getSubjects)
+                .column("ID",          Subject::getId)
+                .column("Nombre",      Subject::getName)
+                .column("Créditos",    Subject::getCredits)
+                .column("Modalidad",   Subject::getModality)
+                .column("Descripción", Subject::getDescription);
         table = new JTable(tableModel);
         table.setRowHeight(32);
         table.setFont(UIStyle.TABLE);
@@ -69,10 +77,14 @@ public class SubjectsPanel extends JPanel {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
         buttonPanel.setOpaque(false);
         JButton btnAdd    = UIStyle.createSuccessButton("+ Agregar Asignatura");
+        JButton btnImport = UIStyle.createPrimaryButton("📥 Importar CSV");
         JButton btnDelete = UIStyle.createDangerButton("✕ Eliminar");
         btnAdd.addActionListener(e    -> showAddDialog());
+        btnImport.addActionListener(e -> CsvImportAction.run(this, "asignaturas",
+                new CatalogueImporter(controller)::importSubjects, () -> { }));
         btnDelete.addActionListener(e -> deleteSelected());
         buttonPanel.add(btnAdd);
+        buttonPanel.add(btnImport);
         buttonPanel.add(btnDelete);
         add(buttonPanel, BorderLayout.SOUTH);
     }
@@ -130,14 +142,13 @@ public class SubjectsPanel extends JPanel {
                         "El nombre es obligatorio.", "Validación", JOptionPane.WARNING_MESSAGE);
                 return;
             }
-            controller.createSubject(
-                    tfName.getText().trim(),
-                    (Integer) spinCredits.getValue(),
-                    taDescription.getText().trim(),
-                    (Subject.Modality) cmbModality.getSelectedItem()
-            );
-            loadData();
-            dialog.dispose();
+            String           name        = tfName.getText().trim();
+            int              credits     = (Integer) spinCredits.getValue();
+            String           description = taDescription.getText().trim();
+            Subject.Modality modality    = (Subject.Modality) cmbModality.getSelectedItem();
+            BackgroundTasks.execute(
+                    () -> controller.createSubject(name, credits, description, modality),
+                    dialog::dispose);
         });
 
         buttonRow.add(btnCancel);
@@ -154,22 +165,17 @@ public class SubjectsPanel extends JPanel {
                     "Seleccione una asignatura.", "Aviso", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-        String id = (String) tableModel.getValueAt(row, 0);
+        String id = tableModel.getRow(row).getId();
         int confirm = JOptionPane.showConfirmDialog(this,
                 "¿Eliminar la asignatura seleccionada?", "Confirmar",
                 JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
-            controller.deleteSubject(id);
-            loadData();
+            BackgroundTasks.execute(() -> controller.deleteSubject(id), () -> { });
         }
     }
 
+    /** Reloads every row; later changes arrive through the change bus. */
     public void loadData() {
-        tableModel.setRowCount(0);
-        for (Subject s : controller.getSubjects()) {
-            tableModel.addRow(new Object[]{
-                s.getId(), s.getName(), s.getCredits(), s.getModality(), s.getDescription()
-            });
-        }
+        tableModel.reload();
     }
 }
\ No newline at end of file
@@ -1,14 +1,16 @@
 package com.academia.view.panels;
 
 import com.academia.controller.AcademyController;
+import com.academia.io.CatalogueImporter;
 import com.academia.model.Teacher;
+import com.academia.view.utils.BackgroundTasks;
+import com.academia.view.utils.CsvImportAction;
+import com.academia.view.utils.EntityTableModel;
 import com.academia.view.utils.UIStyle;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.util.List;
 
 /**
  * Panel for managing teachers.
@@ -18,14 +20,15 @@ public class TeachersPanel extends JPanel {
 
     private final AcademyController controller = AcademyController.getInstance();
 
-    private JTable             table;
-    private DefaultTableModel  tableModel;
+    private JTable                    table;
+    private EntityTableModel<Teacher> tableModel;
 
     public TeachersPanel() {
         setLayout(new BorderLayout(12, 12));
         setBackground(UIStyle.BACKGROUND);
         setBorder(new EmptyBorder(20, 20, 20, 20));
         buildUI();
+        controller.getChangeBus().subscribe(Teacher.class, tableModel, Runnable::run);
         loadData();
     }
 
@@ -45,10 +48,13 @@ public class TeachersPanel extends JPanel {
         add(header, BorderLayout.NORTH);
 
         // Table
-        String[] columns = {"ID", "Nombre", "Apellido", "Especialidad", "Email", "Teléfono"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override public boolean isCellEditable(int r, int c) { return false; }
-        };
+        tableModel = new EntityTableModel<>(Teacher::getId, controller::getTeachers)
+                .column("ID",           Teacher::getId)
+                .column("Nombre",       Teacher::getFirstName)
+                .column("Apellido",     Teacher::getLastName)
+                .column("Especialidad", Teacher::getSpeciality)
+                .column("Email",        Teacher::getEmail)
+                .column("Teléfono",     Teacher::getPhone);
         table = new JTable(tableModel);
         table.setRowHeight(32);
         table.setFont(UIStyle.TABLE);
@@ -67,10 +73,14 @@ public class TeachersPanel extends JPanel {
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
         buttonPanel.setOpaque(false);
         JButton btnAdd    = UIStyle.createSuccessButton("+ Agregar Docente");
+        JButton btnImport = UIStyle.createPrimaryButton("📥 Importar CSV");
         JButton btnDelete = UIStyle.createDangerButton("✕ Eliminar");
         btnAdd.addActionListener(e    -> showAddDialog());
+        btnImport.addActionListener(e -> CsvImportAction.run(this, "docentes",
+                new CatalogueImporter(controller)::importTeachers, () -> { }));
         btnDelete.addActionListener(e -> deleteSelected());
         buttonPanel.add(btnAdd);
+        buttonPanel.add(btnImport);
         buttonPanel.add(btnDelete);
         add(buttonPanel, BorderLayout.SOUTH);
     }
@@ -128,15 +138,13 @@ public class TeachersPanel extends JPanel {
                 return;
             }
             
-            controller.createTeacher(
-                    tfFirstName.getText().trim(),
-                    tfLastName.getText().trim(),
-                    tfSpeciality.getText().trim(),
-                    email,
-                    tfPhone.getText().trim()
-            );
-            loadData();
-            dialog.dispose();
+            String firstName  = tfFirstName.getText().trim();
+            String lastName   = tfLastName.getText().trim();
+            String speciality = tfSpeciality.getText().trim();
+            String phone      = tfPhone.getText().trim();
+            BackgroundTasks.execute(
+                    () -> controller.createTeacher(firstName, lastName, speciality, email, phone),
+                    dialog::dispose);
         });
 
         buttonRow.add(btnCancel);
@@ -154,24 +162,17 @@ public class TeachersPanel extends JPanel {
                     "Aviso", JOptionPane.INFORMATION_MESSAGE);
             return;
         }
-        String id = (String) tableModel.getValueAt(row, 0);
+        String id = tableModel.getRow(row).getId();
         int confirm = JOptionPane.showConfirmDialog(this,
                 "¿Eliminar al docente seleccionado?", "Confirmar",
                 JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
         if (confirm == JOptionPane.YES_OPTION) {
-            controller.deleteTeacher(id);
-            loadData();
+            BackgroundTasks.execute(() -> controller.deleteTeacher(id), () -> { });
         }
     }
 
+    /** Reloads every row; later changes arrive through the change bus. */
     public void loadData() {
-        tableModel.setRowCount(0);
-        List<Teacher> list = controller.getTeachers();
-        for (Teacher t : list) {
-            tableModel.addRow(new Object[]{
-                t.getId(), t.getFirstName(), t.getLastName(),
-                t.getSpeciality(), t.getEmail(), t.getPhone()
-            });
-        }
+        tableModel.reload();
     }
 }
\ No newline at end of file
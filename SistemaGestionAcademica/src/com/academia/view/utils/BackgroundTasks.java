@@ -0,0 +1,193 @@
+package com.academia.view.utils;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs controller queries and mutations off the Event Dispatch Thread and
+ * hands their results back to it.
+ *
+ * Tasks run on a small pool of daemon threads. Finished tasks are queued
+ * and delivered to the EDT in batches: one {@code invokeLater} delivers
+ * every result that is ready by the time it runs, so a burst of tasks does
+ * not flood the event queue.
+ *
+ * <p>A task can be cancelled through its {@link Handle}; its callbacks are
+ * then never called, even if it had already finished. {@link Latest} keeps
+ * only the newest of a stream of tasks, e.g. the detail of whichever row
+ * is selected right now.</p>
+ *
+ * <p>{@link #submit} and the methods of {@link Handle} and {@link Latest}
+ * must be called on the EDT; callbacks and busy listeners run on it.</p>
+ */
+public final class BackgroundTasks {
+
+    /** A submitted task. */
+    public interface Handle {
+        /** Stops the task, interrupting it if it is running; its callbacks will not be called. */
+        void cancel();
+    }
+
+    /**
+     * Runs at most one live task at a time: submitting a task cancels the
+     * one submitted before it.
+     */
+    public static final class Latest {
+        private Handle current;
+
+        public <T> void submit(Callable<T> work, Consumer<T> onSuccess) {
+            submit(work, onSuccess, BackgroundTasks::showError);
+        }
+
+        public <T> void submit(Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+            cancel();
+            current = BackgroundTasks.submit(work, onSuccess, onError);
+        }
+
+        public void cancel() {
+            if (current != null) current.cancel();
+            current = null;
+        }
+    }
+
+    private static final class Task<T> extends FutureTask<T> implements Handle {
+        private final Consumer<T>         onSuccess;
+        private final Consumer<Exception> onError;
+        private boolean                   cancelled; // EDT only
+
+        Task(Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+            super(work);
+            this.onSuccess = onSuccess;
+            this.onError   = onError;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancel(true);
+        }
+
+        @Override
+        protected void done() {
+            finished.add(this);
+            scheduleDelivery();
+        }
+
+        void complete() {
+            if (cancelled) return;
+            T result;
+            try {
+                result = get();
+            } catch (CancellationException | InterruptedException e) {
+                return;
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception exception) {
+                    onError.accept(exception);
+                    return;
+                }
+                if (cause instanceof Error error) throw error;
+                throw new IllegalStateException(cause);
+            }
+            onSuccess.accept(result);
+        }
+    }
+
+    private static final ExecutorService workers = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), workerThreads());
+
+    private static final ConcurrentLinkedQueue<Task<?>> finished          = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean                  deliveryScheduled = new AtomicBoolean();
+
+    // EDT only
+    private static int                     running;
+    private static final List<IntConsumer> busyListeners = new ArrayList<>();
+
+    private BackgroundTasks() { }
+
+    /** Runs {@code work} in the background; a failure is shown in an error dialog. */
+    public static <T> Handle submit(Callable<T> work, Consumer<T> onSuccess) {
+        return submit(work, onSuccess, BackgroundTasks::showError);
+    }
+
+    /**
+     * Runs {@code work} in the background, then {@code onSuccess} with its
+     * result, or {@code onError} with what it threw, on the EDT.
+     */
+    public static <T> Handle submit(Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        Task<T> task = new Task<>(work, onSuccess, onError);
+        busy(+1);
+        workers.execute(task);
+        return task;
+    }
+
+    /** Runs {@code work} in the background, then {@code onSuccess} on the EDT. */
+    public static Handle execute(Runnable work, Runnable onSuccess) {
+        return submit(() -> {
+            work.run();
+            return null;
+        }, ignored -> onSuccess.run());
+    }
+
+    /**
+     * Tells {@code listener} how many tasks are running whenever that
+     * number changes, and right away.
+     */
+    public static void addBusyListener(IntConsumer listener) {
+        busyListeners.add(listener);
+        listener.accept(running);
+    }
+
+    private static void deliver() {
+        deliveryScheduled.set(false);
+        Task<?> task;
+        int delivered = 0;
+        try {
+            while ((task = finished.poll()) != null) {
+                delivered++;
+                task.complete();
+            }
+        } finally {
+            busy(-delivered);
+            // A failing callback leaves the rest of the batch for another delivery
+            if (!finished.isEmpty()) scheduleDelivery();
+        }
+    }
+
+    private static void scheduleDelivery() {
+        if (deliveryScheduled.compareAndSet(false, true)) SwingUtilities.invokeLater(BackgroundTasks::deliver);
+    }
+
+    private static void busy(int change) {
+        if (change == 0) return;
+        running += change;
+        for (IntConsumer listener : busyListeners) listener.accept(running);
+    }
+
+    private static void showError(Exception e) {
+        JOptionPane.showMessageDialog(null,
+                "Error: " + e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return task -> {
+            Thread t = new Thread(task, "academia-tarea-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
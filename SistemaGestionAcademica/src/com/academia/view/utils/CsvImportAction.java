@@ -0,0 +1,71 @@
+package com.academia.view.utils;
+
+import com.academia.io.ImportReport;
+
+import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Lets the user pick a CSV file and imports it off the Event Dispatch
+ * Thread (see {@link BackgroundTasks}), then shows the {@link ImportReport}.
+ */
+public class CsvImportAction {
+
+    private static final int ERRORS_SHOWN = 20;
+
+    /** The import to run on the chosen file. */
+    public interface Task {
+        ImportReport run(Path file) throws IOException;
+    }
+
+    private CsvImportAction() { }
+
+    /**
+     * @param what      what is being imported, e.g. {@code "asignaturas"}.
+     * @param onFinish  run on the EDT once the import has finished, e.g. to reload a table.
+     */
+    public static void run(Component parent, String what, Task task, Runnable onFinish) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Importar " + what + " desde CSV");
+        chooser.setFileFilter(new FileNameExtensionFilter("Archivos CSV", "csv", "txt"));
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        BackgroundTasks.submit(() -> task.run(file), report -> {
+            parent.setCursor(Cursor.getDefaultCursor());
+            onFinish.run();
+            showReport(parent, what, report);
+        }, e -> {
+            parent.setCursor(Cursor.getDefaultCursor());
+            onFinish.run();
+            JOptionPane.showMessageDialog(parent,
+                    "No se pudo importar el archivo:\n" + e.getMessage(),
+                    "Error de importación", JOptionPane.ERROR_MESSAGE);
+        });
+    }
+
+    private static void showReport(Component parent, String what, ImportReport report) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Importación de ").append(what).append(" finalizada.\n\n");
+        sb.append("✔ Importadas:  ").append(report.getImported()).append('\n');
+        sb.append("✕ Rechazadas:  ").append(report.getRejected()).append('\n');
+        sb.append("⏱ Duración:    ").append(report.getElapsedMillis()).append(" ms\n");
+        if (!report.getErrors().isEmpty()) {
+            sb.append("\nFilas rechazadas:\n");
+            report.getErrors().stream().limit(ERRORS_SHOWN)
+                  .forEach(error -> sb.append("  • ").append(error).append('\n'));
+            if (report.getRejected() > ERRORS_SHOWN) {
+                sb.append("  … y ").append(report.getRejected() - ERRORS_SHOWN).append(" más.\n");
+            }
+        }
+        JTextArea text = new JTextArea(sb.toString(), Math.min(20, sb.toString().split("\n").length), 60);
+        text.setEditable(false);
+        text.setFont(UIStyle.SMALL);
+        JOptionPane.showMessageDialog(parent, new JScrollPane(text), "Resultado de la importación",
+                report.getRejected() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+    }
+}
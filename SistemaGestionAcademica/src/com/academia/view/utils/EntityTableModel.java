@@ -0,0 +1,216 @@
+package com.academia.view.utils;
+
+import com.academia.event.ChangeEvent;
+import com.academia.event.ChangeListener;
+import com.academia.event.ChangeType;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-only, virtual table model over a controller listing.
+ *
+ * The model keeps a reference to the immutable listing it was given (see
+ * {@code ConcurrentRepository#values()}) and reads an entity only when its
+ * row is painted, so a table of a million entities costs no more than the
+ * rows on screen. The cell values of recently painted rows are cached.
+ *
+ * <p>Change batches from the controller's change bus are applied as
+ * row-level events: the model fetches the new listing from its source and
+ * repaints only the rows that changed. The listing is never read on the
+ * Event Dispatch Thread: {@link #reload()} reads it in the background (see
+ * {@link BackgroundTasks}) and {@link #changed(List)} on the thread that
+ * delivers the batch, so subscribe the model with a direct executor. Every
+ * other method must be called on the EDT.</p>
+ *
+ * <pre>
+ *   EntityTableModel&lt;Subject&gt; model = new EntityTableModel&lt;&gt;(Subject::getId, controller::getSubjects)
+ *       .column("ID",     Subject::getId)
+ *       .column("Nombre", Subject::getName);
+ *   controller.getChangeBus().subscribe(Subject.class, model, Runnable::run);
+ * </pre>
+ *
+ * @param <T> the entity type shown.
+ */
+public class EntityTableModel<T> extends AbstractTableModel implements ChangeListener<T> {
+
+    /** Rows whose cell values are kept; comfortably more than fit on a screen. */
+    private static final int CACHED_ROWS = 512;
+
+    private static final class CachedRow {
+        final String   id;
+        final Object[] cells;
+
+        CachedRow(String id, Object[] cells) {
+            this.id    = id;
+            this.cells = cells;
+        }
+    }
+
+    private final Function<T, String>       idOf;
+    private final Supplier<List<T>>         source;
+    private final List<String>              names = new ArrayList<>();
+    private final List<Function<T, Object>> cells = new ArrayList<>();
+
+    private List<T> rows = List.of();
+    private int     version;   // bumped whenever rows are replaced, to drop stale reloads
+
+    // Recently painted rows, least recently used first; cachedRowOf maps their IDs back
+    private final Map<String, Integer>       cachedRowOf = new HashMap<>();
+    private final LinkedHashMap<Integer, CachedRow> cache =
+            new LinkedHashMap<>(CACHED_ROWS * 2, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, CachedRow> eldest) {
+                    if (size() <= CACHED_ROWS) return false;
+                    cachedRowOf.remove(eldest.getValue().id);
+                    return true;
+                }
+            };
+
+    /**
+     * @param source returns the current listing; it is called again
+     *               whenever a change batch arrives.
+     */
+    public EntityTableModel(Function<T, String> idOf, Supplier<List<T>> source) {
+        this.idOf   = idOf;
+        this.source = source;
+    }
+
+    /** Adds a column showing {@code cell} of each entity. */
+    public EntityTableModel<T> column(String name, Function<T, Object> cell) {
+        names.add(name);
+        cells.add(cell);
+        return this;
+    }
+
+    /**
+     * Re-reads the listing in the background and then repaints the whole
+     * table, unless a change batch has refreshed it in the meantime.
+     */
+    public void reload() {
+        int requested = ++version;
+        BackgroundTasks.submit(source::get, listing -> {
+            if (version == requested) reloadWith(listing);
+        });
+    }
+
+    public T getRow(int row) {
+        return rows.get(row);
+    }
+
+    /**
+     * Applies a batch of changes: reads the new listing on the calling
+     * thread, then updates the rows on the EDT. Batches are applied in the
+     * order they arrive.
+     */
+    @Override
+    public void changed(List<ChangeEvent<T>> events) {
+        List<T> listing = source.get();
+        if (SwingUtilities.isEventDispatchThread()) apply(events, listing);
+        else SwingUtilities.invokeLater(() -> apply(events, listing));
+    }
+
+    /**
+     * Updated rows are repainted only if they are cached, since any other
+     * row is read fresh when it is next painted; new entities are appended.
+     * A delete needs the row it leaves, which is known when the row was
+     * painted recently (e.g. it was selected); a batch deleting rows that
+     * are not cached repaints the whole table.
+     */
+    private void apply(List<ChangeEvent<T>> events, List<T> listing) {
+        List<T> previous = rows;
+        rows = listing;
+        version++;
+
+        List<Integer> deleted = new ArrayList<>();
+        List<Integer> updated = new ArrayList<>();
+        for (ChangeEvent<T> e : events) {
+            Integer row = cachedRowOf.get(e.getId());
+            if (e.getType() == ChangeType.DELETED) {
+                if (row == null) {
+                    reloadWith(rows);
+                    return;
+                }
+                deleted.add(row);
+            } else if (row != null) {
+                updated.add(row);
+            }
+        }
+        int kept = previous.size() - deleted.size();
+        if (rows.size() < kept) {
+            reloadWith(rows); // rows went missing that no event told us about
+            return;
+        }
+
+        if (!deleted.isEmpty()) {
+            clearCache(); // rows after a deleted one have shifted
+            deleted.sort(null);
+            for (int row : updated) {
+                // Rows from the first deleted one down are repainted anyway
+                if (row < deleted.get(0)) fireTableRowsUpdated(row, row);
+            }
+            for (int i = deleted.size() - 1; i >= 0; i--) {
+                int row = deleted.get(i);
+                fireTableRowsDeleted(row, row);
+            }
+        } else {
+            for (int row : updated) {
+                uncache(row);
+                if (row < rows.size()) fireTableRowsUpdated(row, row);
+            }
+        }
+        if (rows.size() > kept) fireTableRowsInserted(kept, rows.size() - 1);
+    }
+
+    private void reloadWith(List<T> current) {
+        rows = current;
+        clearCache();
+        fireTableDataChanged();
+    }
+
+    private void uncache(int row) {
+        CachedRow cached = cache.remove(row);
+        if (cached != null) cachedRowOf.remove(cached.id);
+    }
+
+    private void clearCache() {
+        cache.clear();
+        cachedRowOf.clear();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return names.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return names.get(column);
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        CachedRow cached = cache.get(row);
+        if (cached == null) {
+            T entity = rows.get(row);
+            Object[] values = new Object[cells.size()];
+            for (int c = 0; c < values.length; c++) values[c] = cells.get(c).apply(entity);
+            cached = new CachedRow(idOf.apply(entity), values);
+            cache.put(row, cached);
+            cachedRowOf.put(cached.id, row);
+        }
+        return cached.cells[column];
+    }
+}
@@ -0,0 +1,130 @@
+package com.academia.view.utils;
+
+import com.academia.search.TypeAheadIndex;
+
+import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Multi-selection list model that shows the items of a
+ * {@link TypeAheadIndex} matching a filter, with a selection that survives
+ * filtering.
+ *
+ * The model holds only the positions of the matching items and reads an
+ * item when its row is painted, so filtering a list of thousands costs what
+ * the index lookup costs. The chosen items are remembered by position in
+ * the index: an item chosen and then filtered out is still chosen, and is
+ * selected again when a later filter shows it.
+ *
+ * <pre>
+ *   FilteredListModel&lt;Group&gt; model = new FilteredListModel&lt;&gt;();
+ *   JList&lt;Group&gt; list = new JList&lt;&gt;();
+ *   model.attach(list);
+ *   model.setIndex(TypeAheadIndex.of(groups, Group::getName));
+ *   model.filter("base");
+ * </pre>
+ *
+ * <p>Must be used on the Event Dispatch Thread.</p>
+ *
+ * @param <T> the type of item listed.
+ */
+public class FilteredListModel<T> extends AbstractListModel<T> {
+
+    private TypeAheadIndex<T> index   = TypeAheadIndex.of(List.of(), item -> "");
+    private int[]             visible = new int[0];   // positions in the index, ascending
+    private String            query   = "";
+    private final BitSet      chosen  = new BitSet(); // by position in the index
+
+    private JList<T> list;
+    private boolean  restoring;   // while the selection is rebuilt after a filter
+
+    /** Makes this the model of {@code list} and follows its selection. */
+    public void attach(JList<T> list) {
+        this.list = list;
+        list.setModel(this);
+        list.addListSelectionListener(this::selectionChanged);
+    }
+
+    /** Lists the items of {@code index}, filtered by the current query; nothing is chosen. */
+    public void setIndex(TypeAheadIndex<T> index) {
+        this.index = index;
+        chosen.clear();
+        filter(query);
+    }
+
+    /**
+     * Lists the items of {@code index}, which holds the current index's
+     * items at the same positions followed by more (e.g. the next page of a
+     * listing); the chosen items stay chosen.
+     */
+    public void extendIndex(TypeAheadIndex<T> index) {
+        this.index = index;
+        filter(query);
+    }
+
+    /** Shows only the items matching {@code query} (see {@link TypeAheadIndex#filter}). */
+    public void filter(String query) {
+        this.query = query;
+        int before = visible.length;
+        visible = index.filter(query);
+
+        restoring = true;
+        ListSelectionModel selection = list != null ? list.getSelectionModel() : null;
+        try {
+            if (selection != null) {
+                selection.setValueIsAdjusting(true);
+                selection.clearSelection();
+            }
+            int rows = Math.max(before, visible.length);
+            if (rows > 0) fireContentsChanged(this, 0, rows - 1);
+            if (selection != null) {
+                // Usually far fewer items are chosen than shown
+                for (int p = chosen.nextSetBit(0); p >= 0; p = chosen.nextSetBit(p + 1)) {
+                    int row = Arrays.binarySearch(visible, p);
+                    if (row >= 0) selection.addSelectionInterval(row, row);
+                }
+            }
+        } finally {
+            if (selection != null) selection.setValueIsAdjusting(false);
+            restoring = false;
+        }
+    }
+
+    /** The chosen items, shown or not, in index order. */
+    public List<T> getChosen() {
+        List<T> items = new ArrayList<>(chosen.cardinality());
+        for (int p = chosen.nextSetBit(0); p >= 0; p = chosen.nextSetBit(p + 1)) items.add(index.get(p));
+        return items;
+    }
+
+    public int getChosenCount() {
+        return chosen.cardinality();
+    }
+
+    /** Number of items in the index, shown or not. */
+    public int getTotalSize() {
+        return index.size();
+    }
+
+    private void selectionChanged(ListSelectionEvent e) {
+        if (restoring || e.getFirstIndex() < 0) return;
+        int last = Math.min(e.getLastIndex(), visible.length - 1);
+        for (int row = e.getFirstIndex(); row <= last; row++) {
+            chosen.set(visible[row], list.isSelectedIndex(row));
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return visible.length;
+    }
+
+    @Override
+    public T getElementAt(int row) {
+        return index.get(visible[row]);
+    }
+}
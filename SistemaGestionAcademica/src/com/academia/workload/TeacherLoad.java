@@ -0,0 +1,73 @@
+package com.academia.workload;
+
+import com.academia.model.Schedule;
+
+/**
+ * Immutable teaching load of one teacher: the groups assigned to them, the
+ * weekly contact minutes of those groups (in total and per day), the
+ * credits of their subjects and the students enrolled in them.
+ */
+public final class TeacherLoad {
+
+    private final String teacherId;
+    private final String speciality;
+    private final int    groupCount;
+    private final int    weeklyMinutes;
+    private final int[]  minutesByDay;   // by Schedule.WeekDay ordinal
+    private final int    credits;
+    private final int    students;
+
+    TeacherLoad(String teacherId, String speciality, int groupCount, int weeklyMinutes,
+                int[] minutesByDay, int credits, int students) {
+        this.teacherId     = teacherId;
+        this.speciality    = speciality;
+        this.groupCount    = groupCount;
+        this.weeklyMinutes = weeklyMinutes;
+        this.minutesByDay  = minutesByDay;
+        this.credits       = credits;
+        this.students      = students;
+    }
+
+    /** No groups yet. */
+    static TeacherLoad idle(String teacherId, String speciality) {
+        return new TeacherLoad(teacherId, speciality, 0, 0,
+                new int[Schedule.WeekDay.values().length], 0, 0);
+    }
+
+    /** This load with one group's share added ({@code sign} 1) or taken away (-1). */
+    TeacherLoad plus(int sign, Schedule.WeekDay day, int minutes, int credits, int students) {
+        int[] byDay = minutesByDay;
+        if (day != null) {
+            byDay = minutesByDay.clone();
+            byDay[day.ordinal()] += sign * minutes;
+        }
+        return new TeacherLoad(teacherId, speciality, groupCount + sign, weeklyMinutes + sign * minutes,
+                byDay, this.credits + sign * credits, this.students + sign * students);
+    }
+
+    /** This load, filed under another speciality. */
+    TeacherLoad withSpeciality(String speciality) {
+        return new TeacherLoad(teacherId, speciality, groupCount, weeklyMinutes,
+                minutesByDay, credits, students);
+    }
+
+    public String getTeacherId()     { return teacherId; }
+    public String getSpeciality()    { return speciality; }
+    public int    getGroupCount()    { return groupCount; }
+    /** Contact minutes per week: each group meets once a week. */
+    public int    getWeeklyMinutes() { return weeklyMinutes; }
+    public int    getCredits()       { return credits; }
+    /** Seats taken in the teacher's groups. */
+    public int    getStudents()      { return students; }
+
+    /** Contact minutes on one day of the week. */
+    public int getMinutes(Schedule.WeekDay day) {
+        return minutesByDay[day.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        return teacherId + " (" + groupCount + " grupos, " + weeklyMinutes + " min/semana, "
+                + credits + " créditos, " + students + " estudiantes)";
+    }
+}
@@ -0,0 +1,169 @@
+package com.academia.workload;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+import com.academia.model.Teacher;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Teaching load of every teacher, kept up to date group by group.
+ *
+ * The index remembers what each group contributed to its teacher's load,
+ * so re-filing a group (a new teacher, schedule or seat count) takes its
+ * old share away and adds the new one instead of recounting the teacher's
+ * groups. Teachers are also ranked, per speciality, by their contact
+ * minutes on each weekday and over the whole week, so the least loaded
+ * teachers of a speciality are a logarithmic lookup:
+ *
+ * <pre>
+ *   index.leastLoaded("Bases de Datos", WeekDay.MONDAY, 3);
+ * </pre>
+ *
+ * <p>Thread-safe. Adding a group or teacher that is already indexed (by
+ * ID) replaces its previous entry, so the index can simply be told about
+ * every write.</p>
+ */
+public class WorkloadIndex {
+
+    private static final Schedule.WeekDay[] DAYS = Schedule.WeekDay.values();
+    private static final int                 WEEK = DAYS.length;   // ranking slot for the whole week
+
+    /** One group's share of its teacher's load, as filed. */
+    private static final class Share {
+        final String           teacherId;
+        final Schedule.WeekDay day;
+        final int              minutes;
+        final int              credits;
+        final int              students;
+
+        Share(Group g) {
+            Schedule sc = g.getSchedule();
+            this.teacherId = g.getTeacher().getId();
+            this.day       = sc != null ? sc.getDay() : null;
+            this.minutes   = sc != null ? sc.getDurationMinutes() : 0;
+            this.credits   = g.getSubject() != null ? g.getSubject().getCredits() : 0;
+            this.students  = g.getOccupiedSlots();
+        }
+    }
+
+    /** Rankings by minutes on each day, then by the week's minutes; the last one by the week's only. */
+    private static final List<Comparator<TeacherLoad>> RANKINGS = new ArrayList<>();
+    static {
+        Comparator<TeacherLoad> byWeek =
+                Comparator.comparingInt(TeacherLoad::getWeeklyMinutes).thenComparing(TeacherLoad::getTeacherId);
+        for (Schedule.WeekDay day : DAYS) {
+            RANKINGS.add(Comparator.comparingInt((TeacherLoad l) -> l.getMinutes(day)).thenComparing(byWeek));
+        }
+        RANKINGS.add(byWeek);
+    }
+
+    // Guarded by this
+    private final Map<String, Share>                      shares   = new HashMap<>(); // by group ID
+    private final Map<String, TeacherLoad>                loads    = new HashMap<>(); // by teacher ID
+    private final Map<String, List<TreeSet<TeacherLoad>>> rankings = new HashMap<>(); // by speciality key
+
+    // ── Indexing ─────────────────────────────────────────────────────────────
+
+    /** Files a teacher, with no load yet, or re-files them under a changed speciality. */
+    public synchronized void addTeacher(Teacher teacher) {
+        TeacherLoad current = loads.get(teacher.getId());
+        if (current == null) {
+            file(TeacherLoad.idle(teacher.getId(), teacher.getSpeciality()));
+        } else if (!specialityKey(current.getSpeciality()).equals(specialityKey(teacher.getSpeciality()))) {
+            unfile(current);
+            file(current.withSpeciality(teacher.getSpeciality()));
+        }
+    }
+
+    /** Removes a teacher, if indexed; they are expected to have no groups left. */
+    public synchronized void removeTeacher(String teacherId) {
+        TeacherLoad current = loads.get(teacherId);
+        if (current != null) unfile(current);
+    }
+
+    /** Files (or re-files) a group's share of its teacher's load. */
+    public synchronized void add(Group group) {
+        remove(group.getId());
+        if (group.getTeacher() == null || group.getTeacher().getId() == null) return;
+        Share share = new Share(group);
+        if (!loads.containsKey(share.teacherId)) addTeacher(group.getTeacher());
+        shares.put(group.getId(), share);
+        apply(share, 1);
+    }
+
+    /** Takes away the share of the group with the given ID, if indexed. */
+    public synchronized void remove(String groupId) {
+        Share previous = shares.remove(groupId);
+        if (previous != null) apply(previous, -1);
+    }
+
+    private void apply(Share share, int sign) {
+        TeacherLoad current = loads.get(share.teacherId);
+        if (current == null) return;   // the teacher was removed
+        unfile(current);
+        file(current.plus(sign, share.day, share.minutes, share.credits, share.students));
+    }
+
+    private void file(TeacherLoad load) {
+        loads.put(load.getTeacherId(), load);
+        List<TreeSet<TeacherLoad>> ranked = rankings.computeIfAbsent(specialityKey(load.getSpeciality()), k -> {
+            List<TreeSet<TeacherLoad>> sets = new ArrayList<>(RANKINGS.size());
+            for (Comparator<TeacherLoad> ranking : RANKINGS) sets.add(new TreeSet<>(ranking));
+            return sets;
+        });
+        for (TreeSet<TeacherLoad> set : ranked) set.add(load);
+    }
+
+    private void unfile(TeacherLoad load) {
+        loads.remove(load.getTeacherId());
+        String key = specialityKey(load.getSpeciality());
+        List<TreeSet<TeacherLoad>> ranked = rankings.get(key);
+        if (ranked == null) return;
+        for (TreeSet<TeacherLoad> set : ranked) set.remove(load);
+        if (ranked.get(WEEK).isEmpty()) rankings.remove(key);
+    }
+
+    // ── Queries ──────────────────────────────────────────────────────────────
+
+    /** The load of a teacher, or {@code null} if not indexed. */
+    public synchronized TeacherLoad loadOf(String teacherId) {
+        return loads.get(teacherId);
+    }
+
+    /**
+     * The teachers of a speciality with the fewest contact minutes on
+     * {@code day} (ties broken by their minutes over the week), least
+     * loaded first.
+     *
+     * @param speciality compared ignoring case and surrounding blanks.
+     * @param day        {@code null} to rank by the minutes over the week.
+     * @param limit      how many teachers to return at most.
+     */
+    public synchronized List<TeacherLoad> leastLoaded(String speciality, Schedule.WeekDay day, int limit) {
+        List<TeacherLoad> result = new ArrayList<>();
+        List<TreeSet<TeacherLoad>> ranked = rankings.get(specialityKey(speciality));
+        if (ranked == null) return result;
+        for (TeacherLoad load : ranked.get(day != null ? day.ordinal() : WEEK)) {
+            if (result.size() == limit) break;
+            result.add(load);
+        }
+        return result;
+    }
+
+    /** Number of teachers indexed. */
+    public synchronized int size() {
+        return loads.size();
+    }
+
+    /** Speciality as compared for rankings (trimmed, lower case). */
+    private static String specialityKey(String speciality) {
+        return speciality == null ? "" : speciality.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,161 @@
+package com.academia.conflict;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+import com.academia.model.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The occupancy index and the sweep of {@link ConflictReport#scan} against
+ * a brute-force comparison of every pair of groups, on random schedules
+ * that are re-filed and removed as they go, plus the boundaries of the
+ * half-open time ranges.
+ */
+class ScheduleIndexTest {
+
+    private static final String[] ROOMS = {"Aula 1", " aula 1 ", "AULA 2", "Aula 3", "Lab", "", null};
+
+    private static final List<Teacher> TEACHERS = new ArrayList<>();
+
+    static {
+        for (int t = 0; t < 6; t++) TEACHERS.add(new Teacher("D" + t, "Docente", "N" + t, "", "", ""));
+        TEACHERS.add(null);
+    }
+
+    private static Schedule randomSchedule(Random random) {
+        Schedule.WeekDay day = Schedule.WeekDay.values()[random.nextInt(2)]; // crowd two days
+        int start = 5 * random.nextInt(270);                                // 00:00 to 22:25
+        int end   = Math.min(Schedule.MINUTES_PER_DAY - 1, start + 5 * (1 + random.nextInt(60)));
+        return new Schedule(day, Schedule.formatMinutes(start), Schedule.formatMinutes(end),
+                ROOMS[random.nextInt(ROOMS.length)]);
+    }
+
+    private static Group randomGroup(String id, Random random) {
+        return new Group(id, "Grupo " + id, null, TEACHERS.get(random.nextInt(TEACHERS.size())),
+                randomSchedule(random), 30);
+    }
+
+    /** Conflicts as comparable text: kind and the other group's ID. */
+    private static Set<String> described(List<ScheduleConflict> conflicts) {
+        Set<String> out = new HashSet<>();
+        for (ScheduleConflict c : conflicts) out.add(c.getKind().name() + " " + c.getSecond().getId());
+        return out;
+    }
+
+    /** Every conflict of {@code group} with the others, by comparing it with each one. */
+    private static Set<String> bruteForce(Group group, Iterable<Group> others) {
+        Set<String> out = new HashSet<>();
+        Schedule a = group.getSchedule();
+        for (Group other : others) {
+            Schedule b = other.getSchedule();
+            if (other.getId().equals(group.getId()) || !a.overlaps(b)) continue;
+            if (group.getTeacher() != null && group.getTeacher() == other.getTeacher()) out.add("TEACHER " + other.getId());
+            String room = ScheduleIndex.normalizedClassroom(a);
+            if (room != null && room.equals(ScheduleIndex.normalizedClassroom(b))) out.add("CLASSROOM " + other.getId());
+        }
+        return out;
+    }
+
+    @Test
+    void indexAgreesWithBruteForce() {
+        Random random = new Random(42);
+        ScheduleIndex index = new ScheduleIndex();
+        Map<String, Group> filed = new LinkedHashMap<>();
+        for (int i = 0; i < 400; i++) {
+            Group g = randomGroup("G" + i, random);
+            filed.put(g.getId(), g);
+            index.add(g);
+        }
+        // Move some groups (re-filing them) and drop others
+        for (int i = 0; i < 400; i += 3) {
+            Group g = filed.get("G" + i);
+            g.setSchedule(randomSchedule(random));
+            index.add(g);
+        }
+        for (int i = 1; i < 400; i += 7) {
+            filed.remove("G" + i);
+            index.remove("G" + i);
+        }
+        assertEquals(filed.size(), index.size());
+
+        List<Group> probes = new ArrayList<>(filed.values());
+        for (int i = 0; i < 400; i++) probes.add(randomGroup("N" + i, random));
+        int checked = 0;
+        for (Group probe : probes) {
+            Set<String> expected = bruteForce(probe, filed.values());
+            assertEquals(expected, described(index.conflictsOf(probe)), probe.getId() + " " + probe.getSchedule());
+            checked += expected.size();
+        }
+        assertTrue(checked > 100, "the random schedules should clash often, clashed " + checked);
+    }
+
+    @Test
+    void scanAgreesWithBruteForce() {
+        Random random = new Random(7);
+        List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < 300; i++) groups.add(randomGroup("G" + i, random));
+
+        Set<String> expected = new HashSet<>();
+        for (Group g : groups) {
+            for (String c : bruteForce(g, groups)) {
+                String other = c.substring(c.indexOf(' ') + 1);
+                String kind  = c.substring(0, c.indexOf(' '));
+                if (g.getId().compareTo(other) < 0) expected.add(kind + " " + g.getId() + " " + other);
+            }
+        }
+        Set<String> found = new HashSet<>();
+        for (ScheduleConflict c : ConflictReport.scan(groups).getConflicts()) {
+            String a = c.getFirst().getId(), b = c.getSecond().getId();
+            String pair = a.compareTo(b) < 0 ? a + " " + b : b + " " + a;
+            assertTrue(found.add(c.getKind().name() + " " + pair), "reported twice: " + pair);
+        }
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void rangesAreHalfOpen() {
+        Teacher teacher = TEACHERS.get(0);
+        ScheduleIndex index = new ScheduleIndex();
+        Group morning = new Group("G1", "Mañana", null, teacher,
+                new Schedule(Schedule.WeekDay.MONDAY, "08:00", "10:00", "Aula 1"), 30);
+        Group allDay = new Group("G2", "Todo el día", null, null,
+                new Schedule(Schedule.WeekDay.TUESDAY, "00:00", "23:59", "Aula 1"), 30);
+        index.add(morning);
+        index.add(allDay);
+
+        // Touching ranges do not clash, on either side
+        assertTrue(index.conflictsOf(at("10:00", "12:00", teacher, "Aula 1")).isEmpty());
+        assertTrue(index.conflictsOf(at("06:00", "08:00", teacher, "Aula 1")).isEmpty());
+        // One minute of overlap does, for the teacher and the classroom alike
+        assertEquals(2, index.conflictsOf(at("09:59", "12:00", teacher, "aula 1")).size());
+        assertEquals(2, index.conflictsOf(at("06:00", "08:01", teacher, "AULA 1")).size());
+        // Contained and containing ranges
+        assertEquals(1, index.conflictsOf(at("08:30", "09:00", teacher, "Aula 9")).size());
+        assertEquals(1, index.conflictsOf(at("07:00", "11:00", null, "Aula 1")).size());
+        // A session starting long before the probe is still found
+        Group late = new Group("G4", "Noche", null, null,
+                new Schedule(Schedule.WeekDay.TUESDAY, "23:58", "23:59", "Aula 1"), 30);
+        assertEquals(1, index.conflictsOf(late).size());
+        assertTrue(index.conflictsOf(new Group("G5", "Fin", null, null,
+                new Schedule(Schedule.WeekDay.TUESDAY, "23:59", "23:59", "Aula 1"), 30)).isEmpty());
+
+        List<Group> touching = List.of(morning, at("10:00", "12:00", teacher, "Aula 1"));
+        assertTrue(ConflictReport.scan(touching).isEmpty());
+        List<Group> overlapping = List.of(morning, at("09:59", "12:00", teacher, "Aula 1"));
+        assertEquals(2, ConflictReport.scan(overlapping).getConflicts().size());
+    }
+
+    private static Group at(String start, String end, Teacher teacher, String room) {
+        return new Group("G3", "Sonda", null, teacher, new Schedule(Schedule.WeekDay.MONDAY, start, end, room), 30);
+    }
+}
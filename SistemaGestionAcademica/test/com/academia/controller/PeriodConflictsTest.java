@@ -0,0 +1,70 @@
+package com.academia.controller;
+
+import com.academia.conflict.ConflictReport;
+import com.academia.conflict.ScheduleConflict;
+import com.academia.model.*;
+import com.academia.model.Subject.Modality;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conflicts across all plans of a period, where several plans hold the
+ * same group: each group is checked once and each conflict reported once.
+ */
+class PeriodConflictsTest {
+
+    private static AcademyController controller;
+
+    @BeforeAll
+    static void inMemoryController() {
+        System.setProperty("academia.persistence", "false");
+        controller = AcademyController.getInstance();
+    }
+
+    private static StudyPlan plan(String period, Group... groups) {
+        return controller.createStudyPlan("Plan " + period, period, "Conflictos", Modality.IN_PERSON,
+                LocalDate.of(2031, 2, 1), LocalDate.of(2031, 6, 30), "", List.of(groups));
+    }
+
+    @Test
+    void groupsSharedAcrossPlansAreCheckedOnce() {
+        Teacher teacher = controller.createTeacher("Docente", "Compartido", "Conflictos", "compartido@uni.edu", "");
+        Teacher other   = controller.createTeacher("Docente", "Otro", "Conflictos", "otro@uni.edu", "");
+        // Plan-only groups: each plan is conflict-free, the clashes are between plans
+        Group shared  = new Group("PC1", "Compartido", null, teacher,
+                new Schedule(Schedule.WeekDay.MONDAY, "08:00", "10:00", "Aula conflictos 1"), 30);
+        Group sameTeacher = new Group("PC2", "Mismo docente", null, teacher,
+                new Schedule(Schedule.WeekDay.MONDAY, "09:00", "11:00", "Aula conflictos 2"), 30);
+        Group sameRoom = new Group("PC3", "Misma aula", null, other,
+                new Schedule(Schedule.WeekDay.MONDAY, "07:00", "08:30", "aula conflictos 1"), 30);
+        Group touching = new Group("PC4", "Contigua", null, other,
+                new Schedule(Schedule.WeekDay.MONDAY, "10:00", "12:00", "Aula conflictos 1"), 30);
+
+        StudyPlan first = plan("2031-C", shared, touching);
+        plan("2031-C", shared);
+        plan("2031-C", sameTeacher);
+        plan("2031-C", sameRoom);
+        plan("2031-D", sameTeacher, sameRoom);          // another period: not counted
+        controller.cloneStudyPlan(first.getId(), "Copia", "2031-C",
+                LocalDate.of(2031, 2, 1), LocalDate.of(2031, 6, 30)); // copies keep the group IDs
+
+        ConflictReport report = controller.checkPeriodConflicts("2031-C");
+
+        assertEquals(4, report.getGroupCount());
+        assertEquals(2, report.getConflicts().size(), report.getConflicts().toString());
+        for (ScheduleConflict c : report.getConflicts()) {
+            String pair = c.getFirst().getId() + c.getSecond().getId();
+            if (c.getKind() == ScheduleConflict.Kind.TEACHER) {
+                assertTrue(pair.equals("PC1PC2") || pair.equals("PC2PC1"), pair);
+            } else {
+                assertTrue(pair.equals("PC1PC3") || pair.equals("PC3PC1"), pair);
+            }
+        }
+        assertTrue(controller.checkPeriodConflicts("2031-D").isEmpty());
+    }
+}
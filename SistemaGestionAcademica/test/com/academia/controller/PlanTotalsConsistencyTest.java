@@ -0,0 +1,139 @@
+package com.academia.controller;
+
+import com.academia.model.*;
+import com.academia.model.Subject.Modality;
+import com.academia.timetable.Classroom;
+import com.academia.timetable.TimeSlot;
+import com.academia.timetable.Timetable;
+import com.academia.timetable.TimetableSolver;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plans hold the catalogue's group instances, so changing a group in place
+ * through the controller must leave the totals of those plans current.
+ */
+class PlanTotalsConsistencyTest {
+
+    private static AcademyController controller;
+
+    @BeforeAll
+    static void inMemoryController() {
+        System.setProperty("academia.persistence", "false");
+        controller = AcademyController.getInstance();
+    }
+
+    private static StudyPlan planWith(String tag, Group... groups) {
+        return controller.createStudyPlan("Plan " + tag, "2030-I", "Totales", Modality.IN_PERSON,
+                LocalDate.of(2030, 2, 1), LocalDate.of(2030, 6, 30), "", List.of(groups));
+    }
+
+    private static void assertCurrent(StudyPlan plan) {
+        assertEquals(PlanTotals.of(plan.getGroups()), plan.getTotals());
+    }
+
+    @Test
+    void totalsFollowSeatReservations() {
+        Subject subject = controller.createSubject("Totales cupos", 3, "", Modality.IN_PERSON);
+        Teacher teacher = controller.createTeacher("Docente", "Cupos", "Totales", "cupos@uni.edu", "");
+        Group   group   = controller.createGroup("Cupos", subject, teacher,
+                new Schedule(Schedule.WeekDay.MONDAY, "18:00", "20:00", "Aula totales 1"), 10);
+        StudyPlan plan = planWith("cupos", group);
+
+        assertTrue(controller.reserveSeat(group.getId()));
+        assertTrue(controller.reserveSeats(List.of(group.getId())));
+        assertCurrent(plan);
+        assertEquals(2, plan.getTotals().getOccupiedSeats());
+
+        assertTrue(controller.releaseSeat(group.getId()));
+        assertCurrent(plan);
+        assertEquals(1, plan.getTotals().getOccupiedSeats());
+    }
+
+    @Test
+    void totalsFollowAppliedTimetable() {
+        Subject subject = controller.createSubject("Totales horario", 4, "", Modality.HYBRID);
+        Teacher teacher = controller.createTeacher("Docente", "Horario", "Totales", "horario@uni.edu", "");
+        Group   group   = controller.createGroup("Horario", subject, teacher,
+                new Schedule(Schedule.WeekDay.MONDAY, "20:00", "21:00", "Aula totales 2"), 20);
+        StudyPlan plan = planWith("horario", group);
+        assertEquals(1, plan.getTotals().getGroupCount(Schedule.WeekDay.MONDAY));
+
+        Timetable timetable = controller.planTimetable(List.of(group),
+                List.of(new Classroom("Aula totales 3", 40)),
+                List.of(TimeSlot.of(Schedule.WeekDay.SATURDAY, "08:00", "10:00")),
+                new TimetableSolver().seed(1));
+        assertTrue(timetable.isComplete());
+        controller.applyTimetable(timetable);
+
+        assertCurrent(plan);
+        assertEquals(0, plan.getTotals().getGroupCount(Schedule.WeekDay.MONDAY));
+        assertEquals(1, plan.getTotals().getGroupCount(Schedule.WeekDay.SATURDAY));
+    }
+
+    @Test
+    void totalsFollowSubjectAndGroupEdits() {
+        Subject subject = controller.createSubject("Totales edición", 2, "", Modality.IN_PERSON);
+        Teacher teacher = controller.createTeacher("Docente", "Edición", "Totales", "edicion@uni.edu", "");
+        Group   group   = controller.createGroup("Edición", subject, teacher,
+                new Schedule(Schedule.WeekDay.TUESDAY, "18:00", "20:00", "Aula totales 4"), 15);
+        StudyPlan first  = planWith("edición 1", group);
+        StudyPlan second = planWith("edición 2", group);
+
+        subject.setCredits(5);
+        subject.setModality(Modality.ONLINE);
+        controller.updateSubject(subject);
+        group.setMaxSlots(25);
+        controller.updateGroup(group);
+
+        for (StudyPlan plan : List.of(first, second)) {
+            assertCurrent(plan);
+            assertEquals(5, plan.getTotals().getCredits());
+            assertEquals(25, plan.getTotals().getSeats());
+            assertEquals(1, plan.getTotals().getGroupCount(Modality.ONLINE));
+        }
+    }
+
+    @Test
+    void concurrentSeatChangesAddUpExactly() throws Exception {
+        Subject subject = controller.createSubject("Totales carrera", 3, "", Modality.IN_PERSON);
+        Teacher teacher = controller.createTeacher("Docente", "Carrera", "Totales", "carrera@uni.edu", "");
+        Group   a = controller.createGroup("Carrera A", subject, teacher,
+                new Schedule(Schedule.WeekDay.WEDNESDAY, "18:00", "19:00", "Aula totales 5"), 50);
+        Group   b = controller.createGroup("Carrera B", subject, teacher,
+                new Schedule(Schedule.WeekDay.WEDNESDAY, "19:00", "20:00", "Aula totales 6"), 50);
+        StudyPlan both   = planWith("carrera 1", a, b);
+        StudyPlan onlyA  = planWith("carrera 2", a);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            tasks.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 500; i++) {
+                    String id = (random.nextBoolean() ? a : b).getId();
+                    if (random.nextInt(3) == 0) controller.releaseSeat(id);
+                    else controller.reserveSeat(id);
+                }
+            }));
+        }
+        for (Future<?> f : tasks) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertCurrent(both);
+        assertCurrent(onlyA);
+        assertEquals(a.getOccupiedSlots() + b.getOccupiedSlots(), both.getTotals().getOccupiedSeats());
+    }
+}
@@ -0,0 +1,85 @@
+package com.academia.controller;
+
+import com.academia.model.*;
+import com.academia.persistence.FsyncPolicy;
+import com.academia.persistence.PersistenceConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Restarts a controller on its own journal: whatever was changed in place
+ * before the restart must still be shared after it, so plans keep holding
+ * the catalogue's groups and groups the catalogue's subjects and teachers.
+ */
+class RestartRoundTripTest {
+
+    @TempDir
+    Path dataDir;
+
+    private AcademyController open() {
+        return new AcademyController(new PersistenceConfig(true, dataDir, FsyncPolicy.ALWAYS, 0, 50_000, 0));
+    }
+
+    private static Group groupById(AcademyController controller, String id) {
+        return controller.getGroups().stream().filter(g -> g.getId().equals(id)).findFirst().orElseThrow();
+    }
+
+    @Test
+    void inPlaceChangesStaySharedAfterRestart() throws Exception {
+        AcademyController before = open();   // starts with the sample catalogue
+        StudyPlan plan    = before.getStudyPlans().get(0);
+        Group     group   = plan.getGroups().get(0);
+        Teacher   teacher = group.getTeacher();
+        Subject   subject = group.getSubject();
+
+        group.setName("Grupo A - Renombrado");
+        before.updateGroup(group);
+        teacher.setLastName("Ramírez Díaz");
+        before.updateTeacher(teacher);
+        subject.setCredits(subject.getCredits() + 2);
+        before.updateSubject(subject);
+        assertTrue(before.reserveSeat(group.getId()));
+        assertTrue(before.reserveSeat(group.getId()));
+        PlanTotals totals = plan.getTotals();
+        before.close();
+
+        AcademyController after = open();
+        StudyPlan restored = after.getStudyPlanById(plan.getId());
+        Group     held     = restored.getGroups().get(0);
+        assertSame(groupById(after, group.getId()), held, "the plan holds the catalogue group");
+        assertEquals("Grupo A - Renombrado", held.getName());
+        assertEquals(2, held.getOccupiedSlots());
+
+        assertSame(after.getTeacherById(teacher.getId()), held.getTeacher());
+        assertEquals("Ramírez Díaz", held.getTeacher().getLastName());
+        for (Group g : after.getGroupsByTeacher(teacher.getId())) assertSame(held.getTeacher(), g.getTeacher());
+
+        assertSame(after.getSubjectById(subject.getId()), held.getSubject());
+        assertEquals(subject.getCredits(), held.getSubject().getCredits());
+        assertEquals(totals, restored.getTotals(), "totals count the changes replayed after the plan");
+
+        // The plan is filed under the group again, so a seat taken now reaches its totals
+        assertTrue(after.reserveSeat(held.getId()));
+        assertEquals(totals.getOccupiedSeats() + 1, restored.getTotals().getOccupiedSeats());
+        after.close();
+    }
+
+    @Test
+    void restartWithoutChangesKeepsTheCatalogue() throws Exception {
+        AcademyController before = open();
+        int groups = before.getGroups().size();
+        StudyPlan plan = before.getStudyPlans().get(0);
+        before.close();
+
+        AcademyController after = open();
+        assertEquals(groups, after.getGroups().size());
+        StudyPlan restored = after.getStudyPlanById(plan.getId());
+        assertEquals(plan.getTotals(), restored.getTotals());
+        for (Group g : restored.getGroups()) assertSame(groupById(after, g.getId()), g);
+        after.close();
+    }
+}
@@ -0,0 +1,174 @@
+package com.academia.controller;
+
+import com.academia.model.*;
+import com.academia.model.Subject.Modality;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The subject/teacher → group reverse indexes: groups that are moved
+ * between subjects and teachers, or lose their teacher, leave their old
+ * index entries; and a stress test in which groups are created and moved
+ * while other threads keep trying to delete those subjects and teachers.
+ */
+class ReverseIndexConsistencyTest {
+
+    private static final int THREADS           = 6;
+    private static final int GROUPS_PER_THREAD = 30;
+    private static final int SUBJECTS          = 4;
+
+    private static AcademyController controller;
+
+    @BeforeAll
+    static void inMemoryController() {
+        System.setProperty("academia.persistence", "false");
+        controller = AcademyController.getInstance();
+    }
+
+    @Test
+    void reassignedGroupsLeaveTheirOldEntries() {
+        Subject first   = controller.createSubject("Reasignada 1", 2, "", Modality.IN_PERSON);
+        Subject second  = controller.createSubject("Reasignada 2", 2, "", Modality.IN_PERSON);
+        Teacher teacher = controller.createTeacher("Docente", "Reasignado 1", "Índices", "r1@uni.edu", "");
+        Teacher other   = controller.createTeacher("Docente", "Reasignado 2", "Índices", "r2@uni.edu", "");
+        Group g = controller.createGroup("Reasignado", first, teacher,
+                new Schedule(Schedule.WeekDay.SATURDAY, "20:00", "21:00", "Aula reasignada"), 20);
+
+        assertEquals(Set.of(g.getId()), ids(controller.getGroupsBySubject(first.getId())));
+        assertEquals(Set.of(g.getId()), ids(controller.getGroupsByTeacher(teacher.getId())));
+        assertTrue(controller.getGroupsBySubject(second.getId()).isEmpty());
+        assertThrows(IllegalStateException.class, () -> controller.deleteSubject(first.getId()));
+        assertThrows(IllegalStateException.class, () -> controller.deleteTeacher(teacher.getId()));
+
+        // Moved to another subject and teacher: the old ones are free to go
+        g.setSubject(second);
+        g.setTeacher(other);
+        controller.updateGroup(g);
+        assertTrue(controller.getGroupsBySubject(first.getId()).isEmpty());
+        assertTrue(controller.getGroupsByTeacher(teacher.getId()).isEmpty());
+        assertEquals(Set.of(g.getId()), ids(controller.getGroupsBySubject(second.getId())));
+        assertEquals(Set.of(g.getId()), ids(controller.getGroupsByTeacher(other.getId())));
+        controller.deleteSubject(first.getId());
+        controller.deleteTeacher(teacher.getId());
+        assertNull(controller.getSubjectById(first.getId()));
+        assertNull(controller.getTeacherById(teacher.getId()));
+        assertThrows(IllegalStateException.class, () -> controller.deleteSubject(second.getId()));
+        assertThrows(IllegalStateException.class, () -> controller.deleteTeacher(other.getId()));
+
+        // Left without a teacher
+        g.setTeacher(null);
+        controller.updateGroup(g);
+        assertTrue(controller.getGroupsByTeacher(other.getId()).isEmpty());
+        controller.deleteTeacher(other.getId());
+        assertNull(controller.getTeacherById(other.getId()));
+        assertEquals(Set.of(g.getId()), ids(controller.getGroupsBySubject(second.getId())));
+    }
+
+    @Test
+    void indexesMatchGroupsAndReferencedEntitiesSurviveDeletes() throws Exception {
+        List<Subject> subjects = new ArrayList<>();
+        for (int s = 0; s < SUBJECTS; s++) {
+            subjects.add(controller.createSubject("Índice " + s, 2, "", Modality.IN_PERSON));
+        }
+        List<Teacher> teachers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            teachers.add(controller.createTeacher("Docente", "Índice " + t, "Índices", "i" + t + "@uni.edu", ""));
+        }
+        // Every subject and teacher is referenced before the deleters start
+        for (int s = 0; s < SUBJECTS; s++) {
+            controller.createGroup("Base " + s, subjects.get(s), teachers.get(s % THREADS),
+                    new Schedule(Schedule.WeekDay.SATURDAY, (13 + s) + ":00", (13 + s) + ":30", "Aula índice base"), 20);
+        }
+        for (int t = SUBJECTS; t < THREADS; t++) {
+            controller.createGroup("Base " + t, subjects.get(0), teachers.get(t),
+                    new Schedule(Schedule.WeekDay.SATURDAY, (13 + t) + ":00", (13 + t) + ":30", "Aula índice base"), 20);
+        }
+
+        ExecutorService pool     = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch  start    = new CountDownLatch(1);
+        AtomicBoolean   running  = new AtomicBoolean(true);
+        AtomicInteger   deletes  = new AtomicInteger();
+        List<Future<?>> writers  = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int     thread  = t;
+            Teacher teacher = teachers.get(t);
+            writers.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < GROUPS_PER_THREAD; i++) {
+                    Schedule sc = new Schedule(Schedule.WeekDay.values()[i % 5], (7 + i / 5) + ":00",
+                            (7 + i / 5) + ":45", "Aula índice " + thread);
+                    Group g = controller.createGroup("I" + i, subjects.get(i % SUBJECTS), teacher, sc, 25);
+                    if (i % 2 == 0) {
+                        // Move it to another subject: the old index entry must go away
+                        g.setSubject(subjects.get((i + 1) % SUBJECTS));
+                        controller.updateGroup(g);
+                    }
+                }
+                return null;
+            }));
+        }
+        Future<?> deleter = pool.submit(() -> {
+            start.await();
+            while (running.get()) {
+                for (Subject s : subjects) {
+                    try {
+                        controller.deleteSubject(s.getId());
+                        deletes.incrementAndGet();
+                    } catch (IllegalStateException expected) { }
+                }
+                for (Teacher t : teachers) {
+                    try {
+                        controller.deleteTeacher(t.getId());
+                        deletes.incrementAndGet();
+                    } catch (IllegalStateException expected) { }
+                }
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> f : writers) f.get(60, TimeUnit.SECONDS);
+        running.set(false);
+        deleter.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(0, deletes.get(), "a referenced subject or teacher was deleted");
+        for (Subject s : subjects) {
+            assertSame(s, controller.getSubjectById(s.getId()));
+            assertEquals(scan(g -> g.getSubject() != null && s.getId().equals(g.getSubject().getId())),
+                         ids(controller.getGroupsBySubject(s.getId())), s.getId());
+        }
+        for (Teacher t : teachers) {
+            assertSame(t, controller.getTeacherById(t.getId()));
+            assertEquals(scan(g -> g.getTeacher() != null && t.getId().equals(g.getTeacher().getId())),
+                         ids(controller.getGroupsByTeacher(t.getId())), t.getId());
+            assertEquals(GROUPS_PER_THREAD + 1, controller.getGroupsByTeacher(t.getId()).size());
+        }
+    }
+
+    private static Set<String> scan(Predicate<Group> filter) {
+        Set<String> ids = new HashSet<>();
+        for (Group g : controller.getGroups()) if (filter.test(g)) ids.add(g.getId());
+        return ids;
+    }
+
+    private static Set<String> ids(List<Group> groups) {
+        Set<String> ids = new HashSet<>();
+        for (Group g : groups) assertTrue(ids.add(g.getId()), "group listed twice: " + g.getId());
+        return ids;
+    }
+}
@@ -0,0 +1,139 @@
+package com.academia.controller;
+
+import com.academia.model.*;
+import com.academia.model.Subject.Modality;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test of the lock-free seat counter: thousands of concurrent callers
+ * race for far fewer seats, and exactly as many reservations as there are
+ * seats may succeed — never more (overbooking) and never fewer (lost CAS
+ * retries). Each run prints its calls per second and latency percentiles.
+ *
+ * <p>Callers run on virtual threads where the JVM has them (Java 21+) and
+ * on a platform thread each otherwise; the tree itself targets Java 17.</p>
+ */
+class SeatReservationLoadTest {
+
+    private static final int CALLERS  = 2_000;
+    private static final int ATTEMPTS = 5;      // per caller
+    private static final int CAPACITY = 1_371;  // well below CALLERS * ATTEMPTS
+
+    private static AcademyController controller;
+    private static Subject subject;
+    private static Teacher teacher;
+
+    @BeforeAll
+    static void inMemoryController() {
+        System.setProperty("academia.persistence", "false");
+        controller = AcademyController.getInstance();
+        subject = controller.createSubject("Carga cupos", 3, "", Modality.IN_PERSON);
+        teacher = controller.createTeacher("Docente", "Carga", "Cupos", "carga@uni.edu", "");
+    }
+
+    private static Group groupWith(int capacity, String day) {
+        return controller.createGroup("Carga " + day, subject, teacher,
+                new Schedule(Schedule.WeekDay.valueOf(day), "06:00", "06:30", "Aula carga " + day), capacity);
+    }
+
+    /** One thread per caller: virtual if available, platform otherwise. */
+    private static ExecutorService callerThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Runs {@code attempt} ATTEMPTS times on each of CALLERS threads, all
+     * released at once, and prints the throughput and latencies.
+     *
+     * @return how many attempts succeeded.
+     */
+    private static int race(String label, Callable<Boolean> attempt) throws Exception {
+        ExecutorService pool  = callerThreads();
+        CountDownLatch  ready = new CountDownLatch(CALLERS);
+        CountDownLatch  start = new CountDownLatch(1);
+        long[] latencies = new long[CALLERS * ATTEMPTS];
+        List<Future<Integer>> tasks = new ArrayList<>(CALLERS);
+        for (int c = 0; c < CALLERS; c++) {
+            int first = c * ATTEMPTS;
+            tasks.add(pool.submit(() -> {
+                ready.countDown();
+                start.await();
+                int successes = 0;
+                for (int i = 0; i < ATTEMPTS; i++) {
+                    long began = System.nanoTime();
+                    if (attempt.call()) successes++;
+                    latencies[first + i] = System.nanoTime() - began;
+                }
+                return successes;
+            }));
+        }
+        ready.await(60, TimeUnit.SECONDS);
+        long began = System.nanoTime();
+        start.countDown();
+        int successes = 0;
+        for (Future<Integer> f : tasks) successes += f.get(120, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d calls by %d callers in %.1f ms (%,.0f calls/s), "
+                        + "p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+                label, latencies.length, CALLERS, elapsed / 1e6, latencies.length * 1e9 / elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                percentile(latencies, 0.999), latencies[latencies.length - 1] / 1e3);
+        return successes;
+    }
+
+    /** The given percentile of sorted nanosecond latencies, in microseconds. */
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e3;
+    }
+
+    @Test
+    void groupGrantsExactlyItsCapacity() throws Exception {
+        Group g = new Group("G900", "Sin controlador", null, null, null, CAPACITY);
+        assertEquals(CAPACITY, race("Group.reserveSeat", g::reserveSeat));
+        assertEquals(CAPACITY, g.getOccupiedSlots());
+        assertEquals(0, g.getAvailableSlots());
+
+        assertEquals(CAPACITY, race("Group.releaseSeat", g::releaseSeat));
+        assertEquals(0, g.getOccupiedSlots());
+    }
+
+    @Test
+    void controllerGrantsExactlyItsCapacity() throws Exception {
+        Group g = groupWith(CAPACITY, "MONDAY");
+        assertEquals(CAPACITY, race("reserveSeat", () -> controller.reserveSeat(g.getId())));
+        assertEquals(CAPACITY, g.getOccupiedSlots());
+        assertFalse(controller.reserveSeat(g.getId()));
+    }
+
+    @Test
+    void multiGroupReservationsAreAllOrNothing() throws Exception {
+        Group small = groupWith(CAPACITY, "TUESDAY");
+        Group large = groupWith(CAPACITY * 2, "WEDNESDAY");
+        List<String> both = List.of(large.getId(), small.getId());
+
+        // The smaller group limits the successes; failures must give back the larger group's seat
+        assertEquals(CAPACITY, race("reserveSeats", () -> controller.reserveSeats(both)));
+        assertEquals(CAPACITY, small.getOccupiedSlots());
+        assertEquals(CAPACITY, large.getOccupiedSlots());
+    }
+}
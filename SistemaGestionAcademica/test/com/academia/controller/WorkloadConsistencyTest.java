@@ -0,0 +1,112 @@
+package com.academia.controller;
+
+import com.academia.model.*;
+import com.academia.model.Subject.Modality;
+import com.academia.workload.TeacherLoad;
+import com.academia.workload.WorkloadIndex;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The workload index is built lazily on the first load query; groups saved
+ * while that build is scanning must still be counted, and later edits of
+ * their subjects must reach the loads too.
+ */
+class WorkloadConsistencyTest {
+
+    private static final int THREADS           = 8;
+    private static final int GROUPS_PER_THREAD = 40;
+
+    private static AcademyController controller;
+
+    @BeforeAll
+    static void inMemoryController() {
+        System.setProperty("academia.persistence", "false");
+        controller = AcademyController.getInstance();
+    }
+
+    @Test
+    void loadsMatchRecountAfterConcurrentGroupSaves() throws Exception {
+        Subject subject = controller.createSubject("Carga concurrente", 3, "", Modality.IN_PERSON);
+        List<Teacher> teachers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            teachers.add(controller.createTeacher("Docente", "Carga " + t, "Carga", "c" + t + "@uni.edu", ""));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Teacher teacher = teachers.get(t);
+            String  room    = "Aula carga " + t;
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < GROUPS_PER_THREAD; i++) {
+                    Schedule.WeekDay day  = Schedule.WeekDay.values()[i % 6];
+                    int              hour = 6 + i / 6;
+                    Schedule sc = new Schedule(day, hour + ":00", hour + ":50", room);
+                    Group g = controller.createGroup("G" + i, subject, teacher, sc, 30);
+                    if (i % 3 == 0) controller.reserveSeat(g.getId());
+                }
+                return null;
+            }));
+        }
+        // Queries race the saves, so the first one builds the index mid-way
+        tasks.add(pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < 200; i++) controller.getTeacherLoad(teachers.get(i % THREADS).getId());
+            return null;
+        }));
+        start.countDown();
+        for (Future<?> task : tasks) task.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        WorkloadIndex recount = new WorkloadIndex();
+        for (Teacher t : controller.getTeachers()) recount.addTeacher(t);
+        for (Group g : controller.getGroups())     recount.add(g);
+
+        for (Teacher t : controller.getTeachers()) {
+            assertSameLoad(recount.loadOf(t.getId()), controller.getTeacherLoad(t.getId()));
+        }
+        TeacherLoad first = controller.getTeacherLoad(teachers.get(0).getId());
+        assertEquals(GROUPS_PER_THREAD, first.getGroupCount());
+        assertEquals(GROUPS_PER_THREAD * 50, first.getWeeklyMinutes());
+        assertEquals((GROUPS_PER_THREAD + 2) / 3, first.getStudents());
+    }
+
+    @Test
+    void subjectCreditChangesReachTheLoads() {
+        Subject subject = controller.createSubject("Carga créditos", 3, "", Modality.IN_PERSON);
+        Teacher teacher = controller.createTeacher("Docente", "Créditos", "Créditos", "cr@uni.edu", "");
+        for (int i = 0; i < 2; i++) {
+            controller.createGroup("Créditos " + i, subject, teacher,
+                    new Schedule(Schedule.WeekDay.FRIDAY, (6 + i) + ":00", (6 + i) + ":50", "Aula créditos"), 20);
+        }
+        assertEquals(2 * 3, controller.getTeacherLoad(teacher.getId()).getCredits());   // builds the index
+
+        subject.setCredits(5);
+        controller.updateSubject(subject);
+        assertEquals(2 * 5, controller.getTeacherLoad(teacher.getId()).getCredits());
+    }
+
+    private static void assertSameLoad(TeacherLoad expected, TeacherLoad actual) {
+        assertNotNull(actual, expected.getTeacherId());
+        assertEquals(expected.getGroupCount(),    actual.getGroupCount(),    expected.getTeacherId());
+        assertEquals(expected.getWeeklyMinutes(), actual.getWeeklyMinutes(), expected.getTeacherId());
+        assertEquals(expected.getCredits(),       actual.getCredits(),       expected.getTeacherId());
+        assertEquals(expected.getStudents(),      actual.getStudents(),      expected.getTeacherId());
+        for (Schedule.WeekDay day : Schedule.WeekDay.values()) {
+            assertEquals(expected.getMinutes(day), actual.getMinutes(day), expected.getTeacherId());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.academia.enrollment;
+
+import com.academia.model.Group;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test of the lock-free waitlist queue: hundreds of students join,
+ * claim, decline or let their offers expire while other threads give seats
+ * up, all at once. Every seat must be accounted for afterwards, and each
+ * run prints its operations per second and latency percentiles.
+ *
+ * <p>Callers run on virtual threads where the JVM has them (Java 21+) and
+ * on a platform thread each otherwise; the tree itself targets Java 17.</p>
+ */
+class WaitlistStressTest {
+
+    private static final int  STUDENTS    = 800;
+    private static final int  RELEASERS   = 16;
+    private static final int  RELEASES    = 40;     // per releaser
+    private static final int  CAPACITY    = 400;    // all taken before the students queue
+    private static final long OFFER_MS    = 5;
+    private static final long PATIENCE_MS = 2_000;  // then a student still waiting leaves
+
+    /** One thread per caller: virtual if available, platform otherwise. */
+    private static ExecutorService callerThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /** The given percentile of sorted nanosecond latencies, in microseconds. */
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e3;
+    }
+
+    @Test
+    void everySeatIsAccountedFor() throws Exception {
+        Group group = new Group("G901", "Lista de espera", null, null, null, CAPACITY);
+        assertTrue(group.reserveSeats(CAPACITY));
+        Waitlist waitlist = new Waitlist(group.getId(), () -> group, OFFER_MS);
+
+        AtomicInteger claims   = new AtomicInteger();
+        AtomicInteger releases = new AtomicInteger();
+        AtomicInteger ops      = new AtomicInteger();
+        long[] joinLatencies   = new long[STUDENTS];
+
+        ExecutorService pool  = callerThreads();
+        CountDownLatch  start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int s = 0; s < STUDENTS; s++) {
+            int student = s;
+            tasks.add(pool.submit((Callable<Void>) () -> {
+                Random random = new Random(student);
+                String id = "E" + student;
+                start.await();
+                long began = System.nanoTime();
+                Waitlist.Entry entry = waitlist.join(id);
+                joinLatencies[student] = System.nanoTime() - began;
+                ops.incrementAndGet();
+                long giveUp = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(PATIENCE_MS);
+                while (true) {
+                    Waitlist.State state = entry.getState();
+                    if (state == Waitlist.State.OFFERED) {
+                        int choice = random.nextInt(10);
+                        if (choice < 7) {
+                            if (waitlist.claim(id)) claims.incrementAndGet();
+                        } else if (choice < 8) {
+                            waitlist.leave(id);
+                        } // otherwise let the offer expire
+                        ops.incrementAndGet();
+                        if (choice < 8) return null;
+                    } else if (state != Waitlist.State.WAITING) {
+                        return null;
+                    } else if (System.nanoTime() - giveUp > 0) {
+                        waitlist.leave(id);
+                        ops.incrementAndGet();
+                        return null;
+                    }
+                    waitlist.expireOffers();
+                    Thread.sleep(1);
+                }
+            }));
+        }
+        for (int r = 0; r < RELEASERS; r++) {
+            tasks.add(pool.submit((Callable<Void>) () -> {
+                start.await();
+                for (int i = 0; i < RELEASES; i++) {
+                    if (waitlist.release()) releases.incrementAndGet();
+                    ops.incrementAndGet();
+                    Thread.sleep(2);
+                }
+                return null;
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : tasks) f.get(120, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - began;
+        pool.shutdown();
+
+        // Nobody is left waiting, so the remaining offers expire into free seats
+        Thread.sleep(2 * OFFER_MS);
+        waitlist.expireOffers();
+
+        Arrays.sort(joinLatencies);
+        System.out.printf("Waitlist: %d operations by %d students and %d releasers in %.1f ms (%,.0f ops/s), "
+                        + "join p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                ops.get(), STUDENTS, RELEASERS, elapsed / 1e6, ops.get() * 1e9 / elapsed,
+                percentile(joinLatencies, 0.50), percentile(joinLatencies, 0.99),
+                joinLatencies[joinLatencies.length - 1] / 1e3);
+
+        Waitlist.Metrics metrics = waitlist.metrics();
+        assertEquals(0, waitlist.getWaitingCount());
+        assertEquals(0, waitlist.getOfferedCount());
+        assertEquals(0, group.getHeldSlots());
+        assertEquals(CAPACITY - releases.get() + claims.get(), group.getOccupiedSlots());
+        assertEquals(claims.get(), metrics.getClaimed());
+        assertTrue(metrics.getPromoted() >= metrics.getClaimed() + metrics.getExpired());
+    }
+
+    @Test
+    void expiryGoesThroughTheOwnersAction() throws Exception {
+        Group group = new Group("G902", "Barrido", null, null, null, 1);
+        assertTrue(group.reserveSeat());
+        AtomicInteger moved = new AtomicInteger();
+        CountDownLatch swept = new CountDownLatch(1);
+        Waitlists waitlists = new Waitlists(id -> group, 50, waitlist -> {
+            if (waitlist.expireOffers()) {
+                moved.incrementAndGet();
+                swept.countDown();
+            }
+        });
+
+        Waitlist waitlist = waitlists.getOrCreate(group.getId());
+        Waitlist.Entry entry = waitlist.join("E1");
+        assertTrue(waitlist.release());
+        assertEquals(Waitlist.State.OFFERED, entry.getState());
+
+        // Nobody touches the waitlist: the sweeper must expire the offer through the action
+        assertTrue(swept.await(5, TimeUnit.SECONDS));
+        assertEquals(1, moved.get());
+        assertEquals(Waitlist.State.EXPIRED, entry.getState());
+        assertEquals(0, group.getOccupiedSlots());
+        assertEquals(0, group.getHeldSlots());
+    }
+}
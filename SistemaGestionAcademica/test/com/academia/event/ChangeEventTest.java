@@ -0,0 +1,54 @@
+package com.academia.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.academia.event.ChangeType.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Coalescing of changes to one entity within a batch window. */
+class ChangeEventTest {
+
+    private static ChangeEvent<String> event(ChangeType type, String entity) {
+        return new ChangeEvent<>(type, "X1", type == DELETED ? null : entity);
+    }
+
+    private static void assertFolds(ChangeType first, ChangeType then, ChangeType expected) {
+        ChangeEvent<String> merged = event(first, "a").then(event(then, "b"));
+        assertEquals(expected, merged.getType(), first + " then " + then);
+        assertEquals("X1", merged.getId());
+        assertEquals(expected == DELETED ? null : "b", merged.getEntity());
+    }
+
+    @Test
+    void netEffectOfTwoChanges() {
+        assertFolds(CREATED, CREATED, CREATED);
+        assertFolds(CREATED, UPDATED, CREATED);
+        assertFolds(CREATED, DELETED, DELETED);
+        assertFolds(UPDATED, CREATED, UPDATED);
+        assertFolds(UPDATED, UPDATED, UPDATED);
+        assertFolds(UPDATED, DELETED, DELETED);
+        assertFolds(DELETED, CREATED, UPDATED);
+        assertFolds(DELETED, UPDATED, UPDATED);
+        assertFolds(DELETED, DELETED, DELETED);
+    }
+
+    @Test
+    void createdAndDeletedInOneWindowIsDeliveredAsADelete() {
+        ChangeBus bus = new ChangeBus(60_000);   // only the explicit flush delivers
+        List<ChangeEvent<String>> received = new ArrayList<>();
+        bus.subscribe(String.class, received::addAll, Runnable::run);
+
+        bus.created(String.class, "X1", "a");
+        bus.deleted(String.class, "X1");
+        bus.created(String.class, "X2", "b");
+        bus.flush();
+
+        assertEquals(2, received.size());
+        assertEquals(DELETED, received.get(0).getType());
+        assertEquals("X1", received.get(0).getId());
+        assertEquals(CREATED, received.get(1).getType());
+    }
+}
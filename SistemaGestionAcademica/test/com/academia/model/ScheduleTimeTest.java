@@ -0,0 +1,68 @@
+package com.academia.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The hand-written time parser and the precomputed time texts of
+ * {@link Schedule}, checked against {@link LocalTime} for every minute of
+ * the day and every two-digit hour and minute.
+ */
+class ScheduleTimeTest {
+
+    private static final DateTimeFormatter H_MM =
+            DateTimeFormatter.ofPattern("H:mm").withResolverStyle(ResolverStyle.STRICT);
+
+    /** What {@link Schedule#toMinutes} should return, by way of {@link LocalTime}. */
+    private static int expectedMinutes(String time) {
+        try {
+            LocalTime parsed = LocalTime.parse(time, H_MM);
+            return parsed.getHour() * 60 + parsed.getMinute();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    @Test
+    void everyMinuteOfTheDayRoundTrips() {
+        for (int m = 0; m < Schedule.MINUTES_PER_DAY; m++) {
+            String text = LocalTime.of(m / 60, m % 60).toString();   // HH:mm
+            assertEquals(text, Schedule.formatMinutes(m));
+            assertEquals(m, Schedule.toMinutes(text), text);
+            if (m < 600) assertEquals(m, Schedule.toMinutes(text.substring(1)), text.substring(1));
+
+            Schedule schedule = new Schedule(Schedule.WeekDay.MONDAY, text, text, null);
+            assertEquals(m, schedule.getStartMinute());
+            assertEquals(text, schedule.getStartTime());
+            assertEquals(text, schedule.getEndTime());
+        }
+    }
+
+    @Test
+    void everyTwoDigitHourAndMinuteParsesLikeLocalTime() {
+        for (int h = 0; h < 100; h++) {
+            for (int m = 0; m < 100; m++) {
+                String text = String.format("%02d:%02d", h, m);
+                assertEquals(expectedMinutes(text), Schedule.toMinutes(text), text);
+            }
+        }
+    }
+
+    @Test
+    void malformedTimesAreRejected() {
+        String[] malformed = {null, "", "7", "7:0", "07:0", "007:00", "24:00", "7:60", "07:5a",
+                "0700", "07-00", "07:00 ", " 7:00", "-1:00", "+7:00", "٠٧:٠٠", "07：00"};
+        for (String text : malformed) {
+            assertEquals(-1, Schedule.toMinutes(text), String.valueOf(text));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new Schedule(Schedule.WeekDay.MONDAY, "24:00", "25:00", null));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.formatMinutes(-1));
+        assertThrows(IllegalArgumentException.class, () -> Schedule.formatMinutes(Schedule.MINUTES_PER_DAY));
+    }
+}
@@ -0,0 +1,106 @@
+package com.academia.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Copy-on-write of the groups a derived plan shares with its parent: once
+ * detached, a shared group can change in place without the derived plan
+ * seeing it, while the parent keeps following it. Like any clone, a derived
+ * plan starts with no seats taken.
+ */
+class StudyPlanDeriveTest {
+
+    private static Group group(String id, int seats) {
+        Group g = new Group(id, "Grupo " + id, new Subject("A" + id, "Materia", 4, "", Subject.Modality.ONLINE),
+                null, new Schedule(Schedule.WeekDay.MONDAY, "08:00", "10:00", "Aula"), 30);
+        if (seats > 0) assertTrue(g.reserveSeats(seats));
+        return g;
+    }
+
+    private static StudyPlan plan(Group... groups) {
+        return new StudyPlan("P100", "Plan", "2030-I", "Programa", Subject.Modality.ONLINE,
+                LocalDate.of(2030, 2, 1), LocalDate.of(2030, 6, 30), "", new ArrayList<>(List.of(groups)));
+    }
+
+    @Test
+    void derivedPlansStartWithNoSeatsTaken() {
+        Group a = group("G1", 5), b = group("G2", 0), c = group("G3", 0);
+        assertTrue(a.holdSeat());
+        StudyPlan parent  = plan(a, b, c);
+        StudyPlan derived = parent.derive();
+
+        Group empty = derived.getGroups().get(0);
+        assertNotSame(a, empty);
+        assertEquals(0, empty.getOccupiedSlots());
+        assertEquals(0, empty.getHeldSlots());
+        assertSame(a.getSubject(), empty.getSubject());
+        assertSame(b, derived.getGroups().get(1), "groups with no seats taken stay shared");
+        assertNotNull(derived.getParent());
+
+        assertEquals(0, derived.getTotals().getOccupiedSeats());
+        assertEquals(PlanTotals.of(derived.getGroups()), derived.getTotals());
+        assertEquals(6, parent.getTotals().getOccupiedSeats());
+        assertEquals(6, a.getOccupiedSlots());
+    }
+
+    @Test
+    void detachedGroupsStopFollowingTheSharedInstance() {
+        Group a = group("G1", 0), b = group("G2", 0);
+        StudyPlan parent  = plan(a, b);
+        StudyPlan derived = parent.derive();
+        assertSame(a, derived.getGroups().get(0));
+
+        assertTrue(derived.detach(a));
+        assertFalse(derived.detach(a), "already has its own copy");
+        Group copy = derived.getGroups().get(0);
+        assertNotSame(a, copy);
+        assertEquals(PlanTotals.of(derived.getGroups()), derived.getTotals());
+
+        // The write the detach was made for
+        assertTrue(a.reserveSeats(3));
+        parent.recount();
+        derived.recount();
+        assertEquals(0, derived.getTotals().getOccupiedSeats());
+        assertEquals(3, parent.getTotals().getOccupiedSeats());
+        assertSame(a, parent.getGroups().get(0));
+        assertSame(b, derived.getGroups().get(1), "other groups stay shared");
+    }
+
+    @Test
+    void ownGroupsAndStandalonePlansAreNotDetached() {
+        Group a = group("G1", 0), c = group("G3", 2);
+        StudyPlan parent = plan(a);
+        assertFalse(parent.detach(a), "a standalone plan holds its groups directly");
+
+        StudyPlan derived = parent.derive();
+        derived.addGroup(c);
+        assertFalse(derived.detach(c), "added to the overlay, not inherited");
+        assertSame(c, derived.getGroups().get(1));
+    }
+
+    @Test
+    void detachedPlanCopiesOnlyInheritedGroups() {
+        Group a = group("G1", 0), b = group("G2", 0), c = group("G3", 4);
+        StudyPlan parent  = plan(a, b);
+        StudyPlan derived = parent.derive();
+        derived.setId("P101");
+        derived.addGroup(c);
+
+        StudyPlan standalone = derived.detached();
+        assertNull(standalone.getParent());
+        assertEquals("P101", standalone.getId());
+        assertEquals(3, standalone.getGroups().size());
+        assertNotSame(a, standalone.getGroups().get(0));
+        assertNotSame(b, standalone.getGroups().get(1));
+        assertSame(c, standalone.getGroups().get(2));
+        assertEquals(4, standalone.getGroups().get(2).getOccupiedSlots(), "own groups keep their seats");
+        assertEquals(derived.getTotals(), standalone.getTotals());
+        assertSame(parent, parent.detached());
+    }
+}
@@ -0,0 +1,93 @@
+package com.academia.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Heap footprint of the value pool: shared clones must take less heap than
+ * deep ones, and edits to catalogue entities must not pile up in the pool
+ * once no clone holds their old values. Each test prints what it measured.
+ */
+class ValuePoolTest {
+
+    private static final int GROUPS = 2_000;
+    private static final int CLONES = 20;
+    private static final int EDITS  = 20_000;
+
+    /** Used heap after a few full collections, in bytes. */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    /** A plan whose groups all have their own subject, teacher and schedule. */
+    private static StudyPlan catalogue() {
+        List<Group> groups = new ArrayList<>(GROUPS);
+        for (int i = 0; i < GROUPS; i++) {
+            Subject  subject  = new Subject("A" + i, "Materia " + i, 3, "Descripción " + i, Subject.Modality.IN_PERSON);
+            Teacher  teacher  = new Teacher("D" + i, "Nombre " + i, "Apellido " + i, "Área", "d" + i + "@uni.edu", "");
+            Schedule schedule = new Schedule(Schedule.WeekDay.values()[i % 6], "08:00", "10:00", "Aula " + i);
+            groups.add(new Group("G" + i, "Grupo " + i, subject, teacher, schedule, 30));
+        }
+        return new StudyPlan("P1", "Plan", "2030-I", "Programa", Subject.Modality.IN_PERSON,
+                LocalDate.of(2030, 2, 1), LocalDate.of(2030, 6, 30), "", groups);
+    }
+
+    @Test
+    void sharedClonesTakeLessHeapThanDeepOnes() {
+        StudyPlan source = catalogue();
+        ValuePool pool = new ValuePool();
+
+        long before = usedHeap();
+        List<StudyPlan> deep = new ArrayList<>(CLONES);
+        for (int i = 0; i < CLONES; i++) deep.add(source.clone());
+        long deepBytes = usedHeap() - before;
+        deep.clear();
+
+        before = usedHeap();
+        List<StudyPlan> shared = new ArrayList<>(CLONES);
+        for (int i = 0; i < CLONES; i++) shared.add(source.cloneShared(pool));
+        long sharedBytes = usedHeap() - before;
+
+        System.out.printf("ValuePool: %d clones of %,d groups take %,d KB deep and %,d KB shared (%d pooled values)%n",
+                CLONES, GROUPS, deepBytes / 1024, sharedBytes / 1024, pool.size());
+        assertEquals(3 * GROUPS, pool.size());
+        assertTrue(sharedBytes < deepBytes, "shared " + sharedBytes + " B, deep " + deepBytes + " B");
+        assertSame(shared.get(0).getGroups().get(0).getTeacher(), shared.get(CLONES - 1).getGroups().get(0).getTeacher());
+    }
+
+    @Test
+    void editedValuesLeaveThePoolOnceNoCloneHoldsThem() throws Exception {
+        ValuePool pool = new ValuePool();
+        Subject subject = new Subject("A1", "Materia", 3, "", Subject.Modality.IN_PERSON);
+        Subject kept = pool.subject(subject);   // a clone still holds the first version
+
+        long before = usedHeap();
+        for (int i = 0; i < EDITS; i++) {
+            subject.setName("Materia v" + i);
+            pool.subject(subject);              // the clone of this version is dropped at once
+        }
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (pool.size() > 2 && System.nanoTime() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        long after = usedHeap();
+
+        System.out.printf("ValuePool: %,d edits leave %d pooled value(s) and %,d KB more heap%n",
+                EDITS, pool.size(), Math.max(0, after - before) / 1024);
+        assertTrue(pool.size() <= 2, pool.size() + " values pooled");
+        subject.setName("Materia");
+        assertSame(kept, pool.subject(subject));
+    }
+}
@@ -0,0 +1,194 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.academia.persistence.ModelAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Encodes and decodes every entity with {@link ModelWriter}/{@link ModelReader}
+ * (the journal record format) and with the plan stream, including null
+ * fields and non-ASCII text.
+ */
+class CodecRoundTripTest {
+
+    /** Writes every nested entity inline, as a journal record for a new catalogue would. */
+    private static final ModelWriter.References INLINE = new ModelWriter.References() {
+        @Override public boolean isKnown(Object entity) { return false; }
+        @Override public void writeReference(Object entity, BinaryEncoder out) { throw new AssertionError(); }
+    };
+
+    private static final ModelReader.References NO_REFERENCES = new ModelReader.References() {
+        @Override
+        public <T> T readReference(Class<T> type, BinaryDecoder in) {
+            throw new AssertionError("no references were written");
+        }
+    };
+
+    private interface Write { void to(ModelWriter w) throws IOException; }
+    private interface Read<T> { T from(ModelReader r) throws IOException; }
+
+    private static <T> T roundTrip(Write write, Read<T> read) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryEncoder out = new BinaryEncoder(bytes, 16); // small buffer: values straddle flushes
+        write.to(new ModelWriter(out, INLINE));
+        out.flush();
+        BinaryDecoder in = new BinaryDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+        T value = read.from(new ModelReader(in, NO_REFERENCES));
+        assertTrue(in.atEnd(), "bytes left over");
+        return value;
+    }
+
+    @Test
+    void subjectsRoundTrip() throws IOException {
+        for (Subject s : List.of(SUBJECT, SUBJECT_WITH_NULLS)) {
+            assertSubject(s, roundTrip(w -> w.writeSubject(s), ModelReader::readSubject));
+        }
+    }
+
+    @Test
+    void teachersRoundTrip() throws IOException {
+        for (Teacher t : List.of(TEACHER, TEACHER_WITH_NULLS)) {
+            assertTeacher(t, roundTrip(w -> w.writeTeacher(t), ModelReader::readTeacher));
+        }
+    }
+
+    @Test
+    void schedulesRoundTrip() throws IOException {
+        for (Schedule sc : List.of(SCHEDULE, SCHEDULE_WITH_NULLS)) {
+            assertSchedule(sc, roundTrip(w -> w.writeSchedule(sc), ModelReader::readSchedule));
+        }
+    }
+
+    @Test
+    void groupsRoundTrip() throws IOException {
+        for (Group g : List.of(group(), groupWithNulls())) {
+            assertGroup(g, roundTrip(w -> w.writeGroup(g), ModelReader::readGroup));
+        }
+    }
+
+    @Test
+    void plansRoundTrip() throws IOException {
+        for (StudyPlan p : List.of(plan(), planWithNulls())) {
+            assertPlan(p, roundTrip(w -> w.writeStudyPlan(p), ModelReader::readStudyPlan));
+        }
+    }
+
+    @Test
+    void primitivesRoundTrip() throws IOException {
+        int[]       ints    = {0, 1, -1, 63, -64, 64, 127, 128, 300, -300, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        long[]      longs   = {0, 1, 127, 128, 16_383, 16_384, Long.MAX_VALUE, -1};
+        String[]    ids     = {"P001", "G042", "A000", "D1234", "Z9999999999", null, "", "P0001",
+                               "G0", "g12", "1234", "Á001", "X-01", "plan-7"};
+        LocalDate[] dates   = {null, LocalDate.of(1970, 1, 1), LocalDate.of(1969, 12, 31),
+                               LocalDate.of(1900, 2, 28), LocalDate.of(2999, 12, 31)};
+        String[]    strings = {null, "", "a", "ñandú", "日本語", "emoji 🎓", "a", "ñandú", null};
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryEncoder out = new BinaryEncoder(bytes, 8);
+        for (int v : ints)          out.writeInt(v);
+        for (long v : longs)        out.writeVarLong(v);
+        for (String v : ids)        out.writeId(v);
+        for (LocalDate v : dates)   out.writeDate(v);
+        for (String v : strings)    out.writeString(v);
+        for (Schedule.WeekDay d : Schedule.WeekDay.values()) out.writeEnum(d);
+        out.writeEnum(null);
+        out.writeBoolean(true);
+        out.writeBoolean(false);
+        out.flush();
+
+        BinaryDecoder in = new BinaryDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int v : ints)          assertEquals(v, in.readInt());
+        for (long v : longs)        assertEquals(v, in.readVarLong());
+        for (String v : ids)        assertEquals(v, in.readId());
+        for (LocalDate v : dates)   assertEquals(v, in.readDate());
+        for (String v : strings)    assertEquals(v, in.readString());
+        for (Schedule.WeekDay d : Schedule.WeekDay.values()) assertEquals(d, in.readEnum(Schedule.WeekDay.values()));
+        assertNull(in.readEnum(Schedule.WeekDay.values()));
+        assertTrue(in.readBoolean());
+        assertFalse(in.readBoolean());
+        assertTrue(in.atEnd());
+        assertThrows(EOFException.class, in::readByte);
+    }
+
+    @Test
+    void canonicalIdsArePacked() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryEncoder out = new BinaryEncoder(bytes);
+        out.writeId("G042");
+        out.flush();
+        assertTrue(bytes.size() <= 2, bytes.size() + " bytes");
+    }
+
+    @Test
+    void planStreamsKeepSharedInstancesShared() throws IOException {
+        Group shared = group();
+        assertTrue(shared.releaseSeats(5));   // 7 seats taken
+        StudyPlan first  = plan(shared);
+        StudyPlan second = plan(shared, groupWithNulls());
+        StudyPlan empty  = planWithNulls();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (StudyPlanStreamWriter writer = new StudyPlanStreamWriter(bytes)) {
+            writer.write(first);
+            writer.write(second);
+            writer.write(empty);
+        }
+        List<StudyPlan> read;
+        try (StudyPlanStreamReader reader = new StudyPlanStreamReader(new ByteArrayInputStream(bytes.toByteArray()))) {
+            read = reader.readAll();
+            assertNull(reader.read());
+        }
+
+        assertEquals(3, read.size());
+        assertPlan(first, read.get(0));
+        assertPlan(second, read.get(1));
+        assertPlan(empty, read.get(2));
+        assertSame(read.get(0).getGroups().get(0), read.get(1).getGroups().get(0));
+        assertEquals(7, read.get(1).getGroups().get(0).getOccupiedSlots());
+    }
+
+    @Test
+    void heldSeatsAreNotPersisted() throws IOException {
+        Group g = group();
+        assertTrue(g.reserveSeats(3));
+        assertTrue(g.holdSeat());
+        Group read = roundTrip(w -> w.writeGroup(g), ModelReader::readGroup);
+        assertEquals(12 + 3, read.getOccupiedSlots());
+        assertEquals(0, read.getHeldSlots());
+    }
+
+    @Test
+    void foreignStreamsAreRejected() {
+        byte[] garbage = {1, 2, 3, 4, 5};
+        assertThrows(IOException.class, () -> new StudyPlanStreamReader(new ByteArrayInputStream(garbage)));
+    }
+
+    @Test
+    void corruptValuesAreRejected() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryEncoder out = new BinaryEncoder(bytes);
+        out.writeVarLong(Subject.Modality.values().length + 1L);  // one past the last ordinal
+        out.writeVarLong(1L << 40);                               // ordinal beyond int
+        out.writeVarLong(-1L);                                    // negative once decoded
+        out.writeVarLong(7);                                      // dictionary entry never written
+        out.writeVarLong(1);
+        out.writeVarLong(-5L);                                    // negative text length
+        out.flush();
+
+        BinaryDecoder in = new BinaryDecoder(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThrows(IOException.class, () -> in.readEnum(Subject.Modality.values()));
+        assertThrows(IOException.class, () -> in.readEnum(Subject.Modality.values()));
+        assertThrows(IOException.class, () -> in.readEnum(Subject.Modality.values()));
+        assertThrows(IOException.class, in::readString);
+        assertThrows(IOException.class, in::readString);
+    }
+}
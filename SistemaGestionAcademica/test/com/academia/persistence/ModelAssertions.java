@@ -0,0 +1,109 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+import com.academia.model.Subject.Modality;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sample entities for the persistence tests — every field set, with
+ * non-ASCII text, and every nullable field left null — and field-by-field
+ * comparisons, since the model classes use identity equality.
+ */
+final class ModelAssertions {
+
+    static final Subject SUBJECT = new Subject("A007", "Programación Orientada a Objetos — ñandú",
+            6, "Diseño de clases, patrones y 日本語 🎓", Modality.HYBRID);
+    static final Subject SUBJECT_WITH_NULLS = new Subject("A008", "Sin descripción", 0, null, null);
+
+    static final Teacher TEACHER = new Teacher("D012", "José Andrés", "Núñez Ibáñez",
+            "Ingeniería de Software", "jose.nunez@universidad.edu.co", "+57 (601) 555-0199");
+    static final Teacher TEACHER_WITH_NULLS = new Teacher("D013", "Çelik", "Østergård", null, null, null);
+
+    static final Schedule SCHEDULE = new Schedule(Schedule.WeekDay.WEDNESDAY, "07:00", "09:30", "Aula 305 – Bloque Ñ");
+    static final Schedule SCHEDULE_WITH_NULLS = new Schedule(null, "0:00", "23:59", null);
+
+    private ModelAssertions() { }
+
+    static Group group() {
+        Group g = new Group("G042", "Grupo Única", SUBJECT, TEACHER, SCHEDULE, 35);
+        assertTrue(g.reserveSeats(12));
+        return g;
+    }
+
+    static Group groupWithNulls() {
+        return new Group("grupo-ñ", null, null, null, null, 0);
+    }
+
+    static StudyPlan plan(Group... groups) {
+        List<Group> members = groups.length > 0 ? List.of(groups) : List.of(group(), groupWithNulls());
+        return new StudyPlan("P001", "Ingeniería de Sistemas — Nocturno", "2025-I", "Ingeniería",
+                Modality.IN_PERSON, LocalDate.of(2025, 2, 3), LocalDate.of(2025, 6, 28),
+                "Énfasis en análisis y diseño", new ArrayList<>(members));
+    }
+
+    static StudyPlan planWithNulls() {
+        return new StudyPlan("P002", "Plan vacío", null, null, null, null, null, null, new ArrayList<>());
+    }
+
+    static void assertSubject(Subject expected, Subject actual) {
+        if (expected == null) { assertNull(actual); return; }
+        assertNotNull(actual);
+        assertEquals(expected.getId(),          actual.getId());
+        assertEquals(expected.getName(),        actual.getName());
+        assertEquals(expected.getCredits(),     actual.getCredits());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getModality(),    actual.getModality());
+    }
+
+    static void assertTeacher(Teacher expected, Teacher actual) {
+        if (expected == null) { assertNull(actual); return; }
+        assertNotNull(actual);
+        assertEquals(expected.getId(),         actual.getId());
+        assertEquals(expected.getFirstName(),  actual.getFirstName());
+        assertEquals(expected.getLastName(),   actual.getLastName());
+        assertEquals(expected.getSpeciality(), actual.getSpeciality());
+        assertEquals(expected.getEmail(),      actual.getEmail());
+        assertEquals(expected.getPhone(),      actual.getPhone());
+    }
+
+    static void assertSchedule(Schedule expected, Schedule actual) {
+        if (expected == null) { assertNull(actual); return; }
+        assertNotNull(actual);
+        assertEquals(expected.getDay(),       actual.getDay());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getEndTime(),   actual.getEndTime());
+        assertEquals(expected.getClassroom(), actual.getClassroom());
+    }
+
+    static void assertGroup(Group expected, Group actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(),             actual.getId());
+        assertEquals(expected.getName(),           actual.getName());
+        assertEquals(expected.getMaxSlots(),       actual.getMaxSlots());
+        assertEquals(expected.getConfirmedSlots(), actual.getOccupiedSlots());
+        assertSubject(expected.getSubject(),   actual.getSubject());
+        assertTeacher(expected.getTeacher(),   actual.getTeacher());
+        assertSchedule(expected.getSchedule(), actual.getSchedule());
+    }
+
+    static void assertPlan(StudyPlan expected, StudyPlan actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getId(),          actual.getId());
+        assertEquals(expected.getName(),        actual.getName());
+        assertEquals(expected.getPeriod(),      actual.getPeriod());
+        assertEquals(expected.getProgram(),     actual.getProgram());
+        assertEquals(expected.getModality(),    actual.getModality());
+        assertEquals(expected.getStartDate(),   actual.getStartDate());
+        assertEquals(expected.getEndDate(),     actual.getEndDate());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getGroups().size(), actual.getGroups().size());
+        for (int i = 0; i < expected.getGroups().size(); i++) {
+            assertGroup(expected.getGroups().get(i), actual.getGroups().get(i));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.academia.persistence;
+
+import com.academia.model.*;
+import com.academia.repository.BaseTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.academia.persistence.ModelAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes and maps snapshots, and reads files produced by earlier format
+ * versions.
+ *
+ * <p>{@code catalogue-v1.snapshot} and {@code plans-v1.stream} were written
+ * from {@link #catalogue()} by the version 1 writers and are kept byte for
+ * byte: a format change must keep reading them (or bump the version and
+ * keep a reader for version 1), never regenerate them.</p>
+ */
+class SnapshotCompatibilityTest {
+
+    private static final int[] NEXT_IDS = {9, 14, 43, 3};
+
+    @TempDir
+    Path dir;
+
+    /** The catalogue the golden files were written from. */
+    private record Catalogue(List<Subject> subjects, List<Teacher> teachers,
+                             List<Group> groups, List<StudyPlan> plans) { }
+
+    private static Catalogue catalogue() {
+        Group full     = group();
+        Group empty    = groupWithNulls();
+        Group noDay    = new Group("G043", "Sin día", SUBJECT_WITH_NULLS, TEACHER_WITH_NULLS, SCHEDULE_WITH_NULLS, 10);
+        // A plan-private copy, with a subject and a teacher outside the catalogue
+        Group copy     = new Group("G044", "Copia", new Subject("A099", "Electiva", 2, "", Subject.Modality.ONLINE),
+                new Teacher("D099", "Invitada", "Externa", "", "", ""), SCHEDULE, 5);
+        StudyPlan withCopy = plan(full, copy);
+        withCopy.setId("P003");
+        return new Catalogue(
+                List.of(SUBJECT, SUBJECT_WITH_NULLS),
+                List.of(TEACHER, TEACHER_WITH_NULLS),
+                List.of(full, empty, noDay),
+                List.of(plan(full, empty), withCopy, planWithNulls()));
+    }
+
+    @Test
+    void snapshotsRoundTrip() throws IOException {
+        Catalogue c = catalogue();
+        Path file = dir.resolve("catalogue.snapshot");
+        SnapshotWriter.write(file, c.subjects(), c.teachers(), c.groups(), c.plans(), NEXT_IDS);
+        assertSnapshot(c, MappedSnapshot.open(file));
+    }
+
+    @Test
+    void readsVersion1Snapshot() throws IOException {
+        assertSnapshot(catalogue(), MappedSnapshot.open(fixture("catalogue-v1.snapshot")));
+    }
+
+    @Test
+    void readsVersion1PlanStream() throws IOException {
+        Catalogue c = catalogue();
+        try (InputStream in = SnapshotCompatibilityTest.class.getResourceAsStream("plans-v1.stream");
+             StudyPlanStreamReader reader = new StudyPlanStreamReader(in)) {
+            List<StudyPlan> plans = reader.readAll();
+            assertEquals(c.plans().size(), plans.size());
+            for (int i = 0; i < plans.size(); i++) assertPlan(c.plans().get(i), plans.get(i));
+            assertSame(plans.get(0).getGroups().get(0), plans.get(1).getGroups().get(0));
+        }
+    }
+
+    @Test
+    void rejectsUnknownVersions() throws IOException {
+        Path file = fixture("catalogue-v1.snapshot");
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer.wrap(bytes).putInt(4, SnapshotWriter.VERSION + 1);
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> MappedSnapshot.open(file));
+
+        Path truncated = dir.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> MappedSnapshot.open(truncated));
+    }
+
+    private Path fixture(String name) throws IOException {
+        Path file = dir.resolve(name);
+        try (InputStream in = SnapshotCompatibilityTest.class.getResourceAsStream(name)) {
+            assertNotNull(in, "missing fixture " + name);
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    private static void assertSnapshot(Catalogue expected, MappedSnapshot snapshot) {
+        assertTable(expected.subjects(), snapshot.subjects(), Subject::getId, ModelAssertions::assertSubject, NEXT_IDS[0]);
+        assertTable(expected.teachers(), snapshot.teachers(), Teacher::getId, ModelAssertions::assertTeacher, NEXT_IDS[1]);
+        assertTable(expected.groups(),   snapshot.groups(),   Group::getId,   ModelAssertions::assertGroup,   NEXT_IDS[2]);
+        assertTable(expected.plans(),    snapshot.studyPlans(), StudyPlan::getId, ModelAssertions::assertPlan, NEXT_IDS[3]);
+
+        // Sharing survives: catalogue groups and plans hold the same instances
+        Group full = snapshot.groups().load(0);
+        assertSame(full, snapshot.studyPlans().load(0).getGroups().get(0));
+        assertSame(full, snapshot.studyPlans().load(1).getGroups().get(0));
+        assertSame(snapshot.subjects().load(0), full.getSubject());
+        assertSame(snapshot.teachers().load(0), full.getTeacher());
+        assertEquals(-1, snapshot.groups().positionOf("G044"), "plan-private copies are not catalogued");
+
+        assertEquals(List.of("G042"), snapshot.groupIdsBySubject("A007"));
+        assertEquals(List.of("G043"), snapshot.groupIdsBySubject("A008"));
+        assertEquals(List.of("G043"), snapshot.groupIdsByTeacher("D013"));
+        assertEquals(List.of(), snapshot.groupIdsBySubject("A099"));
+    }
+
+    private interface Check<T> { void of(T expected, T actual); }
+    private interface Id<T>    { String of(T entity); }
+
+    private static <T> void assertTable(List<T> expected, BaseTable<T> table, Id<T> id, Check<T> check, int nextId) {
+        assertEquals(expected.size(), table.size());
+        assertEquals(nextId, table.nextIdNumber());
+        for (int i = 0; i < expected.size(); i++) {
+            String key = id.of(expected.get(i));
+            assertEquals(key, table.idAt(i));
+            assertEquals(i, table.positionOf(key));
+            check.of(expected.get(i), table.load(i));
+            assertSame(table.load(i), table.load(i));
+        }
+        assertEquals(-1, table.positionOf("Z999"));
+        assertEquals(-1, table.positionOf(null));
+    }
+}
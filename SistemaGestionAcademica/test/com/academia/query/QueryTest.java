@@ -0,0 +1,77 @@
+package com.academia.query;
+
+import com.academia.model.Subject;
+import com.academia.model.Subject.Modality;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Paging through filtered listings, in listing order and sorted. */
+class QueryTest {
+
+    /** 100 subjects with credits cycling 1..7; every third one is online. */
+    private static List<Subject> listing() {
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            subjects.add(new Subject("A" + i, "Materia " + i, 1 + i % 7, "",
+                                     i % 3 == 0 ? Modality.ONLINE : Modality.IN_PERSON));
+        }
+        return subjects;
+    }
+
+    /** Follows the cursors from the first page to the last. */
+    private static List<Subject> allPages(List<Subject> source, SubjectQuery.SortKey key) {
+        List<Subject> seen = new ArrayList<>();
+        int cursor = 0;
+        while (cursor >= 0) {
+            Page<Subject> page = new SubjectQuery().modality(Modality.ONLINE).sortBy(key)
+                                                   .limit(7).after(cursor).execute(source);
+            assertTrue(page.getItems().size() <= 7);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        }
+        return seen;
+    }
+
+    @Test
+    void cursorsListEveryMatchOnceInListingOrder() {
+        List<Subject> source = listing();
+        List<Subject> online = source.stream().filter(s -> s.getModality() == Modality.ONLINE).toList();
+        assertEquals(online, allPages(source, SubjectQuery.SortKey.LISTING));
+    }
+
+    @Test
+    void cursorsListEveryMatchOnceInSortedOrder() {
+        List<Subject> source = listing();
+        List<Subject> expected = source.stream().filter(s -> s.getModality() == Modality.ONLINE)
+                                       .sorted(Comparator.comparingInt(Subject::getCredits)) // stable
+                                       .toList();
+        assertEquals(expected, allPages(source, SubjectQuery.SortKey.CREDITS));
+    }
+
+    @Test
+    void offsetPagesReportTheirPosition() {
+        List<Subject> source = listing();
+        Page<Subject> first = new SubjectQuery().limit(30).execute(source);
+        assertEquals(0, first.getOffset());
+        assertEquals(-1, first.getTotal(), "stops scanning once the page is full");
+        assertTrue(first.hasMore());
+
+        Page<Subject> last = new SubjectQuery().offset(90).limit(30).execute(source);
+        assertEquals(90, last.getOffset());
+        assertEquals(100, last.getTotal());
+        assertEquals(10, last.getItems().size());
+        assertEquals("A90", last.getItems().get(0).getId());
+        assertFalse(last.hasMore());
+
+        Page<Subject> sorted = new SubjectQuery().sortBy(SubjectQuery.SortKey.NAME).descending()
+                                                 .offset(5).limit(3).execute(source);
+        assertEquals(100, sorted.getTotal());
+        assertEquals(List.of("Materia 94", "Materia 93", "Materia 92"),
+                     sorted.getItems().stream().map(Subject::getName).toList());
+    }
+}
@@ -0,0 +1,132 @@
+package com.academia.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test: writers put, overwrite and delete while readers list, and
+ * the repository must end up exactly like a {@link LinkedHashMap} fed the
+ * same operations.
+ */
+class ConcurrentRepositoryTest {
+
+    private static final int WRITERS    = 8;
+    private static final int OPERATIONS = 20_000;
+    private static final int KEYS       = 200;   // per writer
+
+    /** Value stored under a key; its key is part of it, so listings can be checked. */
+    private record Entry(String key, int version) { }
+
+    @Test
+    void concurrentPutsDeletesAndListingsStayConsistent() throws Exception {
+        ConcurrentRepository<Entry> repository = new ConcurrentRepository<>("K");
+        List<Map<String, Entry>> expected = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) expected.add(new LinkedHashMap<>());
+
+        ExecutorService pool    = Executors.newFixedThreadPool(WRITERS + 2);
+        CountDownLatch  start   = new CountDownLatch(1);
+        AtomicBoolean   writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            Map<String, Entry> mine = expected.get(w);
+            writers.add(pool.submit(() -> {
+                Random random = new Random(writer);
+                start.await();
+                for (int op = 0; op < OPERATIONS; op++) {
+                    String key = "W" + writer + "-" + random.nextInt(KEYS);
+                    if (random.nextInt(4) == 0) {
+                        Entry removed = repository.remove(key);
+                        assertEquals(mine.remove(key), removed);
+                    } else {
+                        Entry entry = new Entry(key, op);
+                        repository.put(key, entry);
+                        mine.put(key, entry);
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < 2; r++) {
+            readers.add(pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    List<Entry> listing = repository.values();
+                    Set<String> seen = new HashSet<>();
+                    for (Entry e : listing) {
+                        assertNotNull(e);
+                        assertTrue(seen.add(e.key()), "key listed twice: " + e.key());
+                    }
+                    assertEquals(seen.size(), listing.size(), "listing changed under its reader");
+                    assertThrows(UnsupportedOperationException.class, () -> listing.add(null));
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : writers) f.get(60, TimeUnit.SECONDS);
+        writing.set(false);
+        for (Future<?> f : readers) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        int total = 0;
+        for (Map<String, Entry> mine : expected) {
+            total += mine.size();
+            for (Map.Entry<String, Entry> e : mine.entrySet()) {
+                assertSame(e.getValue(), repository.get(e.getKey()));
+                assertTrue(repository.contains(e.getKey()));
+            }
+        }
+        assertEquals(total, repository.size());
+
+        // Each writer's keys keep their own insertion order within the listing
+        List<Entry> listing = repository.values();
+        assertEquals(total, listing.size());
+        for (int w = 0; w < WRITERS; w++) {
+            String prefix = "W" + w + "-";
+            List<Entry> listed = new ArrayList<>();
+            for (Entry e : listing) if (e.key().startsWith(prefix)) listed.add(e);
+            assertEquals(new ArrayList<>(expected.get(w).values()), listed);
+        }
+    }
+
+    @Test
+    void concurrentIdAllocationNeverRepeats() throws Exception {
+        ConcurrentRepository<Entry> repository = new ConcurrentRepository<>("G");
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            tasks.add(pool.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    if (i % 10 == 0) {
+                        for (String id : repository.nextIds(5)) assertTrue(ids.add(id), id);
+                    } else {
+                        assertTrue(ids.add(repository.nextId()));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : tasks) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+        assertEquals(WRITERS * (900 + 100 * 5), ids.size());
+    }
+}
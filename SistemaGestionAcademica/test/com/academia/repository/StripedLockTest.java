@@ -0,0 +1,67 @@
+package com.academia.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Threads lock random, overlapping key sets and update unsynchronised
+ * per-key counters: no update may be lost and no thread may deadlock.
+ */
+class StripedLockTest {
+
+    private static final int THREADS    = 8;
+    private static final int ITERATIONS = 50_000;
+    private static final int KEYS       = 32;
+
+    @Test
+    void overlappingKeySetsExcludeEachOtherWithoutDeadlock() throws Exception {
+        StripedLock locks    = new StripedLock(8);   // fewer stripes than keys, so stripes are shared
+        long[]      counters = new long[KEYS];
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int seed = t;
+            tasks.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < ITERATIONS; i++) {
+                    int a = random.nextInt(KEYS), b = random.nextInt(KEYS), c = random.nextInt(KEYS);
+                    // Same key twice and null keys must be harmless
+                    int[] locked = locks.lock("key:" + a, null, "key:" + b, "key:" + c, "key:" + a);
+                    try {
+                        counters[a]++;
+                        if (b != a) counters[b]++;
+                        if (c != a && c != b) counters[c]++;
+                    } finally {
+                        locks.unlock(locked);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : tasks) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // Replay the same random choices to know how many increments each key got
+        long[] expected = new long[KEYS];
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            for (int i = 0; i < ITERATIONS; i++) {
+                int a = random.nextInt(KEYS), b = random.nextInt(KEYS), c = random.nextInt(KEYS);
+                expected[a]++;
+                if (b != a) expected[b]++;
+                if (c != a && c != b) expected[c]++;
+            }
+        }
+        assertArrayEquals(expected, counters);
+    }
+}
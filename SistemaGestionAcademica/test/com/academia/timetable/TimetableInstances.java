@@ -0,0 +1,125 @@
+package com.academia.timetable;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+import com.academia.model.Teacher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Generated solver instances, and a check that a timetable keeps every
+ * rule. Each instance is built around a hidden solution — every group is
+ * first dropped into a slot, a classroom it nearly fills and a teacher,
+ * none of them taken at that time — so a complete timetable is known to exist.
+ */
+final class TimetableInstances {
+
+    static final List<Schedule.WeekDay> WEEKDAYS = List.of(Schedule.WeekDay.MONDAY, Schedule.WeekDay.TUESDAY,
+            Schedule.WeekDay.WEDNESDAY, Schedule.WeekDay.THURSDAY, Schedule.WeekDay.FRIDAY);
+
+    /** One generated instance; {@code hidden} holds the schedule each group got while generating. */
+    static final class Instance {
+        final List<Group>     groups = new ArrayList<>();
+        final List<Classroom> rooms  = new ArrayList<>();
+        final List<TimeSlot>  slots;
+        final List<Schedule>  hidden = new ArrayList<>();
+
+        Instance(List<TimeSlot> slots) {
+            this.slots = slots;
+        }
+
+        /** Gives the first {@code count} groups their hidden schedules and returns them, to pass as fixed. */
+        List<Group> fixFirst(int count) {
+            List<Group> fixed = new ArrayList<>(groups.subList(0, count));
+            for (int g = 0; g < count; g++) fixed.get(g).setSchedule(hidden.get(g));
+            groups.subList(0, count).clear();
+            hidden.subList(0, count).clear();
+            return fixed;
+        }
+    }
+
+    private TimetableInstances() { }
+
+    /**
+     * An instance of {@code groupCount} groups on a Monday–Friday grid of
+     * two-hour slots from 07:00 to 19:00 (30 slots), with as many teachers
+     * as classrooms, both busy for about {@code density} of the slots.
+     */
+    static Instance generate(long seed, int groupCount, double density) {
+        Random random = new Random(seed);
+        Instance instance = new Instance(TimeSlot.weeklyGrid(WEEKDAYS, "07:00", "19:00", 120));
+        int slotCount = instance.slots.size();
+        int roomCount = Math.max(1, (int) Math.ceil(groupCount / (density * slotCount)));
+        List<Integer> rooms    = new ArrayList<>();
+        List<Integer> teachers = new ArrayList<>();
+        List<Teacher> teacherList = new ArrayList<>();
+        for (int r = 0; r < roomCount; r++) {
+            instance.rooms.add(new Classroom("Aula " + (r + 1), 20 + 10 * random.nextInt(8)));
+            teacherList.add(new Teacher("D" + r, "Docente", "N" + r, "", "d" + r + "@uni.edu", ""));
+            rooms.add(r);
+            teachers.add(r);
+        }
+
+        // The hidden solution, slot by slot: distinct classrooms and teachers within a slot
+        int[] perSlot = new int[slotCount];
+        for (int g = 0; g < groupCount; g++) perSlot[g % slotCount]++;
+        List<int[]> cells = new ArrayList<>(groupCount);   // slot, room, teacher
+        for (int slot = 0; slot < slotCount; slot++) {
+            Collections.shuffle(rooms, random);
+            Collections.shuffle(teachers, random);
+            for (int i = 0; i < perSlot[slot]; i++) cells.add(new int[] {slot, rooms.get(i), teachers.get(i)});
+        }
+        Collections.shuffle(cells, random);
+
+        for (int[] cell : cells) {
+            Classroom classroom = instance.rooms.get(cell[1]);
+            int seats = classroom.getCapacity() - random.nextInt(10); // a tight fit
+            int n = instance.groups.size();
+            instance.groups.add(new Group("G" + n, "Grupo " + n, null, teacherList.get(cell[2]), null, seats));
+            instance.hidden.add(instance.slots.get(cell[0]).toSchedule(classroom.getName()));
+        }
+        return instance;
+    }
+
+    /**
+     * Fails unless every placed group fits its classroom, lies in one of the
+     * offered slots, and shares neither teacher nor classroom with another
+     * placed or fixed group at an overlapping time.
+     */
+    static void assertValid(Instance instance, Timetable timetable, Collection<Group> fixed) {
+        Map<Group, Schedule> placed = timetable.getAssignments();
+        List<Group>    groups    = new ArrayList<>(placed.keySet());
+        List<Schedule> schedules = new ArrayList<>(placed.values());
+        for (Group f : fixed) {
+            assertFalse(placed.containsKey(f), "a fixed group was moved: " + f.getId());
+            groups.add(f);
+            schedules.add(f.getSchedule());
+        }
+        for (int i = 0; i < placed.size(); i++) {
+            Schedule s = schedules.get(i);
+            Group    g = groups.get(i);
+            assertTrue(instance.slots.stream().anyMatch(slot -> slot.getDay() == s.getDay()
+                    && slot.getStartMinute() == s.getStartMinute() && slot.getEndMinute() == s.getEndMinute()),
+                    () -> g.getId() + " outside the offered slots: " + s);
+            Classroom room = instance.rooms.stream()
+                    .filter(c -> c.getName().equals(s.getClassroom())).findFirst().orElseThrow();
+            assertTrue(g.getMaxSlots() <= room.getCapacity(), () -> g.getId() + " does not fit in " + room);
+        }
+        for (int i = 0; i < placed.size(); i++) {
+            for (int j = i + 1; j < groups.size(); j++) {
+                if (!schedules.get(i).overlaps(schedules.get(j))) continue;
+                Group a = groups.get(i), b = groups.get(j);
+                assertNotSame(a.getTeacher(), b.getTeacher(), () -> "teacher double-booked: " + a.getId() + ", " + b.getId());
+                assertFalse(schedules.get(i).sharesClassroomWith(schedules.get(j)),
+                        () -> "classroom double-booked: " + a.getId() + ", " + b.getId());
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.academia.timetable;
+
+import com.academia.model.Group;
+import com.academia.model.Schedule;
+import com.academia.model.Teacher;
+import com.academia.timetable.TimetableInstances.Instance;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.academia.timetable.TimetableInstances.assertValid;
+import static com.academia.timetable.TimetableInstances.generate;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The solver on generated instances that are known to have a complete
+ * timetable: what it returns must keep every rule, and it should find a
+ * complete one. The benchmark prints the solve times as instances grow.
+ */
+class TimetableSolverTest {
+
+    private static TimetableSolver solver() {
+        return new TimetableSolver().seed(7).parallelism(2).timeLimit(10_000);
+    }
+
+    @Test
+    void placedGroupsNeverClash() {
+        Instance instance = generate(1, 300, 0.7);
+        Timetable timetable = solver().solve(instance.groups, instance.rooms, instance.slots);
+
+        assertValid(instance, timetable, List.of());
+        assertTrue(timetable.isComplete(), timetable.toString());
+    }
+
+    @Test
+    void groupsTooBigForEveryClassroomStayUnplaced() {
+        Instance instance = generate(2, 60, 0.5);
+        int largest = instance.rooms.stream().mapToInt(Classroom::getCapacity).max().orElseThrow();
+        Group crowd = new Group("G-crowd", "Multitud", null, null, null, largest + 1);
+        instance.groups.add(crowd);
+
+        Timetable timetable = solver().solve(instance.groups, instance.rooms, instance.slots);
+
+        assertValid(instance, timetable, List.of());
+        assertEquals(List.of(crowd), timetable.getUnassigned());
+    }
+
+    @Test
+    void fixedGroupsKeepTheirTeacherAndClassroomBusy() {
+        Instance instance = generate(3, 240, 0.8);
+        List<Group> fixed = instance.fixFirst(80);
+
+        Timetable timetable = solver().solve(instance.groups, instance.rooms, instance.slots, fixed);
+
+        assertValid(instance, timetable, fixed);
+        assertTrue(timetable.isComplete(), timetable.toString());
+    }
+
+    @Test
+    void aTeacherWithMoreGroupsThanSlotsLeavesTheRestUnplaced() {
+        Teacher teacher = new Teacher("D1", "Docente", "Único", "", "unico@uni.edu", "");
+        List<TimeSlot> slots = TimeSlot.weeklyGrid(List.of(Schedule.WeekDay.MONDAY), "08:00", "12:00", 120);
+        List<Group> groups = List.of(
+                new Group("G1", "Uno", null, teacher, null, 10),
+                new Group("G2", "Dos", null, teacher, null, 10),
+                new Group("G3", "Tres", null, teacher, null, 10));
+        Instance instance = new Instance(slots);
+        instance.rooms.add(new Classroom("Aula 1", 30));
+        instance.rooms.add(new Classroom("Aula 2", 30));
+
+        Timetable timetable = solver().solve(groups, instance.rooms, slots);
+
+        assertValid(instance, timetable, List.of());
+        assertEquals(2, timetable.getAssignments().size());
+        assertEquals(1, timetable.getUnassigned().size());
+    }
+
+    @Test
+    void benchmarkOnGeneratedInstances() {
+        for (int size : new int[] {100, 400, 1_600, 6_400}) {
+            for (double density : new double[] {0.6, 0.85, 0.95, 1.0}) {
+                Instance instance = generate(size, size, density);
+                TimetableSolver solver = new TimetableSolver().seed(size).timeLimit(20_000);
+                long began = System.nanoTime();
+                Timetable timetable = solver.solve(instance.groups, instance.rooms, instance.slots);
+                long elapsed = (System.nanoTime() - began) / 1_000_000;
+                System.out.printf("TimetableSolver: %,d groups, %d classrooms, %d slots, %.0f%% full: "
+                                + "%d unplaced in %d ms%n",
+                        size, instance.rooms.size(), instance.slots.size(), density * 100,
+                        timetable.getUnassigned().size(), elapsed);
+                assertValid(instance, timetable, List.of());
+            }
+        }
+    }
+}